@@ -15,6 +15,7 @@ import trading.domain.strategy.compoundLocalMaximum.LocalMaximumBuyScoringStrate
 import trading.domain.strategy.compoundLocalMaximum.LocalMaximumSellScoringStrategy;
 
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 @Component
 public class ScoringServiceImpl implements ScoringService {
@@ -24,6 +25,8 @@ public class ScoringServiceImpl implements ScoringService {
     @Autowired
     private TradingConfigurationService tradingConfigurationService;
 
+    private final MultiStockScoring multiStockScoring = new MultiStockScoring(ForkJoinPool.commonPool());
+
     public ScoringServiceImpl(MultiStockMarketDataStore multiStockMarketDataStore) {
         this.multiStockMarketDataStore = multiStockMarketDataStore;
     }
@@ -67,6 +70,6 @@ public class ScoringServiceImpl implements ScoringService {
 
     private Scores calculateScoring(Account account, ScoringStrategy scoringStrategy, Set<ISIN> isins) {
         HistoricalMarketData historicalMarketData = HistoricalMarketData.of(this.multiStockMarketDataStore.getAllClosingPrices());
-        return new MultiStockScoring().calculateScores(historicalMarketData, account, scoringStrategy, isins);
+        return this.multiStockScoring.calculateScores(historicalMarketData, account, scoringStrategy, isins);
     }
 }
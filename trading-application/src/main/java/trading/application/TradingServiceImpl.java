@@ -11,8 +11,11 @@ import trading.domain.simulation.MultiStockMarketDataStore;
 import trading.domain.simulation.SimulationBuilder;
 import trading.domain.strategy.TradingStrategy;
 import trading.domain.strategy.TradingStrategyContext;
+import trading.domain.strategy.compound.MultiStockScoring;
 import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumTradingStrategy;
 
+import java.util.concurrent.ForkJoinPool;
+
 @Component
 public class TradingServiceImpl implements TradingService {
     @Autowired
@@ -32,7 +35,11 @@ public class TradingServiceImpl implements TradingService {
         VirtualBroker broker = new VirtualBroker(account, historicalMarketData, commissionStrategy);
 
         TradingStrategyContext tradingStrategyContext = new TradingStrategyContext(account, broker, historicalMarketData);
-        TradingStrategy tradingStrategy = new CompoundLocalMaximumTradingStrategy(this.tradingConfigurationService.getTradingStrategyParameters(), tradingStrategyContext);
+        TradingStrategy tradingStrategy = new CompoundLocalMaximumTradingStrategy(
+                this.tradingConfigurationService.getTradingStrategyParameters(),
+                tradingStrategyContext,
+                null,
+                new MultiStockScoring(ForkJoinPool.commonPool()));
 
         new SimulationBuilder()
                 .setHistoricalMarketData(historicalMarketData)
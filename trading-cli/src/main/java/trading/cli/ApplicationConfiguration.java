@@ -8,14 +8,48 @@ import trading.domain.simulation.MultiStockMarketDataStore;
 import trading.persistence.MySqlRepositoryParameters;
 import trading.persistence.MySqlRepositoryParametersBuilder;
 import trading.persistence.account.MySqlAccountRepository;
+import trading.persistence.market.MappedFileMultiStockMarketDataStore;
 import trading.persistence.market.MongoMultiStockMarketDataStore;
 import trading.persistence.market.MongoMultiStockMarketDataStoreParameters;
 import trading.persistence.market.MongoMultiStockMarketDataStoreParametersBuilder;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
 @Configuration
 public class ApplicationConfiguration {
+    static final Path MARKET_DATA_FILE = Paths.get("merged-quotes.bin");
+
+    /**
+     * Uses the binary market data file if it has been exported (see the export-market-data command) and is up to date
+     * with MongoDB, MongoDB otherwise.
+     */
     @Bean
     public MultiStockMarketDataStore getMultiStockMarketDataStore() {
+        MongoMultiStockMarketDataStore mongoMultiStockMarketDataStore = createMongoMultiStockMarketDataStore();
+
+        if(!Files.exists(MARKET_DATA_FILE)) {
+            return mongoMultiStockMarketDataStore;
+        }
+
+        MappedFileMultiStockMarketDataStore mappedFileMultiStockMarketDataStore = new MappedFileMultiStockMarketDataStore(MARKET_DATA_FILE);
+
+        LocalDate fileLastDate = mappedFileMultiStockMarketDataStore.getLastClosingPrices().getDate();
+        LocalDate mongoLastDate = mongoMultiStockMarketDataStore.getLastClosingPrices().getDate();
+
+        if(fileLastDate.isBefore(mongoLastDate)) {
+            System.out.println("The market data file " + MARKET_DATA_FILE.toAbsolutePath() + " ends on " + fileLastDate
+                    + ", but MongoDB contains market data until " + mongoLastDate + ". Using MongoDB; run export-market-data to update the file.");
+
+            return mongoMultiStockMarketDataStore;
+        }
+
+        return mappedFileMultiStockMarketDataStore;
+    }
+
+    static MongoMultiStockMarketDataStore createMongoMultiStockMarketDataStore() {
         MongoMultiStockMarketDataStoreParameters parameters = new MongoMultiStockMarketDataStoreParametersBuilder()
                 .setDatabase("trading")
                 .setCollection("merged-quotes")
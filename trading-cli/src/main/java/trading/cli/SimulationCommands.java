@@ -3,12 +3,20 @@ package trading.cli;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
 import trading.domain.challenges.Challenge;
 import trading.domain.challenges.ChallengeExecutor;
 import trading.domain.challenges.CompoundLocalMaximumChallenge;
+import trading.domain.challenges.GeneticSearchStrategy;
 import trading.domain.challenges.HistoricalTestDataProvider;
+import trading.domain.challenges.OptimizationResult;
+import trading.domain.challenges.OptimizingChallengeExecutor;
+import trading.domain.challenges.SearchStrategy;
+import trading.domain.challenges.TreeParzenSearchStrategy;
 import trading.domain.simulation.MultiStockMarketDataStore;
+import trading.persistence.market.MarketDataFileExporter;
 
+import java.util.Arrays;
 import java.util.Date;
 
 @ShellComponent
@@ -24,7 +32,9 @@ public class SimulationCommands {
         Date start = new Date();
 
         ChallengeExecutor challengeExecutor = new ChallengeExecutor(challenge);
+        challengeExecutor.setLockstep(true);
         // challengeExecutor.setDailyReporting(true);
+        // challengeExecutor.setPruning(100);
         challengeExecutor.executeChallenge();
 
         Date end = new Date();
@@ -34,4 +44,51 @@ public class SimulationCommands {
 
         System.out.println("Simulation duration: " + durationSeconds + " seconds");
     }
+
+    @ShellMethod(value = "Searches the best parameters of the high resolution parameter space.", key = "optimization")
+    public void runOptimization(
+            @ShellOption(value = "--strategy", defaultValue = "genetic") String strategy,
+            @ShellOption(value = "--evaluations", defaultValue = "1000") int numEvaluations,
+            @ShellOption(value = "--seed", defaultValue = "1") long seed,
+            @ShellOption(value = "--report", defaultValue = "optimization.csv") String reportFileName) {
+        SearchStrategy searchStrategy;
+
+        if(strategy.equalsIgnoreCase("genetic")) {
+            searchStrategy = new GeneticSearchStrategy(seed);
+        }
+        else if(strategy.equalsIgnoreCase("tpe")) {
+            searchStrategy = new TreeParzenSearchStrategy(seed);
+        }
+        else {
+            System.out.println("Strategy must be 'genetic' or 'tpe'.");
+            return;
+        }
+
+        HistoricalTestDataProvider historicalTestDataProvider = new HistoricalTestDataProvider(this.multiStockMarketDataStore);
+        CompoundLocalMaximumChallenge challenge = new CompoundLocalMaximumChallenge(historicalTestDataProvider);
+        challenge.setHighResolution(true);
+
+        Date start = new Date();
+
+        OptimizingChallengeExecutor optimizingChallengeExecutor = new OptimizingChallengeExecutor(challenge, searchStrategy);
+        optimizingChallengeExecutor.setNumEvaluations(numEvaluations);
+        OptimizationResult optimizationResult = optimizingChallengeExecutor.executeChallenge(reportFileName);
+
+        Date end = new Date();
+
+        long durationMilliseconds = end.getTime() - start.getTime();
+        double durationSeconds = ((double) durationMilliseconds) / 1000.0;
+
+        System.out.println("Best parameters: " + Arrays.toString(optimizationResult.getBestParameters()));
+        System.out.println("Best score: " + optimizationResult.getBestScore());
+        System.out.println("Optimization duration: " + durationSeconds + " seconds");
+    }
+
+    @ShellMethod(value = "Exports the market data from MongoDB into the binary market data file used by the simulations.", key = "export-market-data")
+    public void exportMarketData() {
+        MarketDataFileExporter marketDataFileExporter = new MarketDataFileExporter(ApplicationConfiguration.createMongoMultiStockMarketDataStore());
+        marketDataFileExporter.export(ApplicationConfiguration.MARKET_DATA_FILE);
+
+        System.out.println("Market data exported to " + ApplicationConfiguration.MARKET_DATA_FILE.toAbsolutePath());
+    }
 }
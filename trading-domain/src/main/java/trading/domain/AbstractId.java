@@ -1,8 +1,11 @@
 package trading.domain;
 
+import java.io.Serializable;
 import java.util.Objects;
 
-public abstract class AbstractId {
+public abstract class AbstractId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private int value;
 
     public AbstractId(int value) {
@@ -1,8 +1,10 @@
 package trading.domain;
 
-import java.util.Objects;
+import java.io.Serializable;
+
+public class Amount implements Serializable {
+    private static final long serialVersionUID = 1L;
 
-public class Amount {
     public static final Amount Zero = new Amount(0.0);
 
     private final double value;
@@ -37,7 +39,7 @@ public class Amount {
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Double.hashCode(value);
     }
 
     @Override
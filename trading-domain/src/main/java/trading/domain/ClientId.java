@@ -1,6 +1,8 @@
 package trading.domain;
 
 public class ClientId extends AbstractId {
+    private static final long serialVersionUID = 1L;
+
     public ClientId(int value) {
         super(value);
     }
@@ -1,8 +1,11 @@
 package trading.domain;
 
+import java.io.Serializable;
 import java.util.Objects;
 
-public class ISIN {
+public class ISIN implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     public static final ISIN MunichRe = new ISIN("DE0008430026");
     public static final ISIN Allianz = new ISIN("DE0008404005");
     public static final ISIN DeutscheBank = new ISIN("DE0005140008");
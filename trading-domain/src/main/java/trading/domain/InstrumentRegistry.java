@@ -0,0 +1,95 @@
+package trading.domain;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense instrument indexes (0, 1, 2, ...) to ISINs, so that per-stock state can be held in arrays
+ * instead of hash maps. Registering is synchronized, lookups are lock-free and may be done by many threads.
+ */
+public class InstrumentRegistry implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Map<ISIN, Integer> indexesByIsin = new ConcurrentHashMap<>();
+    private volatile ISIN[] isins = new ISIN[0];
+
+    public InstrumentRegistry() {
+    }
+
+    public InstrumentRegistry(Collection<ISIN> isins) {
+        if(isins == null) {
+            throw new DomainException("The ISINs must be specified.");
+        }
+
+        ISIN[] sortedIsins = isins.toArray(new ISIN[0]);
+        Arrays.sort(sortedIsins, (isin1, isin2) -> isin1.getText().compareTo(isin2.getText()));
+
+        for(ISIN isin: sortedIsins) {
+            this.register(isin);
+        }
+    }
+
+    /**
+     * Returns the index of the given ISIN, registering the ISIN if it is not known yet.
+     */
+    public int register(ISIN isin) {
+        Integer index = this.indexesByIsin.get(isin);
+
+        if(index != null) {
+            return index;
+        }
+
+        synchronized (this.indexesByIsin) {
+            index = this.indexesByIsin.get(isin);
+
+            if(index != null) {
+                return index;
+            }
+
+            ISIN[] isins = Arrays.copyOf(this.isins, this.isins.length + 1);
+            isins[isins.length - 1] = isin;
+            this.isins = isins;
+
+            this.indexesByIsin.put(isin, isins.length - 1);
+            return isins.length - 1;
+        }
+    }
+
+    /**
+     * Returns the registered instance equal to the given ISIN, registering the ISIN if it is not known yet.
+     */
+    public ISIN intern(ISIN isin) {
+        return this.get(this.register(isin));
+    }
+
+    public int indexOf(ISIN isin) {
+        Integer index = this.indexesByIsin.get(isin);
+
+        if(index == null) {
+            throw new DomainException(String.format("The ISIN %s is not registered.", isin));
+        }
+
+        return index;
+    }
+
+    public boolean contains(ISIN isin) {
+        return this.indexesByIsin.containsKey(isin);
+    }
+
+    public ISIN get(int index) {
+        ISIN[] isins = this.isins;
+
+        if(index < 0 || index >= isins.length) {
+            throw new DomainException(String.format("The instrument index %s is not registered.", index));
+        }
+
+        return isins[index];
+    }
+
+    public int size() {
+        return this.isins.length;
+    }
+}
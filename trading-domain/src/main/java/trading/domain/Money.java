@@ -0,0 +1,161 @@
+package trading.domain;
+
+import java.io.Serializable;
+
+/**
+ * Exact fixed-point amount of money, stored as a long of micro-units (millionths of the currency unit).
+ * Additions, subtractions and multiplications by quantities are exact, so there is no rounding drift across
+ * many transactions; values are only rounded once when converted from a double.
+ * Whole currency units between -128 and 1023 are interned.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final long MICROS_PER_UNIT = 1_000_000L;
+
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;
+    private static final Money[] CACHE = new Money[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for(int units = CACHE_LOW; units <= CACHE_HIGH; units++) {
+            CACHE[units - CACHE_LOW] = new Money(units * MICROS_PER_UNIT);
+        }
+    }
+
+    public static final Money Zero = ofMicros(0L);
+
+    private final long micros;
+    private final int hashCode;
+
+    private Money(long micros) {
+        this.micros = micros;
+        this.hashCode = Long.hashCode(micros);
+    }
+
+    public static Money ofMicros(long micros) {
+        if(micros % MICROS_PER_UNIT == 0) {
+            long units = micros / MICROS_PER_UNIT;
+
+            if(units >= CACHE_LOW && units <= CACHE_HIGH) {
+                return CACHE[(int) units - CACHE_LOW];
+            }
+        }
+
+        return new Money(micros);
+    }
+
+    /**
+     * Keeps whole currency units interned when deserialized.
+     */
+    private Object readResolve() {
+        return ofMicros(this.micros);
+    }
+
+    /**
+     * Converts the given value, rounding half up to the nearest micro-unit.
+     */
+    public static Money of(double value) {
+        return ofMicros(toMicros(value));
+    }
+
+    public static Money of(Amount amount) {
+        return of(amount.getValue());
+    }
+
+    public static long toMicros(double value) {
+        if(Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new DomainException("The value must be a finite number.");
+        }
+
+        double scaledValue = value * MICROS_PER_UNIT;
+
+        if(Math.abs(scaledValue) >= Long.MAX_VALUE) {
+            throw new DomainException("The value exceeds the range of money.");
+        }
+
+        return Math.round(scaledValue);
+    }
+
+    public static double toDouble(long micros) {
+        return (double) micros / MICROS_PER_UNIT;
+    }
+
+    public long getMicros() {
+        return this.micros;
+    }
+
+    public double getValue() {
+        return toDouble(this.micros);
+    }
+
+    public Amount toAmount() {
+        return new Amount(this.getValue());
+    }
+
+    public Money add(Money other) {
+        return ofMicros(Math.addExact(this.micros, other.micros));
+    }
+
+    public Money subtract(Money other) {
+        return ofMicros(Math.subtractExact(this.micros, other.micros));
+    }
+
+    public Money multiply(Quantity quantity) {
+        return ofMicros(Math.multiplyExact(this.micros, (long) quantity.getValue()));
+    }
+
+    /**
+     * Multiplies with the given rate, rounding half up to the nearest micro-unit.
+     */
+    public Money multiply(double rate) {
+        return of(this.getValue() * rate);
+    }
+
+    public Money negate() {
+        return ofMicros(Math.negateExact(this.micros));
+    }
+
+    public boolean isZero() {
+        return this.micros == 0L;
+    }
+
+    public boolean isPositive() {
+        return this.micros > 0L;
+    }
+
+    public boolean isNegative() {
+        return this.micros < 0L;
+    }
+
+    public Money min(Money other) {
+        return this.micros <= other.micros ? this : other;
+    }
+
+    public Money max(Money other) {
+        return this.micros >= other.micros ? this : other;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(this.micros, other.micros);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Money money = (Money) o;
+        return micros == money.micros;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return ((Double) this.getValue()).toString();
+    }
+}
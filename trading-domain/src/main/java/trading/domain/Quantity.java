@@ -1,8 +1,11 @@
 package trading.domain;
 
+import java.io.Serializable;
 import java.util.Objects;
 
-public class Quantity {
+public class Quantity implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     public final static Quantity Zero = new Quantity(0);
 
     private int value;
@@ -3,6 +3,8 @@ package trading.domain.account;
 import trading.domain.Amount;
 import trading.domain.DomainException;
 import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
+import trading.domain.Money;
 import trading.domain.Quantity;
 import trading.domain.market.MarketPriceSnapshot;
 import trading.domain.taxes.TaxImpact;
@@ -10,16 +12,21 @@ import trading.domain.taxes.TaxManager;
 import trading.domain.taxes.TaxReport;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class Account {
     private AccountId id;
-    private Amount availableMoney;
+    private long availableMoneyMicros;
     private HashMap<ISIN, Position> positions = new HashMap<>();
-    private Amount commissions;
-    private Amount balance;
+    private Position[] positionList = new Position[8];
+    private int numPositions = 0;
+    private final InstrumentRegistry instrumentRegistry;
+    private Position[] positionsByInstrument;
+    private long commissionsMicros;
+    private long balanceMicros;
 
     private final List<Transaction> processedTransactions;
     private final Map<ISIN, MarketTransaction> lastMarketTransactionByIsin;
@@ -27,7 +34,7 @@ public class Account {
 
     private final TaxManager taxManager;
 
-    Account(Amount availableMoney, TaxStrategy taxStrategy) {
+    Account(Amount availableMoney, TaxStrategy taxStrategy, InstrumentRegistry instrumentRegistry) {
         if(availableMoney == null) {
             throw new DomainException("The available money must be set.");
         }
@@ -38,12 +45,15 @@ public class Account {
 
         this.taxManager = new TaxManager(taxStrategy);
 
-        this.commissions = Amount.Zero;
-        this.availableMoney = availableMoney;
-        this.balance = availableMoney;
+        this.commissionsMicros = 0L;
+        this.availableMoneyMicros = Money.toMicros(availableMoney.getValue());
+        this.balanceMicros = this.availableMoneyMicros;
         this.processedTransactions = new ArrayList<>();
         this.lastMarketTransactionByIsin = new HashMap<>();
         this.lastBuyTransactionByIsin = new HashMap<>();
+
+        this.instrumentRegistry = instrumentRegistry;
+        this.positionsByInstrument = new Position[instrumentRegistry == null ? 0 : instrumentRegistry.size()];
     }
 
     public TaxStrategy getTaxStrategy() {
@@ -51,15 +61,29 @@ public class Account {
     }
 
     public Amount getCommissions() {
-        return commissions;
+        return new Amount(Money.toDouble(this.commissionsMicros));
     }
 
     public Amount getAvailableMoney() {
-        return availableMoney;
+        return new Amount(Money.toDouble(this.availableMoneyMicros));
     }
 
     public Amount getBalance() {
-        return balance;
+        return new Amount(Money.toDouble(this.balanceMicros));
+    }
+
+    /**
+     * Returns the available money without allocating.
+     */
+    public double availableMoney() {
+        return Money.toDouble(this.availableMoneyMicros);
+    }
+
+    /**
+     * Returns the balance without allocating.
+     */
+    public double balance() {
+        return Money.toDouble(this.balanceMicros);
     }
 
     public Position getPosition(ISIN isin) throws PositionNotFoundException {
@@ -76,6 +100,25 @@ public class Account {
         return this.positions.containsKey(isin);
     }
 
+    /**
+     * Returns the position by the instrument index of the instrument registry the account was built with.
+     */
+    public Position getPosition(int instrumentIndex) throws PositionNotFoundException {
+        if(!this.hasPosition(instrumentIndex)) {
+            throw new PositionNotFoundException();
+        }
+
+        return this.positionsByInstrument[instrumentIndex];
+    }
+
+    public boolean hasPosition(int instrumentIndex) {
+        if(this.instrumentRegistry == null) {
+            throw new DomainException("The account has not been built with an instrument registry.");
+        }
+
+        return instrumentIndex >= 0 && instrumentIndex < this.positionsByInstrument.length && this.positionsByInstrument[instrumentIndex] != null;
+    }
+
     public List<Transaction> getProcessedTransactions() {
         return processedTransactions;
     }
@@ -133,6 +176,8 @@ public class Account {
         catch(AccountStateException ex) {
             if(position.isCreationPending()) {
                 this.positions.remove(transaction.getIsin());
+                this.setPositionByInstrument(transaction.getIsin(), null);
+                this.positionList[--this.numPositions] = null;
             }
 
             throw ex;
@@ -154,8 +199,10 @@ public class Account {
     private void registerDividendTransaction(DividendTransaction transaction) {
         this.ensureDividendTransactionRelatesToRespectivePosition(transaction);
 
-        this.availableMoney = this.availableMoney.add(transaction.getAmount());
-        this.balance = this.balance.add(transaction.getAmount());
+        long amountMicros = Money.toMicros(transaction.getAmount().getValue());
+
+        this.availableMoneyMicros += amountMicros;
+        this.balanceMicros += amountMicros;
     }
 
     private void ensureDividendTransactionRelatesToRespectivePosition(DividendTransaction transaction) {
@@ -189,43 +236,66 @@ public class Account {
 
         Position position = new Position(isin, Quantity.Zero, Amount.Zero);
         this.positions.put(isin, position);
+        this.setPositionByInstrument(isin, position);
+
+        if(this.numPositions == this.positionList.length) {
+            this.positionList = Arrays.copyOf(this.positionList, this.numPositions * 2);
+        }
+
+        this.positionList[this.numPositions++] = position;
         return position;
     }
 
+    private void setPositionByInstrument(ISIN isin, Position position) {
+        if(this.instrumentRegistry == null || !this.instrumentRegistry.contains(isin)) {
+            return;
+        }
+
+        int instrumentIndex = this.instrumentRegistry.indexOf(isin);
+
+        if(instrumentIndex >= this.positionsByInstrument.length) {
+            this.positionsByInstrument = Arrays.copyOf(this.positionsByInstrument, this.instrumentRegistry.size());
+        }
+
+        this.positionsByInstrument[instrumentIndex] = position;
+    }
+
     private void ensureTransactionCanBePaid(MarketTransaction transaction) throws AccountStateException {
-        Amount requiredAmount;
+        long requiredAmountMicros;
 
         if(transaction.getTransactionType() == MarketTransactionType.Buy) {
-            requiredAmount = transaction.getTotalPrice();
+            requiredAmountMicros = transaction.getTotalPriceMoney().getMicros();
         }
         else if(transaction.getTransactionType() == MarketTransactionType.Sell) {
-            requiredAmount = Amount.Zero;
+            requiredAmountMicros = 0L;
         }
         else {
             throw new RuntimeException("MarketTransaction type not supported: " + transaction.getTransactionType());
         }
 
-        if(requiredAmount.getValue() > 0 && requiredAmount.getValue() > this.availableMoney.getValue()) {
+        if(requiredAmountMicros > 0 && requiredAmountMicros > this.availableMoneyMicros) {
             throw new AccountStateException("The total price exceeds the available money.");
         }
     }
 
     private void updateBalances(MarketTransaction transaction) {
-        this.commissions = this.commissions.add(transaction.getCommission());
+        long commissionMicros = transaction.getCommissionMoney().getMicros();
+
+        this.commissionsMicros += commissionMicros;
 
         if(transaction.getTransactionType() == MarketTransactionType.Buy) {
-            this.availableMoney = this.availableMoney.subtract(transaction.getTotalPrice());
+            this.availableMoneyMicros -= transaction.getTotalPriceMoney().getMicros();
         }
         else if(transaction.getTransactionType() == MarketTransactionType.Sell) {
-            this.availableMoney = this.availableMoney.add(transaction.getTotalPrice());
+            this.availableMoneyMicros += transaction.getTotalPriceMoney().getMicros();
         }
         else {
             throw new RuntimeException("MarketTransaction type not supported: " + transaction.getTransactionType());
         }
 
-        this.availableMoney = this.availableMoney.subtract(transaction.getCommission());
+        this.availableMoneyMicros -= commissionMicros;
 
-        this.balance = this.balance.subtract(transaction.getCommission());
+        this.balanceMicros -= commissionMicros;
     }
 
     private void handleTransaction(MarketTransaction transaction, Position position) throws AccountStateException {
@@ -241,12 +311,12 @@ public class Account {
     }
 
     private void handleBuyTransaction(MarketTransaction transaction, Position position) throws AccountStateException {
-        if(!position.getQuantity().isZero()) {
+        if(position.quantity() != 0) {
             throw new AccountStateException("Subsequent buy transactions for non-empty positions are not supported.");
         }
 
-        position.setQuantity(transaction.getQuantity());
-        position.setFullMarketPrice(transaction.getTotalPrice());
+        position.setQuantity(transaction.getQuantity().getValue());
+        position.setFullMarketPriceMicros(transaction.getTotalPriceMoney().getMicros());
     }
 
     private void handleSellTransaction(MarketTransaction transaction, Position position) throws AccountStateException {
@@ -257,46 +327,46 @@ public class Account {
         this.preventPartialSellTransactions(transaction, position);
         this.preventExceedingSellTransactions(transaction, position);
 
-        Amount margin = transaction.getTotalPrice().subtract(position.getFullMarketPrice());
-        this.balance = this.balance.add(margin);
+        long marginMicros = transaction.getTotalPriceMoney().getMicros() - position.fullMarketPriceMicros();
+        this.balanceMicros += marginMicros;
 
-        Quantity quantity = position.getQuantity().subtract(transaction.getQuantity());
-        position.setQuantity(quantity);
-        position.setFullMarketPrice(Amount.Zero);
+        position.setQuantity(position.quantity() - transaction.getQuantity().getValue());
+        position.setFullMarketPriceMicros(0L);
     }
 
     private void calculateAndRegisterTransactionTaxImpact(Transaction transaction) {
         TaxImpact taxImpact = this.taxManager.registerTransactionAndCalculateTaxImpact(transaction);
 
-        this.availableMoney = this.availableMoney
-                .subtract(taxImpact.getAddedReservedTaxes())
-                .subtract(taxImpact.getAddedPaidTaxes());
+        long addedTaxesMicros = Money.toMicros(taxImpact.getAddedReservedTaxes().getValue())
+                + Money.toMicros(taxImpact.getAddedPaidTaxes().getValue());
 
-        this.balance = this.balance
-                .subtract(taxImpact.getAddedReservedTaxes())
-                .subtract(taxImpact.getAddedPaidTaxes());
+        this.availableMoneyMicros -= addedTaxesMicros;
+        this.balanceMicros -= addedTaxesMicros;
     }
 
     private void preventPartialSellTransactions(MarketTransaction transaction, Position position) throws AccountStateException {
-        if(transaction.getQuantity().getValue() < position.getQuantity().getValue()) {
+        if(transaction.getQuantity().getValue() < position.quantity()) {
             throw new AccountStateException("Partial sell transactions are not supported.");
         }
     }
 
     private void preventExceedingSellTransactions(MarketTransaction transaction, Position position) throws AccountStateException {
-        if(transaction.getQuantity().getValue() > position.getQuantity().getValue()) {
+        if(transaction.getQuantity().getValue() > position.quantity()) {
             throw new AccountStateException("The sell transaction states a higher quantity than the position has.");
         }
     }
 
+    /**
+     * Revalues all positions with the given market prices. Does not allocate, as it runs for every simulated day.
+     */
     public void reportMarketPrices(MarketPriceSnapshot marketPriceSnapshot) {
-        for(Position position: this.positions.values()) {
-            Amount marketPrice = marketPriceSnapshot.getMarketPrice(position.getISIN());
-            Amount previousFullMarketPrice = position.getFullMarketPrice();
-            Amount newFullMarketPrice = marketPrice.multiply(position.getQuantity());
-            Amount delta = newFullMarketPrice.subtract(previousFullMarketPrice);
-            position.setFullMarketPrice(newFullMarketPrice);
-            this.balance = this.balance.add(delta);
+        for(int positionIndex = 0; positionIndex < this.numPositions; positionIndex++) {
+            Position position = this.positionList[positionIndex];
+            double marketPrice = marketPriceSnapshot.getPrice(position.getISIN());
+            long newFullMarketPriceMicros = Money.toMicros(marketPrice * position.quantity());
+            long deltaMicros = newFullMarketPriceMicros - position.fullMarketPriceMicros();
+            position.setFullMarketPriceMicros(newFullMarketPriceMicros);
+            this.balanceMicros += deltaMicros;
         }
     }
 
@@ -315,23 +385,67 @@ public class Account {
     }
 
     public Amount getTotalStocksMarketPrice() {
-        Amount totalStocksMarketPrice = Amount.Zero;
+        long totalStocksMarketPriceMicros = 0L;
+
+        for(int positionIndex = 0; positionIndex < this.numPositions; positionIndex++) {
+            totalStocksMarketPriceMicros += this.positionList[positionIndex].fullMarketPriceMicros();
+        }
+
+        return new Amount(Money.toDouble(totalStocksMarketPriceMicros));
+    }
+
+    /**
+     * Returns the total stocks market price without allocating.
+     */
+    public double totalStocksMarketPrice() {
+        long totalStocksMarketPriceMicros = 0L;
+
+        for(int positionIndex = 0; positionIndex < this.numPositions; positionIndex++) {
+            totalStocksMarketPriceMicros += this.positionList[positionIndex].fullMarketPriceMicros();
+        }
+
+        return Money.toDouble(totalStocksMarketPriceMicros);
+    }
+
+    /**
+     * Returns the total stocks market price the account would have after reporting the given market prices,
+     * without changing the account.
+     */
+    public double totalStocksMarketPriceAt(MarketPriceSnapshot marketPriceSnapshot) {
+        long totalStocksMarketPriceMicros = 0L;
+
+        for(int positionIndex = 0; positionIndex < this.numPositions; positionIndex++) {
+            Position position = this.positionList[positionIndex];
+            double marketPrice = marketPriceSnapshot.getPrice(position.getISIN());
+            totalStocksMarketPriceMicros += Money.toMicros(marketPrice * position.quantity());
+        }
+
+        return Money.toDouble(totalStocksMarketPriceMicros);
+    }
+
+    /**
+     * Returns the balance the account would have after reporting the given market prices, without changing the account.
+     */
+    public double balanceAt(MarketPriceSnapshot marketPriceSnapshot) {
+        long balanceMicros = this.balanceMicros;
 
-        for(Position position: this.positions.values()) {
-            totalStocksMarketPrice = totalStocksMarketPrice.add(position.getFullMarketPrice());
+        for(int positionIndex = 0; positionIndex < this.numPositions; positionIndex++) {
+            Position position = this.positionList[positionIndex];
+            double marketPrice = marketPriceSnapshot.getPrice(position.getISIN());
+            balanceMicros += Money.toMicros(marketPrice * position.quantity()) - position.fullMarketPriceMicros();
         }
 
-        return totalStocksMarketPrice;
+        return Money.toDouble(balanceMicros);
     }
 
     public Quantity getTotalStocksQuantity() {
-        Quantity totalStocksQuantity = Quantity.Zero;
+        int totalStocksQuantity = 0;
 
-        for(Position position: this.positions.values()) {
-            totalStocksQuantity = new Quantity(totalStocksQuantity.getValue() + position.getQuantity().getValue());
+        for(int positionIndex = 0; positionIndex < this.numPositions; positionIndex++) {
+            totalStocksQuantity += this.positionList[positionIndex].quantity();
         }
 
-        return totalStocksQuantity;
+        return new Quantity(totalStocksQuantity);
     }
 
     public MarketTransaction getLastMarketTransaction(ISIN isin) {
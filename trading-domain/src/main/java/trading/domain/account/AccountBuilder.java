@@ -1,10 +1,12 @@
 package trading.domain.account;
 
 import trading.domain.Amount;
+import trading.domain.InstrumentRegistry;
 
 public class AccountBuilder {
     private Amount availableMoney;
     private TaxStrategy taxStrategy;
+    private InstrumentRegistry instrumentRegistry;
 
     public AccountBuilder setAvailableMoney(Amount availableMoney) {
         this.availableMoney = availableMoney;
@@ -16,7 +18,12 @@ public class AccountBuilder {
         return this;
     }
 
+    public AccountBuilder setInstrumentRegistry(InstrumentRegistry instrumentRegistry) {
+        this.instrumentRegistry = instrumentRegistry;
+        return this;
+    }
+
     public Account build() {
-        return new Account(this.availableMoney, this.taxStrategy);
+        return new Account(this.availableMoney, this.taxStrategy, this.instrumentRegistry);
     }
 }
@@ -3,6 +3,8 @@ package trading.domain.account;
 import trading.domain.AbstractId;
 
 public class AccountId extends AbstractId {
+    private static final long serialVersionUID = 1L;
+
     public AccountId(int value) {
         super(value);
     }
@@ -7,6 +7,8 @@ import trading.domain.ISIN;
 import java.time.LocalDate;
 
 public class DividendTransaction extends Transaction {
+    private static final long serialVersionUID = 1L;
+
     private final ISIN isin;
     private final Amount amount;
 
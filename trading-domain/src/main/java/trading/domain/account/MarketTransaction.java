@@ -3,16 +3,19 @@ package trading.domain.account;
 import trading.domain.Amount;
 import trading.domain.DomainException;
 import trading.domain.ISIN;
+import trading.domain.Money;
 import trading.domain.Quantity;
 
 import java.time.LocalDate;
 
 public class MarketTransaction extends Transaction {
+    private static final long serialVersionUID = 1L;
+
     private MarketTransactionType transactionType;
     private ISIN isin;
     private Quantity quantity;
-    private Amount totalPrice;
-    private Amount commission;
+    private Money totalPrice;
+    private Money commission;
 
     MarketTransaction(MarketTransactionType transactionType, ISIN isin, Quantity quantity, Amount totalPrice, Amount commission, LocalDate date) {
         super(date);
@@ -52,8 +55,8 @@ public class MarketTransaction extends Transaction {
         this.transactionType = transactionType;
         this.isin = isin;
         this.quantity = quantity;
-        this.totalPrice = totalPrice;
-        this.commission = commission;
+        this.totalPrice = Money.of(totalPrice);
+        this.commission = Money.of(commission);
         this.date = date;
     }
 
@@ -70,11 +73,19 @@ public class MarketTransaction extends Transaction {
     }
 
     public Amount getTotalPrice() {
-        return totalPrice;
+        return this.totalPrice.toAmount();
     }
 
     public Amount getCommission() {
-        return commission;
+        return this.commission.toAmount();
+    }
+
+    public Money getTotalPriceMoney() {
+        return this.totalPrice;
+    }
+
+    public Money getCommissionMoney() {
+        return this.commission;
     }
 
     @Override
@@ -13,6 +13,7 @@ public class MarketTransactionBuilder {
     private Amount totalPrice;
     private Amount commission;
     private LocalDate date;
+    private int dayIndex = Transaction.NO_DAY_INDEX;
 
     public MarketTransactionBuilder setTransactionType(MarketTransactionType transactionType) {
         this.transactionType = transactionType;
@@ -44,7 +45,14 @@ public class MarketTransactionBuilder {
         return this;
     }
 
+    public MarketTransactionBuilder setDayIndex(int dayIndex) {
+        this.dayIndex = dayIndex;
+        return this;
+    }
+
     public MarketTransaction build() {
-        return new MarketTransaction(this.transactionType, this.isin, this.quantity, this.totalPrice, this.commission, this.date);
+        MarketTransaction marketTransaction = new MarketTransaction(this.transactionType, this.isin, this.quantity, this.totalPrice, this.commission, this.date);
+        marketTransaction.dayIndex = this.dayIndex;
+        return marketTransaction;
     }
 }
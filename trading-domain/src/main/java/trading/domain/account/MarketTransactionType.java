@@ -1,6 +1,8 @@
 package trading.domain.account;
 
 public class MarketTransactionType extends TransactionType {
+    private static final long serialVersionUID = 1L;
+
     protected MarketTransactionType(int index, String name) {
         super(index, name);
     }
@@ -2,12 +2,13 @@ package trading.domain.account;
 
 import trading.domain.Amount;
 import trading.domain.ISIN;
+import trading.domain.Money;
 import trading.domain.Quantity;
 
 public class Position {
     private ISIN isin;
-    private Quantity quantity;
-    private Amount fullMarketPrice;
+    private int quantity;
+    private long fullMarketPriceMicros;
     private boolean creationPending;
 
     public ISIN getISIN() {
@@ -15,23 +16,39 @@ public class Position {
     }
 
     public Quantity getQuantity() {
-        return quantity;
+        return new Quantity(this.quantity);
     }
 
     protected void setQuantity(Quantity quantity) {
-        if(quantity.getValue() < 0) {
+        this.setQuantity(quantity.getValue());
+    }
+
+    void setQuantity(int quantity) {
+        if(quantity < 0) {
             throw new RuntimeException("The quantity must not be negative.");
         }
 
         this.quantity = quantity;
     }
 
+    int quantity() {
+        return this.quantity;
+    }
+
     public Amount getFullMarketPrice() {
-        return fullMarketPrice;
+        return new Amount(Money.toDouble(this.fullMarketPriceMicros));
     }
 
     protected void setFullMarketPrice(Amount fullMarketPrice) {
-        this.fullMarketPrice = fullMarketPrice;
+        this.fullMarketPriceMicros = Money.toMicros(fullMarketPrice.getValue());
+    }
+
+    void setFullMarketPriceMicros(long fullMarketPriceMicros) {
+        this.fullMarketPriceMicros = fullMarketPriceMicros;
+    }
+
+    long fullMarketPriceMicros() {
+        return this.fullMarketPriceMicros;
     }
 
     public boolean isCreationPending() {
@@ -44,8 +61,8 @@ public class Position {
         }
 
         this.isin = isin;
-        this.quantity = quantity;
-        this.fullMarketPrice = fullMarketPrice;
+        this.quantity = quantity.getValue();
+        this.fullMarketPriceMicros = Money.toMicros(fullMarketPrice.getValue());
         this.creationPending = true;
     }
 
@@ -7,6 +7,8 @@ import trading.domain.taxes.ProfitCategory;
 import java.time.LocalDate;
 
 public class TaxPaymentTransaction extends Transaction {
+    private static final long serialVersionUID = 1L;
+
     private final int taxPeriodYear;
     private final ProfitCategory profitCategory;
     private final Amount taxedProfit;
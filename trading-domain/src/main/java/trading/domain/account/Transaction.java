@@ -1,9 +1,15 @@
 package trading.domain.account;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 
-public abstract class Transaction {
+public abstract class Transaction implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int NO_DAY_INDEX = -1;
+
     protected LocalDate date;
+    protected int dayIndex = NO_DAY_INDEX;
     private TransactionId id;
 
     public Transaction(LocalDate date) {
@@ -14,6 +20,14 @@ public abstract class Transaction {
         return this.date;
     }
 
+    /**
+     * Returns the index of the transaction day within the trading calendar of the simulation
+     * the transaction was created in, or NO_DAY_INDEX if the transaction was not created by a simulation.
+     */
+    public int getDayIndex() {
+        return this.dayIndex;
+    }
+
     public TransactionId getId() {
         return id;
     }
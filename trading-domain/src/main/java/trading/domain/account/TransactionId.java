@@ -3,6 +3,8 @@ package trading.domain.account;
 import trading.domain.AbstractId;
 
 public class TransactionId extends AbstractId {
+    private static final long serialVersionUID = 1L;
+
     public TransactionId(int value) {
         super(value);
     }
@@ -1,6 +1,10 @@
 package trading.domain.account;
 
-public class TransactionType {
+import java.io.Serializable;
+
+public class TransactionType implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final int index;
     private final String name;
 
@@ -18,6 +22,14 @@ public class TransactionType {
         return this.name;
     }
 
+    /**
+     * Keeps the transaction types unique when deserialized, as they are compared by identity.
+     * Protected to apply to the market transaction types as well.
+     */
+    protected Object readResolve() {
+        return ofIndex(this.index);
+    }
+
     public static final MarketTransactionType Buy = new MarketTransactionType(0, "Buy");
     public static final MarketTransactionType Sell = new MarketTransactionType(1, "Sell");
     public static final TransactionType Dividend = new TransactionType(2, "Dividend");
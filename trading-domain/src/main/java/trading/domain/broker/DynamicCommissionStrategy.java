@@ -1,9 +1,13 @@
 package trading.domain.broker;
 
 import trading.domain.Amount;
+import trading.domain.Money;
 
 public class DynamicCommissionStrategy implements CommissionStrategy {
     private final DynamicCommissionStrategyParameters parameters;
+    private final Money fixedAmount;
+    private final Money minimumVariableAmount;
+    private final Money maximumVariableAmount;
 
     public DynamicCommissionStrategy(DynamicCommissionStrategyParameters parameters) {
         if(parameters == null) {
@@ -11,30 +15,29 @@ public class DynamicCommissionStrategy implements CommissionStrategy {
         }
 
         this.parameters = parameters;
+        this.fixedAmount = parameters.getFixedAmount() == null ? Money.Zero : Money.of(parameters.getFixedAmount());
+        this.minimumVariableAmount = parameters.getMinimumVariableAmount() == null ? null : Money.of(parameters.getMinimumVariableAmount());
+        this.maximumVariableAmount = parameters.getMaximumVariableAmount() == null ? null : Money.of(parameters.getMaximumVariableAmount());
     }
 
     @Override
     public Amount calculateCommission(Amount totalPrice) {
-        Amount result = Amount.Zero;
-
-        if(this.parameters.getFixedAmount() != null) {
-            result = result.add(this.parameters.getFixedAmount());
-        }
+        Money result = this.fixedAmount;
 
         if(this.parameters.getVariableAmountRate() != 0.0) {
-            double variableAmount = totalPrice.getValue() * this.parameters.getVariableAmountRate();
+            Money variableAmount = Money.of(totalPrice).multiply(this.parameters.getVariableAmountRate());
 
-            if(this.parameters.getMinimumVariableAmount() != null && variableAmount < this.parameters.getMinimumVariableAmount().getValue()) {
-                variableAmount = this.parameters.getMinimumVariableAmount().getValue();
+            if(this.minimumVariableAmount != null) {
+                variableAmount = variableAmount.max(this.minimumVariableAmount);
             }
 
-            if(this.parameters.getMaximumVariableAmount() != null && variableAmount > this.parameters.getMaximumVariableAmount().getValue()) {
-                variableAmount = this.parameters.getMaximumVariableAmount().getValue();
+            if(this.maximumVariableAmount != null) {
+                variableAmount = variableAmount.min(this.maximumVariableAmount);
             }
 
-            result = result.add(new Amount(variableAmount));
+            result = result.add(variableAmount);
         }
 
-        return result;
+        return result.toAmount();
     }
 }
@@ -3,7 +3,11 @@ package trading.domain.broker;
 import trading.domain.ISIN;
 import trading.domain.Quantity;
 
-public class OrderRequest {
+import java.io.Serializable;
+
+public class OrderRequest implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final OrderType orderType;
     private final ISIN isin;
     private final Quantity quantity;
@@ -49,8 +49,11 @@ public class VirtualBroker implements Broker {
     public void notifyDayOpened(LocalDate date) {
         OrderRequest orderRequest;
 
+        // The opened day directly follows the last closed day of the market data
+        int dayIndex = this.historicalMarketData.getDayIndex() + 1;
+
         while((orderRequest = this.registeredOrderRequests.poll()) != null) {
-            processOrderRequest(orderRequest, date);
+            processOrderRequest(orderRequest, date, dayIndex);
         }
     }
 
@@ -59,21 +62,21 @@ public class VirtualBroker implements Broker {
         return this.commissionStrategy;
     }
 
-    private void processOrderRequest(OrderRequest orderRequest, LocalDate date) {
+    private void processOrderRequest(OrderRequest orderRequest, LocalDate date, int dayIndex) {
         switch (orderRequest.getOrderType()) {
             case BuyMarket:
-                this.processMarketBuyOrderRequest(orderRequest, date);
+                this.processMarketBuyOrderRequest(orderRequest, date, dayIndex);
                 return;
 
             case SellMarket:
-                this.processMarketSellOrderRequest(orderRequest, date);
+                this.processMarketSellOrderRequest(orderRequest, date, dayIndex);
                 return;
         }
 
         throw new RuntimeException("The order request type is not supported.");
     }
 
-    private void processMarketBuyOrderRequest(OrderRequest orderRequest, LocalDate date) {
+    private void processMarketBuyOrderRequest(OrderRequest orderRequest, LocalDate date, int dayIndex) {
         ISIN isin = orderRequest.getIsin();
         Amount lastMarketPrice = this.historicalMarketData.getStockData(isin).getLastClosingMarketPrice();
         Amount totalPrice = lastMarketPrice.multiply(orderRequest.getQuantity());
@@ -90,12 +93,13 @@ public class VirtualBroker implements Broker {
                 .setTotalPrice(totalPrice)
                 .setCommission(commission)
                 .setDate(date)
+                .setDayIndex(dayIndex)
                 .build();
 
         account.registerTransaction(transaction);
     }
 
-    private void processMarketSellOrderRequest(OrderRequest orderRequest, LocalDate date) {
+    private void processMarketSellOrderRequest(OrderRequest orderRequest, LocalDate date, int dayIndex) {
         ISIN isin = orderRequest.getIsin();
         Amount lastMarketPrice = this.historicalMarketData.getStockData(isin).getLastClosingMarketPrice();
         Amount totalPrice = lastMarketPrice.multiply(orderRequest.getQuantity());
@@ -108,11 +112,16 @@ public class VirtualBroker implements Broker {
                 .setTotalPrice(totalPrice)
                 .setCommission(commission)
                 .setDate(date)
+                .setDayIndex(dayIndex)
                 .build();
 
         account.registerTransaction(transaction);
     }
 
+    public boolean hasRegisteredOrderRequests() {
+        return !this.registeredOrderRequests.isEmpty();
+    }
+
     public List<OrderRequest> getRegisteredOrderRequests() {
         return new ArrayList<>(this.registeredOrderRequests);
     }
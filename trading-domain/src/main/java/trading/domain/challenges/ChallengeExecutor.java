@@ -1,24 +1,47 @@
 package trading.domain.challenges;
 
+import trading.domain.Amount;
+import trading.domain.account.TaxStrategy;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.simulation.EquityCurveRecorder;
+import trading.domain.simulation.LockstepSimulationDriver;
+import trading.domain.simulation.LockstepSimulationDriverParameters;
+import trading.domain.simulation.LockstepSimulationReport;
 import trading.domain.simulation.RunParameters;
 import trading.domain.simulation.SimulationDriver;
 import trading.domain.simulation.SimulationDriverParameters;
 import trading.domain.simulation.SimulationReport;
+import trading.domain.simulation.TerminationCondition;
+import trading.domain.simulation.TopResultsThreshold;
+import trading.domain.simulation.UpperBoundTerminationCondition;
 
-import java.util.Iterator;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ChallengeExecutor {
+    private static final int NUM_LANES_PER_LOCKSTEP_SIMULATION = 256;
+    private static final int MAX_NUM_RUNS_PER_CHUNK = 64;
+    private static final int PROGRESS_REPORTING_PERIOD = 1000;
+
     private ParameterTupleSource runParametersSource;
-    private Iterator<Object[]> runParametersIterator;
     private ChallengeReporter reporter;
-    private int nextRunIndex = 0;
-    private CountDownLatch countDownLatch;
-    private int numSimulations;
+    private final AtomicLong numCompletedSimulations = new AtomicLong();
+    private long numSimulations;
     private Challenge challenge;
     private boolean dailyReporting = false;
+    private boolean lockstep = false;
+    private boolean daySkipping = false;
+    private int dailyReportingInterval = 1;
+    private final List<TerminationCondition> terminationConditions = new ArrayList<>();
+    private TopResultsThreshold topResultsThreshold;
+    private List<TerminationCondition> runTerminationConditions;
+    private HistoricalMarketDataSet upperBoundHistoricalMarketDataSet;
+    private final AtomicInteger numTerminatedSimulations = new AtomicInteger();
 
     public ChallengeExecutor(Challenge challenge) {
         this.challenge = challenge;
@@ -28,36 +51,78 @@ public class ChallengeExecutor {
         this.dailyReporting = dailyReporting;
     }
 
-    public void executeChallenge() {
-        String fileName = "/Users/robert/GitHub/data/data.csv";
-        this.reporter = new ChallengeReporter(fileName, this.challenge.getParameterNames());
+    /**
+     * Reports only every n-th simulated day and the last day when daily reporting is enabled.
+     */
+    public void setDailyReportingInterval(int dailyReportingInterval) {
+        if(dailyReportingInterval <= 0) {
+            throw new RuntimeException("The daily reporting interval must be positive.");
+        }
+
+        this.dailyReportingInterval = dailyReportingInterval;
+    }
+
+    /**
+     * Runs the parameter tuples in lockstep simulations of many lanes at once. Requires a lockstep challenge.
+     * The lanes ignore taxes, so the runs of the challenge must be tax-free; daily reporting is not supported.
+     */
+    public void setLockstep(boolean lockstep) {
+        this.lockstep = lockstep;
+    }
+
+    /**
+     * Enables that the simulations skip days before the wake condition of the trading strategy. Requires the runs of
+     * the challenge to simulate the days of their market data set, e.g. by a data source of the shared closing prices.
+     */
+    public void setDaySkipping(boolean daySkipping) {
+        this.daySkipping = daySkipping;
+    }
+
+    /**
+     * Adds a condition terminating hopeless simulations early, e.g. a drawdown floor or an inactivity condition.
+     * Terminated simulations are reported with their termination reason.
+     */
+    public void addTerminationCondition(TerminationCondition terminationCondition) {
+        this.terminationConditions.add(terminationCondition);
+    }
 
+    /**
+     * Enables terminating simulations which cannot reach the given number of best results anymore.
+     * The best results are the same as without pruning. Requires challenges providing a market data set.
+     */
+    public void setPruning(int numTopResults) {
+        this.topResultsThreshold = new TopResultsThreshold(numTopResults);
+    }
+
+    public void executeChallenge() {
         this.runParametersSource = challenge.getParametersSource();
-        this.runParametersIterator = runParametersSource.getIterator();
 
-        final int numThreads = Runtime.getRuntime().availableProcessors();
+        if(this.lockstep) {
+            this.validateLockstep();
+        }
 
         this.numSimulations = runParametersSource.size();
+        this.numCompletedSimulations.set(0);
 
-        if(dailyReporting && this.numSimulations > 1000) {
-            throw new RuntimeException("Daily reporting is not allowed for challenges containing more than 1,000 simulations.");
-        }
+        this.prepareTerminationConditions();
+
+        String fileName = "/Users/robert/GitHub/data/data.csv";
+        this.reporter = new ChallengeReporter(fileName, this.challenge.getParameterNames());
+
+        final int numThreads = Runtime.getRuntime().availableProcessors();
 
         System.out.println("Running " + String.format("%,d", this.numSimulations) + " simulations in " + numThreads + " threads...");
 
-        final ExecutorService threads = Executors.newFixedThreadPool(numThreads);
+        // The run indexes are split in halves down to chunks, idle threads steal the halves not yet run by busy threads
 
-        this.countDownLatch = new CountDownLatch(this.numSimulations);
+        final ForkJoinPool threads = new ForkJoinPool(numThreads);
+        final int numRunsPerChunk = this.lockstep ? NUM_LANES_PER_LOCKSTEP_SIMULATION : this.getNumRunsPerChunk(numThreads);
 
-        try {
-            for(int threadIndex = 0; threadIndex < numThreads; threadIndex++) {
-                threads.execute(() -> this.runSimulationInWorkerThread());
-            }
+        // The equity curves are recorded into the same columns for all runs of a thread and written right away
+        final ThreadLocal<EquityCurveRecorder> equityCurveRecorders = ThreadLocal.withInitial(() -> new EquityCurveRecorder(this.dailyReportingInterval));
 
-            countDownLatch.await();
-        }
-        catch (InterruptedException e) {
-            throw new RuntimeException(e);
+        try {
+            threads.invoke(new RunIndexRangeTask(0, this.numSimulations, numRunsPerChunk, equityCurveRecorders));
         }
         finally {
             threads.shutdown();
@@ -65,58 +130,219 @@ public class ChallengeExecutor {
             this.reporter.close();
         }
 
-        System.out.println("All simulations completed.");
+        System.out.println("All simulations completed, " + String.format("%,d", this.numTerminatedSimulations.get()) + " of them terminated early.");
     }
 
-    private void runSimulationInWorkerThread() {
-        RunParameters runParameters;
+    private void validateLockstep() {
+        if(!(this.challenge instanceof LockstepChallenge)) {
+            throw new RuntimeException("Lockstep simulations require a lockstep challenge.");
+        }
+
+        if(this.dailyReporting) {
+            throw new RuntimeException("Daily reporting is not supported by lockstep simulations.");
+        }
+
+        if(this.daySkipping) {
+            throw new RuntimeException("Day skipping is not supported by lockstep simulations.");
+        }
 
-        while((runParameters = this.getNextRunParameters()) != null) {
-            try {
-                SimulationDriverParameters simulationDriverParameters = challenge.buildSimulationDriverParametersForRun(runParameters.getParameters());
+        if(this.runParametersSource.size() == 0) {
+            return;
+        }
 
-                SimulationDriver simulationDriver = new SimulationDriver(simulationDriverParameters);
-                simulationDriver.setDailyReporting(this.dailyReporting);
-                SimulationReport simulationReport = simulationDriver.runSimulation();
+        TaxStrategy taxStrategy = this.challenge.buildSimulationDriverParametersForRun(this.runParametersSource.get(0)).getTaxStrategy();
+        Amount testProfit = new Amount(1000.0);
 
-                this.reporter.trackCompletedSimulation(runParameters, simulationReport);
-            }
-            catch(RuntimeException ex) {
-                this.reporter.trackFailedSimulation(runParameters, ex);
+        if(taxStrategy.getSaleTaxCalculator().calculateTaxes(testProfit).getValue() != 0.0 || taxStrategy.getDividendTaxCalculator().calculateTaxes(testProfit).getValue() != 0.0) {
+            throw new RuntimeException("Lockstep simulations ignore taxes, so the runs of the challenge must be tax-free.");
+        }
+    }
+
+    /**
+     * Chunks are small enough that the threads finish at about the same time, as the run durations vary.
+     */
+    private int getNumRunsPerChunk(int numThreads) {
+        return (int) Math.max(1, Math.min(MAX_NUM_RUNS_PER_CHUNK, this.numSimulations / (numThreads * 16)));
+    }
+
+    /**
+     * Runs a range of run indexes. Ranges longer than a chunk are split in halves at a chunk boundary,
+     * so that idle threads of the pool can steal the halves.
+     */
+    private class RunIndexRangeTask extends RecursiveAction {
+        private final long firstRunIndex;
+        private final long lastRunIndex;
+        private final int numRunsPerChunk;
+        private final ThreadLocal<EquityCurveRecorder> equityCurveRecorders;
+
+        RunIndexRangeTask(long firstRunIndex, long lastRunIndex, int numRunsPerChunk, ThreadLocal<EquityCurveRecorder> equityCurveRecorders) {
+            this.firstRunIndex = firstRunIndex;
+            this.lastRunIndex = lastRunIndex;
+            this.numRunsPerChunk = numRunsPerChunk;
+            this.equityCurveRecorders = equityCurveRecorders;
+        }
+
+        @Override
+        protected void compute() {
+            long numRuns = this.lastRunIndex - this.firstRunIndex;
+
+            if(numRuns > this.numRunsPerChunk) {
+                long numChunks = (numRuns + this.numRunsPerChunk - 1) / this.numRunsPerChunk;
+                long middleRunIndex = this.firstRunIndex + numChunks / 2 * this.numRunsPerChunk;
+
+                invokeAll(
+                        new RunIndexRangeTask(this.firstRunIndex, middleRunIndex, this.numRunsPerChunk, this.equityCurveRecorders),
+                        new RunIndexRangeTask(middleRunIndex, this.lastRunIndex, this.numRunsPerChunk, this.equityCurveRecorders));
             }
-            finally {
-                countDownLatch.countDown();
+            else if(numRuns > 0) {
+                if(ChallengeExecutor.this.lockstep) {
+                    ChallengeExecutor.this.runLockstepSimulations((LockstepChallenge) ChallengeExecutor.this.challenge, this.firstRunIndex, this.lastRunIndex);
+                }
+                else {
+                    ChallengeExecutor.this.runSimulations(this.firstRunIndex, this.lastRunIndex, this.equityCurveRecorders.get());
+                }
             }
+        }
+    }
 
-            long numRemainingSimulations = countDownLatch.getCount();
+    private void runSimulations(long firstRunIndex, long lastRunIndex, EquityCurveRecorder equityCurveRecorder) {
+        for(long runIndex = firstRunIndex; runIndex < lastRunIndex; runIndex++) {
+            this.runSimulation(runIndex, equityCurveRecorder);
+        }
 
-            int reportingPeriod = 1000;
-            // int reportingPeriod = 100000;
+        this.reportCompletedSimulations((int) (lastRunIndex - firstRunIndex));
+    }
+
+    private void runSimulation(long runIndex, EquityCurveRecorder equityCurveRecorder) {
+        RunParameters runParameters = new RunParameters(runIndex, this.runParametersSource.get(runIndex));
+
+        try {
+            SimulationDriverParameters simulationDriverParameters = challenge.buildSimulationDriverParametersForRun(runParameters.getParameters());
+
+            SimulationDriver simulationDriver = new SimulationDriver(simulationDriverParameters);
+            simulationDriver.setDaySkipping(this.daySkipping);
+
+            if(this.dailyReporting) {
+                simulationDriver.setEquityCurveRecorder(equityCurveRecorder);
+            }
 
-            if(numRemainingSimulations % reportingPeriod == 0 && numRemainingSimulations > 0) {
-                double progress = 100.0 * (numSimulations - numRemainingSimulations) / numSimulations;
-                System.out.println("Progress: " + String.format("%.2f", progress) + " % - " + String.format("%,d", numRemainingSimulations) + " simulations remaining.");
+            for(TerminationCondition terminationCondition: this.getTerminationConditions(simulationDriverParameters.getHistoricalMarketDataSet())) {
+                simulationDriver.addTerminationCondition(terminationCondition);
             }
+
+            SimulationReport simulationReport = simulationDriver.runSimulation();
+
+            this.trackCompletedSimulation(runParameters, simulationReport);
+        }
+        catch(RuntimeException ex) {
+            this.reporter.trackFailedSimulation(runParameters, ex);
         }
     }
 
-    private RunParameters getNextRunParameters() {
-        long runIndex;
-        Object[] runParameters = null;
+    private void runLockstepSimulations(LockstepChallenge lockstepChallenge, long firstRunIndex, long lastRunIndex) {
+        List<RunParameters> batch = new ArrayList<>();
+
+        for(long runIndex = firstRunIndex; runIndex < lastRunIndex; runIndex++) {
+            batch.add(new RunParameters(runIndex, this.runParametersSource.get(runIndex)));
+        }
+
+        try {
+            List<Object[]> batchParameters = new ArrayList<>();
+
+            for(RunParameters runParameters: batch) {
+                batchParameters.add(runParameters.getParameters());
+            }
+
+            LockstepSimulationDriverParameters lockstepSimulationDriverParameters = lockstepChallenge.buildLockstepSimulationDriverParametersForRuns(batchParameters);
+            LockstepSimulationDriver lockstepSimulationDriver = new LockstepSimulationDriver(lockstepSimulationDriverParameters);
+
+            for(TerminationCondition terminationCondition: this.getTerminationConditions(lockstepSimulationDriverParameters.getHistoricalMarketDataSet())) {
+                lockstepSimulationDriver.addTerminationCondition(terminationCondition);
+            }
 
-        synchronized (this.runParametersIterator) {
-            runIndex = this.nextRunIndex;
-            this.nextRunIndex++;
+            LockstepSimulationReport lockstepSimulationReport = lockstepSimulationDriver.runSimulation();
 
-            if(this.runParametersIterator.hasNext()) {
-                runParameters = this.runParametersIterator.next();
+            for(int lane = 0; lane < batch.size(); lane++) {
+                if(lockstepSimulationReport.isFailed(lane)) {
+                    this.reporter.trackFailedSimulation(batch.get(lane), lockstepSimulationReport.getFailure(lane));
+                }
+                else {
+                    this.trackCompletedSimulation(batch.get(lane), lockstepSimulationReport.getSimulationReport(lane));
+                }
+            }
+        }
+        catch(RuntimeException ex) {
+            for(RunParameters runParameters: batch) {
+                this.reporter.trackFailedSimulation(runParameters, ex);
             }
         }
+        finally {
+            this.reportCompletedSimulations(batch.size());
+        }
+    }
+
+    /**
+     * Builds the termination conditions of the runs before the workers start, so that the workers share no lock.
+     * The upper bound of the pruning is calculated once on the market data set of the first run.
+     */
+    private void prepareTerminationConditions() {
+        this.runTerminationConditions = this.terminationConditions;
+        this.upperBoundHistoricalMarketDataSet = null;
+
+        if(this.topResultsThreshold == null || this.numSimulations == 0) {
+            return;
+        }
+
+        HistoricalMarketDataSet historicalMarketDataSet = this.getHistoricalMarketDataSetOfFirstRun();
+
+        if(historicalMarketDataSet == null) {
+            throw new RuntimeException("Pruning requires the challenge to provide a historical market data set.");
+        }
+
+        this.runTerminationConditions = new ArrayList<>(this.terminationConditions);
+        this.runTerminationConditions.add(new UpperBoundTerminationCondition(historicalMarketDataSet, this.topResultsThreshold));
+        this.upperBoundHistoricalMarketDataSet = historicalMarketDataSet;
+    }
+
+    private HistoricalMarketDataSet getHistoricalMarketDataSetOfFirstRun() {
+        Object[] runParameters = this.runParametersSource.get(0);
+
+        if(this.lockstep) {
+            return ((LockstepChallenge) this.challenge).buildLockstepSimulationDriverParametersForRuns(Collections.singletonList(runParameters)).getHistoricalMarketDataSet();
+        }
 
-        if(runParameters == null) {
-            return null;
+        return this.challenge.buildSimulationDriverParametersForRun(runParameters).getHistoricalMarketDataSet();
+    }
+
+    private List<TerminationCondition> getTerminationConditions(HistoricalMarketDataSet historicalMarketDataSet) {
+        if(this.upperBoundHistoricalMarketDataSet != null && this.upperBoundHistoricalMarketDataSet != historicalMarketDataSet) {
+            throw new RuntimeException("Pruning requires all runs of the challenge to share the historical market data set.");
+        }
+
+        return this.runTerminationConditions;
+    }
+
+    private void trackCompletedSimulation(RunParameters runParameters, SimulationReport simulationReport) {
+        if(simulationReport.isTerminated()) {
+            this.numTerminatedSimulations.incrementAndGet();
         }
+        else if(this.topResultsThreshold != null) {
+            this.topResultsThreshold.registerResult(simulationReport.getRealizedRateOfReturn());
+        }
+
+        this.reporter.trackCompletedSimulation(runParameters, simulationReport);
+    }
 
-        return new RunParameters(runIndex, runParameters);
+    private void reportCompletedSimulations(int numSimulations) {
+        long numCompletedSimulations = this.numCompletedSimulations.addAndGet(numSimulations);
+        long previousNumCompletedSimulations = numCompletedSimulations - numSimulations;
+        long numRemainingSimulations = this.numSimulations - numCompletedSimulations;
+
+        // Chunks may step over a multiple of the reporting period, so crossing it is reported
+
+        if(numCompletedSimulations / PROGRESS_REPORTING_PERIOD != previousNumCompletedSimulations / PROGRESS_REPORTING_PERIOD && numRemainingSimulations > 0) {
+            double progress = 100.0 * numCompletedSimulations / this.numSimulations;
+            System.out.println("Progress: " + String.format("%.2f", progress) + " % - " + String.format("%,d", numRemainingSimulations) + " simulations remaining.");
+        }
     }
 }
@@ -1,7 +1,8 @@
 package trading.domain.challenges;
 
 import trading.domain.simulation.RunParameters;
-import trading.domain.simulation.SimulationDayReport;
+import trading.domain.simulation.EquityCurve;
+import trading.domain.simulation.RiskMetrics;
 import trading.domain.simulation.SimulationReport;
 
 import java.io.BufferedWriter;
@@ -44,7 +45,9 @@ public class ChallengeReporter {
                 ";" + simulationReport.getAverageMarketRateOfReturn() +
                 ";" + simulationReport.getRealizedRateOfReturn() +
                 ";" + simulationReport.getAddedRateOfReturn() +
-                ";" + simulationReport.getTransactions().size();
+                ";" + simulationReport.getTransactions().size() +
+                ";" + (simulationReport.isTerminated() ? simulationReport.getTerminationReason().toString() : "") +
+                this.formatRiskMetrics(simulationReport.getRiskMetrics());
 
         for(Object runParameter: runParameters.getParameters()) {
             line += ";" + runParameter.toString();
@@ -55,8 +58,24 @@ public class ChallengeReporter {
         this.generateDailyReport(runParameters, simulationReport);
     }
 
+    private String formatRiskMetrics(RiskMetrics riskMetrics) {
+        if(riskMetrics == null) {
+            return ";;;;;;;";
+        }
+
+        return ";" + riskMetrics.getMaxDrawdown() +
+                ";" + riskMetrics.getVolatility() +
+                ";" + riskMetrics.getSharpeRatio() +
+                ";" + riskMetrics.getSortinoRatio() +
+                ";" + riskMetrics.getTimeInMarket() +
+                ";" + riskMetrics.getTurnover() +
+                ";" + riskMetrics.getExposure();
+    }
+
     private void generateDailyReport(RunParameters runParameters, SimulationReport simulationReport) {
-        if(simulationReport.getDayReports() == null) {
+        EquityCurve equityCurve = simulationReport.getEquityCurve();
+
+        if(equityCurve == null) {
             return;
         }
 
@@ -72,22 +91,20 @@ public class ChallengeReporter {
             bufferedWriter.write("day;account_balance;available_money;average_market_rate_of_return;realized_rate_of_return");
             bufferedWriter.newLine();
 
-            for(int dayIndex = 0; dayIndex < simulationReport.getDayReports().size(); dayIndex++) {
-                SimulationDayReport simulationDayReport = simulationReport.getDayReports().get(dayIndex);
-
-                bufferedWriter.write(((Integer) dayIndex).toString());
+            for(int index = 0; index < equityCurve.size(); index++) {
+                bufferedWriter.write(Integer.toString(equityCurve.getSimulatedDayIndex(index)));
                 bufferedWriter.write(";");
 
-                bufferedWriter.write(simulationDayReport.getAccountBalance().toString());
+                bufferedWriter.write(Double.toString(equityCurve.getAccountBalance(index)));
                 bufferedWriter.write(";");
 
-                bufferedWriter.write(simulationDayReport.getAvailableMoney(). toString());
+                bufferedWriter.write(Double.toString(equityCurve.getAvailableMoney(index)));
                 bufferedWriter.write(";");
 
-                bufferedWriter.write(((Double) simulationDayReport.getAverageMarketRateOfReturn()).toString());
+                bufferedWriter.write(Double.toString(equityCurve.getAverageMarketRateOfReturn(index)));
                 bufferedWriter.write(";");
 
-                bufferedWriter.write(((Double) simulationDayReport.getRealizedRateOfReturn()).toString());
+                bufferedWriter.write(Double.toString(equityCurve.getRealizedRateOfReturn(index)));
                 bufferedWriter.newLine();
             }
 
@@ -132,6 +149,14 @@ public class ChallengeReporter {
         fieldNames.add("realized_rate_of_return");
         fieldNames.add("added_rate_of_return");
         fieldNames.add("transactions");
+        fieldNames.add("termination_reason");
+        fieldNames.add("max_drawdown");
+        fieldNames.add("volatility");
+        fieldNames.add("sharpe_ratio");
+        fieldNames.add("sortino_ratio");
+        fieldNames.add("time_in_market");
+        fieldNames.add("turnover");
+        fieldNames.add("exposure");
 
         for(String parameterName: parameterNames) {
             fieldNames.add(parameterName);
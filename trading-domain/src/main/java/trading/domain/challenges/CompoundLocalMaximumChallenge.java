@@ -2,11 +2,15 @@ package trading.domain.challenges;
 
 import trading.domain.Amount;
 import trading.domain.DayCount;
+import trading.domain.account.TaxStrategies;
 import trading.domain.broker.CommissionStrategies;
-import trading.domain.simulation.MultiStockListDataSource;
+import trading.domain.indicator.IndicatorColumnCache;
+import trading.domain.simulation.LockstepSimulationDriverParameters;
+import trading.domain.simulation.LockstepSimulationDriverParametersBuilder;
 import trading.domain.simulation.SimulationDriverParameters;
 import trading.domain.simulation.SimulationDriverParametersBuilder;
 import trading.domain.simulation.SimulationMarketDataSource;
+import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumLaneStrategy;
 import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumTradingStrategy;
 import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumTradingStrategyParameters;
 
@@ -14,13 +18,27 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-public class CompoundLocalMaximumChallenge implements Challenge {
+public class CompoundLocalMaximumChallenge implements LockstepChallenge {
+    private static final long INDICATOR_CACHE_MAX_NUM_VALUES = 16_000_000L;
+    private static final DayCount HISTORY_DURATION = new DayCount(120);
+    private static final DayCount SIMULATION_DURATION = new DayCount(1370);
+    private static final Amount SEED_CAPITAL = new Amount(10000.0);
+
     private HistoricalTestDataProvider historicalTestDataProvider;
+    private IndicatorColumnCache indicatorColumnCache;
+    private boolean highResolution;
 
     public CompoundLocalMaximumChallenge(HistoricalTestDataProvider historicalTestDataProvider) {
         this.historicalTestDataProvider = historicalTestDataProvider;
     }
 
+    /**
+     * Switches to a parameter space of a resolution that can only be searched by the optimizing challenge executor.
+     */
+    public void setHighResolution(boolean highResolution) {
+        this.highResolution = highResolution;
+    }
+
     private List<Object> getBuyTriggerLocalMaximumLookBehindPeriod() {
         List<Object> result = new ArrayList<>();
 
@@ -100,6 +118,10 @@ public class CompoundLocalMaximumChallenge implements Challenge {
 
     @Override
     public ParameterTupleSource getParametersSource() {
+        if(this.highResolution) {
+            return this.getHighResolutionParametersSource();
+        }
+
         return new LazyParameterTupleSource(Arrays.asList(
                 this.getBuyTriggerLocalMaximumLookBehindPeriod(),
                 this.getBuyTriggerMinDeclineFromLocalMaximumPercentage(),
@@ -110,8 +132,38 @@ public class CompoundLocalMaximumChallenge implements Challenge {
         ));
     }
 
-    @Override
-    public SimulationDriverParameters buildSimulationDriverParametersForRun(Object[] runParameters) {
+    private ParameterTupleSource getHighResolutionParametersSource() {
+        List<Object> buyTriggerLocalMaximumLookBehindPeriods = new ArrayList<>();
+
+        for(int lookBehind = 1; lookBehind <= 90; lookBehind++) {
+            buyTriggerLocalMaximumLookBehindPeriods.add(lookBehind);
+        }
+
+        List<Object> maximumPercentages = new ArrayList<>();
+
+        for(int percentage = 5; percentage <= 50; percentage++) {
+            maximumPercentages.add(percentage / 100.0);
+        }
+
+        return new LazyParameterTupleSource(Arrays.asList(
+                buyTriggerLocalMaximumLookBehindPeriods,
+                ParameterGenerators.getHighResolutionDoubles(0.0, 0.1),
+                ParameterGenerators.getHighResolutionDoubles(0.0, 0.3),
+                ParameterGenerators.getHighResolutionDoubles(0.008, 1.0),
+                ParameterGenerators.getHighResolutionDoubles(0.0, 0.4),
+                maximumPercentages
+        ));
+    }
+
+    synchronized IndicatorColumnCache getIndicatorColumnCache() {
+        if(this.indicatorColumnCache == null) {
+            this.indicatorColumnCache = new IndicatorColumnCache(this.historicalTestDataProvider.getHistoricalMarketDataSet(), INDICATOR_CACHE_MAX_NUM_VALUES);
+        }
+
+        return this.indicatorColumnCache;
+    }
+
+    private CompoundLocalMaximumTradingStrategyParameters buildTradingStrategyParameters(Object[] runParameters) {
         final int buyTriggerLocalMaximumLookBehindPeriod = (int) runParameters[0];
         final double buyTriggerMinDeclineFromLocalMaximumPercentage = (double) runParameters[1];
         final double sellTriggerTrailingStopLossMinDeclineFromMaximumAfterBuyingPercentage = (double) runParameters[2];
@@ -119,34 +171,65 @@ public class CompoundLocalMaximumChallenge implements Challenge {
         final double sellTriggerStopLossMinimumDeclineSinceBuyingPercentage = (double) runParameters[4];
         final double maximumPercentage = (double) runParameters[5];
 
+        return new CompoundLocalMaximumTradingStrategyParameters(
+                new DayCount(buyTriggerLocalMaximumLookBehindPeriod),
+                buyTriggerMinDeclineFromLocalMaximumPercentage,
+                sellTriggerTrailingStopLossMinDeclineFromMaximumAfterBuyingPercentage,
+                activateTrailingStopLossMinRaiseSinceBuyingPercentage,
+                sellTriggerStopLossMinimumDeclineSinceBuyingPercentage,
+                maximumPercentage
+        );
+    }
+
+    @Override
+    public SimulationDriverParameters buildSimulationDriverParametersForRun(Object[] runParameters) {
         SimulationDriverParametersBuilder simulationDriverParametersBuilder = new SimulationDriverParametersBuilder();
 
-        SimulationMarketDataSource simulationMarketDataSource = new MultiStockListDataSource(this.historicalTestDataProvider.getHistoricalClosingPrices());
+        SimulationMarketDataSource simulationMarketDataSource = this.historicalTestDataProvider.getSharedClosingPrices().createDataSource();
 
         simulationDriverParametersBuilder.setSimulationMarketDataSource(simulationMarketDataSource);
+        simulationDriverParametersBuilder.setHistoricalMarketDataSet(this.historicalTestDataProvider.getHistoricalMarketDataSet());
 
-        simulationDriverParametersBuilder.setHistoryDuration(new DayCount(120));
-        simulationDriverParametersBuilder.setSimulationDuration(new DayCount(1370));
-        simulationDriverParametersBuilder.setSeedCapital(new Amount(10000.0));
-
-        simulationDriverParametersBuilder.setTradingStrategyFactory(context -> {
-            CompoundLocalMaximumTradingStrategyParameters parameters = new CompoundLocalMaximumTradingStrategyParameters(
-                    new DayCount(buyTriggerLocalMaximumLookBehindPeriod),
-                    buyTriggerMinDeclineFromLocalMaximumPercentage,
-                    sellTriggerTrailingStopLossMinDeclineFromMaximumAfterBuyingPercentage,
-                    activateTrailingStopLossMinRaiseSinceBuyingPercentage,
-                    sellTriggerStopLossMinimumDeclineSinceBuyingPercentage,
-                    maximumPercentage
-            );
-
-            return new CompoundLocalMaximumTradingStrategy(parameters, context);
-        });
+        simulationDriverParametersBuilder.setHistoryDuration(HISTORY_DURATION);
+        simulationDriverParametersBuilder.setSimulationDuration(SIMULATION_DURATION);
+        simulationDriverParametersBuilder.setSeedCapital(SEED_CAPITAL);
+
+        IndicatorColumnCache indicatorColumnCache = this.getIndicatorColumnCache();
+        CompoundLocalMaximumTradingStrategyParameters parameters = this.buildTradingStrategyParameters(runParameters);
+
+        simulationDriverParametersBuilder.setTradingStrategyFactory(context -> new CompoundLocalMaximumTradingStrategy(parameters, context, indicatorColumnCache));
 
         simulationDriverParametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
 
+        // Taxes are ignored like in the lockstep simulations, so that both yield the same results
+        simulationDriverParametersBuilder.setTaxStrategy(TaxStrategies.getNoTaxesStrategy());
+
         return simulationDriverParametersBuilder.build();
     }
 
+    @Override
+    public LockstepSimulationDriverParameters buildLockstepSimulationDriverParametersForRuns(List<Object[]> runParameters) {
+        List<CompoundLocalMaximumTradingStrategyParameters> laneParameters = new ArrayList<>();
+
+        for(Object[] laneRunParameters: runParameters) {
+            laneParameters.add(this.buildTradingStrategyParameters(laneRunParameters));
+        }
+
+        LockstepSimulationDriverParametersBuilder lockstepSimulationDriverParametersBuilder = new LockstepSimulationDriverParametersBuilder();
+
+        lockstepSimulationDriverParametersBuilder.setSimulationMarketDataSource(this.historicalTestDataProvider.getSharedClosingPrices().createDataSource());
+        lockstepSimulationDriverParametersBuilder.setHistoricalMarketDataSet(this.historicalTestDataProvider.getHistoricalMarketDataSet());
+
+        lockstepSimulationDriverParametersBuilder.setHistoryDuration(HISTORY_DURATION);
+        lockstepSimulationDriverParametersBuilder.setSimulationDuration(SIMULATION_DURATION);
+        lockstepSimulationDriverParametersBuilder.setSeedCapital(SEED_CAPITAL);
+
+        lockstepSimulationDriverParametersBuilder.setLaneStrategy(new CompoundLocalMaximumLaneStrategy(laneParameters, this.getIndicatorColumnCache()));
+        lockstepSimulationDriverParametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
+
+        return lockstepSimulationDriverParametersBuilder.build();
+    }
+
     @Override
     public String[] getParameterNames() {
         return new String[] {
@@ -4,7 +4,6 @@ import trading.domain.Amount;
 import trading.domain.DayCount;
 import trading.domain.ISIN;
 import trading.domain.broker.CommissionStrategies;
-import trading.domain.simulation.MultiStockListDataSource;
 import trading.domain.simulation.SimulationDriverParameters;
 import trading.domain.simulation.SimulationDriverParametersBuilder;
 import trading.domain.simulation.SimulationMarketDataSource;
@@ -84,9 +83,10 @@ public class DynamicLocalMaximumChallenge implements Challenge {
 
         SimulationDriverParametersBuilder simulationDriverParametersBuilder = new SimulationDriverParametersBuilder();
 
-        SimulationMarketDataSource simulationMarketDataSource = new MultiStockListDataSource(this.historicalTestDataProvider.getHistoricalClosingPrices(isin));
+        SimulationMarketDataSource simulationMarketDataSource = this.historicalTestDataProvider.getSharedClosingPrices(isin).createDataSource();
 
         simulationDriverParametersBuilder.setSimulationMarketDataSource(simulationMarketDataSource);
+        simulationDriverParametersBuilder.setHistoricalMarketDataSet(this.historicalTestDataProvider.getHistoricalMarketDataSet(isin));
 
         simulationDriverParametersBuilder.setHistoryDuration(new DayCount(120));
         simulationDriverParametersBuilder.setSimulationDuration(new DayCount(1370));
@@ -4,7 +4,6 @@ import trading.domain.Amount;
 import trading.domain.DayCount;
 import trading.domain.ISIN;
 import trading.domain.broker.CommissionStrategies;
-import trading.domain.simulation.MultiStockListDataSource;
 import trading.domain.simulation.SimulationDriverParameters;
 import trading.domain.simulation.SimulationDriverParametersBuilder;
 import trading.domain.simulation.SimulationMarketDataSource;
@@ -59,9 +58,10 @@ public class DynamicLocalMaximumTimeframeChallenge implements Challenge {
 
         SimulationDriverParametersBuilder simulationDriverParametersBuilder = new SimulationDriverParametersBuilder();
 
-        SimulationMarketDataSource simulationMarketDataSource = new MultiStockListDataSource(this.historicalTestDataProvider.getHistoricalClosingPrices(isin));
+        SimulationMarketDataSource simulationMarketDataSource = this.historicalTestDataProvider.getSharedClosingPrices(isin).createDataSource();
 
         simulationDriverParametersBuilder.setSimulationMarketDataSource(simulationMarketDataSource);
+        simulationDriverParametersBuilder.setHistoricalMarketDataSet(this.historicalTestDataProvider.getHistoricalMarketDataSet(isin));
 
         simulationDriverParametersBuilder.setHistoryDuration(new DayCount(1290 - 200 - timeframe));
         simulationDriverParametersBuilder.setSimulationDuration(new DayCount(200 + 200));
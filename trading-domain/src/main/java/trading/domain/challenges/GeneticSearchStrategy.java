@@ -0,0 +1,122 @@
+package trading.domain.challenges;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Steady-state genetic algorithm: the population consists of the best candidates simulated so far.
+ * Children are bred from two parents chosen by tournament, combined by uniform crossover and mutated by moving
+ * value positions a few steps, so the search refines around good candidates on fine parameter grids.
+ * Until the population is filled, candidates are random.
+ */
+public class GeneticSearchStrategy implements SearchStrategy {
+    public static final int DEFAULT_POPULATION_SIZE = 32;
+
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final double MUTATION_STEP_FRACTION = 0.05;
+
+    private final SplittableRandom random;
+    private final int populationSize;
+    private int[] numValues;
+    private final List<int[]> population = new ArrayList<>();
+    private final List<Double> populationScores = new ArrayList<>();
+
+    public GeneticSearchStrategy(long seed) {
+        this(seed, DEFAULT_POPULATION_SIZE);
+    }
+
+    public GeneticSearchStrategy(long seed, int populationSize) {
+        if(populationSize < 2) {
+            throw new RuntimeException("The population size must be at least two.");
+        }
+
+        this.random = new SplittableRandom(seed);
+        this.populationSize = populationSize;
+    }
+
+    @Override
+    public void initialize(int[] numValues) {
+        this.numValues = numValues.clone();
+        this.population.clear();
+        this.populationScores.clear();
+    }
+
+    @Override
+    public List<int[]> proposeCandidates(int numCandidates) {
+        List<int[]> candidates = new ArrayList<>(numCandidates);
+
+        for(int candidateIndex = 0; candidateIndex < numCandidates; candidateIndex++) {
+            if(this.population.size() < this.populationSize) {
+                candidates.add(RandomSearchStrategy.createRandomCandidate(this.random, this.numValues));
+            }
+            else {
+                candidates.add(this.breedChild());
+            }
+        }
+
+        return candidates;
+    }
+
+    @Override
+    public void registerResult(int[] candidate, double score) {
+        if(this.population.size() < this.populationSize) {
+            this.population.add(candidate.clone());
+            this.populationScores.add(score);
+            return;
+        }
+
+        int worstIndex = 0;
+
+        for(int index = 1; index < this.populationScores.size(); index++) {
+            if(this.populationScores.get(index) < this.populationScores.get(worstIndex)) {
+                worstIndex = index;
+            }
+        }
+
+        if(score > this.populationScores.get(worstIndex)) {
+            this.population.set(worstIndex, candidate.clone());
+            this.populationScores.set(worstIndex, score);
+        }
+    }
+
+    private int[] breedChild() {
+        int[] firstParent = this.selectParent();
+        int[] secondParent = this.selectParent();
+        int[] child = new int[this.numValues.length];
+
+        double mutationProbability = 1.0 / this.numValues.length;
+
+        for(int parameterIndex = 0; parameterIndex < child.length; parameterIndex++) {
+            child[parameterIndex] = this.random.nextBoolean() ? firstParent[parameterIndex] : secondParent[parameterIndex];
+
+            if(this.random.nextDouble() < mutationProbability) {
+                child[parameterIndex] = this.mutate(child[parameterIndex], this.numValues[parameterIndex]);
+            }
+        }
+
+        return child;
+    }
+
+    private int[] selectParent() {
+        int bestIndex = this.random.nextInt(this.population.size());
+
+        for(int round = 1; round < TOURNAMENT_SIZE; round++) {
+            int index = this.random.nextInt(this.population.size());
+
+            if(this.populationScores.get(index) > this.populationScores.get(bestIndex)) {
+                bestIndex = index;
+            }
+        }
+
+        return this.population.get(bestIndex);
+    }
+
+    private int mutate(int valuePosition, int numValues) {
+        int maxStep = Math.max(1, (int) Math.round(numValues * MUTATION_STEP_FRACTION));
+        int step = 1 + this.random.nextInt(maxStep);
+        int mutatedValuePosition = this.random.nextBoolean() ? valuePosition + step : valuePosition - step;
+
+        return Math.max(0, Math.min(numValues - 1, mutatedValuePosition));
+    }
+}
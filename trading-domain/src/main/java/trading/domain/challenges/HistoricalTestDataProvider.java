@@ -1,9 +1,11 @@
 package trading.domain.challenges;
 
 import trading.domain.ISIN;
+import trading.domain.market.HistoricalMarketDataSet;
 import trading.domain.market.MarketPriceSnapshot;
-import trading.domain.market.MarketPriceSnapshotBuilder;
+import trading.domain.simulation.BlockBootstrapMarketModel;
 import trading.domain.simulation.MultiStockMarketDataStore;
+import trading.domain.simulation.SharedMarketPriceSnapshots;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -13,6 +15,10 @@ import java.util.Set;
 public class HistoricalTestDataProvider {
     private List<MarketPriceSnapshot> historicalClosingPrices;
     private HashMap<ISIN, List<MarketPriceSnapshot>> singleStockHistoricalPricesByISIN;
+    private HistoricalMarketDataSet historicalMarketDataSet;
+    private HashMap<ISIN, HistoricalMarketDataSet> singleStockHistoricalMarketDataSetsByISIN;
+    private SharedMarketPriceSnapshots sharedClosingPrices;
+    private HashMap<ISIN, SharedMarketPriceSnapshots> singleStockSharedClosingPricesByISIN;
     private MultiStockMarketDataStore multiStockMarketDataStore;
     private Object lockPopulateData = new Object();
 
@@ -30,6 +36,37 @@ public class HistoricalTestDataProvider {
         return singleStockHistoricalPricesByISIN.get(isin);
     }
 
+    /**
+     * Returns the closing prices as shared array, from which data sources are created in constant time.
+     */
+    public SharedMarketPriceSnapshots getSharedClosingPrices() {
+        populateData();
+        return sharedClosingPrices;
+    }
+
+    public SharedMarketPriceSnapshots getSharedClosingPrices(ISIN isin) {
+        populateData();
+        return singleStockSharedClosingPricesByISIN.get(isin);
+    }
+
+    /**
+     * Creates a model for synthetic market price paths bootstrapped from blocks of the historical closing prices.
+     * The model should be shared by all paths.
+     */
+    public BlockBootstrapMarketModel createBlockBootstrapMarketModel(int blockLength) {
+        return new BlockBootstrapMarketModel(getSharedClosingPrices(), blockLength);
+    }
+
+    public HistoricalMarketDataSet getHistoricalMarketDataSet() {
+        populateData();
+        return historicalMarketDataSet;
+    }
+
+    public HistoricalMarketDataSet getHistoricalMarketDataSet(ISIN isin) {
+        populateData();
+        return singleStockHistoricalMarketDataSetsByISIN.get(isin);
+    }
+
     public Set<ISIN> getISINs() {
         populateData();
         return getHistoricalClosingPrices().get(0).getISINs();
@@ -40,6 +77,8 @@ public class HistoricalTestDataProvider {
             if(historicalClosingPrices == null) {
                 populateHistoricalClosingPrices();
                 populateHistoricalClosingPricesByISIN();
+                populateHistoricalMarketDataSets();
+                populateSharedClosingPrices();
             }
         }
     }
@@ -55,15 +94,28 @@ public class HistoricalTestDataProvider {
             List<MarketPriceSnapshot> singleStockHistoricalClosingPrices = new ArrayList<>(historicalClosingPrices.size());
 
             for(MarketPriceSnapshot allStocksMarketPriceSnapshot: historicalClosingPrices) {
-                MarketPriceSnapshot singleStockMarketPriceSnapshot = new MarketPriceSnapshotBuilder()
-                        .setMarketPrice(isin, allStocksMarketPriceSnapshot.getMarketPrice(isin))
-                        .setDate(allStocksMarketPriceSnapshot.getDate())
-                        .build();
-
-                singleStockHistoricalClosingPrices.add(singleStockMarketPriceSnapshot);
+                singleStockHistoricalClosingPrices.add(allStocksMarketPriceSnapshot.project(isin));
             }
 
             singleStockHistoricalPricesByISIN.put(isin, singleStockHistoricalClosingPrices);
         }
     }
+
+    private void populateHistoricalMarketDataSets() {
+        historicalMarketDataSet = HistoricalMarketDataSet.of(historicalClosingPrices);
+        singleStockHistoricalMarketDataSetsByISIN = new HashMap<>();
+
+        for(ISIN isin: singleStockHistoricalPricesByISIN.keySet()) {
+            singleStockHistoricalMarketDataSetsByISIN.put(isin, HistoricalMarketDataSet.of(singleStockHistoricalPricesByISIN.get(isin)));
+        }
+    }
+
+    private void populateSharedClosingPrices() {
+        sharedClosingPrices = SharedMarketPriceSnapshots.of(historicalClosingPrices);
+        singleStockSharedClosingPricesByISIN = new HashMap<>();
+
+        for(ISIN isin: singleStockHistoricalPricesByISIN.keySet()) {
+            singleStockSharedClosingPricesByISIN.put(isin, SharedMarketPriceSnapshots.of(singleStockHistoricalPricesByISIN.get(isin)));
+        }
+    }
 }
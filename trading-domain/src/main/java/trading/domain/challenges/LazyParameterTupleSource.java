@@ -10,83 +10,110 @@ import java.util.List;
  *
  * The lazy parameter tuple source should be used for simulations with many parameters
  * as it optimizes the memory consumption compared to the prepared parameter tuple source.
+ * The number of combinations may exceed the range of int; each tuple is decoded from its run index.
  */
 public class LazyParameterTupleSource implements ParameterTupleSource {
-    private final List<List<Object>> parameterLists;
+    private final Object[][] parameterValues;
+    private final long size;
 
     public LazyParameterTupleSource(List<List<Object>> parameterLists) {
-        this.parameterLists = parameterLists;
+        this.parameterValues = new Object[parameterLists.size()][];
+
+        long size = 1;
+
+        for(int parameterIndex = 0; parameterIndex < parameterLists.size(); parameterIndex++) {
+            this.parameterValues[parameterIndex] = parameterLists.get(parameterIndex).toArray();
+
+            try {
+                size = Math.multiplyExact(size, this.parameterValues[parameterIndex].length);
+            }
+            catch(ArithmeticException ex) {
+                throw new RuntimeException("The number of parameter tuples exceeds the range of long.");
+            }
+        }
+
+        this.size = size;
     }
 
     @Override
     public Iterator<Object[]> getIterator() {
         return new Iterator<Object[]>() {
-            private int[] currentPosition = new int[parameterLists.size()];
-            private boolean first = true;
+            private long nextRunIndex = 0;
 
             @Override
             public boolean hasNext() {
-                int[] nextPosition = this.calculateNextPosition();
-                return nextPosition != null;
+                return this.nextRunIndex < size;
             }
 
             @Override
             public Object[] next() {
-                int[] nextPosition = calculateNextPosition();
-
-                if(nextPosition == null) {
+                if(!this.hasNext()) {
                     throw new RuntimeException("No next parameter tuple available.");
                 }
 
-                this.currentPosition = nextPosition;
-                this.first = false;
+                return get(this.nextRunIndex++);
+            }
+        };
+    }
 
-                Object[] result = new Object[parameterLists.size()];
+    @Override
+    public Object[] get(long runIndex) {
+        Object[] result = new Object[this.parameterValues.length];
+        this.get(runIndex, result);
+        return result;
+    }
 
-                for(int parameterIndex = 0; parameterIndex < parameterLists.size(); parameterIndex++) {
-                    List<Object> parameterValues = parameterLists.get(parameterIndex);
-                    int parameterValueIndex = this.currentPosition[parameterIndex];
-                    Object parameterValue = parameterValues.get(parameterValueIndex);
-                    result[parameterIndex] = parameterValue;
-                }
+    /**
+     * Decodes the run index as a mixed-radix number whose digits are the value positions of the parameters,
+     * with the last parameter as the least significant digit like in the iteration order.
+     */
+    @Override
+    public void get(long runIndex, Object[] tuple) {
+        if(runIndex < 0 || runIndex >= this.size) {
+            throw new RuntimeException("The run index lies outside the parameter tuples.");
+        }
 
-                return result;
-            }
+        long remainder = runIndex;
 
-            private int[] calculateNextPosition() {
-                if(first) {
-                    return this.currentPosition;
-                }
+        for(int parameterIndex = this.parameterValues.length - 1; parameterIndex >= 0; parameterIndex--) {
+            Object[] values = this.parameterValues[parameterIndex];
+            tuple[parameterIndex] = values[(int) (remainder % values.length)];
+            remainder /= values.length;
+        }
+    }
 
-                int[] result = this.currentPosition.clone();
+    public int getNumParameters() {
+        return this.parameterValues.length;
+    }
 
-                for(int parameterIndex = parameterLists.size() - 1; parameterIndex >= 0 ; parameterIndex--) {
-                    int currentParameterPosition = this.currentPosition[parameterIndex];
-                    int maxParameterPosition = parameterLists.get(parameterIndex).size() - 1;
+    public int getNumValues(int parameterIndex) {
+        return this.parameterValues[parameterIndex].length;
+    }
 
-                    if(currentParameterPosition < maxParameterPosition) {
-                        result[parameterIndex] = currentParameterPosition + 1;
+    /**
+     * Encodes the given value positions of the parameters as run index, the inverse of {@link #get(long)}.
+     */
+    public long getRunIndex(int[] valuePositions) {
+        if(valuePositions.length != this.parameterValues.length) {
+            throw new RuntimeException("The value positions must contain one position per parameter.");
+        }
 
-                        for(int subsequentParameterIndex = parameterIndex + 1; subsequentParameterIndex < parameterLists.size(); subsequentParameterIndex++) {
-                            result[subsequentParameterIndex] = 0;
-                        }
+        long runIndex = 0;
 
-                        return result;
-                    }
-                }
+        for(int parameterIndex = 0; parameterIndex < this.parameterValues.length; parameterIndex++) {
+            int numValues = this.parameterValues[parameterIndex].length;
 
-                return null;
+            if(valuePositions[parameterIndex] < 0 || valuePositions[parameterIndex] >= numValues) {
+                throw new RuntimeException("The value position lies outside the parameter values.");
             }
-        };
-    }
-
-    public int size() {
-        int result = 1;
 
-        for(int parameterIndex = 0; parameterIndex < this.parameterLists.size(); parameterIndex++) {
-            result = result * this.parameterLists.get(parameterIndex).size();
+            runIndex = runIndex * numValues + valuePositions[parameterIndex];
         }
 
-        return result;
+        return runIndex;
+    }
+
+    public long size() {
+        return this.size;
     }
 }
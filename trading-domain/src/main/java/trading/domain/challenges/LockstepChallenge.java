@@ -0,0 +1,12 @@
+package trading.domain.challenges;
+
+import trading.domain.simulation.LockstepSimulationDriverParameters;
+
+import java.util.List;
+
+/**
+ * A challenge whose runs can also be simulated in lockstep, one lane per run.
+ */
+public interface LockstepChallenge extends Challenge {
+    LockstepSimulationDriverParameters buildLockstepSimulationDriverParametersForRuns(List<Object[]> runParameters);
+}
@@ -0,0 +1,28 @@
+package trading.domain.challenges;
+
+public class OptimizationResult {
+    private final Object[] bestParameters;
+    private final double bestScore;
+    private final int numEvaluations;
+
+    public OptimizationResult(Object[] bestParameters, double bestScore, int numEvaluations) {
+        this.bestParameters = bestParameters;
+        this.bestScore = bestScore;
+        this.numEvaluations = numEvaluations;
+    }
+
+    /**
+     * Returns the parameters of the best simulated candidate, or null if no simulation succeeded.
+     */
+    public Object[] getBestParameters() {
+        return this.bestParameters;
+    }
+
+    public double getBestScore() {
+        return this.bestScore;
+    }
+
+    public int getNumEvaluations() {
+        return this.numEvaluations;
+    }
+}
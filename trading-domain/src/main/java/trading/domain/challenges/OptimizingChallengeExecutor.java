@@ -0,0 +1,233 @@
+package trading.domain.challenges;
+
+import trading.domain.simulation.RunParameters;
+import trading.domain.simulation.SimulationDriver;
+import trading.domain.simulation.SimulationReport;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Executes a challenge by simulating only the candidates proposed by a search strategy, instead of all parameter tuples
+ * like the challenge executor. This allows parameter grids of a resolution that could not be simulated completely.
+ *
+ * The candidates are simulated in batches, the simulations of a batch in parallel. Each distinct candidate is
+ * simulated once and registered once at the search strategy; the reported run index is the index of the evaluation.
+ * The parameters source of the challenge has to be a lazy parameter tuple source, whose value lists span the search space.
+ */
+public class OptimizingChallengeExecutor {
+    private static final int MAX_NUM_BATCHES_WITHOUT_NEW_CANDIDATES = 100;
+
+    private final Challenge challenge;
+    private final SearchStrategy searchStrategy;
+    private int numEvaluations = 1000;
+    private int batchSize = Runtime.getRuntime().availableProcessors();
+    private int numThreads = Runtime.getRuntime().availableProcessors();
+    private ToDoubleFunction<SimulationReport> objective = SimulationReport::getRealizedRateOfReturn;
+
+    public OptimizingChallengeExecutor(Challenge challenge, SearchStrategy searchStrategy) {
+        if(challenge == null) {
+            throw new RuntimeException("The challenge must be specified.");
+        }
+
+        if(searchStrategy == null) {
+            throw new RuntimeException("The search strategy must be specified.");
+        }
+
+        this.challenge = challenge;
+        this.searchStrategy = searchStrategy;
+    }
+
+    /**
+     * Sets the number of simulations, i.e. the budget of the search.
+     */
+    public void setNumEvaluations(int numEvaluations) {
+        if(numEvaluations <= 0) {
+            throw new RuntimeException("The number of evaluations must be positive.");
+        }
+
+        this.numEvaluations = numEvaluations;
+    }
+
+    /**
+     * Sets the number of candidates proposed at once. Larger batches use more threads, smaller batches let the
+     * search strategy learn from more results before proposing.
+     */
+    public void setBatchSize(int batchSize) {
+        if(batchSize <= 0) {
+            throw new RuntimeException("The batch size must be positive.");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    public void setNumThreads(int numThreads) {
+        if(numThreads <= 0) {
+            throw new RuntimeException("The number of threads must be positive.");
+        }
+
+        this.numThreads = numThreads;
+    }
+
+    /**
+     * Sets the score maximized by the search, by default the realized rate of return.
+     * E.g. the Sharpe ratio of the risk metrics allows a risk-adjusted optimization.
+     */
+    public void setObjective(ToDoubleFunction<SimulationReport> objective) {
+        if(objective == null) {
+            throw new RuntimeException("The objective must be specified.");
+        }
+
+        this.objective = objective;
+    }
+
+    /**
+     * Runs the search, reporting the simulations to the given CSV file.
+     */
+    public OptimizationResult executeChallenge(String fileName) {
+        if(fileName == null) {
+            throw new RuntimeException("The file name must be specified.");
+        }
+
+        ChallengeReporter reporter = new ChallengeReporter(fileName, this.challenge.getParameterNames());
+
+        try {
+            return this.optimize(reporter);
+        }
+        finally {
+            reporter.close();
+        }
+    }
+
+    /**
+     * Runs the search, reporting the simulations to the given reporter unless it is null.
+     */
+    OptimizationResult optimize(ChallengeReporter reporter) {
+        ParameterTupleSource parametersSource = this.challenge.getParametersSource();
+
+        if(!(parametersSource instanceof LazyParameterTupleSource)) {
+            throw new RuntimeException("The optimization requires a lazy parameter tuple source.");
+        }
+
+        LazyParameterTupleSource parameterSpace = (LazyParameterTupleSource) parametersSource;
+        int[] numValues = new int[parameterSpace.getNumParameters()];
+
+        for(int parameterIndex = 0; parameterIndex < numValues.length; parameterIndex++) {
+            numValues[parameterIndex] = parameterSpace.getNumValues(parameterIndex);
+        }
+
+        this.searchStrategy.initialize(numValues);
+
+        long numEvaluations = Math.min(this.numEvaluations, parameterSpace.size());
+
+        System.out.println("Optimizing with " + String.format("%,d", numEvaluations) + " of " + String.format("%,d", parameterSpace.size()) + " simulations in " + this.numThreads + " threads...");
+
+        Set<Long> simulatedRunIndexes = new HashSet<>();
+        ForkJoinPool threads = new ForkJoinPool(this.numThreads);
+
+        Object[] bestParameters = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        RuntimeException firstFailure = null;
+        int evaluationIndex = 0;
+        int numBatchesWithoutNewCandidates = 0;
+
+        try {
+            while(evaluationIndex < numEvaluations && numBatchesWithoutNewCandidates < MAX_NUM_BATCHES_WITHOUT_NEW_CANDIDATES) {
+                int numCandidates = (int) Math.min(this.batchSize, numEvaluations - evaluationIndex);
+                List<int[]> batch = new ArrayList<>();
+                List<Long> batchRunIndexes = new ArrayList<>();
+
+                // Candidates simulated before are skipped, so the budget is spent on new ones only. Their scores are
+                // not registered again, which would fill the population or the observations of the strategy with copies
+
+                for(int[] candidate: this.searchStrategy.proposeCandidates(numCandidates)) {
+                    long runIndex = parameterSpace.getRunIndex(candidate);
+
+                    if(!simulatedRunIndexes.contains(runIndex) && !batchRunIndexes.contains(runIndex)) {
+                        batch.add(candidate);
+                        batchRunIndexes.add(runIndex);
+                    }
+                }
+
+                if(batch.isEmpty()) {
+                    numBatchesWithoutNewCandidates++;
+                    continue;
+                }
+
+                numBatchesWithoutNewCandidates = 0;
+
+                RunParameters[] runParameters = new RunParameters[batch.size()];
+                SimulationReport[] simulationReports = new SimulationReport[batch.size()];
+                RuntimeException[] failures = new RuntimeException[batch.size()];
+                List<ForkJoinTask<?>> tasks = new ArrayList<>();
+
+                for(int candidateIndex = 0; candidateIndex < batch.size(); candidateIndex++) {
+                    final int index = candidateIndex;
+                    runParameters[index] = new RunParameters(evaluationIndex + index, parameterSpace.get(batchRunIndexes.get(index)));
+
+                    tasks.add(threads.submit(() -> {
+                        try {
+                            simulationReports[index] = new SimulationDriver(this.challenge.buildSimulationDriverParametersForRun(runParameters[index].getParameters())).runSimulation();
+                        }
+                        catch(RuntimeException ex) {
+                            failures[index] = ex;
+                        }
+                    }));
+                }
+
+                for(ForkJoinTask<?> task: tasks) {
+                    task.join();
+                }
+
+                for(int candidateIndex = 0; candidateIndex < batch.size(); candidateIndex++) {
+                    double score = Double.NEGATIVE_INFINITY;
+
+                    if(failures[candidateIndex] != null) {
+                        if(firstFailure == null) {
+                            firstFailure = failures[candidateIndex];
+                        }
+
+                        if(reporter != null) {
+                            reporter.trackFailedSimulation(runParameters[candidateIndex], failures[candidateIndex]);
+                        }
+                    }
+                    else {
+                        score = this.objective.applyAsDouble(simulationReports[candidateIndex]);
+
+                        if(reporter != null) {
+                            reporter.trackCompletedSimulation(runParameters[candidateIndex], simulationReports[candidateIndex]);
+                        }
+                    }
+
+                    if(failures[candidateIndex] == null && (bestParameters == null || score > bestScore)) {
+                        bestScore = score;
+                        bestParameters = runParameters[candidateIndex].getParameters();
+                    }
+
+                    simulatedRunIndexes.add(batchRunIndexes.get(candidateIndex));
+                    this.searchStrategy.registerResult(batch.get(candidateIndex), score);
+                }
+
+                evaluationIndex += batch.size();
+
+                // A search whose first batch fails completely is most likely misconfigured
+
+                if(bestParameters == null) {
+                    throw new RuntimeException("All simulations of the optimization failed.", firstFailure);
+                }
+            }
+        }
+        finally {
+            threads.shutdown();
+        }
+
+        System.out.println("Optimization completed after " + String.format("%,d", evaluationIndex) + " simulations, best score: " + bestScore);
+
+        return new OptimizationResult(bestParameters, bestScore, evaluationIndex);
+    }
+}
@@ -1,8 +1,46 @@
 package trading.domain.challenges;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface ParameterTupleSource {
     Iterator<Object[]> getIterator();
-    int size();
+    long size();
+
+    /**
+     * Returns the parameter tuple at the given position of the iteration order, so that runs can be claimed by index
+     * from multiple threads without sharing an iterator.
+     */
+    Object[] get(long runIndex);
+
+    /**
+     * Writes the parameter tuple at the given position into the given array, which has to hold one element per parameter.
+     * Sources should override this method if they can avoid allocating the tuple.
+     */
+    default void get(long runIndex, Object[] tuple) {
+        Object[] result = this.get(runIndex);
+        System.arraycopy(result, 0, tuple, 0, result.length);
+    }
+
+    default Spliterator<Object[]> spliterator() {
+        return new ParameterTupleSpliterator(this, 0, this.size());
+    }
+
+    /**
+     * Returns a spliterator over the tuples from the first (inclusive) to the last run index (exclusive),
+     * e.g. to process one shard of a large parameter space.
+     */
+    default Spliterator<Object[]> spliterator(long fromRunIndex, long toRunIndex) {
+        if(fromRunIndex < 0 || toRunIndex > this.size() || fromRunIndex > toRunIndex) {
+            throw new RuntimeException("The run index range lies outside the parameter tuples.");
+        }
+
+        return new ParameterTupleSpliterator(this, fromRunIndex, toRunIndex);
+    }
+
+    default Stream<Object[]> stream(boolean parallel) {
+        return StreamSupport.stream(this.spliterator(), parallel);
+    }
 }
@@ -0,0 +1,65 @@
+package trading.domain.challenges;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a range of run indexes of a parameter tuple source. Tuples are taken by index, so the range can be
+ * split in halves at no cost and the sizes of all parts are known exactly.
+ */
+class ParameterTupleSpliterator implements Spliterator<Object[]> {
+    private final ParameterTupleSource parameterTupleSource;
+    private long nextRunIndex;
+    private final long endRunIndex;
+
+    ParameterTupleSpliterator(ParameterTupleSource parameterTupleSource, long fromRunIndex, long toRunIndex) {
+        this.parameterTupleSource = parameterTupleSource;
+        this.nextRunIndex = fromRunIndex;
+        this.endRunIndex = toRunIndex;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Object[]> action) {
+        if(this.nextRunIndex >= this.endRunIndex) {
+            return false;
+        }
+
+        action.accept(this.parameterTupleSource.get(this.nextRunIndex));
+        this.nextRunIndex++;
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Object[]> action) {
+        long endRunIndex = this.endRunIndex;
+
+        for(long runIndex = this.nextRunIndex; runIndex < endRunIndex; runIndex++) {
+            action.accept(this.parameterTupleSource.get(runIndex));
+        }
+
+        this.nextRunIndex = endRunIndex;
+    }
+
+    @Override
+    public Spliterator<Object[]> trySplit() {
+        long fromRunIndex = this.nextRunIndex;
+        long middleRunIndex = (fromRunIndex + this.endRunIndex) >>> 1;
+
+        if(middleRunIndex <= fromRunIndex) {
+            return null;
+        }
+
+        this.nextRunIndex = middleRunIndex;
+        return new ParameterTupleSpliterator(this.parameterTupleSource, fromRunIndex, middleRunIndex);
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.endRunIndex - this.nextRunIndex;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+    }
+}
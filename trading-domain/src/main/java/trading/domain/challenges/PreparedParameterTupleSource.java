@@ -16,7 +16,12 @@ public class PreparedParameterTupleSource implements ParameterTupleSource {
     }
 
     @Override
-    public int size() {
+    public Object[] get(long runIndex) {
+        return this.list.get((int) runIndex);
+    }
+
+    @Override
+    public long size() {
         return this.list.size();
     }
 }
@@ -0,0 +1,47 @@
+package trading.domain.challenges;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Proposes uniformly distributed candidates, independent of the results.
+ */
+public class RandomSearchStrategy implements SearchStrategy {
+    private final SplittableRandom random;
+    private int[] numValues;
+
+    public RandomSearchStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void initialize(int[] numValues) {
+        this.numValues = numValues.clone();
+    }
+
+    @Override
+    public List<int[]> proposeCandidates(int numCandidates) {
+        List<int[]> candidates = new ArrayList<>(numCandidates);
+
+        for(int candidateIndex = 0; candidateIndex < numCandidates; candidateIndex++) {
+            candidates.add(createRandomCandidate(this.random, this.numValues));
+        }
+
+        return candidates;
+    }
+
+    @Override
+    public void registerResult(int[] candidate, double score) {
+    }
+
+    static int[] createRandomCandidate(SplittableRandom random, int[] numValues) {
+        int[] candidate = new int[numValues.length];
+
+        for(int parameterIndex = 0; parameterIndex < numValues.length; parameterIndex++) {
+            candidate[parameterIndex] = random.nextInt(numValues[parameterIndex]);
+        }
+
+        return candidate;
+    }
+}
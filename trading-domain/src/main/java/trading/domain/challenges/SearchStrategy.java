@@ -0,0 +1,22 @@
+package trading.domain.challenges;
+
+import java.util.List;
+
+/**
+ * Proposes the parameters to simulate next based on the results so far, for optimizing challenges whose parameter space
+ * is too large to be simulated completely. Candidates are given as one value position per parameter, the parameter
+ * values are considered ordered. Strategies are only called from one thread.
+ */
+public interface SearchStrategy {
+    /**
+     * Starts a new search over parameters with the given numbers of values.
+     */
+    void initialize(int[] numValues);
+
+    List<int[]> proposeCandidates(int numCandidates);
+
+    /**
+     * Registers the score of a simulated candidate; higher scores are better.
+     */
+    void registerResult(int[] candidate, double score);
+}
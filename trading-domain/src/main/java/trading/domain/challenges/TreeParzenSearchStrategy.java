@@ -0,0 +1,170 @@
+package trading.domain.challenges;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tree-structured Parzen estimator: the simulated candidates are split into the best quarter and the rest, and each
+ * group is modelled per parameter by a Gaussian kernel density over the value positions. Of several candidates sampled
+ * around the best ones, the candidate maximizing the density ratio of the best group to the rest is proposed, i.e.
+ * the candidate most likely to improve according to the surrogate. The first candidates are random.
+ */
+public class TreeParzenSearchStrategy implements SearchStrategy {
+    public static final int DEFAULT_NUM_STARTUP_CANDIDATES = 16;
+
+    private static final double GOOD_FRACTION = 0.25;
+    private static final int NUM_SAMPLES_PER_CANDIDATE = 24;
+    private static final double BANDWIDTH_FRACTION = 0.1;
+
+    private final Random random;
+    private final int numStartupCandidates;
+    private int[] numValues;
+    private final List<int[]> candidates = new ArrayList<>();
+    private final List<Double> scores = new ArrayList<>();
+
+    public TreeParzenSearchStrategy(long seed) {
+        this(seed, DEFAULT_NUM_STARTUP_CANDIDATES);
+    }
+
+    public TreeParzenSearchStrategy(long seed, int numStartupCandidates) {
+        if(numStartupCandidates < 2) {
+            throw new RuntimeException("The number of startup candidates must be at least two.");
+        }
+
+        this.random = new Random(seed);
+        this.numStartupCandidates = numStartupCandidates;
+    }
+
+    @Override
+    public void initialize(int[] numValues) {
+        this.numValues = numValues.clone();
+        this.candidates.clear();
+        this.scores.clear();
+    }
+
+    @Override
+    public List<int[]> proposeCandidates(int numCandidates) {
+        List<int[]> proposedCandidates = new ArrayList<>(numCandidates);
+
+        if(this.candidates.size() < this.numStartupCandidates) {
+            for(int candidateIndex = 0; candidateIndex < numCandidates; candidateIndex++) {
+                proposedCandidates.add(this.createRandomCandidate());
+            }
+
+            return proposedCandidates;
+        }
+
+        List<Integer> order = new ArrayList<>();
+
+        for(int index = 0; index < this.candidates.size(); index++) {
+            order.add(index);
+        }
+
+        order.sort(Comparator.comparingDouble((Integer index) -> this.scores.get(index)).reversed());
+
+        int numGoodCandidates = Math.max(1, (int) Math.ceil(GOOD_FRACTION * this.candidates.size()));
+        List<int[]> goodCandidates = new ArrayList<>();
+        List<int[]> badCandidates = new ArrayList<>();
+
+        for(int rank = 0; rank < order.size(); rank++) {
+            if(rank < numGoodCandidates) {
+                goodCandidates.add(this.candidates.get(order.get(rank)));
+            }
+            else {
+                badCandidates.add(this.candidates.get(order.get(rank)));
+            }
+        }
+
+        double[] goodBandwidths = this.calculateBandwidths(goodCandidates.size());
+        double[] badBandwidths = this.calculateBandwidths(badCandidates.size());
+
+        for(int candidateIndex = 0; candidateIndex < numCandidates; candidateIndex++) {
+            int[] bestSample = null;
+            double bestRatio = Double.NEGATIVE_INFINITY;
+
+            for(int sampleIndex = 0; sampleIndex < NUM_SAMPLES_PER_CANDIDATE; sampleIndex++) {
+                int[] sample = this.sample(goodCandidates, goodBandwidths);
+                double ratio = this.logDensity(sample, goodCandidates, goodBandwidths) - this.logDensity(sample, badCandidates, badBandwidths);
+
+                if(ratio > bestRatio) {
+                    bestRatio = ratio;
+                    bestSample = sample;
+                }
+            }
+
+            proposedCandidates.add(bestSample);
+        }
+
+        return proposedCandidates;
+    }
+
+    @Override
+    public void registerResult(int[] candidate, double score) {
+        this.candidates.add(candidate.clone());
+        this.scores.add(score);
+    }
+
+    private int[] createRandomCandidate() {
+        int[] candidate = new int[this.numValues.length];
+
+        for(int parameterIndex = 0; parameterIndex < candidate.length; parameterIndex++) {
+            candidate[parameterIndex] = this.random.nextInt(this.numValues[parameterIndex]);
+        }
+
+        return candidate;
+    }
+
+    /**
+     * The kernels become narrower with more observations, like with Scott's rule.
+     */
+    private double[] calculateBandwidths(int numObservations) {
+        double[] bandwidths = new double[this.numValues.length];
+
+        for(int parameterIndex = 0; parameterIndex < bandwidths.length; parameterIndex++) {
+            bandwidths[parameterIndex] = Math.max(1.0, BANDWIDTH_FRACTION * this.numValues[parameterIndex] * Math.pow(numObservations, -0.2));
+        }
+
+        return bandwidths;
+    }
+
+    /**
+     * Samples from the mixture of the kernels around the given observations and a uniform prior component.
+     */
+    private int[] sample(List<int[]> observations, double[] bandwidths) {
+        int componentIndex = this.random.nextInt(observations.size() + 1);
+
+        if(componentIndex == observations.size()) {
+            return this.createRandomCandidate();
+        }
+
+        int[] observation = observations.get(componentIndex);
+        int[] sample = new int[observation.length];
+
+        for(int parameterIndex = 0; parameterIndex < sample.length; parameterIndex++) {
+            int valuePosition = (int) Math.round(observation[parameterIndex] + this.random.nextGaussian() * bandwidths[parameterIndex]);
+            sample[parameterIndex] = Math.max(0, Math.min(this.numValues[parameterIndex] - 1, valuePosition));
+        }
+
+        return sample;
+    }
+
+    private double logDensity(int[] sample, List<int[]> observations, double[] bandwidths) {
+        double logDensity = 0.0;
+
+        for(int parameterIndex = 0; parameterIndex < sample.length; parameterIndex++) {
+            double bandwidth = bandwidths[parameterIndex];
+            double density = 1.0 / this.numValues[parameterIndex];
+
+            for(int[] observation: observations) {
+                double distance = (sample[parameterIndex] - observation[parameterIndex]) / bandwidth;
+                density += Math.exp(-0.5 * distance * distance) / (bandwidth * Math.sqrt(2.0 * Math.PI));
+            }
+
+            logDensity += Math.log(density / (observations.size() + 1));
+        }
+
+        return logDensity;
+    }
+}
@@ -0,0 +1,27 @@
+package trading.domain.indicator;
+
+abstract class AbstractIndicator implements Indicator {
+    private final IndicatorDefinition definition;
+    protected final int period;
+
+    protected AbstractIndicator(IndicatorDefinition definition) {
+        this.definition = definition;
+        this.period = definition.getPeriod();
+    }
+
+    @Override
+    public IndicatorDefinition getDefinition() {
+        return this.definition;
+    }
+
+    @Override
+    public double getValue() {
+        if(!this.isReady()) {
+            throw new RuntimeException(String.format("The indicator %s is not ready yet.", this.definition));
+        }
+
+        return this.calculateValue();
+    }
+
+    protected abstract double calculateValue();
+}
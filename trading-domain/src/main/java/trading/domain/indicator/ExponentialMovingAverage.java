@@ -0,0 +1,38 @@
+package trading.domain.indicator;
+
+/**
+ * Exponential moving average with smoothing factor 2 / (period + 1),
+ * seeded with the simple average of the first period closing market prices.
+ */
+class ExponentialMovingAverage extends AbstractIndicator {
+    private final double alpha;
+    private int numValues;
+    private double value;
+
+    ExponentialMovingAverage(IndicatorDefinition definition) {
+        super(definition);
+        this.alpha = 2.0 / (this.period + 1);
+    }
+
+    @Override
+    public void update(double close) {
+        if(this.numValues < this.period) {
+            this.value += close / this.period;
+        }
+        else {
+            this.value += this.alpha * (close - this.value);
+        }
+
+        this.numValues++;
+    }
+
+    @Override
+    public boolean isReady() {
+        return this.numValues >= this.period;
+    }
+
+    @Override
+    protected double calculateValue() {
+        return this.value;
+    }
+}
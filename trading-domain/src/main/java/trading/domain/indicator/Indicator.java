@@ -0,0 +1,17 @@
+package trading.domain.indicator;
+
+/**
+ * Technical indicator over the closing market prices of a single stock, updated in O(1) per closed day.
+ */
+public interface Indicator {
+    IndicatorDefinition getDefinition();
+
+    void update(double close);
+
+    /**
+     * Returns whether enough closing market prices have been registered to calculate the indicator value.
+     */
+    boolean isReady();
+
+    double getValue();
+}
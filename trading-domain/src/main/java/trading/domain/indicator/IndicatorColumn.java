@@ -0,0 +1,35 @@
+package trading.domain.indicator;
+
+/**
+ * Precomputed values of an indicator for the complete history of a stock, indexed by the day index
+ * of the stock history. Days on which the indicator is not ready yet hold NaN. Immutable.
+ */
+public class IndicatorColumn {
+    private final IndicatorDefinition definition;
+    private final double[] values;
+
+    IndicatorColumn(IndicatorDefinition definition, double[] values) {
+        this.definition = definition;
+        this.values = values;
+    }
+
+    public IndicatorDefinition getDefinition() {
+        return this.definition;
+    }
+
+    public int size() {
+        return this.values.length;
+    }
+
+    public boolean isReady(int dayIndex) {
+        return dayIndex >= 0 && dayIndex < this.values.length && !Double.isNaN(this.values[dayIndex]);
+    }
+
+    public double getValue(int dayIndex) {
+        if(!this.isReady(dayIndex)) {
+            throw new RuntimeException(String.format("The indicator %s is not available for day index %s.", this.definition, dayIndex));
+        }
+
+        return this.values[dayIndex];
+    }
+}
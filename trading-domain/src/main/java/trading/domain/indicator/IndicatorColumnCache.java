@@ -0,0 +1,167 @@
+package trading.domain.indicator;
+
+import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
+import trading.domain.market.HistoricalMarketData;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.HistoricalStockData;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Thread-safe memo of precomputed indicator columns for a shared market data set, meant to be used by all runs of a challenge.
+ * The number of cached values is bounded; the least recently used columns are evicted first.
+ * Only the lookup is synchronized: the returned columns are immutable and are read by the simulations without locking,
+ * so callers should keep the columns they use instead of looking them up on every day.
+ */
+public class IndicatorColumnCache {
+    private final HistoricalMarketDataSet historicalMarketDataSet;
+    private final long maxNumValues;
+    private final LinkedHashMap<Key, IndicatorColumn> columns;
+    private long numValues;
+    private long numHits;
+    private long numMisses;
+
+    public IndicatorColumnCache(HistoricalMarketDataSet historicalMarketDataSet, long maxNumValues) {
+        if(historicalMarketDataSet == null) {
+            throw new RuntimeException("The historical market data set must be specified.");
+        }
+
+        if(maxNumValues <= 0) {
+            throw new RuntimeException("The maximum number of values must be positive.");
+        }
+
+        this.historicalMarketDataSet = historicalMarketDataSet;
+        this.maxNumValues = maxNumValues;
+        this.columns = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns whether the given market data is a view on the market data set of this cache.
+     */
+    public boolean covers(HistoricalMarketData historicalMarketData) {
+        return historicalMarketData.getHistoricalMarketDataSet() == this.historicalMarketDataSet;
+    }
+
+    /**
+     * Returns the instruments of the cached market data set; market data covered by this cache uses the same indexes.
+     */
+    public InstrumentRegistry getInstrumentRegistry() {
+        return this.historicalMarketDataSet.getInstrumentRegistry();
+    }
+
+    public IndicatorColumn getColumn(ISIN isin, IndicatorDefinition indicatorDefinition) {
+        if(isin == null) {
+            throw new RuntimeException("The ISIN must be specified.");
+        }
+
+        if(indicatorDefinition == null) {
+            throw new RuntimeException("The indicator definition must be specified.");
+        }
+
+        Key key = new Key(isin, indicatorDefinition);
+
+        synchronized (this.columns) {
+            IndicatorColumn column = this.columns.get(key);
+
+            if(column != null) {
+                this.numHits++;
+                return column;
+            }
+        }
+
+        // The column is calculated outside the lock, so that lookups of other columns are not blocked.
+        // Concurrent misses for the same key may calculate the column twice; only the first result is kept.
+        IndicatorColumn column = this.calculateColumn(isin, indicatorDefinition);
+
+        synchronized (this.columns) {
+            IndicatorColumn cachedColumn = this.columns.get(key);
+
+            if(cachedColumn != null) {
+                this.numHits++;
+                return cachedColumn;
+            }
+
+            this.numMisses++;
+            this.columns.put(key, column);
+            this.numValues += column.size();
+            this.evict();
+        }
+
+        return column;
+    }
+
+    private IndicatorColumn calculateColumn(ISIN isin, IndicatorDefinition indicatorDefinition) {
+        HistoricalStockData historicalStockData = this.historicalMarketDataSet.getStockData(isin);
+        Indicator indicator = indicatorDefinition.createIndicator();
+        double[] values = new double[historicalStockData.getDuration().getValue()];
+
+        for(int dayIndex = 0; dayIndex < values.length; dayIndex++) {
+            indicator.update(historicalStockData.closeAt(dayIndex));
+            values[dayIndex] = indicator.isReady() ? indicator.getValue() : Double.NaN;
+        }
+
+        return new IndicatorColumn(indicatorDefinition, values);
+    }
+
+    private void evict() {
+        Iterator<IndicatorColumn> iterator = this.columns.values().iterator();
+
+        // The most recently added column is kept even if it exceeds the bound on its own.
+        while(this.numValues > this.maxNumValues && this.columns.size() > 1) {
+            this.numValues -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    public int getNumColumns() {
+        synchronized (this.columns) {
+            return this.columns.size();
+        }
+    }
+
+    public long getNumValues() {
+        synchronized (this.columns) {
+            return this.numValues;
+        }
+    }
+
+    public long getNumHits() {
+        synchronized (this.columns) {
+            return this.numHits;
+        }
+    }
+
+    public long getNumMisses() {
+        synchronized (this.columns) {
+            return this.numMisses;
+        }
+    }
+
+    private static class Key {
+        private final ISIN isin;
+        private final IndicatorDefinition indicatorDefinition;
+
+        Key(ISIN isin, IndicatorDefinition indicatorDefinition) {
+            this.isin = isin;
+            this.indicatorDefinition = indicatorDefinition;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(isin, key.isin) &&
+                    Objects.equals(indicatorDefinition, key.indicatorDefinition);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(isin, indicatorDefinition);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package trading.domain.indicator;
+
+import trading.domain.DayCount;
+
+import java.util.Objects;
+
+/**
+ * Identifies an indicator by its type and period. Equal definitions are calculated only once per stock.
+ */
+public class IndicatorDefinition {
+    private final IndicatorType type;
+    private final int period;
+
+    public IndicatorDefinition(IndicatorType type, DayCount period) {
+        if(type == null) {
+            throw new RuntimeException("The indicator type must be specified.");
+        }
+
+        if(period == null) {
+            throw new RuntimeException("The period must be specified.");
+        }
+
+        if(period.getValue() <= 0) {
+            throw new RuntimeException("The period must be positive.");
+        }
+
+        this.type = type;
+        this.period = period.getValue();
+    }
+
+    public IndicatorType getType() {
+        return this.type;
+    }
+
+    public int getPeriod() {
+        return this.period;
+    }
+
+    public Indicator createIndicator() {
+        switch(this.type) {
+            case SimpleMovingAverage:
+                return new SimpleMovingAverage(this);
+            case ExponentialMovingAverage:
+                return new ExponentialMovingAverage(this);
+            case RollingMaximum:
+                return new RollingMaximum(this);
+            case RollingMinimum:
+                return new RollingMinimum(this);
+            case RateOfChange:
+                return new RateOfChange(this);
+            case RelativeStrengthIndex:
+                return new RelativeStrengthIndex(this);
+            default:
+                throw new RuntimeException("Unknown indicator type.");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IndicatorDefinition that = (IndicatorDefinition) o;
+        return period == that.period &&
+                type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, period);
+    }
+
+    @Override
+    public String toString() {
+        return this.type + "(" + this.period + ")";
+    }
+}
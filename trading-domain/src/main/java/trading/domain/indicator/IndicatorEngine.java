@@ -0,0 +1,125 @@
+package trading.domain.indicator;
+
+import trading.domain.ISIN;
+import trading.domain.market.ClosedDayListener;
+import trading.domain.market.HistoricalMarketData;
+import trading.domain.market.HistoricalStockData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculates the subscribed indicators of a historical market data instance incrementally.
+ * On each closed day, every indicator consumes the new closing market price once, no matter how often it is queried.
+ * Strategies and triggers working on the same market data share one engine (see {@link #of(HistoricalMarketData)}),
+ * so that equal indicator definitions for the same stock are only calculated once.
+ * Subscribing is synchronized, as parallel scoring strategies may subscribe concurrently between two closed days;
+ * subscribers should keep the returned indicator instead of subscribing on every query.
+ *
+ * The engine belongs to one market data instance, i.e. to one view of a shared market data set, and not to the set:
+ * the incremental indicator state depends on the current day of the view, which differs between the simulations
+ * sharing the set. Indicators are shared between simulations by the columns of an {@link IndicatorColumnCache},
+ * which are precomputed once per market data set for all days.
+ */
+public class IndicatorEngine implements ClosedDayListener {
+    private final HistoricalMarketData historicalMarketData;
+    private final Map<ISIN, Map<IndicatorDefinition, Subscription>> subscriptionsByISIN;
+    private final List<Subscription> subscriptions;
+
+    private IndicatorEngine(HistoricalMarketData historicalMarketData) {
+        this.historicalMarketData = historicalMarketData;
+        this.subscriptionsByISIN = new HashMap<>();
+        this.subscriptions = new ArrayList<>();
+    }
+
+    /**
+     * Returns the engine attached to the given market data, attaching a new engine if there is none yet.
+     */
+    public static IndicatorEngine of(HistoricalMarketData historicalMarketData) {
+        if(historicalMarketData == null) {
+            throw new RuntimeException("The historical market data must be specified.");
+        }
+
+        synchronized(historicalMarketData) {
+            for(ClosedDayListener closedDayListener: historicalMarketData.getClosedDayListeners()) {
+                if(closedDayListener instanceof IndicatorEngine) {
+                    return (IndicatorEngine) closedDayListener;
+                }
+            }
+
+            IndicatorEngine indicatorEngine = new IndicatorEngine(historicalMarketData);
+            historicalMarketData.addClosedDayListener(indicatorEngine);
+            return indicatorEngine;
+        }
+    }
+
+    /**
+     * Returns the indicator for the given stock, creating it on the first subscription.
+     * A new indicator is brought up to date with the market data history registered so far.
+     */
+    public synchronized Indicator subscribe(ISIN isin, IndicatorDefinition indicatorDefinition) {
+        if(isin == null) {
+            throw new RuntimeException("The ISIN must be specified.");
+        }
+
+        if(indicatorDefinition == null) {
+            throw new RuntimeException("The indicator definition must be specified.");
+        }
+
+        Map<IndicatorDefinition, Subscription> subscriptionsOfStock = this.subscriptionsByISIN.computeIfAbsent(isin, key -> new HashMap<>());
+        Subscription subscription = subscriptionsOfStock.get(indicatorDefinition);
+
+        if(subscription == null) {
+            subscription = new Subscription(isin, indicatorDefinition.createIndicator());
+            subscription.catchUp(this.historicalMarketData);
+
+            subscriptionsOfStock.put(indicatorDefinition, subscription);
+            this.subscriptions.add(subscription);
+        }
+
+        return subscription.indicator;
+    }
+
+    public synchronized int getNumIndicators() {
+        return this.subscriptions.size();
+    }
+
+    @Override
+    public synchronized void notifyDayClosed(HistoricalMarketData historicalMarketData) {
+        for(int subscriptionIndex = 0; subscriptionIndex < this.subscriptions.size(); subscriptionIndex++) {
+            this.subscriptions.get(subscriptionIndex).catchUp(historicalMarketData);
+        }
+    }
+
+    private static class Subscription {
+        private final ISIN isin;
+        private final Indicator indicator;
+        private HistoricalStockData historicalStockData;
+        private int numConsumedDays;
+
+        Subscription(ISIN isin, Indicator indicator) {
+            this.isin = isin;
+            this.indicator = indicator;
+        }
+
+        void catchUp(HistoricalMarketData historicalMarketData) {
+            if(this.historicalStockData == null) {
+                if(!historicalMarketData.getAvailableStocks().contains(this.isin)) {
+                    return;
+                }
+
+                this.historicalStockData = historicalMarketData.getStockData(this.isin);
+            }
+
+            int numDays = this.historicalStockData.getDuration().getValue();
+
+            for(int dayIndex = this.numConsumedDays; dayIndex < numDays; dayIndex++) {
+                this.indicator.update(this.historicalStockData.closeAt(dayIndex));
+            }
+
+            this.numConsumedDays = numDays;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package trading.domain.indicator;
+
+public enum IndicatorType {
+    SimpleMovingAverage,
+    ExponentialMovingAverage,
+    RollingMaximum,
+    RollingMinimum,
+    RateOfChange,
+    RelativeStrengthIndex
+}
@@ -0,0 +1,57 @@
+package trading.domain.indicator;
+
+/**
+ * Rolling extremum of the last period closing market prices, kept in a monotonic deque.
+ * Each closing price enters and leaves the deque once, so an update costs amortized O(1).
+ */
+abstract class MonotonicDequeIndicator extends AbstractIndicator {
+    private final double[] values;
+    private final int[] dayNumbers;
+    private int head;
+    private int size;
+    private int numValues;
+
+    protected MonotonicDequeIndicator(IndicatorDefinition definition) {
+        super(definition);
+        this.values = new double[this.period];
+        this.dayNumbers = new int[this.period];
+    }
+
+    /**
+     * Returns whether the queued value can never become the extremum again once the given value is queued.
+     */
+    protected abstract boolean isDominated(double queuedValue, double value);
+
+    @Override
+    public void update(double close) {
+        while(this.size > 0 && this.isDominated(this.values[this.position(this.size - 1)], close)) {
+            this.size--;
+        }
+
+        if(this.size > 0 && this.dayNumbers[this.head] <= this.numValues - this.period) {
+            this.head = (this.head + 1) % this.period;
+            this.size--;
+        }
+
+        int tail = this.position(this.size);
+        this.values[tail] = close;
+        this.dayNumbers[tail] = this.numValues;
+        this.size++;
+
+        this.numValues++;
+    }
+
+    private int position(int offset) {
+        return (this.head + offset) % this.period;
+    }
+
+    @Override
+    public boolean isReady() {
+        return this.numValues >= this.period;
+    }
+
+    @Override
+    protected double calculateValue() {
+        return this.values[this.head];
+    }
+}
@@ -0,0 +1,33 @@
+package trading.domain.indicator;
+
+/**
+ * Relative change of the last closing market price compared to the closing market price period days before.
+ */
+class RateOfChange extends AbstractIndicator {
+    private final double[] window;
+    private int numValues;
+    private double lastClose;
+
+    RateOfChange(IndicatorDefinition definition) {
+        super(definition);
+        this.window = new double[this.period + 1];
+    }
+
+    @Override
+    public void update(double close) {
+        this.window[this.numValues % this.window.length] = close;
+        this.lastClose = close;
+        this.numValues++;
+    }
+
+    @Override
+    public boolean isReady() {
+        return this.numValues > this.period;
+    }
+
+    @Override
+    protected double calculateValue() {
+        double referenceClose = this.window[this.numValues % this.window.length];
+        return (this.lastClose - referenceClose) / referenceClose;
+    }
+}
@@ -0,0 +1,57 @@
+package trading.domain.indicator;
+
+/**
+ * Relative strength index (0 to 100) using Wilder's smoothing of the average gains and losses.
+ * The averages are seeded with the simple averages of the first period price changes.
+ */
+class RelativeStrengthIndex extends AbstractIndicator {
+    private int numChanges;
+    private double lastClose;
+    private boolean hasLastClose;
+    private double averageGain;
+    private double averageLoss;
+
+    RelativeStrengthIndex(IndicatorDefinition definition) {
+        super(definition);
+    }
+
+    @Override
+    public void update(double close) {
+        if(!this.hasLastClose) {
+            this.lastClose = close;
+            this.hasLastClose = true;
+            return;
+        }
+
+        double change = close - this.lastClose;
+        double gain = change > 0.0 ? change : 0.0;
+        double loss = change < 0.0 ? -change : 0.0;
+
+        if(this.numChanges < this.period) {
+            this.averageGain += gain / this.period;
+            this.averageLoss += loss / this.period;
+        }
+        else {
+            this.averageGain = (this.averageGain * (this.period - 1) + gain) / this.period;
+            this.averageLoss = (this.averageLoss * (this.period - 1) + loss) / this.period;
+        }
+
+        this.lastClose = close;
+        this.numChanges++;
+    }
+
+    @Override
+    public boolean isReady() {
+        return this.numChanges >= this.period;
+    }
+
+    @Override
+    protected double calculateValue() {
+        if(this.averageLoss == 0.0) {
+            return this.averageGain == 0.0 ? 50.0 : 100.0;
+        }
+
+        double relativeStrength = this.averageGain / this.averageLoss;
+        return 100.0 - 100.0 / (1.0 + relativeStrength);
+    }
+}
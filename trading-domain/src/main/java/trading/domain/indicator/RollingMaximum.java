@@ -0,0 +1,12 @@
+package trading.domain.indicator;
+
+class RollingMaximum extends MonotonicDequeIndicator {
+    RollingMaximum(IndicatorDefinition definition) {
+        super(definition);
+    }
+
+    @Override
+    protected boolean isDominated(double queuedValue, double value) {
+        return queuedValue <= value;
+    }
+}
@@ -0,0 +1,38 @@
+package trading.domain.indicator;
+
+/**
+ * Average of the closing market prices of the last period days, kept as a running sum over a ring buffer.
+ */
+class SimpleMovingAverage extends AbstractIndicator {
+    private final double[] window;
+    private int numValues;
+    private double sum;
+
+    SimpleMovingAverage(IndicatorDefinition definition) {
+        super(definition);
+        this.window = new double[this.period];
+    }
+
+    @Override
+    public void update(double close) {
+        int position = this.numValues % this.period;
+
+        if(this.numValues >= this.period) {
+            this.sum -= this.window[position];
+        }
+
+        this.window[position] = close;
+        this.sum += close;
+        this.numValues++;
+    }
+
+    @Override
+    public boolean isReady() {
+        return this.numValues >= this.period;
+    }
+
+    @Override
+    protected double calculateValue() {
+        return this.sum / this.period;
+    }
+}
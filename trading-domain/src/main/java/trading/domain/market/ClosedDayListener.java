@@ -0,0 +1,8 @@
+package trading.domain.market;
+
+/**
+ * Is notified after a closed day has been registered at the historical market data.
+ */
+public interface ClosedDayListener {
+    void notifyDayClosed(HistoricalMarketData historicalMarketData);
+}
@@ -0,0 +1,70 @@
+package trading.domain.market;
+
+import java.util.Arrays;
+
+/**
+ * Append-only storage of the closing market prices of a single stock, including the
+ * derived per-day values. A column may be shared between several stock data instances
+ * as long as it is not appended to anymore.
+ */
+class ClosingPriceColumn {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private double[] closes;
+    private int[] risingDaysInSequence;
+    private int[] decliningDaysInSequence;
+    private int size;
+    private final RangeMaximumIndex maximumIndex;
+
+    ClosingPriceColumn(double initialClose) {
+        this.closes = new double[INITIAL_CAPACITY];
+        this.risingDaysInSequence = new int[INITIAL_CAPACITY];
+        this.decliningDaysInSequence = new int[INITIAL_CAPACITY];
+
+        this.closes[0] = initialClose;
+        this.size = 1;
+
+        this.maximumIndex = new RangeMaximumIndex();
+        this.maximumIndex.update(this.closes, this.size);
+    }
+
+    void append(double close) {
+        if(this.size == this.closes.length) {
+            int capacity = this.closes.length * 2;
+
+            this.closes = Arrays.copyOf(this.closes, capacity);
+            this.risingDaysInSequence = Arrays.copyOf(this.risingDaysInSequence, capacity);
+            this.decliningDaysInSequence = Arrays.copyOf(this.decliningDaysInSequence, capacity);
+        }
+
+        double lastClose = this.closes[this.size - 1];
+
+        this.risingDaysInSequence[this.size] = close > lastClose ? this.risingDaysInSequence[this.size - 1] + 1 : 0;
+        this.decliningDaysInSequence[this.size] = close < lastClose ? this.decliningDaysInSequence[this.size - 1] + 1 : 0;
+
+        this.closes[this.size] = close;
+        this.size++;
+
+        this.maximumIndex.update(this.closes, this.size);
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    double getClose(int dayIndex) {
+        return this.closes[dayIndex];
+    }
+
+    int getRisingDaysInSequence(int dayIndex) {
+        return this.risingDaysInSequence[dayIndex];
+    }
+
+    int getDecliningDaysInSequence(int dayIndex) {
+        return this.decliningDaysInSequence[dayIndex];
+    }
+
+    double getMaximumClose(int fromDayIndex, int toDayIndex) {
+        return this.maximumIndex.getMaximum(this.closes, fromDayIndex, toDayIndex);
+    }
+}
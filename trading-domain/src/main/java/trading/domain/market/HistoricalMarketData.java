@@ -4,8 +4,12 @@ import trading.domain.Amount;
 import trading.domain.DayCount;
 import trading.domain.DomainException;
 import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,19 +17,24 @@ import java.util.Set;
 
 public class HistoricalMarketData {
     private final Map<ISIN, HistoricalStockData> historicalStockDataMap;
+    private final InstrumentRegistry instrumentRegistry;
+    private HistoricalStockData[] historicalStockDataByInstrument;
     private final ISIN singleISIN;
     private int durationNumDays;
     private MarketPriceSnapshot lastClosingMarketPrices;
-    private final Map<LocalDate, Integer> dayIndexByDate;
-    private final LocalDate historyBegin;
+    private final TradingCalendar tradingCalendar;
+    private final HistoricalMarketDataSet historicalMarketDataSet;
+    private final List<ClosedDayListener> closedDayListeners = new ArrayList<>();
 
     public HistoricalMarketData(MarketPriceSnapshot initialClosingMarketPrices) {
         this.historicalStockDataMap = new HashMap<>();
+        this.instrumentRegistry = new InstrumentRegistry();
+        this.historicalStockDataByInstrument = new HistoricalStockData[initialClosingMarketPrices.size()];
 
         for(ISIN isin: initialClosingMarketPrices.getISINs()) {
             Amount initialMarketPrice = initialClosingMarketPrices.getMarketPrice(isin);
             HistoricalStockData historicalStockData = new HistoricalStockData(initialMarketPrice);
-            this.historicalStockDataMap.put(isin, historicalStockData);
+            this.addStockData(isin, historicalStockData);
         }
 
         if(initialClosingMarketPrices.size() == 1) {
@@ -39,9 +48,36 @@ public class HistoricalMarketData {
 
         this.durationNumDays = 1;
 
-        this.dayIndexByDate = new HashMap();
-        this.dayIndexByDate.put(initialClosingMarketPrices.getDate(), this.durationNumDays - 1);
-        this.historyBegin = initialClosingMarketPrices.getDate();
+        this.tradingCalendar = new TradingCalendar();
+        this.tradingCalendar.append(initialClosingMarketPrices.getDate());
+        this.historicalMarketDataSet = null;
+    }
+
+    HistoricalMarketData(HistoricalMarketDataSet historicalMarketDataSet, int durationNumDays) {
+        this.historicalStockDataMap = new HashMap<>();
+        this.instrumentRegistry = historicalMarketDataSet.getInstrumentRegistry();
+        this.historicalStockDataByInstrument = new HistoricalStockData[this.instrumentRegistry.size()];
+
+        for(ISIN isin: historicalMarketDataSet.getISINs()) {
+            HistoricalStockData historicalStockData = historicalMarketDataSet.createStockDataView(isin, durationNumDays);
+
+            if(historicalStockData != null) {
+                this.addStockData(isin, historicalStockData);
+            }
+        }
+
+        if(this.historicalStockDataMap.size() == 1) {
+            singleISIN = this.historicalStockDataMap.keySet().stream().findFirst().get();
+        }
+        else {
+            singleISIN = null;
+        }
+
+        this.lastClosingMarketPrices = historicalMarketDataSet.getMarketPriceSnapshot(durationNumDays - 1);
+        this.durationNumDays = durationNumDays;
+
+        this.tradingCalendar = historicalMarketDataSet.getTradingCalendar();
+        this.historicalMarketDataSet = historicalMarketDataSet;
     }
 
     public HistoricalMarketData(ISIN isin, Amount initialClosingMarketPrice, LocalDate date) {
@@ -76,6 +112,47 @@ public class HistoricalMarketData {
         return historicalStockData;
     }
 
+    /**
+     * Returns the stock data by instrument index (see {@link #getInstrumentRegistry()}) without a hash lookup.
+     */
+    public HistoricalStockData getStockData(int instrumentIndex) {
+        if(instrumentIndex < 0 || instrumentIndex >= this.historicalStockDataByInstrument.length) {
+            throw new UnknownStockException();
+        }
+
+        HistoricalStockData historicalStockData = this.historicalStockDataByInstrument[instrumentIndex];
+
+        if(historicalStockData == null) {
+            throw new UnknownStockException();
+        }
+
+        return historicalStockData;
+    }
+
+    /**
+     * Returns whether there is stock data for the given instrument index, i.e. whether the stock is listed yet.
+     */
+    public boolean hasStockData(int instrumentIndex) {
+        return instrumentIndex >= 0
+                && instrumentIndex < this.historicalStockDataByInstrument.length
+                && this.historicalStockDataByInstrument[instrumentIndex] != null;
+    }
+
+    public InstrumentRegistry getInstrumentRegistry() {
+        return this.instrumentRegistry;
+    }
+
+    private void addStockData(ISIN isin, HistoricalStockData historicalStockData) {
+        int instrumentIndex = this.instrumentRegistry.register(isin);
+
+        if(instrumentIndex >= this.historicalStockDataByInstrument.length) {
+            this.historicalStockDataByInstrument = Arrays.copyOf(this.historicalStockDataByInstrument, instrumentIndex + 1);
+        }
+
+        this.historicalStockDataMap.put(isin, historicalStockData);
+        this.historicalStockDataByInstrument[instrumentIndex] = historicalStockData;
+    }
+
     public Set<ISIN> getAvailableStocks() {
         return this.historicalStockDataMap.keySet();
     }
@@ -89,11 +166,17 @@ public class HistoricalMarketData {
             throw new DomainException("The specified date must not equal the date of the last registered market price snapshot.");
         }
 
+        if(this.historicalMarketDataSet != null) {
+            this.advanceView(closingMarketPrices);
+            this.notifyClosedDayListeners();
+            return;
+        }
+
         for(Map.Entry<ISIN, HistoricalStockData> entrySet: this.historicalStockDataMap.entrySet()) {
-            Amount closingMarketPrice;
+            double closingMarketPrice;
 
             try {
-                closingMarketPrice = closingMarketPrices.getMarketPrice(entrySet.getKey());
+                closingMarketPrice = closingMarketPrices.getPrice(entrySet.getKey());
             }
             catch(UnknownStockException ex) {
                 throw new MissingDataException("The market price snapshot must contain prices for all registered stocks.");
@@ -108,14 +191,71 @@ public class HistoricalMarketData {
                     continue;
                 }
 
-                this.historicalStockDataMap.put(isin, new HistoricalStockData(closingMarketPrices.getMarketPrice(isin)));
+                this.addStockData(isin, new HistoricalStockData(closingMarketPrices.getMarketPrice(isin)));
             }
         }
 
         this.durationNumDays++;
         this.lastClosingMarketPrices = closingMarketPrices;
 
-        this.dayIndexByDate.put(closingMarketPrices.getDate(), this.durationNumDays - 1);
+        this.tradingCalendar.append(closingMarketPrices.getDate());
+
+        this.notifyClosedDayListeners();
+    }
+
+    private void notifyClosedDayListeners() {
+        for(int listenerIndex = 0; listenerIndex < this.closedDayListeners.size(); listenerIndex++) {
+            this.closedDayListeners.get(listenerIndex).notifyDayClosed(this);
+        }
+    }
+
+    public void addClosedDayListener(ClosedDayListener closedDayListener) {
+        if(closedDayListener == null) {
+            throw new RuntimeException("The closed day listener must be specified.");
+        }
+
+        this.closedDayListeners.add(closedDayListener);
+    }
+
+    public List<ClosedDayListener> getClosedDayListeners() {
+        return Collections.unmodifiableList(this.closedDayListeners);
+    }
+
+    private void advanceView(MarketPriceSnapshot closingMarketPrices) {
+        if(this.durationNumDays == this.historicalMarketDataSet.size()) {
+            throw new DomainException("The market data set does not contain any further days.");
+        }
+
+        MarketPriceSnapshot nextClosingMarketPrices = this.historicalMarketDataSet.getMarketPriceSnapshot(this.durationNumDays);
+
+        if(!closingMarketPrices.getDate().isEqual(nextClosingMarketPrices.getDate())) {
+            throw new DomainException("The specified date must equal the date of the next day of the market data set.");
+        }
+
+        // Data sources of other market prices, e.g. synthetic paths on the historical calendar, must not advance the view
+
+        if(!closingMarketPrices.hasEqualPrices(nextClosingMarketPrices)) {
+            throw new DomainException("The specified market prices must equal the market prices of the next day of the market data set.");
+        }
+
+        for(HistoricalStockData historicalStockData: this.historicalStockDataByInstrument) {
+            if(historicalStockData != null) {
+                historicalStockData.advance();
+            }
+        }
+
+        this.durationNumDays++;
+        this.lastClosingMarketPrices = nextClosingMarketPrices;
+
+        if(nextClosingMarketPrices.size() != this.historicalStockDataMap.size()) {
+            for(ISIN isin: nextClosingMarketPrices.getISINs()) {
+                if(this.historicalStockDataMap.containsKey(isin)) {
+                    continue;
+                }
+
+                this.addStockData(isin, this.historicalMarketDataSet.createStockDataView(isin, this.durationNumDays));
+            }
+        }
     }
 
     public void registerClosedDay(Amount closingMarketPrice, LocalDate date) {
@@ -143,15 +283,33 @@ public class HistoricalMarketData {
         return this.lastClosingMarketPrices.getDate();
     }
 
+    /**
+     * Returns the index of the last closed day within the trading calendar.
+     */
+    public int getDayIndex() {
+        return this.durationNumDays - 1;
+    }
+
+    /**
+     * Returns the data set this instance is a view on, or null if the market data is not shared.
+     */
+    public HistoricalMarketDataSet getHistoricalMarketDataSet() {
+        return this.historicalMarketDataSet;
+    }
+
+    public TradingCalendar getTradingCalendar() {
+        return this.tradingCalendar;
+    }
+
     public DayCount countDaysAfter(LocalDate date) {
         if(date == null) {
             throw new RuntimeException("The date must be specified.");
         }
 
-        Integer dayIndex = this.dayIndexByDate.get(date);
+        int dayIndex = this.tradingCalendar.findDayIndex(date);
 
-        if(dayIndex == null) {
-            if(date.isBefore(this.historyBegin)) {
+        if(dayIndex == -1 || dayIndex >= this.durationNumDays) {
+            if(date.isBefore(this.tradingCalendar.getDate(0))) {
                 throw new RuntimeException("The given date lies before the market data history time line.");
             }
 
@@ -162,6 +320,14 @@ public class HistoricalMarketData {
             throw new RuntimeException("The given date is unknown.");
         }
 
+        return this.countDaysAfter(dayIndex);
+    }
+
+    public DayCount countDaysAfter(int dayIndex) {
+        if(dayIndex < 0 || dayIndex >= this.durationNumDays) {
+            throw new RuntimeException(String.format("The given day index (%s) lies outside the market data history time line.", dayIndex));
+        }
+
         return new DayCount(this.durationNumDays - dayIndex - 1);
     }
 }
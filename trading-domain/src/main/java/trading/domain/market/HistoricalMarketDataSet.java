@@ -0,0 +1,128 @@
+package trading.domain.market;
+
+import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Completely loaded, immutable market data history, meant to be built once and shared by many simulations.
+ * Each simulation works on its own view (see {@link #createView(LocalDate)}), which only exposes the days
+ * up to the current simulated date and shares the price columns of the data set instead of copying them.
+ */
+public class HistoricalMarketDataSet {
+    private final List<MarketPriceSnapshot> marketPriceSnapshots;
+    private final TradingCalendar tradingCalendar;
+    private final Map<ISIN, ClosingPriceColumn> columns;
+    private final Map<ISIN, Integer> firstDayIndexes;
+    private final InstrumentRegistry instrumentRegistry;
+
+    private HistoricalMarketDataSet(List<MarketPriceSnapshot> marketPriceSnapshots, HistoricalMarketData historicalMarketData) {
+        this.marketPriceSnapshots = Collections.unmodifiableList(new ArrayList<>(marketPriceSnapshots));
+        this.columns = new HashMap<>();
+        this.firstDayIndexes = new HashMap<>();
+
+        this.tradingCalendar = historicalMarketData.getTradingCalendar();
+
+        for(ISIN isin: historicalMarketData.getAvailableStocks()) {
+            HistoricalStockData historicalStockData = historicalMarketData.getStockData(isin);
+            int firstDayIndex = marketPriceSnapshots.size() - historicalStockData.getDuration().getValue();
+
+            this.columns.put(isin, historicalStockData.getColumn());
+            this.firstDayIndexes.put(isin, firstDayIndex);
+        }
+
+        this.instrumentRegistry = new InstrumentRegistry(this.columns.keySet());
+    }
+
+    public static HistoricalMarketDataSet of(List<MarketPriceSnapshot> marketPriceSnapshotList) {
+        HistoricalMarketData historicalMarketData = HistoricalMarketData.of(marketPriceSnapshotList);
+        return new HistoricalMarketDataSet(marketPriceSnapshotList, historicalMarketData);
+    }
+
+    /**
+     * Creates a view exposing all days from the beginning of the data set up to and including the given date.
+     * The view is advanced by registering the following days of the data set as closed days;
+     * their dates and market prices have to equal the days of the data set.
+     */
+    public HistoricalMarketData createView(LocalDate date) {
+        if(date == null) {
+            throw new RuntimeException("The date must be specified.");
+        }
+
+        int dayIndex = this.tradingCalendar.findDayIndex(date);
+
+        if(dayIndex == -1) {
+            throw new RuntimeException("The given date is not contained in the market data set.");
+        }
+
+        return this.createView(dayIndex);
+    }
+
+    /**
+     * Creates a view exposing all days from the beginning of the data set up to and including the given day index.
+     */
+    public HistoricalMarketData createView(int dayIndex) {
+        if(dayIndex < 0 || dayIndex >= this.size()) {
+            throw new RuntimeException("The given day index is not contained in the market data set.");
+        }
+
+        return new HistoricalMarketData(this, dayIndex + 1);
+    }
+
+    public int size() {
+        return this.marketPriceSnapshots.size();
+    }
+
+    public Set<ISIN> getISINs() {
+        return this.columns.keySet();
+    }
+
+    public InstrumentRegistry getInstrumentRegistry() {
+        return this.instrumentRegistry;
+    }
+
+    public LocalDate getDate(int dayIndex) {
+        return this.marketPriceSnapshots.get(dayIndex).getDate();
+    }
+
+    MarketPriceSnapshot getMarketPriceSnapshot(int dayIndex) {
+        return this.marketPriceSnapshots.get(dayIndex);
+    }
+
+    public TradingCalendar getTradingCalendar() {
+        return this.tradingCalendar;
+    }
+
+    /**
+     * Returns a read-only view on the complete history of the given stock.
+     * The day indexes of the view count from the first day the stock is listed.
+     */
+    public HistoricalStockData getStockData(ISIN isin) {
+        if(!this.columns.containsKey(isin)) {
+            throw new UnknownStockException();
+        }
+
+        return this.createStockDataView(isin, this.size());
+    }
+
+    /**
+     * Returns a view on the stock data covering the given number of days of the data set,
+     * or null if the stock is not listed yet at the end of that period.
+     */
+    HistoricalStockData createStockDataView(ISIN isin, int numDays) {
+        int numStockDays = numDays - this.firstDayIndexes.get(isin);
+
+        if(numStockDays <= 0) {
+            return null;
+        }
+
+        return new HistoricalStockData(this.columns.get(isin), numStockDays);
+    }
+}
@@ -3,51 +3,80 @@ package trading.domain.market;
 import trading.domain.Amount;
 import trading.domain.DayCount;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class HistoricalStockData {
-    private Amount lastClosingMarketPrice;
-    private int risingDaysInSequence = 0;
-    private int decliningDaysInSequence = 0;
-    private final List<Amount> closingMarketPrices;
+    private final ClosingPriceColumn column;
+    private final boolean sharedColumn;
+    private int numClosingMarketPrices;
 
     public HistoricalStockData(Amount initialClosingMarketPrice) {
-        this.lastClosingMarketPrice = initialClosingMarketPrice;
+        this.column = new ClosingPriceColumn(initialClosingMarketPrice.getValue());
+        this.sharedColumn = false;
+        this.numClosingMarketPrices = 1;
+    }
+
+    /**
+     * Creates a read-only view on the first days of a completely loaded column.
+     */
+    HistoricalStockData(ClosingPriceColumn column, int numClosingMarketPrices) {
+        this.column = column;
+        this.sharedColumn = true;
+        this.numClosingMarketPrices = numClosingMarketPrices;
+    }
 
-        this.closingMarketPrices = new ArrayList<>();
-        this.closingMarketPrices.add(initialClosingMarketPrice);
+    ClosingPriceColumn getColumn() {
+        return this.column;
     }
 
     protected void registerClosedDay(Amount closingMarketPrice) {
-        if(closingMarketPrice.getValue() > lastClosingMarketPrice.getValue()) {
-            risingDaysInSequence++;
-        }
-        else {
-            risingDaysInSequence = 0;
-        }
+        this.registerClosedDay(closingMarketPrice.getValue());
+    }
 
-        if(closingMarketPrice.getValue() < lastClosingMarketPrice.getValue()) {
-            decliningDaysInSequence++;
+    void registerClosedDay(double close) {
+        if(this.sharedColumn) {
+            throw new RuntimeException("Closed days must not be registered for views on shared market data.");
         }
-        else {
-            decliningDaysInSequence = 0;
+
+        this.column.append(close);
+        this.numClosingMarketPrices++;
+    }
+
+    void advance() {
+        if(this.numClosingMarketPrices == this.column.size()) {
+            throw new RuntimeException("The view must not be advanced beyond the available market data.");
         }
 
-        this.lastClosingMarketPrice = closingMarketPrice;
-        this.closingMarketPrices.add(closingMarketPrice);
+        this.numClosingMarketPrices++;
     }
 
     public Amount getLastClosingMarketPrice() {
-        return this.lastClosingMarketPrice;
+        return new Amount(this.lastClose());
+    }
+
+    /**
+     * Returns the closing market price of the given day without allocating.
+     * The day index counts from the first day of the stock history (zero-based).
+     */
+    public double closeAt(int dayIndex) {
+        if(dayIndex < 0 || dayIndex >= this.numClosingMarketPrices) {
+            throw new RuntimeException(String.format("The given day index (%s) lies outside the history (%s days).", dayIndex, this.numClosingMarketPrices));
+        }
+
+        return this.column.getClose(dayIndex);
+    }
+
+    /**
+     * Returns the last closing market price without allocating.
+     */
+    public double lastClose() {
+        return this.column.getClose(this.numClosingMarketPrices - 1);
     }
 
     public int getRisingDaysInSequence() {
-        return this.risingDaysInSequence;
+        return this.column.getRisingDaysInSequence(this.numClosingMarketPrices - 1);
     }
 
     public int getDecliningDaysInSequence() {
-        return this.decliningDaysInSequence;
+        return this.column.getDecliningDaysInSequence(this.numClosingMarketPrices - 1);
     }
 
     public Amount getClosingMarketPrice(DayCount lookBehind) {
@@ -63,14 +92,14 @@ public class HistoricalStockData {
             throw new RuntimeException("The look behind must not be zero.");
         }
 
-        int lastDayIndex = this.closingMarketPrices.size() - 1;
+        int lastDayIndex = this.numClosingMarketPrices - 1;
         int specifiedDayIndex = lastDayIndex - lookBehind.getValue() + 1;
 
         if(specifiedDayIndex < 0) {
             throw new RuntimeException(String.format("The given look behind (%s) exceeds the history length (%s).", lookBehind.getValue(), lastDayIndex + 1));
         }
 
-        return this.closingMarketPrices.get(specifiedDayIndex);
+        return new Amount(this.column.getClose(specifiedDayIndex));
     }
 
     public Amount getMaximumClosingMarketPrice(DayCount lookBehindPeriod) {
@@ -86,28 +115,34 @@ public class HistoricalStockData {
             throw new RuntimeException("The look behind period must not be negative.");
         }
 
-        final int numClosingMarketPrices = this.closingMarketPrices.size();
-
-        if(lookBehindPeriod.getValue() > numClosingMarketPrices) {
+        if(lookBehindPeriod.getValue() > this.numClosingMarketPrices) {
             throw new RuntimeException("The look behind period exceeds the available market data history.");
         }
 
-        Amount maximumClosingMarketPrice = this.getLastClosingMarketPrice();
-
-        for(int lookBehindDays = 2; lookBehindDays <= lookBehindPeriod.getValue(); lookBehindDays++) {
-            int closingMarketPriceIndex = numClosingMarketPrices - lookBehindDays;
-
-            Amount closingMarketPrice = this.closingMarketPrices.get(closingMarketPriceIndex);
+        return new Amount(this.maximumClose(lookBehindPeriod.getValue()));
+    }
 
-            if(closingMarketPrice.getValue() > maximumClosingMarketPrice.getValue()) {
-                maximumClosingMarketPrice = closingMarketPrice;
-            }
+    /**
+     * Returns the maximum closing market price of the last given number of days without allocating.
+     * The look behind includes the last closed day and is answered in constant time.
+     */
+    public double maximumClose(int lookBehindDays) {
+        if(lookBehindDays <= 0 || lookBehindDays > this.numClosingMarketPrices) {
+            throw new RuntimeException(String.format("The given look behind (%s) lies outside the history (%s days).", lookBehindDays, this.numClosingMarketPrices));
         }
 
-        return maximumClosingMarketPrice;
+        int lastDayIndex = this.numClosingMarketPrices - 1;
+        return this.column.getMaximumClose(lastDayIndex - lookBehindDays + 1, lastDayIndex);
+    }
+
+    /**
+     * Returns the number of days of the stock history without allocating.
+     */
+    public int numDays() {
+        return this.numClosingMarketPrices;
     }
 
     public DayCount getDuration() {
-        return new DayCount(this.closingMarketPrices.size());
+        return new DayCount(this.numClosingMarketPrices);
     }
 }
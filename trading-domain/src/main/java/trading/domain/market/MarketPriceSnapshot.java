@@ -2,36 +2,216 @@ package trading.domain.market;
 
 import trading.domain.Amount;
 import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
 
+import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-public class MarketPriceSnapshot {
-    private final Map<ISIN, Amount> marketPrices;
+/**
+ * Closing market prices of one day, stored as a price array indexed by the instruments of a shared universe.
+ * Stocks without price are stored as NaN. Snapshots of a data source should share one universe,
+ * so that a snapshot costs little more than its price array.
+ */
+public class MarketPriceSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int ALL_INSTRUMENTS = -1;
+
+    private final InstrumentRegistry universe;
+    private final double[] prices;
+    private final int projectedInstrumentIndex;
+    private final int size;
     private final LocalDate date;
+    private transient Set<ISIN> isins;
 
     public MarketPriceSnapshot(Map<ISIN, Amount> marketPrices, LocalDate date) {
+        this(new InstrumentRegistry(marketPrices.keySet()), toArray(marketPrices), date);
+    }
+
+    /**
+     * Creates a snapshot from prices indexed by the instruments of the given universe.
+     * The price array is not copied and must not be changed afterwards.
+     */
+    public MarketPriceSnapshot(InstrumentRegistry universe, double[] prices, LocalDate date) {
+        this(universe, prices, ALL_INSTRUMENTS, countPrices(prices), date);
+    }
+
+    private MarketPriceSnapshot(InstrumentRegistry universe, double[] prices, int projectedInstrumentIndex, int size, LocalDate date) {
         if(date == null) {
             throw new RuntimeException("The date must be specified.");
         }
 
-        this.marketPrices = marketPrices;
+        if(universe == null) {
+            throw new RuntimeException("The instrument universe must be specified.");
+        }
+
+        if(prices == null) {
+            throw new RuntimeException("The prices must be specified.");
+        }
+
+        this.universe = universe;
+        this.prices = prices;
+        this.projectedInstrumentIndex = projectedInstrumentIndex;
+        this.size = size;
         this.date = date;
     }
 
+    private static double[] toArray(Map<ISIN, Amount> marketPrices) {
+        ISIN[] isins = marketPrices.keySet().toArray(new ISIN[0]);
+        Arrays.sort(isins, (isin1, isin2) -> isin1.getText().compareTo(isin2.getText()));
+
+        double[] prices = new double[isins.length];
+
+        for(int instrumentIndex = 0; instrumentIndex < isins.length; instrumentIndex++) {
+            prices[instrumentIndex] = marketPrices.get(isins[instrumentIndex]).getValue();
+        }
+
+        return prices;
+    }
+
+    private static int countPrices(double[] prices) {
+        int size = 0;
+
+        for(double price: prices) {
+            if(!Double.isNaN(price)) {
+                size++;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns a snapshot only containing the given stock. The price array is shared, not copied.
+     */
+    public MarketPriceSnapshot project(ISIN isin) {
+        int instrumentIndex = this.indexOf(isin);
+
+        if(instrumentIndex == ALL_INSTRUMENTS) {
+            throw new UnknownStockException();
+        }
+
+        return new MarketPriceSnapshot(this.universe, this.prices, instrumentIndex, 1, this.date);
+    }
+
+    private int indexOf(ISIN isin) {
+        if(!this.universe.contains(isin)) {
+            return ALL_INSTRUMENTS;
+        }
+
+        int instrumentIndex = this.universe.indexOf(isin);
+
+        if(!this.hasPrice(instrumentIndex)) {
+            return ALL_INSTRUMENTS;
+        }
+
+        return instrumentIndex;
+    }
+
+    /**
+     * Returns whether the snapshot contains a price for the given instrument index of the snapshot's universe.
+     * Together with {@link #getPrice(int)}, this iterates the prices without creating the ISIN set.
+     */
+    public boolean hasPrice(int instrumentIndex) {
+        if(this.projectedInstrumentIndex != ALL_INSTRUMENTS && this.projectedInstrumentIndex != instrumentIndex) {
+            return false;
+        }
+
+        return instrumentIndex >= 0 && instrumentIndex < this.prices.length && !Double.isNaN(this.prices[instrumentIndex]);
+    }
+
     public Amount getMarketPrice(ISIN isin) {
-        Amount marketPrice = this.marketPrices.get(isin);
+        return new Amount(this.getPrice(isin));
+    }
 
-        if(marketPrice == null) {
+    /**
+     * Returns the market price of the given stock without allocating.
+     */
+    public double getPrice(ISIN isin) {
+        int instrumentIndex = this.indexOf(isin);
+
+        if(instrumentIndex == ALL_INSTRUMENTS) {
             throw new UnknownStockException();
         }
 
-        return marketPrice;
+        return this.prices[instrumentIndex];
     }
 
+    /**
+     * Returns the market price by the instrument index of the snapshot's universe without allocating.
+     */
+    public double getPrice(int instrumentIndex) {
+        if(!this.hasPrice(instrumentIndex)) {
+            throw new UnknownStockException();
+        }
+
+        return this.prices[instrumentIndex];
+    }
+
+    /**
+     * Returns whether the given snapshot contains the same stocks at the same market prices; the dates are not compared.
+     */
+    public boolean hasEqualPrices(MarketPriceSnapshot marketPriceSnapshot) {
+        if(marketPriceSnapshot == this) {
+            return true;
+        }
+
+        if(marketPriceSnapshot.size != this.size) {
+            return false;
+        }
+
+        for(int instrumentIndex = 0; instrumentIndex < this.prices.length; instrumentIndex++) {
+            if(!this.hasPrice(instrumentIndex)) {
+                continue;
+            }
+
+            int otherInstrumentIndex = marketPriceSnapshot.indexOf(this.universe.get(instrumentIndex));
+
+            if(otherInstrumentIndex == ALL_INSTRUMENTS || marketPriceSnapshot.prices[otherInstrumentIndex] != this.prices[instrumentIndex]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public InstrumentRegistry getUniverse() {
+        return this.universe;
+    }
+
+    /**
+     * Returns the stocks with price. The set is created on the first call and kept, as the snapshot is immutable.
+     */
     public Set<ISIN> getISINs() {
-        return this.marketPrices.keySet();
+        Set<ISIN> isins = this.isins;
+
+        if(isins == null) {
+            isins = this.createISINs();
+            this.isins = isins;
+        }
+
+        return isins;
+    }
+
+    private Set<ISIN> createISINs() {
+        if(this.projectedInstrumentIndex != ALL_INSTRUMENTS) {
+            return Collections.singleton(this.universe.get(this.projectedInstrumentIndex));
+        }
+
+        Set<ISIN> isins = new HashSet<>();
+
+        for(int instrumentIndex = 0; instrumentIndex < this.prices.length; instrumentIndex++) {
+            if(!Double.isNaN(this.prices[instrumentIndex])) {
+                isins.add(this.universe.get(instrumentIndex));
+            }
+        }
+
+        return Collections.unmodifiableSet(isins);
     }
 
     public LocalDate getDate() {
@@ -39,6 +219,6 @@ public class MarketPriceSnapshot {
     }
 
     public int size() {
-        return this.marketPrices.size();
+        return this.size;
     }
 }
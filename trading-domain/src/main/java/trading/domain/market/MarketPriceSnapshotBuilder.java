@@ -2,14 +2,34 @@ package trading.domain.market;
 
 import trading.domain.Amount;
 import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Map;
 
 public class MarketPriceSnapshotBuilder {
+    private final InstrumentRegistry universe;
     private final HashMap<ISIN, Amount> marketPrices = new HashMap<>();
     private LocalDate date;
 
+    public MarketPriceSnapshotBuilder() {
+        this.universe = null;
+    }
+
+    /**
+     * Creates a builder for snapshots sharing the given instrument universe.
+     * Stocks not known to the universe yet are registered on build.
+     */
+    public MarketPriceSnapshotBuilder(InstrumentRegistry universe) {
+        if(universe == null) {
+            throw new RuntimeException("The instrument universe must be specified.");
+        }
+
+        this.universe = universe;
+    }
+
     public MarketPriceSnapshotBuilder setMarketPrice(ISIN isin, Amount marketPrice) {
         if(isin == null) {
             throw new RuntimeException("The ISIN must be specified.");
@@ -29,6 +49,21 @@ public class MarketPriceSnapshotBuilder {
     }
 
     public MarketPriceSnapshot build() {
-        return new MarketPriceSnapshot((HashMap<ISIN, Amount>) this.marketPrices.clone(), this.date);
+        if(this.universe == null) {
+            return new MarketPriceSnapshot(this.marketPrices, this.date);
+        }
+
+        for(ISIN isin: this.marketPrices.keySet()) {
+            this.universe.register(isin);
+        }
+
+        double[] prices = new double[this.universe.size()];
+        Arrays.fill(prices, Double.NaN);
+
+        for(Map.Entry<ISIN, Amount> entry: this.marketPrices.entrySet()) {
+            prices[this.universe.indexOf(entry.getKey())] = entry.getValue().getValue();
+        }
+
+        return new MarketPriceSnapshot(this.universe, prices, this.date);
     }
 }
@@ -0,0 +1,62 @@
+package trading.domain.market;
+
+import java.util.Arrays;
+
+/**
+ * Sparse table answering range maximum queries over an append-only column of values in O(1).
+ *
+ * Level k holds the maximum of the 2^k values ending at each index. Appending a value
+ * adds one entry per level, so keeping the table up to date costs O(log n) per value.
+ * The column itself serves as level 0 and is passed in by the owner on each call,
+ * as the owner may replace the column array when it grows.
+ */
+class RangeMaximumIndex {
+    private double[][] levels = new double[0][];
+    private int size = 0;
+
+    void update(double[] values, int numValues) {
+        for(int index = this.size; index < numValues; index++) {
+            this.append(values, index);
+        }
+
+        this.size = numValues;
+    }
+
+    double getMaximum(double[] values, int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex >= this.size || fromIndex > toIndex) {
+            throw new RuntimeException(String.format("The range [%s, %s] is not covered by the index.", fromIndex, toIndex));
+        }
+
+        int level = 31 - Integer.numberOfLeadingZeros(toIndex - fromIndex + 1);
+        double[] maximums = level == 0 ? values : this.levels[level - 1];
+
+        double first = maximums[fromIndex + (1 << level) - 1];
+        double second = maximums[toIndex];
+
+        return first >= second ? first : second;
+    }
+
+    private void append(double[] values, int index) {
+        int numLevels = 31 - Integer.numberOfLeadingZeros(index + 1);
+
+        if(numLevels > this.levels.length) {
+            this.levels = Arrays.copyOf(this.levels, numLevels);
+            this.levels[numLevels - 1] = new double[values.length];
+        }
+
+        for(int level = 1; level <= numLevels; level++) {
+            double[] previousMaximums = level == 1 ? values : this.levels[level - 2];
+            double[] maximums = this.levels[level - 1];
+
+            if(index >= maximums.length) {
+                maximums = Arrays.copyOf(maximums, Math.max(values.length, maximums.length * 2));
+                this.levels[level - 1] = maximums;
+            }
+
+            double first = previousMaximums[index - (1 << (level - 1))];
+            double second = previousMaximums[index];
+
+            maximums[index] = first >= second ? first : second;
+        }
+    }
+}
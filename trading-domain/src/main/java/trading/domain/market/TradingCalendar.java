@@ -0,0 +1,88 @@
+package trading.domain.market;
+
+import trading.domain.DomainException;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps the trading days of a market data history to dense day indexes (0, 1, 2, ...).
+ * Within the simulation, days are referred to by index; dates are only needed at the boundaries.
+ */
+public class TradingCalendar {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private LocalDate[] dates;
+    private long[] epochDays;
+    private int size;
+
+    TradingCalendar() {
+        this.dates = new LocalDate[INITIAL_CAPACITY];
+        this.epochDays = new long[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    public TradingCalendar(List<LocalDate> dates) {
+        this();
+
+        if(dates == null) {
+            throw new DomainException("The dates must be specified.");
+        }
+
+        for(LocalDate date: dates) {
+            this.append(date);
+        }
+    }
+
+    void append(LocalDate date) {
+        if(date == null) {
+            throw new DomainException("The date must be specified.");
+        }
+
+        long epochDay = date.toEpochDay();
+
+        if(this.size > 0 && epochDay <= this.epochDays[this.size - 1]) {
+            throw new DomainException("The trading days must be given in ascending order.");
+        }
+
+        if(this.size == this.dates.length) {
+            this.dates = Arrays.copyOf(this.dates, this.size * 2);
+            this.epochDays = Arrays.copyOf(this.epochDays, this.size * 2);
+        }
+
+        this.dates[this.size] = date;
+        this.epochDays[this.size] = epochDay;
+        this.size++;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public LocalDate getDate(int dayIndex) {
+        if(dayIndex < 0 || dayIndex >= this.size) {
+            throw new DomainException(String.format("The day index %s lies outside the trading calendar.", dayIndex));
+        }
+
+        return this.dates[dayIndex];
+    }
+
+    /**
+     * Returns the day index of the given date, or -1 if the date is no trading day of the calendar.
+     */
+    public int findDayIndex(LocalDate date) {
+        int dayIndex = Arrays.binarySearch(this.epochDays, 0, this.size, date.toEpochDay());
+        return dayIndex < 0 ? -1 : dayIndex;
+    }
+
+    public int getDayIndex(LocalDate date) {
+        int dayIndex = this.findDayIndex(date);
+
+        if(dayIndex == -1) {
+            throw new DomainException("The given date is no trading day of the calendar.");
+        }
+
+        return dayIndex;
+    }
+}
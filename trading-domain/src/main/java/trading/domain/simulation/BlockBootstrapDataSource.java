@@ -0,0 +1,70 @@
+package trading.domain.simulation;
+
+import trading.domain.market.MarketPriceSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * Data source of one synthetic market price path of a {@link BlockBootstrapMarketModel}.
+ * Only the current prices of the path are held; each day is generated when requested.
+ */
+public class BlockBootstrapDataSource implements SimulationMarketDataSource {
+    private final BlockBootstrapMarketModel model;
+    private final long pathSeed;
+    private final int numHistoricalDays;
+    private int nextDayIndex;
+    private double[] prices;
+
+    BlockBootstrapDataSource(BlockBootstrapMarketModel model, long pathSeed, int numHistoricalDays) {
+        this.model = model;
+        this.pathSeed = pathSeed;
+        this.numHistoricalDays = numHistoricalDays;
+        this.nextDayIndex = 0;
+    }
+
+    @Override
+    public MarketPriceSnapshot getNextClosingMarketPrices() {
+        if(this.nextDayIndex == this.model.getNumDays()) {
+            throw new SimulationMarketDataSourceExhaustedException();
+        }
+
+        int dayIndex = this.nextDayIndex++;
+
+        if(dayIndex < this.numHistoricalDays) {
+            MarketPriceSnapshot marketPriceSnapshot = this.model.getHistoricalMarketPriceSnapshot(dayIndex);
+
+            if(dayIndex == this.numHistoricalDays - 1) {
+                this.prices = BlockBootstrapMarketModel.toPrices(marketPriceSnapshot, this.model.getUniverse());
+            }
+
+            return marketPriceSnapshot;
+        }
+
+        // Synthetic days are counted from the first day after the historical days
+
+        int syntheticDayIndex = dayIndex - this.numHistoricalDays;
+        int blockIndex = syntheticDayIndex / this.model.getBlockLength();
+        int returnIndex = this.model.getBlockStart(this.pathSeed, blockIndex) + syntheticDayIndex % this.model.getBlockLength();
+        double[] dailyReturns = this.model.getDailyReturns(returnIndex);
+
+        // The snapshot keeps the price array, so every day gets a new one
+        double[] prices = Arrays.copyOf(this.prices, this.prices.length);
+
+        for(int instrumentIndex = 0; instrumentIndex < prices.length; instrumentIndex++) {
+            if(Double.isNaN(prices[instrumentIndex])) {
+                // Stocks listed after the historical days of the path enter the path on their listing day
+
+                if(this.model.getListingDayIndex(instrumentIndex) == dayIndex) {
+                    prices[instrumentIndex] = this.model.getHistoricalPrice(dayIndex, instrumentIndex);
+                }
+            }
+            else {
+                prices[instrumentIndex] *= dailyReturns[instrumentIndex];
+            }
+        }
+
+        this.prices = prices;
+
+        return new MarketPriceSnapshot(this.model.getUniverse(), prices, this.model.getDate(dayIndex));
+    }
+}
@@ -0,0 +1,183 @@
+package trading.domain.simulation;
+
+import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
+import trading.domain.market.MarketPriceSnapshot;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic market price paths by block bootstrap of the daily returns of historical market prices.
+ * Blocks of consecutive historical days are drawn at random and their returns are applied to all stocks at once,
+ * which keeps the correlation between the stocks and the short-term dependence within a block.
+ *
+ * The model is immutable and shared by all paths; the paths are generated lazily day by day by their data sources.
+ * The random block starts of a path only depend on the seed, the path index and the block index,
+ * so paths are reproducible and can be generated independently in any thread.
+ *
+ * Stocks listed only after the historical days of a path enter the path on their historical listing day
+ * at their historical listing price. Stocks delisted before stay delisted.
+ */
+public class BlockBootstrapMarketModel {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final SharedMarketPriceSnapshots historicalMarketPriceSnapshots;
+    private final InstrumentRegistry universe;
+    private final double[][] dailyReturns;
+    private final int[] listingDayIndices;
+    private final int blockLength;
+
+    public BlockBootstrapMarketModel(SharedMarketPriceSnapshots historicalMarketPriceSnapshots, int blockLength) {
+        if(historicalMarketPriceSnapshots == null) {
+            throw new RuntimeException("The historical market price snapshots must be specified.");
+        }
+
+        if(blockLength <= 0) {
+            throw new RuntimeException("The block length must be positive.");
+        }
+
+        if(historicalMarketPriceSnapshots.size() <= blockLength) {
+            throw new RuntimeException("The historical market price snapshots must contain more days than the block length.");
+        }
+
+        this.historicalMarketPriceSnapshots = historicalMarketPriceSnapshots;
+        this.universe = createUniverse(historicalMarketPriceSnapshots);
+        this.dailyReturns = calculateDailyReturns(historicalMarketPriceSnapshots, this.universe);
+        this.listingDayIndices = calculateListingDayIndices(historicalMarketPriceSnapshots, this.universe);
+        this.blockLength = blockLength;
+    }
+
+    private static InstrumentRegistry createUniverse(SharedMarketPriceSnapshots marketPriceSnapshots) {
+        Set<ISIN> isins = new HashSet<>();
+
+        for(int dayIndex = 0; dayIndex < marketPriceSnapshots.size(); dayIndex++) {
+            isins.addAll(marketPriceSnapshots.get(dayIndex).getISINs());
+        }
+
+        return new InstrumentRegistry(isins);
+    }
+
+    /**
+     * Returns the price ratios of each day to the previous day. Stocks without prices on both days keep their price.
+     */
+    private static double[][] calculateDailyReturns(SharedMarketPriceSnapshots marketPriceSnapshots, InstrumentRegistry universe) {
+        int numInstruments = universe.size();
+        double[][] dailyReturns = new double[marketPriceSnapshots.size() - 1][numInstruments];
+        double[] previousPrices = toPrices(marketPriceSnapshots.get(0), universe);
+
+        for(int dayIndex = 1; dayIndex < marketPriceSnapshots.size(); dayIndex++) {
+            double[] prices = toPrices(marketPriceSnapshots.get(dayIndex), universe);
+
+            for(int instrumentIndex = 0; instrumentIndex < numInstruments; instrumentIndex++) {
+                double previousPrice = previousPrices[instrumentIndex];
+                double price = prices[instrumentIndex];
+
+                if(Double.isNaN(previousPrice) || Double.isNaN(price) || previousPrice == 0.0) {
+                    dailyReturns[dayIndex - 1][instrumentIndex] = 1.0;
+                }
+                else {
+                    dailyReturns[dayIndex - 1][instrumentIndex] = price / previousPrice;
+                }
+            }
+
+            previousPrices = prices;
+        }
+
+        return dailyReturns;
+    }
+
+    /**
+     * Returns the index of the first day with a price of each stock.
+     */
+    private static int[] calculateListingDayIndices(SharedMarketPriceSnapshots marketPriceSnapshots, InstrumentRegistry universe) {
+        int[] listingDayIndices = new int[universe.size()];
+        Arrays.fill(listingDayIndices, -1);
+
+        for(int dayIndex = 0; dayIndex < marketPriceSnapshots.size(); dayIndex++) {
+            double[] prices = toPrices(marketPriceSnapshots.get(dayIndex), universe);
+
+            for(int instrumentIndex = 0; instrumentIndex < listingDayIndices.length; instrumentIndex++) {
+                if(listingDayIndices[instrumentIndex] == -1 && !Double.isNaN(prices[instrumentIndex])) {
+                    listingDayIndices[instrumentIndex] = dayIndex;
+                }
+            }
+        }
+
+        return listingDayIndices;
+    }
+
+    static double[] toPrices(MarketPriceSnapshot marketPriceSnapshot, InstrumentRegistry universe) {
+        double[] prices = new double[universe.size()];
+        Arrays.fill(prices, Double.NaN);
+
+        InstrumentRegistry snapshotUniverse = marketPriceSnapshot.getUniverse();
+
+        for(int snapshotInstrumentIndex = 0; snapshotInstrumentIndex < snapshotUniverse.size(); snapshotInstrumentIndex++) {
+            if(!marketPriceSnapshot.hasPrice(snapshotInstrumentIndex)) {
+                continue;
+            }
+
+            int instrumentIndex = snapshotUniverse == universe ? snapshotInstrumentIndex : universe.indexOf(snapshotUniverse.get(snapshotInstrumentIndex));
+            prices[instrumentIndex] = marketPriceSnapshot.getPrice(snapshotInstrumentIndex);
+        }
+
+        return prices;
+    }
+
+    /**
+     * Creates a data source for the given path. The path starts with the given number of historical days,
+     * e.g. the history of the simulation, and continues with synthetic prices on the following trading days
+     * of the historical calendar.
+     */
+    public BlockBootstrapDataSource createDataSource(long seed, long pathIndex, int numHistoricalDays) {
+        if(numHistoricalDays <= 0 || numHistoricalDays > this.historicalMarketPriceSnapshots.size()) {
+            throw new RuntimeException("The number of historical days lies outside the historical market price snapshots.");
+        }
+
+        long pathSeed = new SplittableRandom(seed + pathIndex * GOLDEN_GAMMA).nextLong();
+        return new BlockBootstrapDataSource(this, pathSeed, numHistoricalDays);
+    }
+
+    /**
+     * Returns the day index of the daily returns of the first day of the given block of a path.
+     */
+    int getBlockStart(long pathSeed, int blockIndex) {
+        return new SplittableRandom(pathSeed + blockIndex * GOLDEN_GAMMA).nextInt(this.dailyReturns.length - this.blockLength + 1);
+    }
+
+    int getBlockLength() {
+        return this.blockLength;
+    }
+
+    double[] getDailyReturns(int returnIndex) {
+        return this.dailyReturns[returnIndex];
+    }
+
+    int getListingDayIndex(int instrumentIndex) {
+        return this.listingDayIndices[instrumentIndex];
+    }
+
+    double getHistoricalPrice(int dayIndex, int instrumentIndex) {
+        return this.historicalMarketPriceSnapshots.get(dayIndex).getPrice(this.universe.get(instrumentIndex));
+    }
+
+    int getNumDays() {
+        return this.historicalMarketPriceSnapshots.size();
+    }
+
+    MarketPriceSnapshot getHistoricalMarketPriceSnapshot(int dayIndex) {
+        return this.historicalMarketPriceSnapshots.get(dayIndex);
+    }
+
+    LocalDate getDate(int dayIndex) {
+        return this.historicalMarketPriceSnapshots.get(dayIndex).getDate();
+    }
+
+    InstrumentRegistry getUniverse() {
+        return this.universe;
+    }
+}
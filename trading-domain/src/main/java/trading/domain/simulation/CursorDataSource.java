@@ -0,0 +1,46 @@
+package trading.domain.simulation;
+
+import trading.domain.market.MarketPriceSnapshot;
+
+/**
+ * Data source iterating a range of shared market price snapshots (see {@link SharedMarketPriceSnapshots}).
+ * Only the cursor belongs to the data source; a data source must not be used by multiple threads.
+ */
+public class CursorDataSource implements SimulationMarketDataSource {
+    private final MarketPriceSnapshot[] marketPriceSnapshots;
+    private final int endIndex;
+    private int nextIndex;
+
+    CursorDataSource(MarketPriceSnapshot[] marketPriceSnapshots, int startIndex, int endIndex) {
+        this.marketPriceSnapshots = marketPriceSnapshots;
+        this.nextIndex = startIndex;
+        this.endIndex = endIndex;
+    }
+
+    @Override
+    public MarketPriceSnapshot getNextClosingMarketPrices() {
+        if(this.nextIndex == this.endIndex) {
+            throw new SimulationMarketDataSourceExhaustedException();
+        }
+
+        return this.marketPriceSnapshots[this.nextIndex++];
+    }
+
+    @Override
+    public MarketPriceSnapshot skipClosingMarketPrices(int numDays) {
+        if(numDays <= 0) {
+            throw new RuntimeException("The number of days must be positive.");
+        }
+
+        if(numDays > this.getNumRemainingDays()) {
+            throw new SimulationMarketDataSourceExhaustedException();
+        }
+
+        this.nextIndex += numDays;
+        return this.marketPriceSnapshots[this.nextIndex - 1];
+    }
+
+    public int getNumRemainingDays() {
+        return this.endIndex - this.nextIndex;
+    }
+}
@@ -0,0 +1,27 @@
+package trading.domain.simulation;
+
+import trading.domain.DomainException;
+
+/**
+ * Terminates a simulation as soon as the account balance falls below the given percentage of the seed capital.
+ */
+public class DrawdownFloorTerminationCondition implements TerminationCondition {
+    private final double minimumBalancePercentage;
+
+    public DrawdownFloorTerminationCondition(double minimumBalancePercentage) {
+        if(minimumBalancePercentage < 0.0 || minimumBalancePercentage > 1.0) {
+            throw new DomainException("The minimum balance percentage must lie between 0 and 1.");
+        }
+
+        this.minimumBalancePercentage = minimumBalancePercentage;
+    }
+
+    @Override
+    public TerminationReason evaluate(SimulationProgress progress) {
+        if(progress.getBalance() < progress.getSeedCapital() * this.minimumBalancePercentage) {
+            return TerminationReason.DrawdownFloor;
+        }
+
+        return null;
+    }
+}
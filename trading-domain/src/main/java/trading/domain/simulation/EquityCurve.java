@@ -0,0 +1,66 @@
+package trading.domain.simulation;
+
+import trading.domain.Amount;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Account values of the recorded days of a simulation, held in primitive columns.
+ */
+public class EquityCurve {
+    private final int[] simulatedDayIndexes;
+    private final double[] accountBalances;
+    private final double[] availableMoney;
+    private final double[] averageMarketRatesOfReturn;
+    private final double[] realizedRatesOfReturn;
+
+    EquityCurve(int[] simulatedDayIndexes, double[] accountBalances, double[] availableMoney, double[] averageMarketRatesOfReturn, double[] realizedRatesOfReturn) {
+        this.simulatedDayIndexes = simulatedDayIndexes;
+        this.accountBalances = accountBalances;
+        this.availableMoney = availableMoney;
+        this.averageMarketRatesOfReturn = averageMarketRatesOfReturn;
+        this.realizedRatesOfReturn = realizedRatesOfReturn;
+    }
+
+    public int size() {
+        return this.simulatedDayIndexes.length;
+    }
+
+    /**
+     * Returns the simulated day (zero-based) of the given recorded day.
+     */
+    public int getSimulatedDayIndex(int index) {
+        return this.simulatedDayIndexes[index];
+    }
+
+    public double getAccountBalance(int index) {
+        return this.accountBalances[index];
+    }
+
+    public double getAvailableMoney(int index) {
+        return this.availableMoney[index];
+    }
+
+    public double getAverageMarketRateOfReturn(int index) {
+        return this.averageMarketRatesOfReturn[index];
+    }
+
+    public double getRealizedRateOfReturn(int index) {
+        return this.realizedRatesOfReturn[index];
+    }
+
+    public List<SimulationDayReport> toDayReports() {
+        List<SimulationDayReport> dayReports = new ArrayList<>(this.size());
+
+        for(int index = 0; index < this.size(); index++) {
+            dayReports.add(new SimulationDayReport(
+                    new Amount(this.availableMoney[index]),
+                    new Amount(this.accountBalances[index]),
+                    this.averageMarketRatesOfReturn[index],
+                    this.realizedRatesOfReturn[index]));
+        }
+
+        return dayReports;
+    }
+}
@@ -0,0 +1,94 @@
+package trading.domain.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Records the daily account values of a simulation into preallocated primitive columns.
+ * With a sampling interval above one, only every n-th simulated day (starting with the first one) and the last day
+ * are recorded. A recorder is meant to be reused for the simulations of one thread; it must not be shared by threads.
+ */
+public class EquityCurveRecorder {
+    private final int samplingInterval;
+
+    private int[] simulatedDayIndexes = new int[0];
+    private double[] accountBalances = new double[0];
+    private double[] availableMoney = new double[0];
+    private double[] averageMarketRatesOfReturn = new double[0];
+    private double[] realizedRatesOfReturn = new double[0];
+    private int size;
+
+    public EquityCurveRecorder() {
+        this(1);
+    }
+
+    public EquityCurveRecorder(int samplingInterval) {
+        if(samplingInterval <= 0) {
+            throw new RuntimeException("The sampling interval must be positive.");
+        }
+
+        this.samplingInterval = samplingInterval;
+    }
+
+    public int getSamplingInterval() {
+        return this.samplingInterval;
+    }
+
+    /**
+     * Starts recording a new simulation of the given duration, reusing the columns if they are large enough.
+     */
+    public void reset(int numSimulationDays) {
+        int capacity = numSimulationDays / this.samplingInterval + 2;
+
+        if(this.accountBalances.length < capacity) {
+            this.simulatedDayIndexes = new int[capacity];
+            this.accountBalances = new double[capacity];
+            this.availableMoney = new double[capacity];
+            this.averageMarketRatesOfReturn = new double[capacity];
+            this.realizedRatesOfReturn = new double[capacity];
+        }
+
+        this.size = 0;
+    }
+
+    /**
+     * Returns whether the given simulated day (zero-based) has to be recorded.
+     */
+    public boolean isRecorded(int simulatedDayIndex, boolean lastDay) {
+        return lastDay || simulatedDayIndex % this.samplingInterval == 0;
+    }
+
+    public void record(int simulatedDayIndex, double accountBalance, double availableMoney, double averageMarketRateOfReturn, double realizedRateOfReturn) {
+        if(this.size == this.accountBalances.length) {
+            int capacity = Math.max(16, this.size * 2);
+
+            this.simulatedDayIndexes = Arrays.copyOf(this.simulatedDayIndexes, capacity);
+            this.accountBalances = Arrays.copyOf(this.accountBalances, capacity);
+            this.availableMoney = Arrays.copyOf(this.availableMoney, capacity);
+            this.averageMarketRatesOfReturn = Arrays.copyOf(this.averageMarketRatesOfReturn, capacity);
+            this.realizedRatesOfReturn = Arrays.copyOf(this.realizedRatesOfReturn, capacity);
+        }
+
+        this.simulatedDayIndexes[this.size] = simulatedDayIndex;
+        this.accountBalances[this.size] = accountBalance;
+        this.availableMoney[this.size] = availableMoney;
+        this.averageMarketRatesOfReturn[this.size] = averageMarketRateOfReturn;
+        this.realizedRatesOfReturn[this.size] = realizedRateOfReturn;
+        this.size++;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a compact copy of the recorded days, which stays valid when the recorder is reused.
+     */
+    public EquityCurve toEquityCurve() {
+        return new EquityCurve(
+                Arrays.copyOf(this.simulatedDayIndexes, this.size),
+                Arrays.copyOf(this.accountBalances, this.size),
+                Arrays.copyOf(this.availableMoney, this.size),
+                Arrays.copyOf(this.averageMarketRatesOfReturn, this.size),
+                Arrays.copyOf(this.realizedRatesOfReturn, this.size));
+    }
+}
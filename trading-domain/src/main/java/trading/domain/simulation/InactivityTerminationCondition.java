@@ -0,0 +1,32 @@
+package trading.domain.simulation;
+
+import trading.domain.DayCount;
+import trading.domain.DomainException;
+
+/**
+ * Terminates a simulation that has not made any transaction for more than the given number of market days.
+ */
+public class InactivityTerminationCondition implements TerminationCondition {
+    private final int maximumInactiveDays;
+
+    public InactivityTerminationCondition(DayCount maximumInactivePeriod) {
+        if(maximumInactivePeriod == null) {
+            throw new DomainException("The maximum inactive period must be specified.");
+        }
+
+        if(maximumInactivePeriod.getValue() <= 0) {
+            throw new DomainException("The maximum inactive period must be positive.");
+        }
+
+        this.maximumInactiveDays = maximumInactivePeriod.getValue();
+    }
+
+    @Override
+    public TerminationReason evaluate(SimulationProgress progress) {
+        if(progress.getDayIndex() - progress.getLastTransactionDayIndex() > this.maximumInactiveDays) {
+            return TerminationReason.Inactivity;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,302 @@
+package trading.domain.simulation;
+
+import trading.domain.Amount;
+import trading.domain.DomainException;
+import trading.domain.InstrumentRegistry;
+import trading.domain.Money;
+import trading.domain.Quantity;
+import trading.domain.account.MarketTransaction;
+import trading.domain.account.MarketTransactionBuilder;
+import trading.domain.account.MarketTransactionType;
+import trading.domain.account.Transaction;
+import trading.domain.broker.CommissionStrategy;
+import trading.domain.market.HistoricalMarketData;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The accounts of all lanes of a lockstep simulation, stored as struct of arrays.
+ * Per-position values are indexed by lane * number of instruments + instrument index.
+ * The bookkeeping equals the one of {@link trading.domain.account.Account} without taxes.
+ */
+public class LaneAccounts {
+    private final int numLanes;
+    private final int numInstruments;
+
+    private final long[] availableMoneyMicros;
+    private final long[] balanceMicros;
+    private final long[] commissionsMicros;
+
+    private final int[] quantities;
+    private final long[] fullMarketPriceMicros;
+    private final long[] buyTotalPriceMicros;
+    private final int[] buyDayIndexes;
+    private final int[] lastTransactionDayIndexes;
+
+    private final List<List<Transaction>> transactions;
+    private final RuntimeException[] failures;
+    private final TerminationReason[] terminationReasons;
+    private final RiskMetricsCalculator[] riskMetricsCalculators;
+
+    public LaneAccounts(int numLanes, InstrumentRegistry instrumentRegistry, Amount seedCapital) {
+        if(numLanes <= 0) {
+            throw new DomainException("The number of lanes must be positive.");
+        }
+
+        if(instrumentRegistry == null) {
+            throw new DomainException("The instrument registry must be specified.");
+        }
+
+        if(seedCapital == null) {
+            throw new DomainException("The seed capital must be specified.");
+        }
+
+        this.numLanes = numLanes;
+        this.numInstruments = instrumentRegistry.size();
+
+        this.availableMoneyMicros = new long[numLanes];
+        this.balanceMicros = new long[numLanes];
+        this.commissionsMicros = new long[numLanes];
+
+        int numPositions = numLanes * this.numInstruments;
+
+        this.quantities = new int[numPositions];
+        this.fullMarketPriceMicros = new long[numPositions];
+        this.buyTotalPriceMicros = new long[numPositions];
+        this.buyDayIndexes = new int[numPositions];
+        this.lastTransactionDayIndexes = new int[numLanes];
+
+        this.transactions = new ArrayList<>(numLanes);
+        this.failures = new RuntimeException[numLanes];
+        this.terminationReasons = new TerminationReason[numLanes];
+        this.riskMetricsCalculators = new RiskMetricsCalculator[numLanes];
+
+        long seedCapitalMicros = Money.toMicros(seedCapital.getValue());
+
+        for(int lane = 0; lane < numLanes; lane++) {
+            this.availableMoneyMicros[lane] = seedCapitalMicros;
+            this.balanceMicros[lane] = seedCapitalMicros;
+            this.transactions.add(new ArrayList<>());
+            this.lastTransactionDayIndexes[lane] = Transaction.NO_DAY_INDEX;
+            this.riskMetricsCalculators[lane] = new RiskMetricsCalculator(seedCapital.getValue());
+        }
+    }
+
+    public int getNumLanes() {
+        return this.numLanes;
+    }
+
+    public int getNumInstruments() {
+        return this.numInstruments;
+    }
+
+    /**
+     * Returns false if a lane failed or has been terminated; such lanes are not processed anymore.
+     */
+    public boolean isActive(int lane) {
+        return this.failures[lane] == null && this.terminationReasons[lane] == null;
+    }
+
+    public boolean isFailed(int lane) {
+        return this.failures[lane] != null;
+    }
+
+    public RuntimeException getFailure(int lane) {
+        return this.failures[lane];
+    }
+
+    void fail(int lane, RuntimeException failure) {
+        this.failures[lane] = failure;
+    }
+
+    public TerminationReason getTerminationReason(int lane) {
+        return this.terminationReasons[lane];
+    }
+
+    void terminate(int lane, TerminationReason terminationReason) {
+        this.terminationReasons[lane] = terminationReason;
+    }
+
+    public double availableMoney(int lane) {
+        return Money.toDouble(this.availableMoneyMicros[lane]);
+    }
+
+    public double balance(int lane) {
+        return Money.toDouble(this.balanceMicros[lane]);
+    }
+
+    public Amount getCommissions(int lane) {
+        return new Amount(Money.toDouble(this.commissionsMicros[lane]));
+    }
+
+    public int quantity(int lane, int instrumentIndex) {
+        return this.quantities[lane * this.numInstruments + instrumentIndex];
+    }
+
+    /**
+     * Returns the price per share paid when the current position was bought.
+     */
+    public double buyPrice(int lane, int instrumentIndex) {
+        int positionIndex = lane * this.numInstruments + instrumentIndex;
+        return Money.toDouble(this.buyTotalPriceMicros[positionIndex]) / this.quantities[positionIndex];
+    }
+
+    /**
+     * Returns the index of the trading day the current position was bought.
+     */
+    public int buyDayIndex(int lane, int instrumentIndex) {
+        return this.buyDayIndexes[lane * this.numInstruments + instrumentIndex];
+    }
+
+    /**
+     * Returns the index of the trading day of the last transaction, or NO_DAY_INDEX if there was none.
+     */
+    public int lastTransactionDayIndex(int lane) {
+        return this.lastTransactionDayIndexes[lane];
+    }
+
+    public List<Transaction> getTransactions(int lane) {
+        return this.transactions.get(lane);
+    }
+
+    /**
+     * Executes the orders of all active lanes at the last closing market prices, like the virtual broker does.
+     * A lane whose orders cannot be executed is marked as failed.
+     */
+    void executeOrders(LaneOrders orders, HistoricalMarketData historicalMarketData, CommissionStrategy commissionStrategy, LocalDate date, int dayIndex) {
+        for(int lane = 0; lane < this.numLanes; lane++) {
+            int numOrders = orders.getNumOrders(lane);
+
+            if(numOrders == 0 || !this.isActive(lane)) {
+                continue;
+            }
+
+            try {
+                for(int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+                    this.executeOrder(lane, orders.getInstrumentIndex(lane, orderIndex), orders.getQuantity(lane, orderIndex),
+                            historicalMarketData, commissionStrategy, date, dayIndex);
+                }
+            }
+            catch(RuntimeException ex) {
+                this.fail(lane, ex);
+            }
+        }
+
+        orders.clear();
+    }
+
+    private void executeOrder(int lane, int instrumentIndex, int signedQuantity, HistoricalMarketData historicalMarketData, CommissionStrategy commissionStrategy, LocalDate date, int dayIndex) {
+        int positionIndex = lane * this.numInstruments + instrumentIndex;
+        boolean buy = signedQuantity > 0;
+        int quantity = Math.abs(signedQuantity);
+
+        Amount lastMarketPrice = historicalMarketData.getStockData(instrumentIndex).getLastClosingMarketPrice();
+        Amount totalPrice = lastMarketPrice.multiply(new Quantity(quantity));
+        Amount commission = commissionStrategy.calculateCommission(totalPrice);
+
+        if(buy && totalPrice.getValue() + commission.getValue() > this.availableMoney(lane)) {
+            throw new DomainException("The order request cannot be processed as it requires more money than available.");
+        }
+
+        if(buy && this.quantities[positionIndex] != 0) {
+            throw new DomainException("Subsequent buy transactions for non-empty positions are not supported.");
+        }
+
+        if(!buy && this.quantities[positionIndex] != quantity) {
+            throw new DomainException("Partial sell transactions are not supported.");
+        }
+
+        MarketTransaction transaction = new MarketTransactionBuilder()
+                .setTransactionType(buy ? MarketTransactionType.Buy : MarketTransactionType.Sell)
+                .setIsin(historicalMarketData.getInstrumentRegistry().get(instrumentIndex))
+                .setQuantity(new Quantity(quantity))
+                .setTotalPrice(totalPrice)
+                .setCommission(commission)
+                .setDate(date)
+                .setDayIndex(dayIndex)
+                .build();
+
+        long totalPriceMicros = transaction.getTotalPriceMoney().getMicros();
+        long commissionMicros = transaction.getCommissionMoney().getMicros();
+
+        if(buy) {
+            this.availableMoneyMicros[lane] -= totalPriceMicros;
+            this.quantities[positionIndex] = quantity;
+            this.fullMarketPriceMicros[positionIndex] = totalPriceMicros;
+            this.buyTotalPriceMicros[positionIndex] = totalPriceMicros;
+            this.buyDayIndexes[positionIndex] = dayIndex;
+        }
+        else {
+            this.availableMoneyMicros[lane] += totalPriceMicros;
+            this.balanceMicros[lane] += totalPriceMicros - this.fullMarketPriceMicros[positionIndex];
+            this.quantities[positionIndex] = 0;
+            this.fullMarketPriceMicros[positionIndex] = 0L;
+        }
+
+        this.commissionsMicros[lane] += commissionMicros;
+        this.availableMoneyMicros[lane] -= commissionMicros;
+        this.balanceMicros[lane] -= commissionMicros;
+
+        this.transactions.get(lane).add(transaction);
+        this.riskMetricsCalculators[lane].recordTransaction(Money.toDouble(totalPriceMicros));
+        this.lastTransactionDayIndexes[lane] = dayIndex;
+    }
+
+    /**
+     * Revalues the positions of all lanes at the last closing market prices.
+     */
+    void reportMarketPrices(HistoricalMarketData historicalMarketData) {
+        for(int instrumentIndex = 0; instrumentIndex < this.numInstruments; instrumentIndex++) {
+            double marketPrice = Double.NaN;
+
+            for(int positionIndex = instrumentIndex; positionIndex < this.quantities.length; positionIndex += this.numInstruments) {
+                int quantity = this.quantities[positionIndex];
+
+                if(quantity == 0) {
+                    continue;
+                }
+
+                if(Double.isNaN(marketPrice)) {
+                    marketPrice = historicalMarketData.getStockData(instrumentIndex).lastClose();
+                }
+
+                long newFullMarketPriceMicros = Money.toMicros(marketPrice * quantity);
+                this.balanceMicros[positionIndex / this.numInstruments] += newFullMarketPriceMicros - this.fullMarketPriceMicros[positionIndex];
+                this.fullMarketPriceMicros[positionIndex] = newFullMarketPriceMicros;
+            }
+        }
+    }
+
+    /**
+     * Records the balances of the active lanes for the risk metrics after the market prices of a day have been reported.
+     * Without taxes, the market price of the held stocks is the difference of balance and available money.
+     */
+    void recordRiskMetrics() {
+        for(int lane = 0; lane < this.numLanes; lane++) {
+            if(!this.isActive(lane)) {
+                continue;
+            }
+
+            long stocksMarketPriceMicros = this.balanceMicros[lane] - this.availableMoneyMicros[lane];
+            this.riskMetricsCalculators[lane].recordDay(this.balance(lane), Money.toDouble(stocksMarketPriceMicros));
+        }
+    }
+
+    SimulationReport createSimulationReport(int lane, Amount seedCapital, double averageMarketRateOfReturn) {
+        Amount finalAccountBalance = new Amount(this.balance(lane));
+        double realizedRateOfReturn = finalAccountBalance.getValue() / seedCapital.getValue() - 1;
+
+        return new SimulationReport(
+                seedCapital,
+                finalAccountBalance,
+                this.transactions.get(lane),
+                averageMarketRateOfReturn,
+                realizedRateOfReturn,
+                (EquityCurve) null,
+                null,
+                this.terminationReasons[lane],
+                this.riskMetricsCalculators[lane].toRiskMetrics());
+    }
+}
@@ -0,0 +1,67 @@
+package trading.domain.simulation;
+
+import trading.domain.DomainException;
+
+/**
+ * The market orders of all lanes of a lockstep simulation for the next trading day.
+ * The orders of a lane are executed in the order they were added, so sell orders should be added first.
+ */
+public class LaneOrders {
+    private final int numInstruments;
+    private final int[] instrumentIndexes;
+    private final int[] quantities;
+    private final int[] numOrders;
+
+    public LaneOrders(int numLanes, int numInstruments) {
+        this.numInstruments = numInstruments;
+        this.instrumentIndexes = new int[numLanes * numInstruments];
+        this.quantities = new int[numLanes * numInstruments];
+        this.numOrders = new int[numLanes];
+    }
+
+    public void addBuyOrder(int lane, int instrumentIndex, int quantity) {
+        this.addOrder(lane, instrumentIndex, quantity);
+    }
+
+    public void addSellOrder(int lane, int instrumentIndex, int quantity) {
+        this.addOrder(lane, instrumentIndex, -quantity);
+    }
+
+    private void addOrder(int lane, int instrumentIndex, int signedQuantity) {
+        if(signedQuantity == 0) {
+            throw new DomainException("The order quantity must not be zero.");
+        }
+
+        // At most one order per instrument and day, as positions are always bought and sold completely
+
+        if(this.numOrders[lane] == this.numInstruments) {
+            throw new DomainException("The lane must not have more orders than instruments.");
+        }
+
+        int orderIndex = lane * this.numInstruments + this.numOrders[lane];
+        this.instrumentIndexes[orderIndex] = instrumentIndex;
+        this.quantities[orderIndex] = signedQuantity;
+        this.numOrders[lane]++;
+    }
+
+    public int getNumOrders(int lane) {
+        return this.numOrders[lane];
+    }
+
+    int getInstrumentIndex(int lane, int orderIndex) {
+        return this.instrumentIndexes[lane * this.numInstruments + orderIndex];
+    }
+
+    /**
+     * Returns the order quantity, which is negative for sell orders.
+     */
+    int getQuantity(int lane, int orderIndex) {
+        return this.quantities[lane * this.numInstruments + orderIndex];
+    }
+
+    void clear() {
+        for(int lane = 0; lane < this.numOrders.length; lane++) {
+            this.numOrders[lane] = 0;
+        }
+    }
+}
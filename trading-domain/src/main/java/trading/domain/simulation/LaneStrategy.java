@@ -0,0 +1,16 @@
+package trading.domain.simulation;
+
+import trading.domain.broker.CommissionStrategy;
+import trading.domain.market.HistoricalMarketData;
+
+/**
+ * A trading strategy family evaluated for several parameter tuples (lanes) at once.
+ */
+public interface LaneStrategy {
+    int getNumLanes();
+
+    /**
+     * Adds the orders of all active lanes for the next trading day, after the last day has been closed.
+     */
+    void prepareOrdersForNextTradingDay(HistoricalMarketData historicalMarketData, LaneAccounts accounts, LaneOrders orders, CommissionStrategy commissionStrategy);
+}
@@ -0,0 +1,143 @@
+package trading.domain.simulation;
+
+import trading.domain.DomainException;
+import trading.domain.broker.CommissionStrategy;
+import trading.domain.market.HistoricalMarketData;
+import trading.domain.market.MarketPriceSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the lanes of a lane strategy in lockstep: every market day is read once and processed for all lanes.
+ * Each lane yields the same report as a separate simulation driver run with the respective parameters
+ * and without taxes, except that no daily reports are created.
+ */
+public class LockstepSimulationDriver {
+    private final LockstepSimulationDriverParameters parameters;
+    private final List<TerminationCondition> terminationConditions = new ArrayList<>();
+
+    public LockstepSimulationDriver(LockstepSimulationDriverParameters parameters) {
+        if(parameters == null) {
+            throw new SimulationDriverInitializationException("The lockstep simulation driver parameters must be specified.");
+        }
+
+        this.parameters = parameters;
+    }
+
+    /**
+     * Adds a condition evaluated for each lane after each simulated day, which may terminate the lane early.
+     */
+    public void addTerminationCondition(TerminationCondition terminationCondition) {
+        if(terminationCondition == null) {
+            throw new SimulationDriverInitializationException("The termination condition must be specified.");
+        }
+
+        this.terminationConditions.add(terminationCondition);
+    }
+
+    public LockstepSimulationReport runSimulation() {
+        SimulationMarketDataSource simulationMarketDataSource = this.parameters.getSimulationMarketDataSource();
+
+        HistoricalMarketData historicalMarketData = SimulationDriver.createHistoricalMarketDataView(
+                simulationMarketDataSource,
+                simulationMarketDataSource.getNextClosingMarketPrices(),
+                this.parameters.getHistoryDuration().getValue(),
+                this.parameters.getHistoricalMarketDataSet());
+
+        LaneStrategy laneStrategy = this.parameters.getLaneStrategy();
+        CommissionStrategy commissionStrategy = this.parameters.getCommissionStrategy();
+        int numLanes = laneStrategy.getNumLanes();
+
+        LaneAccounts accounts = new LaneAccounts(numLanes, historicalMarketData.getInstrumentRegistry(), this.parameters.getSeedCapital());
+        LaneOrders orders = new LaneOrders(numLanes, accounts.getNumInstruments());
+
+        MarketPriceSnapshot initialClosingMarketPrices = historicalMarketData.getLastClosingMarketPrices();
+
+        laneStrategy.prepareOrdersForNextTradingDay(historicalMarketData, accounts, orders, commissionStrategy);
+
+        int numSimulationDays = this.parameters.getSimulationDuration().getValue();
+        int simulationStartDayIndex = historicalMarketData.getDayIndex();
+
+        SimulationReport[] simulationReports = new SimulationReport[numLanes];
+        SimulationProgress simulationProgress = new SimulationProgress();
+
+        for(int simulationDayIndex = 0; simulationDayIndex < numSimulationDays; simulationDayIndex++) {
+            MarketPriceSnapshot nextClosingMarketPrices = simulationMarketDataSource.getNextClosingMarketPrices();
+
+            if(!nextClosingMarketPrices.getDate().isAfter(historicalMarketData.getDate())) {
+                throw new DomainException("The date must lie after the date of the last closed market day.");
+            }
+
+            // The opened day directly follows the last closed day of the market data
+            int dayIndex = historicalMarketData.getDayIndex() + 1;
+
+            accounts.executeOrders(orders, historicalMarketData, commissionStrategy, nextClosingMarketPrices.getDate(), dayIndex);
+            historicalMarketData.registerClosedDay(nextClosingMarketPrices);
+            accounts.reportMarketPrices(historicalMarketData);
+            accounts.recordRiskMetrics();
+
+            if(!this.terminationConditions.isEmpty()) {
+                this.evaluateTerminationConditions(simulationProgress, accounts, historicalMarketData, initialClosingMarketPrices,
+                        simulationStartDayIndex, simulationDayIndex + 1, numSimulationDays, simulationReports);
+            }
+
+            laneStrategy.prepareOrdersForNextTradingDay(historicalMarketData, accounts, orders, commissionStrategy);
+        }
+
+        double averageMarketRateOfReturn = SimulationDriver.calculateAverageMarketRateOfReturn(
+                initialClosingMarketPrices, historicalMarketData.getLastClosingMarketPrices());
+
+        RuntimeException[] failures = new RuntimeException[numLanes];
+
+        for(int lane = 0; lane < numLanes; lane++) {
+            if(accounts.isActive(lane)) {
+                simulationReports[lane] = accounts.createSimulationReport(lane, this.parameters.getSeedCapital(), averageMarketRateOfReturn);
+            }
+            else if(accounts.isFailed(lane)) {
+                failures[lane] = accounts.getFailure(lane);
+            }
+        }
+
+        return new LockstepSimulationReport(simulationReports, failures);
+    }
+
+    private void evaluateTerminationConditions(SimulationProgress simulationProgress, LaneAccounts accounts, HistoricalMarketData historicalMarketData, MarketPriceSnapshot initialClosingMarketPrices, int simulationStartDayIndex, int numSimulatedDays, int numSimulationDays, SimulationReport[] simulationReports) {
+        double seedCapital = this.parameters.getSeedCapital().getValue();
+        int dayIndex = historicalMarketData.getDayIndex();
+
+        for(int lane = 0; lane < accounts.getNumLanes(); lane++) {
+            if(!accounts.isActive(lane)) {
+                continue;
+            }
+
+            simulationProgress.update(
+                    seedCapital,
+                    accounts.balance(lane),
+                    0.0,
+                    dayIndex,
+                    simulationStartDayIndex,
+                    Math.max(simulationStartDayIndex, accounts.lastTransactionDayIndex(lane)),
+                    numSimulatedDays,
+                    numSimulationDays);
+
+            for(TerminationCondition terminationCondition: this.terminationConditions) {
+                TerminationReason terminationReason = terminationCondition.evaluate(simulationProgress);
+
+                if(terminationReason == null) {
+                    continue;
+                }
+
+                // The report is created right away, as the positions of the lane are still revalued on the following days
+
+                accounts.terminate(lane, terminationReason);
+
+                double averageMarketRateOfReturn = SimulationDriver.calculateAverageMarketRateOfReturn(
+                        initialClosingMarketPrices, historicalMarketData.getLastClosingMarketPrices());
+
+                simulationReports[lane] = accounts.createSimulationReport(lane, this.parameters.getSeedCapital(), averageMarketRateOfReturn);
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package trading.domain.simulation;
+
+import trading.domain.Amount;
+import trading.domain.DayCount;
+import trading.domain.broker.CommissionStrategy;
+import trading.domain.market.HistoricalMarketDataSet;
+
+public class LockstepSimulationDriverParameters {
+    private final SimulationMarketDataSource simulationMarketDataSource;
+    private final HistoricalMarketDataSet historicalMarketDataSet;
+    private final DayCount historyDuration;
+    private final DayCount simulationDuration;
+    private final Amount seedCapital;
+    private final LaneStrategy laneStrategy;
+    private final CommissionStrategy commissionStrategy;
+
+    public LockstepSimulationDriverParameters(
+            SimulationMarketDataSource simulationMarketDataSource,
+            HistoricalMarketDataSet historicalMarketDataSet,
+            DayCount historyDuration,
+            DayCount simulationDuration,
+            Amount seedCapital,
+            LaneStrategy laneStrategy,
+            CommissionStrategy commissionStrategy
+    ) {
+        if(simulationMarketDataSource == null) {
+            throw new SimulationDriverInitializationException("The simulation market data source must be specified.");
+        }
+
+        if(historicalMarketDataSet == null) {
+            throw new SimulationDriverInitializationException("The historical market data set must be specified.");
+        }
+
+        if(historyDuration == null) {
+            throw new SimulationDriverInitializationException("The history duration must be specified.");
+        }
+
+        if(historyDuration.getValue() <= 0) {
+            throw new SimulationDriverInitializationException("The history duration must be positive.");
+        }
+
+        if(simulationDuration == null) {
+            throw new SimulationDriverInitializationException("The simulation duration must be specified.");
+        }
+
+        if(simulationDuration.getValue() <= 0) {
+            throw new SimulationDriverInitializationException("The simulation duration must be positive.");
+        }
+
+        if(seedCapital == null) {
+            throw new SimulationDriverInitializationException("The seed capital must be specified.");
+        }
+
+        if(laneStrategy == null) {
+            throw new SimulationDriverInitializationException("The lane strategy must be specified.");
+        }
+
+        if(commissionStrategy == null) {
+            throw new SimulationDriverInitializationException("The commission strategy must be specified.");
+        }
+
+        this.simulationMarketDataSource = simulationMarketDataSource;
+        this.historicalMarketDataSet = historicalMarketDataSet;
+        this.historyDuration = historyDuration;
+        this.simulationDuration = simulationDuration;
+        this.seedCapital = seedCapital;
+        this.laneStrategy = laneStrategy;
+        this.commissionStrategy = commissionStrategy;
+    }
+
+    public SimulationMarketDataSource getSimulationMarketDataSource() {
+        return this.simulationMarketDataSource;
+    }
+
+    public HistoricalMarketDataSet getHistoricalMarketDataSet() {
+        return this.historicalMarketDataSet;
+    }
+
+    public DayCount getHistoryDuration() {
+        return this.historyDuration;
+    }
+
+    public DayCount getSimulationDuration() {
+        return this.simulationDuration;
+    }
+
+    public Amount getSeedCapital() {
+        return this.seedCapital;
+    }
+
+    public LaneStrategy getLaneStrategy() {
+        return this.laneStrategy;
+    }
+
+    public CommissionStrategy getCommissionStrategy() {
+        return this.commissionStrategy;
+    }
+}
@@ -0,0 +1,56 @@
+package trading.domain.simulation;
+
+import trading.domain.Amount;
+import trading.domain.DayCount;
+import trading.domain.broker.CommissionStrategy;
+import trading.domain.market.HistoricalMarketDataSet;
+
+public class LockstepSimulationDriverParametersBuilder {
+    private SimulationMarketDataSource simulationMarketDataSource;
+    private HistoricalMarketDataSet historicalMarketDataSet;
+    private DayCount historyDuration;
+    private DayCount simulationDuration;
+    private Amount seedCapital;
+    private LaneStrategy laneStrategy;
+    private CommissionStrategy commissionStrategy;
+
+    public void setSimulationMarketDataSource(SimulationMarketDataSource simulationMarketDataSource) {
+        this.simulationMarketDataSource = simulationMarketDataSource;
+    }
+
+    public void setHistoricalMarketDataSet(HistoricalMarketDataSet historicalMarketDataSet) {
+        this.historicalMarketDataSet = historicalMarketDataSet;
+    }
+
+    public void setHistoryDuration(DayCount historyDuration) {
+        this.historyDuration = historyDuration;
+    }
+
+    public void setSimulationDuration(DayCount simulationDuration) {
+        this.simulationDuration = simulationDuration;
+    }
+
+    public void setSeedCapital(Amount seedCapital) {
+        this.seedCapital = seedCapital;
+    }
+
+    public void setLaneStrategy(LaneStrategy laneStrategy) {
+        this.laneStrategy = laneStrategy;
+    }
+
+    public void setCommissionStrategy(CommissionStrategy commissionStrategy) {
+        this.commissionStrategy = commissionStrategy;
+    }
+
+    public LockstepSimulationDriverParameters build() {
+        return new LockstepSimulationDriverParameters(
+                this.simulationMarketDataSource,
+                this.historicalMarketDataSet,
+                this.historyDuration,
+                this.simulationDuration,
+                this.seedCapital,
+                this.laneStrategy,
+                this.commissionStrategy
+        );
+    }
+}
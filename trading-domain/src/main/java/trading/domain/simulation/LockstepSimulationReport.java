@@ -0,0 +1,34 @@
+package trading.domain.simulation;
+
+/**
+ * The outcome of all lanes of a lockstep simulation. Each lane either has a simulation report or a failure.
+ */
+public class LockstepSimulationReport {
+    private final SimulationReport[] simulationReports;
+    private final RuntimeException[] failures;
+
+    LockstepSimulationReport(SimulationReport[] simulationReports, RuntimeException[] failures) {
+        this.simulationReports = simulationReports;
+        this.failures = failures;
+    }
+
+    public int getNumLanes() {
+        return this.simulationReports.length;
+    }
+
+    public boolean isFailed(int lane) {
+        return this.failures[lane] != null;
+    }
+
+    public RuntimeException getFailure(int lane) {
+        return this.failures[lane];
+    }
+
+    public SimulationReport getSimulationReport(int lane) {
+        if(this.isFailed(lane)) {
+            throw new SimulationStateException(String.format("The lane %s failed and has no simulation report.", lane));
+        }
+
+        return this.simulationReports[lane];
+    }
+}
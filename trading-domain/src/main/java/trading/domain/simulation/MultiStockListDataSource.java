@@ -3,26 +3,29 @@ package trading.domain.simulation;
 import trading.domain.market.MarketPriceSnapshot;
 
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
 
+/**
+ * Data source over a copy of the given list. Data sources for many simulations on the same market prices
+ * should be created from {@link SharedMarketPriceSnapshots} instead, which avoids the copy.
+ */
 public class MultiStockListDataSource implements SimulationMarketDataSource {
-    private final Queue<MarketPriceSnapshot> marketPriceSnapshots;
+    private final CursorDataSource cursorDataSource;
 
     public MultiStockListDataSource(List<MarketPriceSnapshot> marketPriceSnapshots) {
         if(marketPriceSnapshots == null) {
             throw new RuntimeException("The market price snapshot list has to be specified.");
         }
 
-        this.marketPriceSnapshots = new LinkedBlockingQueue<>(marketPriceSnapshots);
+        this.cursorDataSource = SharedMarketPriceSnapshots.of(marketPriceSnapshots).createDataSource();
     }
 
     @Override
     public MarketPriceSnapshot getNextClosingMarketPrices() {
-        if(this.marketPriceSnapshots.size() > 0) {
-            return this.marketPriceSnapshots.poll();
-        }
+        return this.cursorDataSource.getNextClosingMarketPrices();
+    }
 
-        throw new SimulationMarketDataSourceExhaustedException();
+    @Override
+    public MarketPriceSnapshot skipClosingMarketPrices(int numDays) {
+        return this.cursorDataSource.skipClosingMarketPrices(numDays);
     }
 }
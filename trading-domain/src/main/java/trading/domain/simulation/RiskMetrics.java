@@ -0,0 +1,65 @@
+package trading.domain.simulation;
+
+/**
+ * Risk measures of a simulation, calculated from the daily account balances.
+ * Volatility and the Sharpe and Sortino ratios are annualized; a risk-free rate of zero is assumed.
+ */
+public class RiskMetrics {
+    private final double maxDrawdown;
+    private final double volatility;
+    private final double sharpeRatio;
+    private final double sortinoRatio;
+    private final double timeInMarket;
+    private final double turnover;
+    private final double exposure;
+
+    public RiskMetrics(double maxDrawdown, double volatility, double sharpeRatio, double sortinoRatio, double timeInMarket, double turnover, double exposure) {
+        this.maxDrawdown = maxDrawdown;
+        this.volatility = volatility;
+        this.sharpeRatio = sharpeRatio;
+        this.sortinoRatio = sortinoRatio;
+        this.timeInMarket = timeInMarket;
+        this.turnover = turnover;
+        this.exposure = exposure;
+    }
+
+    /**
+     * Returns the largest decline of the account balance from a previous peak, relative to the peak.
+     */
+    public double getMaxDrawdown() {
+        return this.maxDrawdown;
+    }
+
+    public double getVolatility() {
+        return this.volatility;
+    }
+
+    public double getSharpeRatio() {
+        return this.sharpeRatio;
+    }
+
+    public double getSortinoRatio() {
+        return this.sortinoRatio;
+    }
+
+    /**
+     * Returns the fraction of the simulated days on which stocks were held.
+     */
+    public double getTimeInMarket() {
+        return this.timeInMarket;
+    }
+
+    /**
+     * Returns the total price of all bought and sold stocks relative to the average account balance.
+     */
+    public double getTurnover() {
+        return this.turnover;
+    }
+
+    /**
+     * Returns the average fraction of the account balance invested in stocks.
+     */
+    public double getExposure() {
+        return this.exposure;
+    }
+}
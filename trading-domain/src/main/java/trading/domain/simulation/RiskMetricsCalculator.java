@@ -0,0 +1,120 @@
+package trading.domain.simulation;
+
+/**
+ * Calculates the risk metrics of a simulation online from one account balance per simulated day,
+ * so no daily values have to be stored. The mean and variance of the daily returns are updated with
+ * Welford's algorithm, the drawdown against the running peak of the balance.
+ */
+public class RiskMetricsCalculator {
+    public static final int TRADING_DAYS_PER_YEAR = 252;
+
+    private double previousBalance;
+    private double peakBalance;
+    private double maxDrawdown;
+
+    private int numReturns;
+    private double meanReturn;
+    private double sumSquaredDeviations;
+    private double sumSquaredDownsideReturns;
+
+    private int numDays;
+    private int numInvestedDays;
+    private double sumExposure;
+    private double sumBalance;
+    private double tradedVolume;
+
+    public RiskMetricsCalculator(double initialBalance) {
+        this.reset(initialBalance);
+    }
+
+    public void reset(double initialBalance) {
+        this.previousBalance = initialBalance;
+        this.peakBalance = initialBalance;
+        this.maxDrawdown = 0.0;
+        this.numReturns = 0;
+        this.meanReturn = 0.0;
+        this.sumSquaredDeviations = 0.0;
+        this.sumSquaredDownsideReturns = 0.0;
+        this.numDays = 0;
+        this.numInvestedDays = 0;
+        this.sumExposure = 0.0;
+        this.sumBalance = 0.0;
+        this.tradedVolume = 0.0;
+    }
+
+    /**
+     * Records the account balance and the market price of the held stocks at the close of a simulated day.
+     */
+    public void recordDay(double balance, double stocksMarketPrice) {
+        if(this.previousBalance > 0.0) {
+            double dailyReturn = balance / this.previousBalance - 1.0;
+
+            this.numReturns++;
+            double delta = dailyReturn - this.meanReturn;
+            this.meanReturn += delta / this.numReturns;
+            this.sumSquaredDeviations += delta * (dailyReturn - this.meanReturn);
+
+            if(dailyReturn < 0.0) {
+                this.sumSquaredDownsideReturns += dailyReturn * dailyReturn;
+            }
+        }
+
+        if(balance > this.peakBalance) {
+            this.peakBalance = balance;
+        }
+        else if(this.peakBalance > 0.0) {
+            this.maxDrawdown = Math.max(this.maxDrawdown, 1.0 - balance / this.peakBalance);
+        }
+
+        this.numDays++;
+
+        if(stocksMarketPrice > 0.0) {
+            this.numInvestedDays++;
+        }
+
+        if(balance > 0.0) {
+            this.sumExposure += stocksMarketPrice / balance;
+        }
+
+        this.sumBalance += balance;
+        this.previousBalance = balance;
+    }
+
+    /**
+     * Records the total price of a buy or sell transaction.
+     */
+    public void recordTransaction(double totalPrice) {
+        this.tradedVolume += totalPrice;
+    }
+
+    /**
+     * Returns the metrics of the days recorded so far. Ratios that are undefined as there is no deviation are zero.
+     */
+    public RiskMetrics toRiskMetrics() {
+        double annualizationFactor = Math.sqrt(TRADING_DAYS_PER_YEAR);
+
+        double standardDeviation = this.numReturns > 1 ? Math.sqrt(this.sumSquaredDeviations / (this.numReturns - 1)) : 0.0;
+        double downsideDeviation = this.numReturns > 0 ? Math.sqrt(this.sumSquaredDownsideReturns / this.numReturns) : 0.0;
+
+        double volatility = standardDeviation * annualizationFactor;
+        double sharpeRatio = standardDeviation > 0.0 ? this.meanReturn / standardDeviation * annualizationFactor : 0.0;
+        double sortinoRatio = downsideDeviation > 0.0 ? this.meanReturn / downsideDeviation * annualizationFactor : 0.0;
+
+        double timeInMarket = 0.0;
+        double exposure = 0.0;
+        double turnover = 0.0;
+
+        if(this.numDays > 0) {
+            timeInMarket = (double) this.numInvestedDays / this.numDays;
+            exposure = this.sumExposure / this.numDays;
+
+            double averageBalance = this.sumBalance / this.numDays;
+
+            if(averageBalance > 0.0) {
+                turnover = this.tradedVolume / averageBalance;
+            }
+        }
+
+        return new RiskMetrics(this.maxDrawdown, volatility, sharpeRatio, sortinoRatio, timeInMarket, turnover, exposure);
+    }
+}
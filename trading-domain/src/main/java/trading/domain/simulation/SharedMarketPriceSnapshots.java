@@ -0,0 +1,64 @@
+package trading.domain.simulation;
+
+import trading.domain.market.MarketPriceSnapshot;
+
+import java.util.List;
+
+/**
+ * Immutable array of closing market prices, built once and shared by the data sources of many simulations.
+ * The data sources only keep a cursor on the array, so they are created in constant time and
+ * can iterate the same market prices concurrently without copying or locking.
+ */
+public final class SharedMarketPriceSnapshots {
+    private final MarketPriceSnapshot[] marketPriceSnapshots;
+
+    private SharedMarketPriceSnapshots(MarketPriceSnapshot[] marketPriceSnapshots) {
+        this.marketPriceSnapshots = marketPriceSnapshots;
+    }
+
+    public static SharedMarketPriceSnapshots of(List<MarketPriceSnapshot> marketPriceSnapshots) {
+        if(marketPriceSnapshots == null) {
+            throw new RuntimeException("The market price snapshot list has to be specified.");
+        }
+
+        MarketPriceSnapshot[] marketPriceSnapshotArray = marketPriceSnapshots.toArray(new MarketPriceSnapshot[0]);
+
+        for(MarketPriceSnapshot marketPriceSnapshot: marketPriceSnapshotArray) {
+            if(marketPriceSnapshot == null) {
+                throw new RuntimeException("The market price snapshot list must not contain null elements.");
+            }
+        }
+
+        return new SharedMarketPriceSnapshots(marketPriceSnapshotArray);
+    }
+
+    public int size() {
+        return this.marketPriceSnapshots.length;
+    }
+
+    public MarketPriceSnapshot get(int index) {
+        return this.marketPriceSnapshots[index];
+    }
+
+    /**
+     * Creates a data source over all market price snapshots.
+     */
+    public CursorDataSource createDataSource() {
+        return this.createDataSource(0, this.marketPriceSnapshots.length);
+    }
+
+    /**
+     * Creates a data source over the given number of market price snapshots, starting with the given index.
+     */
+    public CursorDataSource createDataSource(int offset, int length) {
+        if(offset < 0 || offset > this.marketPriceSnapshots.length) {
+            throw new RuntimeException("The offset lies outside the market price snapshots.");
+        }
+
+        if(length < 0 || length > this.marketPriceSnapshots.length - offset) {
+            throw new RuntimeException("The length exceeds the market price snapshots.");
+        }
+
+        return new CursorDataSource(this.marketPriceSnapshots, offset, offset + length);
+    }
+}
@@ -11,6 +11,7 @@ import trading.domain.market.MarketPriceSnapshotBuilder;
 import trading.domain.strategy.TradingStrategy;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
 
 public class Simulation {
@@ -24,6 +25,14 @@ public class Simulation {
     private LocalDate openedDayDate;
 
     protected Simulation(HistoricalMarketData historicalMarketData, Account account, Broker broker, TradingStrategy tradingStrategy) {
+        this(historicalMarketData, account, broker, tradingStrategy, true);
+    }
+
+    /**
+     * Creates the simulation, letting the trading strategy prepare the orders for the next trading day only if requested.
+     * The orders are not prepared again if they have been restored from a checkpoint.
+     */
+    Simulation(HistoricalMarketData historicalMarketData, Account account, Broker broker, TradingStrategy tradingStrategy, boolean prepareOrders) {
         if(historicalMarketData == null) {
             throw new SimulationStartException("The historical market data must be set.");
         }
@@ -55,7 +64,17 @@ public class Simulation {
             this.singleISIN = null;
         }
 
-        this.tradingStrategy.prepareOrdersForNextTradingDay();
+        if(prepareOrders) {
+            this.tradingStrategy.prepareOrdersForNextTradingDay();
+        }
+    }
+
+    public HistoricalMarketData getHistoricalMarketData() {
+        return this.historicalMarketData;
+    }
+
+    public Account getAccount() {
+        return this.account;
     }
 
     public void openDay(LocalDate date) {
@@ -95,6 +114,31 @@ public class Simulation {
         this.tradingStrategy.prepareOrdersForNextTradingDay();
     }
 
+    /**
+     * Closes the given days without opening them at the broker and without calling the trading strategy,
+     * which is only valid if no orders are registered and the strategy would not have acted on these days
+     * (see TradingStrategy.getWakeCondition()). The positions are revalued once with the prices of the last day.
+     */
+    public void closeDaysWithoutTrading(List<MarketPriceSnapshot> closingMarketPricesList) {
+        if(closingMarketPricesList == null) {
+            throw new DomainException("The closing market prices must be specified.");
+        }
+
+        if(this.activeDay) {
+            throw new SimulationStateException("Days cannot be skipped while a day is active.");
+        }
+
+        if(closingMarketPricesList.isEmpty()) {
+            return;
+        }
+
+        for(MarketPriceSnapshot closingMarketPrices: closingMarketPricesList) {
+            this.historicalMarketData.registerClosedDay(closingMarketPrices);
+        }
+
+        this.account.reportMarketPrices(closingMarketPricesList.get(closingMarketPricesList.size() - 1));
+    }
+
     public void closeDay(Amount closingMarketPrice, LocalDate date) {
         if(this.singleISIN == null) {
             throw new SimulationStateException("The single-stock close day function must not be used when multiple stocks registered.");
@@ -0,0 +1,109 @@
+package trading.domain.simulation;
+
+import trading.domain.Amount;
+import trading.domain.DomainException;
+import trading.domain.account.Transaction;
+import trading.domain.broker.OrderRequest;
+import trading.domain.market.MarketPriceSnapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The state of a simulation after its last simulated day, from which the simulation can be resumed
+ * when new market days are available.
+ *
+ * The account is stored as its transactions and rebuilt by registering them again, like accounts are restored
+ * by the account repository. The market data is not stored but taken from the data source again;
+ * the checkpoint only records how many days were closed. Tax and commission strategies are configuration
+ * and have to be passed with the driver parameters again.
+ */
+public class SimulationCheckpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Amount seedCapital;
+    private final MarketPriceSnapshot initialClosingMarketPrices;
+    private final LocalDate lastClosedDayDate;
+    private final int numClosedDays;
+    private final int numSimulatedDays;
+    private final List<Transaction> transactions;
+    private final List<OrderRequest> orderRequests;
+    private final Serializable tradingStrategyState;
+
+    SimulationCheckpoint(Amount seedCapital, MarketPriceSnapshot initialClosingMarketPrices, LocalDate lastClosedDayDate, int numClosedDays, int numSimulatedDays, List<Transaction> transactions, List<OrderRequest> orderRequests, Serializable tradingStrategyState) {
+        this.seedCapital = seedCapital;
+        this.initialClosingMarketPrices = initialClosingMarketPrices;
+        this.lastClosedDayDate = lastClosedDayDate;
+        this.numClosedDays = numClosedDays;
+        this.numSimulatedDays = numSimulatedDays;
+        this.transactions = new ArrayList<>(transactions);
+        this.orderRequests = new ArrayList<>(orderRequests);
+        this.tradingStrategyState = tradingStrategyState;
+    }
+
+    public static SimulationCheckpoint readFrom(InputStream inputStream) throws IOException {
+        ObjectInputStream objectInputStream = new ObjectInputStream(inputStream);
+
+        try {
+            return (SimulationCheckpoint) objectInputStream.readObject();
+        }
+        catch(ClassNotFoundException | ClassCastException ex) {
+            throw new DomainException("The input stream does not contain a simulation checkpoint.");
+        }
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
+        objectOutputStream.writeObject(this);
+        objectOutputStream.flush();
+    }
+
+    public Amount getSeedCapital() {
+        return this.seedCapital;
+    }
+
+    /**
+     * Returns the closing market prices of the last history day, from which the average market rate of return is calculated.
+     */
+    public MarketPriceSnapshot getInitialClosingMarketPrices() {
+        return this.initialClosingMarketPrices;
+    }
+
+    public LocalDate getLastClosedDayDate() {
+        return this.lastClosedDayDate;
+    }
+
+    /**
+     * Returns the number of closed market days including the history days, i.e. the position of the market data cursor.
+     */
+    public int getNumClosedDays() {
+        return this.numClosedDays;
+    }
+
+    public int getNumSimulatedDays() {
+        return this.numSimulatedDays;
+    }
+
+    public List<Transaction> getTransactions() {
+        return Collections.unmodifiableList(this.transactions);
+    }
+
+    /**
+     * Returns the order requests placed for the day after the last closed day.
+     */
+    public List<OrderRequest> getOrderRequests() {
+        return Collections.unmodifiableList(this.orderRequests);
+    }
+
+    public Serializable getTradingStrategyState() {
+        return this.tradingStrategyState;
+    }
+}
@@ -1,23 +1,30 @@
 package trading.domain.simulation;
 
 import trading.domain.Amount;
-import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
 import trading.domain.account.Account;
 import trading.domain.account.AccountBuilder;
-import trading.domain.broker.Broker;
+import trading.domain.account.MarketTransaction;
+import trading.domain.account.Transaction;
+import trading.domain.broker.OrderRequest;
 import trading.domain.broker.VirtualBroker;
 import trading.domain.market.HistoricalMarketData;
+import trading.domain.market.HistoricalMarketDataSet;
 import trading.domain.market.MarketPriceSnapshot;
 import trading.domain.strategy.TradingStrategy;
 import trading.domain.strategy.TradingStrategyContext;
+import trading.domain.strategy.WakeCondition;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 public class SimulationDriver {
     private final SimulationDriverParameters parameters;
     private boolean dailyReporting = false;
+    private EquityCurveRecorder equityCurveRecorder;
+    private boolean checkpointing = false;
+    private boolean daySkipping = false;
+    private final List<TerminationCondition> terminationConditions = new ArrayList<>();
 
     public SimulationDriver(SimulationDriverParameters parameters) {
         this.parameters = parameters;
@@ -27,72 +34,327 @@ public class SimulationDriver {
         this.dailyReporting = dailyReporting;
     }
 
+    /**
+     * Sets the recorder of the daily account values, e.g. to reuse the recorder of a worker thread or to record
+     * only every n-th day. Enables daily reporting.
+     */
+    public void setEquityCurveRecorder(EquityCurveRecorder equityCurveRecorder) {
+        if(equityCurveRecorder == null) {
+            throw new SimulationDriverInitializationException("The equity curve recorder must be specified.");
+        }
+
+        this.equityCurveRecorder = equityCurveRecorder;
+        this.dailyReporting = true;
+    }
+
+    /**
+     * Enables that the simulation reports contain a checkpoint of the final simulation state.
+     */
+    public void setCheckpointing(boolean checkpointing) {
+        this.checkpointing = checkpointing;
+    }
+
+    /**
+     * Enables that days before the wake condition of the trading strategy are closed in bulk without calling the strategy.
+     * Days are only skipped on shared market data sets and without daily reporting or termination conditions.
+     * The wake condition is evaluated on the market data set, so the simulation market data source must deliver the
+     * days of the market data set; the market data set rejects differing market prices. Disabled by default.
+     */
+    public void setDaySkipping(boolean daySkipping) {
+        this.daySkipping = daySkipping;
+    }
+
+    /**
+     * Adds a condition evaluated after each simulated day, which may terminate the simulation early.
+     */
+    public void addTerminationCondition(TerminationCondition terminationCondition) {
+        if(terminationCondition == null) {
+            throw new SimulationDriverInitializationException("The termination condition must be specified.");
+        }
+
+        this.terminationConditions.add(terminationCondition);
+    }
+
     public SimulationReport runSimulation() {
-        Account account = new AccountBuilder()
-                .setAvailableMoney(this.parameters.getSeedCapital())
-                .setTaxStrategy(this.parameters.getTaxStrategy())
-                .build();
+        HistoricalMarketData historicalMarketData = this.buildHistoricalMarketData(this.parameters.getHistoryDuration().getValue());
 
-        HistoricalMarketData historicalMarketData = this.buildHistoricalMarketData();
-        Broker broker = new VirtualBroker(account, historicalMarketData, this.parameters.getCommissionStrategy());
+        Account account = this.createAccount(historicalMarketData);
+        VirtualBroker broker = new VirtualBroker(account, historicalMarketData, this.parameters.getCommissionStrategy());
 
         TradingStrategyContext tradingStrategyContext = new TradingStrategyContext(account, broker, historicalMarketData);
-        TradingStrategy tradingStrategy = parameters.getTradingStrategyFactory().createTradingStrategy(tradingStrategyContext);
+        TradingStrategy tradingStrategy = this.parameters.getTradingStrategyFactory().createTradingStrategy(tradingStrategyContext);
+
+        if(this.checkpointing && !tradingStrategy.supportsCheckpoints()) {
+            throw new SimulationDriverInitializationException("The trading strategy does not support checkpoints.");
+        }
 
         MarketPriceSnapshot initialClosingMarketPrices = historicalMarketData.getLastClosingMarketPrices();
 
         Simulation simulation = new Simulation(historicalMarketData, account, broker, tradingStrategy);
-        SimulationMarketDataSource simulationMarketDataSource = this.parameters.getSimulationMarketDataSource();
+
+        return this.runSimulationDays(simulation, broker, tradingStrategy, this.parameters.getSimulationMarketDataSource(), initialClosingMarketPrices, 0);
+    }
+
+    /**
+     * Continues the simulation of the given checkpoint until the simulation duration of this driver is reached,
+     * so only the days after the checkpoint are simulated. The data source has to start with the same day
+     * as the data source of the checkpointed simulation; the days up to the checkpoint are only skipped.
+     * Day reports and risk metrics are created for the resumed days only.
+     */
+    public SimulationReport resumeSimulation(SimulationCheckpoint checkpoint) {
+        if(checkpoint == null) {
+            throw new SimulationDriverInitializationException("The checkpoint must be specified.");
+        }
+
+        if(!checkpoint.getSeedCapital().equals(this.parameters.getSeedCapital())) {
+            throw new SimulationDriverInitializationException("The seed capital must equal the seed capital of the checkpoint.");
+        }
+
+        if(checkpoint.getNumSimulatedDays() > this.parameters.getSimulationDuration().getValue()) {
+            throw new SimulationDriverInitializationException("The simulation duration must not be shorter than the simulated duration of the checkpoint.");
+        }
+
+        HistoricalMarketData historicalMarketData = this.buildHistoricalMarketData(checkpoint.getNumClosedDays());
+
+        if(!historicalMarketData.getDate().equals(checkpoint.getLastClosedDayDate())) {
+            throw new SimulationDriverInitializationException("The simulation market data source does not match the checkpoint.");
+        }
+
+        Account account = this.createAccount(historicalMarketData);
+
+        for(Transaction transaction: checkpoint.getTransactions()) {
+            account.registerTransaction(transaction);
+        }
+
+        account.reportMarketPrices(historicalMarketData.getLastClosingMarketPrices());
+
+        VirtualBroker broker = new VirtualBroker(account, historicalMarketData, this.parameters.getCommissionStrategy());
+
+        for(OrderRequest orderRequest: checkpoint.getOrderRequests()) {
+            broker.setOrder(orderRequest);
+        }
+
+        TradingStrategyContext tradingStrategyContext = new TradingStrategyContext(account, broker, historicalMarketData);
+        TradingStrategy tradingStrategy = this.parameters.getTradingStrategyFactory().createTradingStrategy(tradingStrategyContext);
+
+        if(!tradingStrategy.supportsCheckpoints()) {
+            throw new SimulationDriverInitializationException("The trading strategy does not support checkpoints.");
+        }
+
+        tradingStrategy.restoreCheckpointState(checkpoint.getTradingStrategyState());
+
+        Simulation simulation = new Simulation(historicalMarketData, account, broker, tradingStrategy, false);
+
+        return this.runSimulationDays(simulation, broker, tradingStrategy, this.parameters.getSimulationMarketDataSource(),
+                checkpoint.getInitialClosingMarketPrices(), checkpoint.getNumSimulatedDays());
+    }
+
+    private Account createAccount(HistoricalMarketData historicalMarketData) {
+        return new AccountBuilder()
+                .setAvailableMoney(this.parameters.getSeedCapital())
+                .setTaxStrategy(this.parameters.getTaxStrategy())
+                .setInstrumentRegistry(historicalMarketData.getInstrumentRegistry())
+                .build();
+    }
+
+    private SimulationReport runSimulationDays(Simulation simulation, VirtualBroker broker, TradingStrategy tradingStrategy, SimulationMarketDataSource simulationMarketDataSource, MarketPriceSnapshot initialClosingMarketPrices, int numSimulatedDays) {
+        HistoricalMarketData historicalMarketData = simulation.getHistoricalMarketData();
+        Account account = simulation.getAccount();
 
         int numSimulationDays = this.parameters.getSimulationDuration().getValue();
 
-        List<SimulationDayReport> simulationDayReports = null;
+        EquityCurveRecorder equityCurveRecorder = null;
 
         if(this.dailyReporting) {
-            simulationDayReports = new ArrayList<>();
+            if(this.equityCurveRecorder == null) {
+                this.equityCurveRecorder = new EquityCurveRecorder();
+            }
+
+            equityCurveRecorder = this.equityCurveRecorder;
+            equityCurveRecorder.reset(numSimulationDays - numSimulatedDays);
         }
 
-        for(int simulationDayIndex = 0; simulationDayIndex < numSimulationDays; simulationDayIndex++) {
+        int firstRecordedDayIndex = numSimulatedDays;
+
+        int simulationStartDayIndex = historicalMarketData.getDayIndex() - numSimulatedDays;
+        SimulationProgress simulationProgress = new SimulationProgress();
+        TerminationReason terminationReason = null;
+
+        RiskMetricsCalculator riskMetricsCalculator = new RiskMetricsCalculator(account.balance());
+        int numRecordedTransactions = account.getProcessedTransactions().size();
+
+        boolean daySkipping = this.daySkipping && !this.dailyReporting && this.terminationConditions.isEmpty()
+                && historicalMarketData.getHistoricalMarketDataSet() != null;
+
+        while(numSimulatedDays < numSimulationDays && terminationReason == null) {
+            if(daySkipping) {
+                numSimulatedDays += this.skipDaysWithoutTrading(simulation, broker, tradingStrategy, simulationMarketDataSource,
+                        riskMetricsCalculator, numSimulationDays - numSimulatedDays);
+
+                if(numSimulatedDays == numSimulationDays) {
+                    break;
+                }
+            }
+
             MarketPriceSnapshot nextClosingMarketPrices = simulationMarketDataSource.getNextClosingMarketPrices();
             simulation.openDay(nextClosingMarketPrices.getDate());
             simulation.closeDay(nextClosingMarketPrices);
+            numSimulatedDays++;
 
-            if(this.dailyReporting) {
-                Amount availableMoney = account.getAvailableMoney();
-                Amount accountBalance = account.getBalance();
+            numRecordedTransactions = recordRiskMetrics(riskMetricsCalculator, account, numRecordedTransactions);
 
-                double averageMarketRateOfReturn = this.calculateAverageMarketRateOfReturn(
+            if(!this.terminationConditions.isEmpty()) {
+                terminationReason = this.evaluateTerminationConditions(simulationProgress, account, historicalMarketData.getDayIndex(),
+                        simulationStartDayIndex, numSimulatedDays, numSimulationDays);
+            }
+
+            boolean lastDay = numSimulatedDays == numSimulationDays || terminationReason != null;
+
+            if(equityCurveRecorder != null && equityCurveRecorder.isRecorded(numSimulatedDays - 1 - firstRecordedDayIndex, lastDay)) {
+                double accountBalance = account.getBalance().getValue();
+
+                double averageMarketRateOfReturn = calculateAverageMarketRateOfReturn(
                         initialClosingMarketPrices, nextClosingMarketPrices);
 
-                double realizedRateOfReturn = account.getBalance().getValue() / this.parameters.getSeedCapital().getValue() - 1;
+                double realizedRateOfReturn = accountBalance / this.parameters.getSeedCapital().getValue() - 1;
 
-                simulationDayReports.add(new SimulationDayReport(availableMoney, accountBalance, averageMarketRateOfReturn, realizedRateOfReturn));
+                equityCurveRecorder.record(numSimulatedDays - 1 - firstRecordedDayIndex, accountBalance,
+                        account.getAvailableMoney().getValue(), averageMarketRateOfReturn, realizedRateOfReturn);
             }
         }
 
         Amount finalAccountBalance = account.getBalance();
 
         MarketPriceSnapshot finalClosingMarketPrices = historicalMarketData.getLastClosingMarketPrices();
-        double averageMarketRateOfReturn = this.calculateAverageMarketRateOfReturn(initialClosingMarketPrices, finalClosingMarketPrices);
+        double averageMarketRateOfReturn = calculateAverageMarketRateOfReturn(initialClosingMarketPrices, finalClosingMarketPrices);
 
         double realizedRateOfReturn = account.getBalance().getValue() / this.parameters.getSeedCapital().getValue() - 1;
 
+        SimulationCheckpoint checkpoint = null;
+
+        if(this.checkpointing) {
+            checkpoint = new SimulationCheckpoint(
+                    this.parameters.getSeedCapital(),
+                    initialClosingMarketPrices,
+                    historicalMarketData.getDate(),
+                    historicalMarketData.getDuration().getValue(),
+                    numSimulatedDays,
+                    account.getProcessedTransactions(),
+                    broker.getRegisteredOrderRequests(),
+                    tradingStrategy.createCheckpointState());
+        }
+
         SimulationReport simulationReport = new SimulationReport(
                 this.parameters.getSeedCapital(),
                 finalAccountBalance,
                 account.getProcessedTransactions(),
                 averageMarketRateOfReturn,
                 realizedRateOfReturn,
-                simulationDayReports);
+                equityCurveRecorder == null ? null : equityCurveRecorder.toEquityCurve(),
+                checkpoint,
+                terminationReason,
+                riskMetricsCalculator.toRiskMetrics());
 
         return simulationReport;
     }
 
-    private HistoricalMarketData buildHistoricalMarketData() {
+    /**
+     * Closes the days on which the wake condition of the trading strategy does not hold, found by scanning the
+     * market data set, and returns their number.
+     */
+    private int skipDaysWithoutTrading(Simulation simulation, VirtualBroker broker, TradingStrategy tradingStrategy, SimulationMarketDataSource simulationMarketDataSource, RiskMetricsCalculator riskMetricsCalculator, int maxNumDays) {
+        if(broker.hasRegisteredOrderRequests()) {
+            return 0;
+        }
+
+        WakeCondition wakeCondition = tradingStrategy.getWakeCondition();
+
+        if(wakeCondition == null) {
+            return 0;
+        }
+
+        HistoricalMarketData historicalMarketData = simulation.getHistoricalMarketData();
+        int numSkippedDays = wakeCondition.countDaysBeforeWake(historicalMarketData.getHistoricalMarketDataSet(), historicalMarketData.getDayIndex(), maxNumDays);
+
+        if(numSkippedDays == 0) {
+            return 0;
+        }
+
+        List<MarketPriceSnapshot> closingMarketPricesList = new ArrayList<>(numSkippedDays);
+
+        Account account = simulation.getAccount();
+
+        // No transactions are made on skipped days, so the balance of each day only depends on its market prices
+
+        for(int dayIndex = 0; dayIndex < numSkippedDays; dayIndex++) {
+            MarketPriceSnapshot closingMarketPrices = simulationMarketDataSource.getNextClosingMarketPrices();
+            riskMetricsCalculator.recordDay(account.balanceAt(closingMarketPrices), account.totalStocksMarketPriceAt(closingMarketPrices));
+            closingMarketPricesList.add(closingMarketPrices);
+        }
+
+        simulation.closeDaysWithoutTrading(closingMarketPricesList);
+
+        return numSkippedDays;
+    }
+
+    /**
+     * Records the transactions made since the given number of transactions and the balance of the closed day.
+     * Returns the number of recorded transactions.
+     */
+    private static int recordRiskMetrics(RiskMetricsCalculator riskMetricsCalculator, Account account, int numRecordedTransactions) {
+        List<Transaction> transactions = account.getProcessedTransactions();
+
+        for(int transactionIndex = numRecordedTransactions; transactionIndex < transactions.size(); transactionIndex++) {
+            Transaction transaction = transactions.get(transactionIndex);
+
+            if(transaction instanceof MarketTransaction) {
+                riskMetricsCalculator.recordTransaction(((MarketTransaction) transaction).getTotalPriceMoney().getValue());
+            }
+        }
+
+        riskMetricsCalculator.recordDay(account.balance(), account.totalStocksMarketPrice());
+
+        return transactions.size();
+    }
+
+    private TerminationReason evaluateTerminationConditions(SimulationProgress simulationProgress, Account account, int dayIndex, int simulationStartDayIndex, int numSimulatedDays, int numSimulationDays) {
+        List<Transaction> transactions = account.getProcessedTransactions();
+        int lastTransactionDayIndex = simulationStartDayIndex;
+
+        if(!transactions.isEmpty()) {
+            lastTransactionDayIndex = Math.max(lastTransactionDayIndex, transactions.get(transactions.size() - 1).getDayIndex());
+        }
+
+        simulationProgress.update(
+                this.parameters.getSeedCapital().getValue(),
+                account.balance(),
+                account.getReservedTaxes().getValue(),
+                dayIndex,
+                simulationStartDayIndex,
+                lastTransactionDayIndex,
+                numSimulatedDays,
+                numSimulationDays);
+
+        for(TerminationCondition terminationCondition: this.terminationConditions) {
+            TerminationReason terminationReason = terminationCondition.evaluate(simulationProgress);
+
+            if(terminationReason != null) {
+                return terminationReason;
+            }
+        }
+
+        return null;
+    }
+
+    private HistoricalMarketData buildHistoricalMarketData(int numHistoryDays) {
         SimulationMarketDataSource simulationMarketDataSource = this.parameters.getSimulationMarketDataSource();
-        int numHistoryDays = this.parameters.getHistoryDuration().getValue();
 
         MarketPriceSnapshot initialClosingMarketPrices = simulationMarketDataSource.getNextClosingMarketPrices();
+
+        if(this.parameters.getHistoricalMarketDataSet() != null) {
+            return this.createHistoricalMarketDataView(initialClosingMarketPrices, numHistoryDays);
+        }
+
         HistoricalMarketData historicalMarketData = new HistoricalMarketData(initialClosingMarketPrices);
 
         for(int historyDayIndex = 1; historyDayIndex < numHistoryDays; historyDayIndex++) {
@@ -103,17 +365,47 @@ public class SimulationDriver {
         return historicalMarketData;
     }
 
-    private double calculateAverageMarketRateOfReturn(MarketPriceSnapshot initialClosingMarketPrices, MarketPriceSnapshot finalClosingMarketPrices) {
-        Set<ISIN> isins = initialClosingMarketPrices.getISINs();
+    private HistoricalMarketData createHistoricalMarketDataView(MarketPriceSnapshot initialClosingMarketPrices, int numHistoryDays) {
+        return createHistoricalMarketDataView(
+                this.parameters.getSimulationMarketDataSource(),
+                initialClosingMarketPrices,
+                numHistoryDays,
+                this.parameters.getHistoricalMarketDataSet());
+    }
+
+    static HistoricalMarketData createHistoricalMarketDataView(SimulationMarketDataSource simulationMarketDataSource, MarketPriceSnapshot initialClosingMarketPrices, int numHistoryDays, HistoricalMarketDataSet historicalMarketDataSet) {
+        MarketPriceSnapshot lastHistoryClosingMarketPrices = initialClosingMarketPrices;
+
+        // The history is shared with all other simulations, only the data source has to be moved to the simulation start
+
+        if(numHistoryDays > 1) {
+            lastHistoryClosingMarketPrices = simulationMarketDataSource.skipClosingMarketPrices(numHistoryDays - 1);
+        }
+
+        HistoricalMarketData historicalMarketData = historicalMarketDataSet.createView(lastHistoryClosingMarketPrices.getDate());
+
+        if(historicalMarketData.getDuration().getValue() != numHistoryDays) {
+            throw new SimulationDriverInitializationException("The simulation market data source must start at the beginning of the historical market data set.");
+        }
+
+        return historicalMarketData;
+    }
+
+    static double calculateAverageMarketRateOfReturn(MarketPriceSnapshot initialClosingMarketPrices, MarketPriceSnapshot finalClosingMarketPrices) {
+        InstrumentRegistry universe = initialClosingMarketPrices.getUniverse();
         double sumMarketRateOfReturn = 0.0;
 
-        for(ISIN isin: isins) {
-            double initialMarketPrice = initialClosingMarketPrices.getMarketPrice(isin).getValue();
-            double finalMarketPrice = finalClosingMarketPrices.getMarketPrice(isin).getValue();
+        for(int instrumentIndex = 0; instrumentIndex < universe.size(); instrumentIndex++) {
+            if(!initialClosingMarketPrices.hasPrice(instrumentIndex)) {
+                continue;
+            }
+
+            double initialMarketPrice = initialClosingMarketPrices.getPrice(instrumentIndex);
+            double finalMarketPrice = finalClosingMarketPrices.getPrice(universe.get(instrumentIndex));
             double marketRateOfReturn = finalMarketPrice / initialMarketPrice - 1.0;
             sumMarketRateOfReturn += marketRateOfReturn;
         }
 
-        return sumMarketRateOfReturn / (double) isins.size();
+        return sumMarketRateOfReturn / (double) initialClosingMarketPrices.size();
     }
 }
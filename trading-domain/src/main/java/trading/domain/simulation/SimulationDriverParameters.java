@@ -4,6 +4,7 @@ import trading.domain.Amount;
 import trading.domain.DayCount;
 import trading.domain.account.TaxStrategy;
 import trading.domain.broker.CommissionStrategy;
+import trading.domain.market.HistoricalMarketDataSet;
 import trading.domain.strategy.TradingStrategyFactory;
 
 public class SimulationDriverParameters {
@@ -14,6 +15,7 @@ public class SimulationDriverParameters {
     private final TradingStrategyFactory tradingStrategyFactory;
     private final CommissionStrategy commissionStrategy;
     private final TaxStrategy taxStrategy;
+    private final HistoricalMarketDataSet historicalMarketDataSet;
 
     public SimulationDriverParameters(
             SimulationMarketDataSource simulationMarketDataSource,
@@ -22,7 +24,8 @@ public class SimulationDriverParameters {
             Amount seedCapital,
             TradingStrategyFactory tradingStrategyFactory,
             CommissionStrategy commissionStrategy,
-            TaxStrategy taxStrategy
+            TaxStrategy taxStrategy,
+            HistoricalMarketDataSet historicalMarketDataSet
     ){
         if(simulationMarketDataSource == null) {
             throw new SimulationDriverInitializationException("The simulation market data source must be specified.");
@@ -75,6 +78,7 @@ public class SimulationDriverParameters {
         this.tradingStrategyFactory = tradingStrategyFactory;
         this.commissionStrategy = commissionStrategy;
         this.taxStrategy = taxStrategy;
+        this.historicalMarketDataSet = historicalMarketDataSet;
     }
 
     public SimulationMarketDataSource getSimulationMarketDataSource() {
@@ -104,4 +108,8 @@ public class SimulationDriverParameters {
     public TaxStrategy getTaxStrategy() {
         return this.taxStrategy;
     }
+
+    public HistoricalMarketDataSet getHistoricalMarketDataSet() {
+        return this.historicalMarketDataSet;
+    }
 }
@@ -4,6 +4,7 @@ import trading.domain.Amount;
 import trading.domain.DayCount;
 import trading.domain.account.TaxStrategy;
 import trading.domain.broker.CommissionStrategy;
+import trading.domain.market.HistoricalMarketDataSet;
 import trading.domain.strategy.TradingStrategyFactory;
 
 public class SimulationDriverParametersBuilder {
@@ -14,6 +15,7 @@ public class SimulationDriverParametersBuilder {
     private TradingStrategyFactory tradingStrategyFactory;
     private CommissionStrategy commissionStrategy;
     private TaxStrategy taxStrategy;
+    private HistoricalMarketDataSet historicalMarketDataSet;
 
     public void setSimulationMarketDataSource(SimulationMarketDataSource simulationMarketDataSource) {
         this.simulationMarketDataSource = simulationMarketDataSource;
@@ -43,6 +45,10 @@ public class SimulationDriverParametersBuilder {
         this.taxStrategy = taxStrategy;
     }
 
+    public void setHistoricalMarketDataSet(HistoricalMarketDataSet historicalMarketDataSet) {
+        this.historicalMarketDataSet = historicalMarketDataSet;
+    }
+
     public SimulationDriverParameters build() {
         return new SimulationDriverParameters(
                 this.simulationMarketDataSource,
@@ -51,7 +57,8 @@ public class SimulationDriverParametersBuilder {
                 this.seedCapital,
                 this.tradingStrategyFactory,
                 this.commissionStrategy,
-                this.taxStrategy
+                this.taxStrategy,
+                this.historicalMarketDataSet
         );
     }
 }
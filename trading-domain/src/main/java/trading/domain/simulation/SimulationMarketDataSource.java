@@ -4,4 +4,21 @@ import trading.domain.market.MarketPriceSnapshot;
 
 public interface SimulationMarketDataSource {
     MarketPriceSnapshot getNextClosingMarketPrices();
+
+    /**
+     * Skips the given number of closing market prices and returns the last of them.
+     */
+    default MarketPriceSnapshot skipClosingMarketPrices(int numDays) {
+        if(numDays <= 0) {
+            throw new RuntimeException("The number of days must be positive.");
+        }
+
+        MarketPriceSnapshot closingMarketPrices = null;
+
+        for(int dayIndex = 0; dayIndex < numDays; dayIndex++) {
+            closingMarketPrices = this.getNextClosingMarketPrices();
+        }
+
+        return closingMarketPrices;
+    }
 }
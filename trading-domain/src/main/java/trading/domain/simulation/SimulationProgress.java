@@ -0,0 +1,75 @@
+package trading.domain.simulation;
+
+/**
+ * The state of a running simulation passed to termination conditions. One instance is updated
+ * after every simulated day instead of allocating a new one.
+ */
+public class SimulationProgress {
+    private double seedCapital;
+    private double balance;
+    private double reservedTaxes;
+    private int dayIndex;
+    private int simulationStartDayIndex;
+    private int lastTransactionDayIndex;
+    private int numSimulatedDays;
+    private int simulationDuration;
+
+    void update(double seedCapital, double balance, double reservedTaxes, int dayIndex, int simulationStartDayIndex, int lastTransactionDayIndex, int numSimulatedDays, int simulationDuration) {
+        this.seedCapital = seedCapital;
+        this.balance = balance;
+        this.reservedTaxes = reservedTaxes;
+        this.dayIndex = dayIndex;
+        this.simulationStartDayIndex = simulationStartDayIndex;
+        this.lastTransactionDayIndex = lastTransactionDayIndex;
+        this.numSimulatedDays = numSimulatedDays;
+        this.simulationDuration = simulationDuration;
+    }
+
+    public double getSeedCapital() {
+        return this.seedCapital;
+    }
+
+    public double getBalance() {
+        return this.balance;
+    }
+
+    /**
+     * Returns the taxes reserved for the current tax periods, which may still be released by later losses.
+     */
+    public double getReservedTaxes() {
+        return this.reservedTaxes;
+    }
+
+    /**
+     * Returns the market day index of the last closed day.
+     */
+    public int getDayIndex() {
+        return this.dayIndex;
+    }
+
+    /**
+     * Returns the market day index of the last history day, i.e. the day before the first simulated day.
+     */
+    public int getSimulationStartDayIndex() {
+        return this.simulationStartDayIndex;
+    }
+
+    /**
+     * Returns the market day index of the last transaction, or the simulation start day index if there was no transaction yet.
+     */
+    public int getLastTransactionDayIndex() {
+        return this.lastTransactionDayIndex;
+    }
+
+    public int getNumSimulatedDays() {
+        return this.numSimulatedDays;
+    }
+
+    public int getSimulationDuration() {
+        return this.simulationDuration;
+    }
+
+    public int getNumRemainingDays() {
+        return this.simulationDuration - this.numSimulatedDays;
+    }
+}
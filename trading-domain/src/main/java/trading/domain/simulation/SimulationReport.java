@@ -12,14 +12,30 @@ public class SimulationReport {
     private final double averageMarketRateOfReturn;
     private final double realizedRateOfReturn;
     private final List<SimulationDayReport> dayReports;
+    private final EquityCurve equityCurve;
+    private final SimulationCheckpoint checkpoint;
+    private final TerminationReason terminationReason;
+    private final RiskMetrics riskMetrics;
 
     public SimulationReport(Amount initialAccountBalance, Amount finalAccountBalance, List<Transaction> transactions, double averageMarketRateOfReturn, double realizedRateOfReturn, List<SimulationDayReport> dayReports) {
+        this(initialAccountBalance, finalAccountBalance, transactions, averageMarketRateOfReturn, realizedRateOfReturn, dayReports, null, null, null, null);
+    }
+
+    public SimulationReport(Amount initialAccountBalance, Amount finalAccountBalance, List<Transaction> transactions, double averageMarketRateOfReturn, double realizedRateOfReturn, EquityCurve equityCurve, SimulationCheckpoint checkpoint, TerminationReason terminationReason, RiskMetrics riskMetrics) {
+        this(initialAccountBalance, finalAccountBalance, transactions, averageMarketRateOfReturn, realizedRateOfReturn, null, equityCurve, checkpoint, terminationReason, riskMetrics);
+    }
+
+    private SimulationReport(Amount initialAccountBalance, Amount finalAccountBalance, List<Transaction> transactions, double averageMarketRateOfReturn, double realizedRateOfReturn, List<SimulationDayReport> dayReports, EquityCurve equityCurve, SimulationCheckpoint checkpoint, TerminationReason terminationReason, RiskMetrics riskMetrics) {
         this.initialAccountBalance = initialAccountBalance;
         this.finalAccountBalance = finalAccountBalance;
         this.transactions = transactions;
         this.averageMarketRateOfReturn = averageMarketRateOfReturn;
         this.realizedRateOfReturn = realizedRateOfReturn;
         this.dayReports = dayReports;
+        this.equityCurve = equityCurve;
+        this.checkpoint = checkpoint;
+        this.terminationReason = terminationReason;
+        this.riskMetrics = riskMetrics;
     }
 
     public Amount getInitialAccountBalance() {
@@ -47,6 +63,43 @@ public class SimulationReport {
     }
 
     public List<SimulationDayReport> getDayReports() {
+        if(this.dayReports == null && this.equityCurve != null) {
+            return this.equityCurve.toDayReports();
+        }
+
         return this.dayReports;
     }
+
+    /**
+     * Returns the recorded account values of the simulated days, or null if daily reporting was not enabled.
+     */
+    public EquityCurve getEquityCurve() {
+        return this.equityCurve;
+    }
+
+    /**
+     * Returns the checkpoint at the end of the simulation, or null if checkpointing was not enabled.
+     */
+    public SimulationCheckpoint getCheckpoint() {
+        return this.checkpoint;
+    }
+
+    public boolean isTerminated() {
+        return this.terminationReason != null;
+    }
+
+    /**
+     * Returns the reason why the simulation has been terminated early, or null if all days have been simulated.
+     * The report of a terminated simulation reflects the last simulated day.
+     */
+    public TerminationReason getTerminationReason() {
+        return this.terminationReason;
+    }
+
+    /**
+     * Returns the risk metrics of the simulated days, or null if the report was not created by a simulation driver.
+     */
+    public RiskMetrics getRiskMetrics() {
+        return this.riskMetrics;
+    }
 }
@@ -0,0 +1,12 @@
+package trading.domain.simulation;
+
+/**
+ * Decides after each simulated day whether a simulation is terminated early, e.g. because it cannot lead to a
+ * useful result anymore. Conditions are shared by all simulations of a driver or challenge and must be thread-safe.
+ */
+public interface TerminationCondition {
+    /**
+     * Returns the reason for terminating the simulation, or null if the simulation is continued.
+     */
+    TerminationReason evaluate(SimulationProgress progress);
+}
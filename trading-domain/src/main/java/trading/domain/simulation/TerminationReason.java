@@ -0,0 +1,7 @@
+package trading.domain.simulation;
+
+public enum TerminationReason {
+    DrawdownFloor,
+    Inactivity,
+    UpperBound
+}
@@ -0,0 +1,51 @@
+package trading.domain.simulation;
+
+import trading.domain.DomainException;
+
+import java.util.PriorityQueue;
+
+/**
+ * Tracks the best realized rates of return of the completed simulations of a challenge. The threshold is the
+ * lowest of the best results, a simulation has to reach at least this rate of return to be among them.
+ * Registering is synchronized, the threshold may be read by many threads.
+ */
+public class TopResultsThreshold {
+    private final int numTopResults;
+    private final PriorityQueue<Double> topResults = new PriorityQueue<>();
+    private volatile double threshold = Double.NEGATIVE_INFINITY;
+
+    public TopResultsThreshold(int numTopResults) {
+        if(numTopResults <= 0) {
+            throw new DomainException("The number of top results must be positive.");
+        }
+
+        this.numTopResults = numTopResults;
+    }
+
+    public int getNumTopResults() {
+        return this.numTopResults;
+    }
+
+    public synchronized void registerResult(double realizedRateOfReturn) {
+        if(this.topResults.size() == this.numTopResults) {
+            if(realizedRateOfReturn <= this.topResults.peek()) {
+                return;
+            }
+
+            this.topResults.poll();
+        }
+
+        this.topResults.add(realizedRateOfReturn);
+
+        if(this.topResults.size() == this.numTopResults) {
+            this.threshold = this.topResults.peek();
+        }
+    }
+
+    /**
+     * Returns the lowest of the best results, or negative infinity as long as fewer results have been registered.
+     */
+    public double getThreshold() {
+        return this.threshold;
+    }
+}
@@ -0,0 +1,87 @@
+package trading.domain.simulation;
+
+import trading.domain.DomainException;
+import trading.domain.ISIN;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.HistoricalStockData;
+
+/**
+ * Terminates a simulation if even an optimistic upper bound of its final rate of return cannot reach the
+ * best results completed so far, so pruning never changes the best results.
+ *
+ * The upper bound assumes that the whole balance is invested each day in the stock rising most on the next day,
+ * without commissions; reserved taxes are assumed to be released. The maximum growth per day is calculated
+ * once from the market data set, whose day indexes have to equal the ones of the simulations.
+ */
+public class UpperBoundTerminationCondition implements TerminationCondition {
+    private static final double ROUNDING_TOLERANCE = 1e-9;
+
+    private final TopResultsThreshold topResultsThreshold;
+    private final double[] cumulativeMaximumLogGrowths;
+
+    public UpperBoundTerminationCondition(HistoricalMarketDataSet historicalMarketDataSet, TopResultsThreshold topResultsThreshold) {
+        if(historicalMarketDataSet == null) {
+            throw new DomainException("The historical market data set must be specified.");
+        }
+
+        if(topResultsThreshold == null) {
+            throw new DomainException("The top results threshold must be specified.");
+        }
+
+        this.topResultsThreshold = topResultsThreshold;
+        this.cumulativeMaximumLogGrowths = calculateCumulativeMaximumLogGrowths(historicalMarketDataSet);
+    }
+
+    private static double[] calculateCumulativeMaximumLogGrowths(HistoricalMarketDataSet historicalMarketDataSet) {
+        int numDays = historicalMarketDataSet.size();
+        double[] maximumGrowths = new double[numDays];
+
+        for(int dayIndex = 0; dayIndex < numDays; dayIndex++) {
+            maximumGrowths[dayIndex] = 1.0;
+        }
+
+        for(ISIN isin: historicalMarketDataSet.getISINs()) {
+            HistoricalStockData historicalStockData = historicalMarketDataSet.getStockData(isin);
+            int firstDayIndex = numDays - historicalStockData.numDays();
+
+            for(int stockDayIndex = 1; stockDayIndex < historicalStockData.numDays(); stockDayIndex++) {
+                double growth = historicalStockData.closeAt(stockDayIndex) / historicalStockData.closeAt(stockDayIndex - 1);
+                int dayIndex = firstDayIndex + stockDayIndex;
+
+                if(growth > maximumGrowths[dayIndex]) {
+                    maximumGrowths[dayIndex] = growth;
+                }
+            }
+        }
+
+        double[] cumulativeMaximumLogGrowths = new double[numDays];
+
+        for(int dayIndex = 1; dayIndex < numDays; dayIndex++) {
+            cumulativeMaximumLogGrowths[dayIndex] = cumulativeMaximumLogGrowths[dayIndex - 1] + Math.log(maximumGrowths[dayIndex]);
+        }
+
+        return cumulativeMaximumLogGrowths;
+    }
+
+    @Override
+    public TerminationReason evaluate(SimulationProgress progress) {
+        double threshold = this.topResultsThreshold.getThreshold();
+
+        if(threshold == Double.NEGATIVE_INFINITY) {
+            return null;
+        }
+
+        int dayIndex = progress.getDayIndex();
+        int finalDayIndex = Math.min(dayIndex + progress.getNumRemainingDays(), this.cumulativeMaximumLogGrowths.length - 1);
+        double maximumGrowth = Math.exp(this.cumulativeMaximumLogGrowths[finalDayIndex] - this.cumulativeMaximumLogGrowths[dayIndex]);
+
+        double maximumFinalBalance = (progress.getBalance() + progress.getReservedTaxes()) * maximumGrowth * (1.0 + ROUNDING_TOLERANCE);
+        double maximumRealizedRateOfReturn = maximumFinalBalance / progress.getSeedCapital() - 1.0;
+
+        if(maximumRealizedRateOfReturn < threshold) {
+            return TerminationReason.UpperBound;
+        }
+
+        return null;
+    }
+}
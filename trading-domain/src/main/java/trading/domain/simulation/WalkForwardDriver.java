@@ -0,0 +1,103 @@
+package trading.domain.simulation;
+
+import trading.domain.market.HistoricalMarketDataSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs one trading strategy configuration over several simulation windows of the same market data set
+ * (walk-forward or rolling-window backtest). The windows run in parallel; they share the market data set and
+ * the market price snapshots, so the memory does not grow with the number of windows.
+ */
+public class WalkForwardDriver {
+    private final WalkForwardDriverParameters parameters;
+    private int numThreads = Runtime.getRuntime().availableProcessors();
+
+    public WalkForwardDriver(WalkForwardDriverParameters parameters) {
+        if(parameters == null) {
+            throw new SimulationDriverInitializationException("The walk-forward driver parameters must be specified.");
+        }
+
+        this.parameters = parameters;
+    }
+
+    public void setNumThreads(int numThreads) {
+        if(numThreads <= 0) {
+            throw new SimulationDriverInitializationException("The number of threads must be positive.");
+        }
+
+        this.numThreads = numThreads;
+    }
+
+    public WalkForwardReport runWalkForward() {
+        int numWindows = this.parameters.getNumWindows();
+        ExecutorService threads = Executors.newFixedThreadPool(Math.min(this.numThreads, numWindows));
+
+        try {
+            List<Future<WalkForwardWindowReport>> windowReportFutures = new ArrayList<>();
+
+            for(int windowIndex = 0; windowIndex < numWindows; windowIndex++) {
+                final int submittedWindowIndex = windowIndex;
+                windowReportFutures.add(threads.submit((Callable<WalkForwardWindowReport>) () -> this.runWindow(submittedWindowIndex)));
+            }
+
+            List<WalkForwardWindowReport> windowReports = new ArrayList<>();
+
+            for(Future<WalkForwardWindowReport> windowReportFuture: windowReportFutures) {
+                windowReports.add(this.getWindowReport(windowReportFuture));
+            }
+
+            return new WalkForwardReport(windowReports);
+        }
+        finally {
+            threads.shutdown();
+        }
+    }
+
+    private WalkForwardWindowReport getWindowReport(Future<WalkForwardWindowReport> windowReportFuture) {
+        try {
+            return windowReportFuture.get();
+        }
+        catch(InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ex);
+        }
+        catch(ExecutionException ex) {
+            if(ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+
+            throw new RuntimeException(ex.getCause());
+        }
+    }
+
+    private WalkForwardWindowReport runWindow(int windowIndex) {
+        HistoricalMarketDataSet historicalMarketDataSet = this.parameters.getHistoricalMarketDataSet();
+        int historyDuration = this.parameters.getHistoryDuration(windowIndex).getValue();
+        int windowDuration = this.parameters.getWindowDuration().getValue();
+
+        SimulationDriverParametersBuilder simulationDriverParametersBuilder = new SimulationDriverParametersBuilder();
+        simulationDriverParametersBuilder.setSimulationMarketDataSource(this.parameters.getSharedMarketPriceSnapshots().createDataSource());
+        simulationDriverParametersBuilder.setHistoricalMarketDataSet(historicalMarketDataSet);
+        simulationDriverParametersBuilder.setHistoryDuration(this.parameters.getHistoryDuration(windowIndex));
+        simulationDriverParametersBuilder.setSimulationDuration(this.parameters.getWindowDuration());
+        simulationDriverParametersBuilder.setSeedCapital(this.parameters.getSeedCapital());
+        simulationDriverParametersBuilder.setTradingStrategyFactory(this.parameters.getTradingStrategyFactory());
+        simulationDriverParametersBuilder.setCommissionStrategy(this.parameters.getCommissionStrategy());
+        simulationDriverParametersBuilder.setTaxStrategy(this.parameters.getTaxStrategy());
+
+        SimulationReport simulationReport = new SimulationDriver(simulationDriverParametersBuilder.build()).runSimulation();
+
+        return new WalkForwardWindowReport(
+                windowIndex,
+                historicalMarketDataSet.getDate(historyDuration),
+                historicalMarketDataSet.getDate(historyDuration + windowDuration - 1),
+                simulationReport);
+    }
+}
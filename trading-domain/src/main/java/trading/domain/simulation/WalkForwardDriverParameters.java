@@ -0,0 +1,162 @@
+package trading.domain.simulation;
+
+import trading.domain.Amount;
+import trading.domain.DayCount;
+import trading.domain.account.TaxStrategy;
+import trading.domain.broker.CommissionStrategy;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.strategy.TradingStrategyFactory;
+
+/**
+ * Parameters of a walk-forward backtest: the simulation windows start after the first history duration
+ * and each further window starts the window step later. All windows share the market data.
+ */
+public class WalkForwardDriverParameters {
+    private final SharedMarketPriceSnapshots sharedMarketPriceSnapshots;
+    private final HistoricalMarketDataSet historicalMarketDataSet;
+    private final DayCount firstHistoryDuration;
+    private final DayCount windowDuration;
+    private final DayCount windowStep;
+    private final int numWindows;
+    private final Amount seedCapital;
+    private final TradingStrategyFactory tradingStrategyFactory;
+    private final CommissionStrategy commissionStrategy;
+    private final TaxStrategy taxStrategy;
+
+    public WalkForwardDriverParameters(
+            SharedMarketPriceSnapshots sharedMarketPriceSnapshots,
+            HistoricalMarketDataSet historicalMarketDataSet,
+            DayCount firstHistoryDuration,
+            DayCount windowDuration,
+            DayCount windowStep,
+            int numWindows,
+            Amount seedCapital,
+            TradingStrategyFactory tradingStrategyFactory,
+            CommissionStrategy commissionStrategy,
+            TaxStrategy taxStrategy
+    ) {
+        if(sharedMarketPriceSnapshots == null) {
+            throw new SimulationDriverInitializationException("The shared market price snapshots must be specified.");
+        }
+
+        if(historicalMarketDataSet == null) {
+            throw new SimulationDriverInitializationException("The historical market data set must be specified.");
+        }
+
+        if(sharedMarketPriceSnapshots.size() != historicalMarketDataSet.size()) {
+            throw new SimulationDriverInitializationException("The shared market price snapshots must cover the historical market data set.");
+        }
+
+        if(firstHistoryDuration == null) {
+            throw new SimulationDriverInitializationException("The first history duration must be specified.");
+        }
+
+        if(firstHistoryDuration.getValue() <= 0) {
+            throw new SimulationDriverInitializationException("The first history duration must be positive.");
+        }
+
+        if(windowDuration == null) {
+            throw new SimulationDriverInitializationException("The window duration must be specified.");
+        }
+
+        if(windowDuration.getValue() <= 0) {
+            throw new SimulationDriverInitializationException("The window duration must be positive.");
+        }
+
+        if(windowStep == null) {
+            throw new SimulationDriverInitializationException("The window step must be specified.");
+        }
+
+        if(windowStep.getValue() <= 0) {
+            throw new SimulationDriverInitializationException("The window step must be positive.");
+        }
+
+        if(numWindows <= 0) {
+            throw new SimulationDriverInitializationException("The number of windows must be positive.");
+        }
+
+        long lastWindowEnd = (long) firstHistoryDuration.getValue() + (long) (numWindows - 1) * windowStep.getValue() + windowDuration.getValue();
+
+        if(lastWindowEnd > historicalMarketDataSet.size()) {
+            throw new SimulationDriverInitializationException("The windows exceed the historical market data set.");
+        }
+
+        if(seedCapital == null) {
+            throw new SimulationDriverInitializationException("The seed capital must be specified.");
+        }
+
+        if(tradingStrategyFactory == null) {
+            throw new SimulationDriverInitializationException("The trading strategy factory must be specified.");
+        }
+
+        if(commissionStrategy == null) {
+            throw new SimulationDriverInitializationException("The commission strategy must be specified.");
+        }
+
+        if(taxStrategy == null) {
+            throw new SimulationDriverInitializationException("The tax strategy must be specified.");
+        }
+
+        this.sharedMarketPriceSnapshots = sharedMarketPriceSnapshots;
+        this.historicalMarketDataSet = historicalMarketDataSet;
+        this.firstHistoryDuration = firstHistoryDuration;
+        this.windowDuration = windowDuration;
+        this.windowStep = windowStep;
+        this.numWindows = numWindows;
+        this.seedCapital = seedCapital;
+        this.tradingStrategyFactory = tradingStrategyFactory;
+        this.commissionStrategy = commissionStrategy;
+        this.taxStrategy = taxStrategy;
+    }
+
+    public SharedMarketPriceSnapshots getSharedMarketPriceSnapshots() {
+        return this.sharedMarketPriceSnapshots;
+    }
+
+    public HistoricalMarketDataSet getHistoricalMarketDataSet() {
+        return this.historicalMarketDataSet;
+    }
+
+    public DayCount getFirstHistoryDuration() {
+        return this.firstHistoryDuration;
+    }
+
+    public DayCount getWindowDuration() {
+        return this.windowDuration;
+    }
+
+    public DayCount getWindowStep() {
+        return this.windowStep;
+    }
+
+    public int getNumWindows() {
+        return this.numWindows;
+    }
+
+    public Amount getSeedCapital() {
+        return this.seedCapital;
+    }
+
+    public TradingStrategyFactory getTradingStrategyFactory() {
+        return this.tradingStrategyFactory;
+    }
+
+    public CommissionStrategy getCommissionStrategy() {
+        return this.commissionStrategy;
+    }
+
+    public TaxStrategy getTaxStrategy() {
+        return this.taxStrategy;
+    }
+
+    /**
+     * Returns the history duration of the given window, i.e. the number of days before its first simulated day.
+     */
+    public DayCount getHistoryDuration(int windowIndex) {
+        if(windowIndex < 0 || windowIndex >= this.numWindows) {
+            throw new RuntimeException("The window index lies outside the windows.");
+        }
+
+        return new DayCount(this.firstHistoryDuration.getValue() + windowIndex * this.windowStep.getValue());
+    }
+}
@@ -0,0 +1,76 @@
+package trading.domain.simulation;
+
+import trading.domain.Amount;
+import trading.domain.DayCount;
+import trading.domain.account.TaxStrategy;
+import trading.domain.broker.CommissionStrategy;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.strategy.TradingStrategyFactory;
+
+public class WalkForwardDriverParametersBuilder {
+    private SharedMarketPriceSnapshots sharedMarketPriceSnapshots;
+    private HistoricalMarketDataSet historicalMarketDataSet;
+    private DayCount firstHistoryDuration;
+    private DayCount windowDuration;
+    private DayCount windowStep;
+    private int numWindows;
+    private Amount seedCapital;
+    private TradingStrategyFactory tradingStrategyFactory;
+    private CommissionStrategy commissionStrategy;
+    private TaxStrategy taxStrategy;
+
+    public void setSharedMarketPriceSnapshots(SharedMarketPriceSnapshots sharedMarketPriceSnapshots) {
+        this.sharedMarketPriceSnapshots = sharedMarketPriceSnapshots;
+    }
+
+    public void setHistoricalMarketDataSet(HistoricalMarketDataSet historicalMarketDataSet) {
+        this.historicalMarketDataSet = historicalMarketDataSet;
+    }
+
+    public void setFirstHistoryDuration(DayCount firstHistoryDuration) {
+        this.firstHistoryDuration = firstHistoryDuration;
+    }
+
+    public void setWindowDuration(DayCount windowDuration) {
+        this.windowDuration = windowDuration;
+    }
+
+    public void setWindowStep(DayCount windowStep) {
+        this.windowStep = windowStep;
+    }
+
+    public void setNumWindows(int numWindows) {
+        this.numWindows = numWindows;
+    }
+
+    public void setSeedCapital(Amount seedCapital) {
+        this.seedCapital = seedCapital;
+    }
+
+    public void setTradingStrategyFactory(TradingStrategyFactory tradingStrategyFactory) {
+        this.tradingStrategyFactory = tradingStrategyFactory;
+    }
+
+    public void setCommissionStrategy(CommissionStrategy commissionStrategy) {
+        this.commissionStrategy = commissionStrategy;
+    }
+
+    public void setTaxStrategy(TaxStrategy taxStrategy) {
+        this.taxStrategy = taxStrategy;
+    }
+
+    public WalkForwardDriverParameters build() {
+        return new WalkForwardDriverParameters(
+                this.sharedMarketPriceSnapshots,
+                this.historicalMarketDataSet,
+                this.firstHistoryDuration,
+                this.windowDuration,
+                this.windowStep,
+                this.numWindows,
+                this.seedCapital,
+                this.tradingStrategyFactory,
+                this.commissionStrategy,
+                this.taxStrategy
+        );
+    }
+}
@@ -0,0 +1,98 @@
+package trading.domain.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of one parameter tuple over all windows of a walk-forward backtest, with metrics aggregated over the windows.
+ */
+public class WalkForwardReport {
+    private final List<WalkForwardWindowReport> windowReports;
+
+    public WalkForwardReport(List<WalkForwardWindowReport> windowReports) {
+        if(windowReports == null) {
+            throw new RuntimeException("The window reports must be specified.");
+        }
+
+        if(windowReports.isEmpty()) {
+            throw new RuntimeException("The window reports must not be empty.");
+        }
+
+        this.windowReports = new ArrayList<>(windowReports);
+    }
+
+    public List<WalkForwardWindowReport> getWindowReports() {
+        return Collections.unmodifiableList(this.windowReports);
+    }
+
+    public double getMeanRealizedRateOfReturn() {
+        double sum = 0.0;
+
+        for(WalkForwardWindowReport windowReport: this.windowReports) {
+            sum += windowReport.getRealizedRateOfReturn();
+        }
+
+        return sum / this.windowReports.size();
+    }
+
+    public double getMinRealizedRateOfReturn() {
+        double min = Double.POSITIVE_INFINITY;
+
+        for(WalkForwardWindowReport windowReport: this.windowReports) {
+            min = Math.min(min, windowReport.getRealizedRateOfReturn());
+        }
+
+        return min;
+    }
+
+    public double getMaxRealizedRateOfReturn() {
+        double max = Double.NEGATIVE_INFINITY;
+
+        for(WalkForwardWindowReport windowReport: this.windowReports) {
+            max = Math.max(max, windowReport.getRealizedRateOfReturn());
+        }
+
+        return max;
+    }
+
+    /**
+     * Returns the population standard deviation of the realized rates of return of the windows.
+     */
+    public double getStandardDeviationOfRealizedRateOfReturn() {
+        double mean = this.getMeanRealizedRateOfReturn();
+        double sumSquaredDeviations = 0.0;
+
+        for(WalkForwardWindowReport windowReport: this.windowReports) {
+            double deviation = windowReport.getRealizedRateOfReturn() - mean;
+            sumSquaredDeviations += deviation * deviation;
+        }
+
+        return Math.sqrt(sumSquaredDeviations / this.windowReports.size());
+    }
+
+    public double getMeanAddedRateOfReturn() {
+        double sum = 0.0;
+
+        for(WalkForwardWindowReport windowReport: this.windowReports) {
+            sum += windowReport.getAddedRateOfReturn();
+        }
+
+        return sum / this.windowReports.size();
+    }
+
+    /**
+     * Returns the share of windows in which the realized rate of return exceeds the average market rate of return.
+     */
+    public double getOutperformingWindowsPercentage() {
+        int numOutperformingWindows = 0;
+
+        for(WalkForwardWindowReport windowReport: this.windowReports) {
+            if(windowReport.getAddedRateOfReturn() > 0.0) {
+                numOutperformingWindows++;
+            }
+        }
+
+        return (double) numOutperformingWindows / this.windowReports.size();
+    }
+}
@@ -0,0 +1,47 @@
+package trading.domain.simulation;
+
+import java.time.LocalDate;
+
+public class WalkForwardWindowReport {
+    private final int windowIndex;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final SimulationReport simulationReport;
+
+    public WalkForwardWindowReport(int windowIndex, LocalDate startDate, LocalDate endDate, SimulationReport simulationReport) {
+        this.windowIndex = windowIndex;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.simulationReport = simulationReport;
+    }
+
+    public int getWindowIndex() {
+        return this.windowIndex;
+    }
+
+    /**
+     * Returns the date of the first simulated day of the window.
+     */
+    public LocalDate getStartDate() {
+        return this.startDate;
+    }
+
+    /**
+     * Returns the date of the last simulated day of the window.
+     */
+    public LocalDate getEndDate() {
+        return this.endDate;
+    }
+
+    public SimulationReport getSimulationReport() {
+        return this.simulationReport;
+    }
+
+    public double getRealizedRateOfReturn() {
+        return this.simulationReport.getRealizedRateOfReturn();
+    }
+
+    public double getAddedRateOfReturn() {
+        return this.simulationReport.getAddedRateOfReturn();
+    }
+}
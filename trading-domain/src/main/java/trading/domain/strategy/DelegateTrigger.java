@@ -2,17 +2,32 @@ package trading.domain.strategy;
 
 public class DelegateTrigger implements Trigger {
     private final DelegateTriggerCondition condition;
+    private final DelegateTriggerWakeCondition wakeCondition;
 
     public DelegateTrigger(DelegateTriggerCondition condition) {
+        this(condition, () -> null);
+    }
+
+    public DelegateTrigger(DelegateTriggerCondition condition, DelegateTriggerWakeCondition wakeCondition) {
         if(condition == null) {
             throw new RuntimeException("The condition must be specified.");
         }
 
+        if(wakeCondition == null) {
+            throw new RuntimeException("The wake condition must be specified.");
+        }
+
         this.condition = condition;
+        this.wakeCondition = wakeCondition;
     }
 
     @Override
     public boolean checkFires() {
         return this.condition.checkFires();
     }
+
+    @Override
+    public WakeCondition getWakeCondition() {
+        return this.wakeCondition.getWakeCondition();
+    }
 }
@@ -0,0 +1,5 @@
+package trading.domain.strategy;
+
+public interface DelegateTriggerWakeCondition {
+    WakeCondition getWakeCondition();
+}
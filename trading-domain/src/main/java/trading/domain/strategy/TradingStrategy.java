@@ -1,5 +1,39 @@
 package trading.domain.strategy;
 
+import java.io.Serializable;
+
 public interface TradingStrategy {
     void prepareOrdersForNextTradingDay();
+
+    /**
+     * Returns the condition before which preparing the orders would neither place orders nor change the state of the
+     * strategy, or null if the orders have to be prepared every day. Simulations may close the days before the
+     * condition holds without calling the strategy.
+     */
+    default WakeCondition getWakeCondition() {
+        return null;
+    }
+
+    /**
+     * Returns whether the strategy implements {@link #createCheckpointState()} and {@link #restoreCheckpointState(Serializable)}.
+     * Simulations with checkpointing enabled are rejected before the first day if the strategy does not.
+     */
+    default boolean supportsCheckpoints() {
+        return false;
+    }
+
+    /**
+     * Returns the state of the strategy to be stored in a simulation checkpoint, or null if the strategy has no
+     * state besides its context. Configuration such as the strategy parameters is not part of the state.
+     */
+    default Serializable createCheckpointState() {
+        throw new RuntimeException("The trading strategy does not support checkpoints.");
+    }
+
+    /**
+     * Restores the state of a simulation checkpoint after the strategy has been created for the resumed simulation.
+     */
+    default void restoreCheckpointState(Serializable state) {
+        throw new RuntimeException("The trading strategy does not support checkpoints.");
+    }
 }
@@ -2,4 +2,12 @@ package trading.domain.strategy;
 
 public interface Trigger {
     boolean checkFires();
+
+    /**
+     * Returns the condition before which the trigger cannot fire or change its state,
+     * or null if the trigger has to be checked every day.
+     */
+    default WakeCondition getWakeCondition() {
+        return null;
+    }
 }
@@ -19,4 +19,15 @@ public class WaitFixedPeriodTrigger implements Trigger {
         int daysPassed = this.historicalMarketData.getDuration().getValue() - this.initialHistoryDuration.getValue();
         return daysPassed == waitDaysBeforeFire;
     }
+
+    @Override
+    public WakeCondition getWakeCondition() {
+        int daysPassed = this.historicalMarketData.getDuration().getValue() - this.initialHistoryDuration.getValue();
+
+        if(daysPassed >= this.waitDaysBeforeFire) {
+            return null;
+        }
+
+        return WakeCondition.daysElapsed(this.waitDaysBeforeFire - daysPassed);
+    }
 }
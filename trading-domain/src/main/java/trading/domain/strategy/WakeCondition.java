@@ -0,0 +1,115 @@
+package trading.domain.strategy;
+
+import trading.domain.ISIN;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.HistoricalStockData;
+import trading.domain.market.UnknownStockException;
+
+/**
+ * Condition on the coming closing market prices before which a trigger can neither fire nor change its state.
+ * Days on which the condition does not hold can be closed without evaluating the trigger.
+ *
+ * The condition is evaluated on the closing market price of each day after the last closed day. Conditions are
+ * conservative: holding on a day only means the trigger has to be evaluated again after that day.
+ */
+public abstract class WakeCondition {
+    /**
+     * Returns the number of days after the given last closed day of the data set on which the condition does not hold,
+     * counting at most the given maximum number of days.
+     */
+    public abstract int countDaysBeforeWake(HistoricalMarketDataSet historicalMarketDataSet, int lastClosedDayIndex, int maxNumDays);
+
+    public static WakeCondition priceAtOrBelow(ISIN isin, double price) {
+        return new PriceWakeCondition(isin, price, Double.POSITIVE_INFINITY);
+    }
+
+    public static WakeCondition priceAtOrAbove(ISIN isin, double price) {
+        return new PriceWakeCondition(isin, Double.NEGATIVE_INFINITY, price);
+    }
+
+    /**
+     * Holds if the closing market price lies at or below the lower price or at or above the upper price.
+     */
+    public static WakeCondition priceOutside(ISIN isin, double lowerPrice, double upperPrice) {
+        return new PriceWakeCondition(isin, lowerPrice, upperPrice);
+    }
+
+    /**
+     * Holds from the given number of days after the last closed day on.
+     */
+    public static WakeCondition daysElapsed(int numDays) {
+        if(numDays <= 0) {
+            throw new RuntimeException("The number of days must be positive.");
+        }
+
+        return new DaysElapsedWakeCondition(numDays);
+    }
+
+    private static class PriceWakeCondition extends WakeCondition {
+        private final ISIN isin;
+        private final double lowerPrice;
+        private final double upperPrice;
+
+        PriceWakeCondition(ISIN isin, double lowerPrice, double upperPrice) {
+            if(isin == null) {
+                throw new RuntimeException("The ISIN must be specified.");
+            }
+
+            if(Double.isNaN(lowerPrice) || Double.isNaN(upperPrice)) {
+                throw new RuntimeException("The wake price must be a number.");
+            }
+
+            this.isin = isin;
+            this.lowerPrice = lowerPrice;
+            this.upperPrice = upperPrice;
+        }
+
+        @Override
+        public int countDaysBeforeWake(HistoricalMarketDataSet historicalMarketDataSet, int lastClosedDayIndex, int maxNumDays) {
+            HistoricalStockData historicalStockData;
+
+            try {
+                historicalStockData = historicalMarketDataSet.getStockData(this.isin);
+            }
+            catch(UnknownStockException ex) {
+                return 0;
+            }
+
+            int firstStockDayIndex = historicalMarketDataSet.size() - historicalStockData.numDays();
+            int lastDayIndex = Math.min(lastClosedDayIndex + maxNumDays, historicalMarketDataSet.size() - 1);
+            int numDays = 0;
+
+            for(int dayIndex = lastClosedDayIndex + 1; dayIndex <= lastDayIndex; dayIndex++) {
+                int stockDayIndex = dayIndex - firstStockDayIndex;
+
+                if(stockDayIndex < 0) {
+                    return numDays;
+                }
+
+                double close = historicalStockData.closeAt(stockDayIndex);
+
+                if(close <= this.lowerPrice || close >= this.upperPrice) {
+                    return numDays;
+                }
+
+                numDays++;
+            }
+
+            return numDays;
+        }
+    }
+
+    private static class DaysElapsedWakeCondition extends WakeCondition {
+        private final int numDays;
+
+        DaysElapsedWakeCondition(int numDays) {
+            this.numDays = numDays;
+        }
+
+        @Override
+        public int countDaysBeforeWake(HistoricalMarketDataSet historicalMarketDataSet, int lastClosedDayIndex, int maxNumDays) {
+            int numAvailableDays = historicalMarketDataSet.size() - 1 - lastClosedDayIndex;
+            return Math.max(0, Math.min(this.numDays - 1, Math.min(maxNumDays, numAvailableDays)));
+        }
+    }
+}
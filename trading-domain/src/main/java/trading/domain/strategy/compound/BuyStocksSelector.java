@@ -2,14 +2,14 @@ package trading.domain.strategy.compound;
 
 import trading.domain.Amount;
 import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
 import trading.domain.Quantity;
 import trading.domain.broker.CommissionStrategy;
 import trading.domain.market.MarketPriceSnapshot;
 import trading.domain.strategy.AffordableQuantityCalculator;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class BuyStocksSelector {
@@ -22,9 +22,10 @@ public class BuyStocksSelector {
     }
 
     public Map<ISIN, Quantity> selectStocks(Amount totalCapital, Amount availableMoney, Scores stockScores, MarketPriceSnapshot marketPrices, CommissionStrategy commissionStrategy, Map<ISIN, Quantity> currentStocks) {
-        ISIN[] allIsins = stockScores.getIsinsOrderByScoreDescending();
-        Map<ISIN, Quantity> selectedStocks = this.initializeSelectedStocks(allIsins);
-        ISIN[] isins = this.selectPossibleStocks(allIsins, stockScores, currentStocks);
+        InstrumentRegistry instrumentRegistry = stockScores.getInstrumentRegistry();
+        int[] allInstruments = stockScores.getInstrumentsOrderByScoreDescending();
+        Map<ISIN, Quantity> selectedStocks = this.initializeSelectedStocks(instrumentRegistry, allInstruments);
+        int[] instruments = this.selectPossibleStocks(instrumentRegistry, allInstruments, stockScores, currentStocks);
 
         double maximumMoneyPerStock = this.maximumPercentage * totalCapital.getValue();
 
@@ -32,13 +33,14 @@ public class BuyStocksSelector {
 
         double totalScore = 0.0;
 
-        for(ISIN isin: isins) {
-            Score score = stockScores.get(isin);
+        for(int instrumentIndex: instruments) {
+            Score score = stockScores.get(instrumentIndex);
             totalScore += score.getValue();
         }
 
-        for(ISIN isin: isins) {
-            Score score = stockScores.get(isin);
+        for(int instrumentIndex: instruments) {
+            ISIN isin = instrumentRegistry.get(instrumentIndex);
+            Score score = stockScores.get(instrumentIndex);
             double amount = score.getValue() / totalScore;
             double availableMoneyForStock = amount * availableMoney.getValue();
             availableMoneyForStock = Math.min(availableMoneyForStock, maximumMoneyPerStock);
@@ -57,33 +59,34 @@ public class BuyStocksSelector {
         return selectedStocks;
     }
 
-    private Map<ISIN, Quantity> initializeSelectedStocks(ISIN[] allIsins) {
+    private Map<ISIN, Quantity> initializeSelectedStocks(InstrumentRegistry instrumentRegistry, int[] allInstruments) {
         Map<ISIN, Quantity> selectedStocks = new HashMap<>();
 
-        for(ISIN isin: allIsins) {
-            selectedStocks.put(isin, Quantity.Zero);
+        for(int instrumentIndex: allInstruments) {
+            selectedStocks.put(instrumentRegistry.get(instrumentIndex), Quantity.Zero);
         }
 
         return selectedStocks;
     }
 
-    private ISIN[] selectPossibleStocks(ISIN[] allIsins, Scores stockScores, Map<ISIN, Quantity> currentStocks) {
-        List<ISIN> possibleStocks = new ArrayList<>(allIsins.length);
+    private int[] selectPossibleStocks(InstrumentRegistry instrumentRegistry, int[] allInstruments, Scores stockScores, Map<ISIN, Quantity> currentStocks) {
+        int[] possibleStocks = new int[allInstruments.length];
+        int numPossibleStocks = 0;
 
-        for(ISIN isin: allIsins) {
-            Score score = stockScores.get(isin);
+        for(int instrumentIndex: allInstruments) {
+            Score score = stockScores.get(instrumentIndex);
 
             if(score.getValue() < this.minimumBuyScore.getValue()) {
                 continue;
             }
 
-            if(currentStocks.containsKey(isin)) {
+            if(currentStocks.containsKey(instrumentRegistry.get(instrumentIndex))) {
                 continue;
             }
 
-            possibleStocks.add(isin);
+            possibleStocks[numPossibleStocks++] = instrumentIndex;
         }
 
-        return possibleStocks.toArray(new ISIN[0]);
+        return Arrays.copyOf(possibleStocks, numPossibleStocks);
     }
 }
@@ -21,6 +21,7 @@ public class CompoundTradingStrategy implements TradingStrategy {
     private final BuyStocksSelector buyStocksSelector;
     private final ScoringStrategy sellScoringStrategy;
     private final SellStocksSelector sellStocksSelector;
+    private final MultiStockScoring multiStockScoring;
 
     public CompoundTradingStrategy(CompoundTradingStrategyParameters parameters, TradingStrategyContext context) {
         if(parameters == null) {
@@ -36,6 +37,7 @@ public class CompoundTradingStrategy implements TradingStrategy {
         this.buyStocksSelector = parameters.getBuyStocksSelector();
         this.sellScoringStrategy = parameters.getSellScoringStrategy();
         this.sellStocksSelector = parameters.getSellStocksSelector();
+        this.multiStockScoring = parameters.getMultiStockScoring();
     }
 
     @Override
@@ -48,7 +50,7 @@ public class CompoundTradingStrategy implements TradingStrategy {
         Map<ISIN, Quantity> currentStocks = this.context.getAccount().getCurrentStocks();
         Set<ISIN> currentStockIsins = currentStocks.keySet();
 
-        Scores scores = new MultiStockScoring().calculateScores(
+        Scores scores = this.multiStockScoring.calculateScores(
                 this.context.getHistoricalMarketData(),
                 this.context.getAccount(),
                 this.sellScoringStrategy,
@@ -77,7 +79,7 @@ public class CompoundTradingStrategy implements TradingStrategy {
         Map<ISIN, Quantity> currentStocks = account.getCurrentStocks();
 
         Set<ISIN> isins = historicalMarketData.getAvailableStocks();
-        Scores scores = new MultiStockScoring().calculateScores(historicalMarketData, account, this.buyScoringStrategy, isins);
+        Scores scores = this.multiStockScoring.calculateScores(historicalMarketData, account, this.buyScoringStrategy, isins);
 
         Map<ISIN, Quantity> buyStocks = this.buyStocksSelector.selectStocks(totalCapital, availableMoney, scores, marketPrices, commissionStrategy, currentStocks);
 
@@ -5,6 +5,7 @@ public class CompoundTradingStrategyParameters {
     private final BuyStocksSelector buyStocksSelector;
     private final ScoringStrategy sellScoringStrategy;
     private final SellStocksSelector sellStocksSelector;
+    private final MultiStockScoring multiStockScoring;
 
     public ScoringStrategy getBuyScoringStrategy() {
         return this.buyScoringStrategy;
@@ -22,7 +23,15 @@ public class CompoundTradingStrategyParameters {
         return this.sellStocksSelector;
     }
 
+    public MultiStockScoring getMultiStockScoring() {
+        return this.multiStockScoring;
+    }
+
     public CompoundTradingStrategyParameters(ScoringStrategy buyScoringStrategy, BuyStocksSelector buyStocksSelector, ScoringStrategy sellScoringStrategy, SellStocksSelector sellStocksSelector) {
+        this(buyScoringStrategy, buyStocksSelector, sellScoringStrategy, sellStocksSelector, new MultiStockScoring());
+    }
+
+    public CompoundTradingStrategyParameters(ScoringStrategy buyScoringStrategy, BuyStocksSelector buyStocksSelector, ScoringStrategy sellScoringStrategy, SellStocksSelector sellStocksSelector, MultiStockScoring multiStockScoring) {
         if(buyScoringStrategy == null) {
             throw new RuntimeException("The buy scoring strategy was not specified.");
         }
@@ -40,10 +49,14 @@ public class CompoundTradingStrategyParameters {
             throw new RuntimeException("The sell stock selector was not specified.");
         }
 
+        if(multiStockScoring == null) {
+            throw new RuntimeException("The multi stock scoring was not specified.");
+        }
 
         this.buyScoringStrategy = buyScoringStrategy;
         this.buyStocksSelector = buyStocksSelector;
         this.sellScoringStrategy = sellScoringStrategy;
         this.sellStocksSelector = sellStocksSelector;
+        this.multiStockScoring = multiStockScoring;
     }
 }
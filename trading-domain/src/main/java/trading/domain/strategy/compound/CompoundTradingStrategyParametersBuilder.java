@@ -5,6 +5,7 @@ public class CompoundTradingStrategyParametersBuilder {
     private BuyStocksSelector buyStocksSelector;
     private ScoringStrategy sellScoringStrategy;
     private SellStocksSelector sellStocksSelector;
+    private MultiStockScoring multiStockScoring = new MultiStockScoring();
 
     public CompoundTradingStrategyParametersBuilder setBuyScoringStrategy(ScoringStrategy scoringStrategy) {
         this.buyScoringStrategy = scoringStrategy;
@@ -26,12 +27,18 @@ public class CompoundTradingStrategyParametersBuilder {
         return this;
     }
 
+    public CompoundTradingStrategyParametersBuilder setMultiStockScoring(MultiStockScoring multiStockScoring) {
+        this.multiStockScoring = multiStockScoring;
+        return this;
+    }
+
     public CompoundTradingStrategyParameters build() {
         return new CompoundTradingStrategyParameters(
                 this.buyScoringStrategy,
                 this.buyStocksSelector,
                 this.sellScoringStrategy,
-                this.sellStocksSelector
+                this.sellStocksSelector,
+                this.multiStockScoring
         );
     }
 }
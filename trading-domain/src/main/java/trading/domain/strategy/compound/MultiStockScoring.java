@@ -1,13 +1,47 @@
 package trading.domain.strategy.compound;
 
 import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
 import trading.domain.account.Account;
 import trading.domain.market.HistoricalMarketData;
 
-import java.util.HashMap;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+/**
+ * Calculates the scores of multiple stocks. By default, the stocks are scored on the calling thread, which suits
+ * callers that are already parallel, like challenges. If a fork/join pool is specified, the instrument indexes are split
+ * into ranges of at most the given threshold which are scored in parallel; the scoring strategy then has to be thread-safe.
+ */
 public class MultiStockScoring {
+    public static final int DEFAULT_PARALLELISM_THRESHOLD = 64;
+
+    private final ForkJoinPool forkJoinPool;
+    private final int parallelismThreshold;
+
+    public MultiStockScoring() {
+        this.forkJoinPool = null;
+        this.parallelismThreshold = Integer.MAX_VALUE;
+    }
+
+    public MultiStockScoring(ForkJoinPool forkJoinPool) {
+        this(forkJoinPool, DEFAULT_PARALLELISM_THRESHOLD);
+    }
+
+    public MultiStockScoring(ForkJoinPool forkJoinPool, int parallelismThreshold) {
+        if(forkJoinPool == null) {
+            throw new RuntimeException("The fork/join pool must be specified.");
+        }
+
+        if(parallelismThreshold <= 0) {
+            throw new RuntimeException("The parallelism threshold must be positive.");
+        }
+
+        this.forkJoinPool = forkJoinPool;
+        this.parallelismThreshold = parallelismThreshold;
+    }
+
     public Scores calculateScores(HistoricalMarketData historicalMarketData, Account account, ScoringStrategy scoringStrategy, Set<ISIN> isins) {
         if(historicalMarketData == null) {
             throw new RuntimeException("The historical market data have to be specified.");
@@ -17,12 +51,68 @@ public class MultiStockScoring {
             throw new RuntimeException("The scoring strategy has to be specified.");
         }
 
-        HashMap<ISIN, Score> values = new HashMap<>();
+        InstrumentRegistry instrumentRegistry = historicalMarketData.getInstrumentRegistry();
+        Score[] values = new Score[instrumentRegistry.size()];
+
+        if(this.forkJoinPool == null || isins.size() <= this.parallelismThreshold) {
+            for(ISIN isin: isins) {
+                int instrumentIndex = instrumentRegistry.indexOf(isin);
+                values[instrumentIndex] = scoringStrategy.calculateScore(historicalMarketData, account, instrumentIndex);
+            }
+        }
+        else {
+            int[] instrumentIndexes = new int[isins.size()];
+            int numInstruments = 0;
+
+            for(ISIN isin: isins) {
+                instrumentIndexes[numInstruments++] = instrumentRegistry.indexOf(isin);
+            }
 
-        for(ISIN isin: isins) {
-            values.put(isin, scoringStrategy.calculateScore(historicalMarketData, account, isin));
+            // Each task writes distinct elements of the preallocated array; joining the tasks publishes the scores
+
+            this.forkJoinPool.invoke(new ScoringTask(historicalMarketData, account, scoringStrategy, instrumentIndexes, values, 0, numInstruments));
         }
 
-        return new Scores(values, historicalMarketData.getDate());
+        return new Scores(instrumentRegistry, values, historicalMarketData.getDate());
+    }
+
+    private class ScoringTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final HistoricalMarketData historicalMarketData;
+        private final Account account;
+        private final ScoringStrategy scoringStrategy;
+        private final int[] instrumentIndexes;
+        private final Score[] values;
+        private final int from;
+        private final int to;
+
+        ScoringTask(HistoricalMarketData historicalMarketData, Account account, ScoringStrategy scoringStrategy, int[] instrumentIndexes, Score[] values, int from, int to) {
+            this.historicalMarketData = historicalMarketData;
+            this.account = account;
+            this.scoringStrategy = scoringStrategy;
+            this.instrumentIndexes = instrumentIndexes;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if(this.to - this.from <= parallelismThreshold) {
+                for(int index = this.from; index < this.to; index++) {
+                    int instrumentIndex = this.instrumentIndexes[index];
+                    this.values[instrumentIndex] = this.scoringStrategy.calculateScore(this.historicalMarketData, this.account, instrumentIndex);
+                }
+
+                return;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+
+            invokeAll(
+                    new ScoringTask(this.historicalMarketData, this.account, this.scoringStrategy, this.instrumentIndexes, this.values, this.from, middle),
+                    new ScoringTask(this.historicalMarketData, this.account, this.scoringStrategy, this.instrumentIndexes, this.values, middle, this.to));
+        }
     }
 }
@@ -1,42 +1,116 @@
 package trading.domain.strategy.compound;
 
 import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Map;
 
 public class Scores {
-    private final Map<ISIN, Score> values;
+    private final InstrumentRegistry instrumentRegistry;
+    private final Score[] values;
     private final LocalDate date;
 
     public Scores(Map<ISIN, Score> values, LocalDate date) {
+        this(new InstrumentRegistry(values.keySet()), values, date);
+    }
+
+    private Scores(InstrumentRegistry instrumentRegistry, Map<ISIN, Score> values, LocalDate date) {
+        this(instrumentRegistry, toArray(instrumentRegistry, values), date);
+    }
+
+    /**
+     * Creates scores indexed by the instruments of the given registry. Instruments without score are null.
+     */
+    public Scores(InstrumentRegistry instrumentRegistry, Score[] values, LocalDate date) {
         if(date == null) {
             throw new RuntimeException("The date must be specified.");
         }
 
+        this.instrumentRegistry = instrumentRegistry;
         this.values = values;
         this.date = date;
     }
 
+    private static Score[] toArray(InstrumentRegistry instrumentRegistry, Map<ISIN, Score> values) {
+        Score[] result = new Score[instrumentRegistry.size()];
+
+        for(Map.Entry<ISIN, Score> entry: values.entrySet()) {
+            result[instrumentRegistry.indexOf(entry.getKey())] = entry.getValue();
+        }
+
+        return result;
+    }
+
     public Score get(ISIN isin) {
-        return this.values.get(isin);
+        if(!this.instrumentRegistry.contains(isin)) {
+            return null;
+        }
+
+        return this.get(this.instrumentRegistry.indexOf(isin));
     }
 
-    public ISIN[] getIsinsOrderByScoreDescending() {
-        ISIN[] isins = this.values.keySet().toArray(new ISIN[0]);
+    public Score get(int instrumentIndex) {
+        if(instrumentIndex >= this.values.length) {
+            return null;
+        }
+
+        return this.values[instrumentIndex];
+    }
+
+    public InstrumentRegistry getInstrumentRegistry() {
+        return this.instrumentRegistry;
+    }
 
-        Arrays.sort(isins, (isin1, isin2) -> {
-            double score1 = values.get(isin1).getValue();
-            double score2 = values.get(isin2).getValue();
+    public int[] getInstrumentsOrderByScoreDescending() {
+        int numInstruments = 0;
+
+        for(Score score: this.values) {
+            if(score != null) {
+                numInstruments++;
+            }
+        }
+
+        Integer[] instruments = new Integer[numInstruments];
+        int instrumentPosition = 0;
+
+        for(int instrumentIndex = 0; instrumentIndex < this.values.length; instrumentIndex++) {
+            if(this.values[instrumentIndex] != null) {
+                instruments[instrumentPosition++] = instrumentIndex;
+            }
+        }
+
+        Arrays.sort(instruments, (instrument1, instrument2) -> {
+            double score1 = this.values[instrument1].getValue();
+            double score2 = this.values[instrument2].getValue();
 
             if(score1 == score2) {
+                ISIN isin1 = this.instrumentRegistry.get(instrument1);
+                ISIN isin2 = this.instrumentRegistry.get(instrument2);
                 return isin1.getText().compareTo(isin2.getText()); // ascending
             }
 
             return Double.compare(score2, score1); // descending
         });
 
+        int[] result = new int[numInstruments];
+
+        for(int position = 0; position < numInstruments; position++) {
+            result[position] = instruments[position];
+        }
+
+        return result;
+    }
+
+    public ISIN[] getIsinsOrderByScoreDescending() {
+        int[] instruments = this.getInstrumentsOrderByScoreDescending();
+        ISIN[] isins = new ISIN[instruments.length];
+
+        for(int position = 0; position < instruments.length; position++) {
+            isins[position] = this.instrumentRegistry.get(instruments[position]);
+        }
+
         return isins;
     }
 
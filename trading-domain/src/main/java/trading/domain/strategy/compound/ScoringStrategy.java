@@ -4,6 +4,19 @@ import trading.domain.ISIN;
 import trading.domain.account.Account;
 import trading.domain.market.HistoricalMarketData;
 
+/**
+ * Calculates the score of a stock. Strategies used for parallel scoring (see {@link MultiStockScoring}) are called
+ * from multiple threads at once and must not modify shared state without synchronization.
+ */
 public interface ScoringStrategy {
     Score calculateScore(HistoricalMarketData historicalMarketData, Account account, ISIN isin);
+
+    /**
+     * Calculates the score for the given instrument index of the market data's instrument registry.
+     * Strategies should override this method if they can avoid ISIN-keyed lookups.
+     */
+    default Score calculateScore(HistoricalMarketData historicalMarketData, Account account, int instrumentIndex) {
+        ISIN isin = historicalMarketData.getInstrumentRegistry().get(instrumentIndex);
+        return this.calculateScore(historicalMarketData, account, isin);
+    }
 }
@@ -16,13 +16,14 @@ public class SellStocksSelector {
     public Map<ISIN, Quantity> selectStocks(Scores scores, Map<ISIN, Quantity> currentStocks) {
         Map<ISIN, Quantity> sellStocks = new HashMap<>();
 
-        for(ISIN isin: scores.getIsinsOrderByScoreDescending()) {
-            Score score = scores.get(isin);
+        for(int instrumentIndex: scores.getInstrumentsOrderByScoreDescending()) {
+            Score score = scores.get(instrumentIndex);
 
             if(score.getValue() < this.minSellScore.getValue()) {
                 break;
             }
 
+            ISIN isin = scores.getInstrumentRegistry().get(instrumentIndex);
             Quantity quantity = currentStocks.get(isin);
             sellStocks.put(isin, quantity);
         }
@@ -0,0 +1,295 @@
+package trading.domain.strategy.compoundLocalMaximum;
+
+import trading.domain.Amount;
+import trading.domain.DayCount;
+import trading.domain.DomainException;
+import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
+import trading.domain.broker.CommissionStrategy;
+import trading.domain.indicator.IndicatorColumn;
+import trading.domain.indicator.IndicatorColumnCache;
+import trading.domain.indicator.IndicatorDefinition;
+import trading.domain.indicator.IndicatorType;
+import trading.domain.market.HistoricalMarketData;
+import trading.domain.market.HistoricalStockData;
+import trading.domain.simulation.LaneAccounts;
+import trading.domain.simulation.LaneOrders;
+import trading.domain.simulation.LaneStrategy;
+import trading.domain.strategy.AffordableQuantityCalculator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The compound local maximum trading strategy for many parameter tuples at once. The decisions of each lane
+ * equal the ones of {@link CompoundLocalMaximumTradingStrategy} with the lane's parameters.
+ * Market data is read once per day; local maximums are calculated once per distinct look behind period,
+ * or taken from the indicator column cache if the market data is a view on the cached market data set.
+ */
+public class CompoundLocalMaximumLaneStrategy implements LaneStrategy {
+    private static final double MINIMUM_SCORE = 1.0;
+
+    private final int numLanes;
+    private final int[] lookBehindIndexes;
+    private final int[] lookBehindPeriods;
+    private final double[] buyTriggerMinDeclineFromLocalMaximumPercentages;
+    private final double[] sellTriggerTrailingStopLossMinDeclineFromMaximumAfterBuyingPercentages;
+    private final double[] activateTrailingStopLossMinRaiseSinceBuyingPercentages;
+    private final double[] sellTriggerStopLossMinimumDeclineSinceBuyingPercentages;
+    private final double[] maximumPercentages;
+    private final IndicatorColumnCache indicatorColumnCache;
+    private final IndicatorDefinition[] localMaximumDefinitions;
+
+    private final AffordableQuantityCalculator affordableQuantityCalculator = new AffordableQuantityCalculator();
+
+    private int numInstruments = -1;
+    private int[] instrumentsOrderByIsin;
+    private boolean[] available;
+    private double[] lastCloses;
+    private double[] localMaximums;
+    private IndicatorColumn[] localMaximumColumns;
+    private int[] candidates;
+    private double[] candidateScores;
+
+    public CompoundLocalMaximumLaneStrategy(List<CompoundLocalMaximumTradingStrategyParameters> laneParameters) {
+        this(laneParameters, null);
+    }
+
+    public CompoundLocalMaximumLaneStrategy(List<CompoundLocalMaximumTradingStrategyParameters> laneParameters, IndicatorColumnCache indicatorColumnCache) {
+        if(laneParameters == null) {
+            throw new DomainException("The lane parameters must be specified.");
+        }
+
+        if(laneParameters.isEmpty()) {
+            throw new DomainException("The lane parameters must not be empty.");
+        }
+
+        this.numLanes = laneParameters.size();
+        this.lookBehindIndexes = new int[this.numLanes];
+        this.buyTriggerMinDeclineFromLocalMaximumPercentages = new double[this.numLanes];
+        this.sellTriggerTrailingStopLossMinDeclineFromMaximumAfterBuyingPercentages = new double[this.numLanes];
+        this.activateTrailingStopLossMinRaiseSinceBuyingPercentages = new double[this.numLanes];
+        this.sellTriggerStopLossMinimumDeclineSinceBuyingPercentages = new double[this.numLanes];
+        this.maximumPercentages = new double[this.numLanes];
+
+        int[] lookBehindPeriods = new int[this.numLanes];
+        int numLookBehindPeriods = 0;
+
+        for(int lane = 0; lane < this.numLanes; lane++) {
+            CompoundLocalMaximumTradingStrategyParameters parameters = laneParameters.get(lane);
+            int lookBehindPeriod = parameters.getBuyTriggerLocalMaximumLookBehindPeriod().getValue();
+
+            if(lookBehindPeriod <= 0) {
+                throw new DomainException("The look behind period must be positive.");
+            }
+
+            int lookBehindIndex = 0;
+
+            while(lookBehindIndex < numLookBehindPeriods && lookBehindPeriods[lookBehindIndex] != lookBehindPeriod) {
+                lookBehindIndex++;
+            }
+
+            if(lookBehindIndex == numLookBehindPeriods) {
+                lookBehindPeriods[numLookBehindPeriods++] = lookBehindPeriod;
+            }
+
+            this.lookBehindIndexes[lane] = lookBehindIndex;
+            this.buyTriggerMinDeclineFromLocalMaximumPercentages[lane] = parameters.getBuyTriggerMinDeclineFromLocalMaximumPercentage();
+            this.sellTriggerTrailingStopLossMinDeclineFromMaximumAfterBuyingPercentages[lane] = parameters.getSellTriggerTrailingStopLossMinDeclineFromMaximumAfterBuyingPercentage();
+            this.activateTrailingStopLossMinRaiseSinceBuyingPercentages[lane] = parameters.getActivateTrailingStopLossMinRaiseSinceBuyingPercentage();
+            this.sellTriggerStopLossMinimumDeclineSinceBuyingPercentages[lane] = parameters.getSellTriggerStopLossMinimumDeclineSinceBuyingPercentage();
+            this.maximumPercentages[lane] = parameters.getMaximumPercentage();
+        }
+
+        this.lookBehindPeriods = Arrays.copyOf(lookBehindPeriods, numLookBehindPeriods);
+        this.indicatorColumnCache = indicatorColumnCache;
+        this.localMaximumDefinitions = new IndicatorDefinition[numLookBehindPeriods];
+
+        for(int lookBehindIndex = 0; lookBehindIndex < numLookBehindPeriods; lookBehindIndex++) {
+            this.localMaximumDefinitions[lookBehindIndex] = new IndicatorDefinition(IndicatorType.RollingMaximum, new DayCount(this.lookBehindPeriods[lookBehindIndex]));
+        }
+    }
+
+    @Override
+    public int getNumLanes() {
+        return this.numLanes;
+    }
+
+    @Override
+    public void prepareOrdersForNextTradingDay(HistoricalMarketData historicalMarketData, LaneAccounts accounts, LaneOrders orders, CommissionStrategy commissionStrategy) {
+        this.initialize(historicalMarketData.getInstrumentRegistry(), accounts.getNumInstruments());
+        this.readMarketData(historicalMarketData);
+
+        for(int lane = 0; lane < this.numLanes; lane++) {
+            if(!accounts.isActive(lane)) {
+                continue;
+            }
+
+            this.prepareSellOrders(lane, historicalMarketData, accounts, orders);
+            this.prepareBuyOrders(lane, accounts, orders, commissionStrategy);
+        }
+    }
+
+    private void initialize(InstrumentRegistry instrumentRegistry, int numInstruments) {
+        if(this.numInstruments == numInstruments) {
+            return;
+        }
+
+        Integer[] instrumentsOrderByIsin = new Integer[numInstruments];
+
+        for(int instrumentIndex = 0; instrumentIndex < numInstruments; instrumentIndex++) {
+            instrumentsOrderByIsin[instrumentIndex] = instrumentIndex;
+        }
+
+        // Equal scores are ordered by ISIN, like the scores of the compound trading strategy
+
+        Arrays.sort(instrumentsOrderByIsin, Comparator.comparing(instrumentIndex -> instrumentRegistry.get(instrumentIndex).getText()));
+
+        this.instrumentsOrderByIsin = new int[numInstruments];
+
+        for(int orderIndex = 0; orderIndex < numInstruments; orderIndex++) {
+            this.instrumentsOrderByIsin[orderIndex] = instrumentsOrderByIsin[orderIndex];
+        }
+
+        this.numInstruments = numInstruments;
+        this.available = new boolean[numInstruments];
+        this.lastCloses = new double[numInstruments];
+        this.localMaximums = new double[this.lookBehindPeriods.length * numInstruments];
+        this.localMaximumColumns = new IndicatorColumn[this.lookBehindPeriods.length * numInstruments];
+        this.candidates = new int[numInstruments];
+        this.candidateScores = new double[numInstruments];
+    }
+
+    private void readMarketData(HistoricalMarketData historicalMarketData) {
+        boolean cached = this.indicatorColumnCache != null && this.indicatorColumnCache.covers(historicalMarketData);
+
+        for(int instrumentIndex = 0; instrumentIndex < this.numInstruments; instrumentIndex++) {
+            this.available[instrumentIndex] = historicalMarketData.hasStockData(instrumentIndex);
+
+            if(!this.available[instrumentIndex]) {
+                continue;
+            }
+
+            HistoricalStockData historicalStockData = historicalMarketData.getStockData(instrumentIndex);
+            int numDays = historicalStockData.numDays();
+
+            this.lastCloses[instrumentIndex] = historicalStockData.lastClose();
+
+            for(int lookBehindIndex = 0; lookBehindIndex < this.lookBehindPeriods.length; lookBehindIndex++) {
+                int lookBehindPeriod = this.lookBehindPeriods[lookBehindIndex];
+                int localMaximumIndex = lookBehindIndex * this.numInstruments + instrumentIndex;
+
+                if(numDays < lookBehindPeriod) {
+                    this.localMaximums[localMaximumIndex] = Double.NaN;
+                }
+                else if(cached) {
+                    this.localMaximums[localMaximumIndex] = this.getLocalMaximumColumn(historicalMarketData, lookBehindIndex, instrumentIndex).getValue(numDays - 1);
+                }
+                else {
+                    this.localMaximums[localMaximumIndex] = historicalStockData.maximumClose(lookBehindPeriod);
+                }
+            }
+        }
+    }
+
+    private IndicatorColumn getLocalMaximumColumn(HistoricalMarketData historicalMarketData, int lookBehindIndex, int instrumentIndex) {
+        int localMaximumIndex = lookBehindIndex * this.numInstruments + instrumentIndex;
+        IndicatorColumn localMaximumColumn = this.localMaximumColumns[localMaximumIndex];
+
+        if(localMaximumColumn == null) {
+            ISIN isin = historicalMarketData.getInstrumentRegistry().get(instrumentIndex);
+            localMaximumColumn = this.indicatorColumnCache.getColumn(isin, this.localMaximumDefinitions[lookBehindIndex]);
+            this.localMaximumColumns[localMaximumIndex] = localMaximumColumn;
+        }
+
+        return localMaximumColumn;
+    }
+
+    private void prepareSellOrders(int lane, HistoricalMarketData historicalMarketData, LaneAccounts accounts, LaneOrders orders) {
+        double activateTrailingStopLossMinRaise = this.activateTrailingStopLossMinRaiseSinceBuyingPercentages[lane];
+        double stopLossMinDecline = this.sellTriggerStopLossMinimumDeclineSinceBuyingPercentages[lane];
+        double trailingStopLossMinDecline = this.sellTriggerTrailingStopLossMinDeclineFromMaximumAfterBuyingPercentages[lane];
+        int lastDayIndex = historicalMarketData.getDayIndex();
+
+        for(int instrumentIndex = 0; instrumentIndex < this.numInstruments; instrumentIndex++) {
+            int quantity = accounts.quantity(lane, instrumentIndex);
+
+            if(quantity == 0) {
+                continue;
+            }
+
+            double closingMarketPrice = this.lastCloses[instrumentIndex];
+            double buyPrice = accounts.buyPrice(lane, instrumentIndex);
+            int lookBehindPeriod = lastDayIndex - accounts.buyDayIndex(lane, instrumentIndex) + 1;
+
+            // The look behind period depends on the day of buying, so there is no fixed period to cache;
+            // the range maximum index of the stock data answers it in constant time.
+            double maximumMarketPriceSinceBuying = historicalMarketData.getStockData(instrumentIndex).maximumClose(lookBehindPeriod);
+
+            boolean stopLoss = closingMarketPrice < buyPrice * (1.0 - stopLossMinDecline);
+            boolean trailingStopLossActivated = maximumMarketPriceSinceBuying >= buyPrice * (1.0 + activateTrailingStopLossMinRaise);
+            boolean trailingStopLoss = closingMarketPrice < maximumMarketPriceSinceBuying * (1.0 - trailingStopLossMinDecline);
+
+            if(stopLoss || trailingStopLossActivated && trailingStopLoss) {
+                orders.addSellOrder(lane, instrumentIndex, quantity);
+            }
+        }
+    }
+
+    private void prepareBuyOrders(int lane, LaneAccounts accounts, LaneOrders orders, CommissionStrategy commissionStrategy) {
+        int localMaximumOffset = this.lookBehindIndexes[lane] * this.numInstruments;
+        double minDecline = this.buyTriggerMinDeclineFromLocalMaximumPercentages[lane];
+        int numCandidates = 0;
+        double totalScore = 0.0;
+
+        for(int orderIndex = 0; orderIndex < this.numInstruments; orderIndex++) {
+            int instrumentIndex = this.instrumentsOrderByIsin[orderIndex];
+            double localMaximum = this.localMaximums[localMaximumOffset + instrumentIndex];
+
+            if(!this.available[instrumentIndex] || Double.isNaN(localMaximum) || accounts.quantity(lane, instrumentIndex) != 0) {
+                continue;
+            }
+
+            double lastClosingPrice = this.lastCloses[instrumentIndex];
+            double maxBuyPrice = localMaximum * (1.0 - minDecline);
+            double score = lastClosingPrice <= maxBuyPrice ? 1.0 : maxBuyPrice / lastClosingPrice;
+
+            if(score < MINIMUM_SCORE) {
+                continue;
+            }
+
+            this.candidates[numCandidates] = instrumentIndex;
+            this.candidateScores[numCandidates] = score;
+            numCandidates++;
+            totalScore += score;
+        }
+
+        if(numCandidates == 0) {
+            return;
+        }
+
+        double availableMoney = accounts.availableMoney(lane);
+        double maximumMoneyPerStock = this.maximumPercentages[lane] * accounts.balance(lane);
+
+        for(int candidateIndex = 0; candidateIndex < numCandidates; candidateIndex++) {
+            int instrumentIndex = this.candidates[candidateIndex];
+            double score = this.candidateScores[candidateIndex];
+            double availableMoneyForStock = Math.min(score / totalScore * availableMoney, maximumMoneyPerStock);
+
+            Amount lastMarketPrice = new Amount(this.lastCloses[instrumentIndex]);
+            int buyQuantity = this.affordableQuantityCalculator.calculateAffordableQuantity(
+                    new Amount(availableMoneyForStock), lastMarketPrice, commissionStrategy).getValue();
+
+            double totalPrice = lastMarketPrice.getValue() * buyQuantity;
+            double commission = commissionStrategy.calculateCommission(new Amount(totalPrice)).getValue();
+
+            totalScore -= score;
+            availableMoney = availableMoney - (totalPrice + commission);
+
+            if(buyQuantity != 0) {
+                orders.addBuyOrder(lane, instrumentIndex, buyQuantity);
+            }
+        }
+    }
+}
@@ -1,17 +1,36 @@
 package trading.domain.strategy.compoundLocalMaximum;
 
+import trading.domain.indicator.IndicatorColumnCache;
 import trading.domain.strategy.TradingStrategy;
 import trading.domain.strategy.TradingStrategyContext;
 import trading.domain.strategy.compound.*;
 
+import java.io.Serializable;
+
 public class CompoundLocalMaximumTradingStrategy implements TradingStrategy {
     private final CompoundTradingStrategy compoundTradingStrategy;
 
     public CompoundLocalMaximumTradingStrategy(CompoundLocalMaximumTradingStrategyParameters parameters, TradingStrategyContext context) {
+        this(parameters, context, null);
+    }
+
+    /**
+     * Creates the strategy taking the local maximums from the given cache shared between the runs of a challenge (optional).
+     */
+    public CompoundLocalMaximumTradingStrategy(CompoundLocalMaximumTradingStrategyParameters parameters, TradingStrategyContext context, IndicatorColumnCache indicatorColumnCache) {
+        this(parameters, context, indicatorColumnCache, new MultiStockScoring());
+    }
+
+    /**
+     * Creates the strategy scoring the stocks with the given multi stock scoring, e.g. a parallel one for large universes
+     * outside of challenges.
+     */
+    public CompoundLocalMaximumTradingStrategy(CompoundLocalMaximumTradingStrategyParameters parameters, TradingStrategyContext context, IndicatorColumnCache indicatorColumnCache, MultiStockScoring multiStockScoring) {
         CompoundTradingStrategyParameters compoundTradingStrategyParameters = new CompoundTradingStrategyParametersBuilder()
                 .setBuyScoringStrategy(new LocalMaximumBuyScoringStrategy(
                         parameters.getBuyTriggerLocalMaximumLookBehindPeriod(),
-                        parameters.getBuyTriggerMinDeclineFromLocalMaximumPercentage()))
+                        parameters.getBuyTriggerMinDeclineFromLocalMaximumPercentage(),
+                        indicatorColumnCache))
                 .setSellStocksSelector(new SellStocksSelector(new Score(1.0)))
                 .setSellScoringStrategy(new LocalMaximumSellScoringStrategy(
                         parameters.getActivateTrailingStopLossMinRaiseSinceBuyingPercentage(),
@@ -19,6 +38,7 @@ public class CompoundLocalMaximumTradingStrategy implements TradingStrategy {
                         parameters.getSellTriggerTrailingStopLossMinDeclineFromMaximumAfterBuyingPercentage()
                 ))
                 .setBuyStocksSelector(new BuyStocksSelector(new Score(1.0), parameters.getMaximumPercentage()))
+                .setMultiStockScoring(multiStockScoring)
                 .build();
 
         this.compoundTradingStrategy = new CompoundTradingStrategy(compoundTradingStrategyParameters, context);
@@ -28,4 +48,18 @@ public class CompoundLocalMaximumTradingStrategy implements TradingStrategy {
     public void prepareOrdersForNextTradingDay() {
         this.compoundTradingStrategy.prepareOrdersForNextTradingDay();
     }
+
+    @Override
+    public boolean supportsCheckpoints() {
+        return true;
+    }
+
+    @Override
+    public Serializable createCheckpointState() {
+        return null;
+    }
+
+    @Override
+    public void restoreCheckpointState(Serializable state) {
+    }
 }
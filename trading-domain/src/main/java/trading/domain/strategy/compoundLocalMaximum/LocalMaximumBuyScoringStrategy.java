@@ -3,19 +3,43 @@ package trading.domain.strategy.compoundLocalMaximum;
 import trading.domain.DayCount;
 import trading.domain.ISIN;
 import trading.domain.account.Account;
+import trading.domain.indicator.Indicator;
+import trading.domain.indicator.IndicatorColumn;
+import trading.domain.indicator.IndicatorColumnCache;
+import trading.domain.indicator.IndicatorDefinition;
+import trading.domain.indicator.IndicatorEngine;
+import trading.domain.indicator.IndicatorType;
 import trading.domain.market.HistoricalMarketData;
 import trading.domain.market.HistoricalStockData;
 import trading.domain.strategy.compound.Score;
 import trading.domain.strategy.compound.ScoringStrategy;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 public class LocalMaximumBuyScoringStrategy implements ScoringStrategy {
     private final DayCount buyTriggerLocalMaximumLookBehindPeriod;
     private final double buyTriggerMinDeclineSinceMaximumPercentage;
+    private final IndicatorColumnCache indicatorColumnCache;
+    private final IndicatorDefinition localMaximumDefinition;
+    private final IndicatorColumn[] localMaximumColumns;
+    private volatile LocalMaximumIndicators localMaximumIndicators;
     private boolean commentsEnabled;
 
     public LocalMaximumBuyScoringStrategy(DayCount buyTriggerLocalMaximumLookBehindPeriod, double buyTriggerMinDeclineSinceMaximumPercentage) {
+        this(buyTriggerLocalMaximumLookBehindPeriod, buyTriggerMinDeclineSinceMaximumPercentage, null);
+    }
+
+    /**
+     * Creates the scoring strategy taking the local maximums from the given cache, if the scored market data
+     * is a view on the cached market data set. Otherwise, the local maximums are subscribed at the indicator engine
+     * of the market data.
+     */
+    public LocalMaximumBuyScoringStrategy(DayCount buyTriggerLocalMaximumLookBehindPeriod, double buyTriggerMinDeclineSinceMaximumPercentage, IndicatorColumnCache indicatorColumnCache) {
         this.buyTriggerLocalMaximumLookBehindPeriod = buyTriggerLocalMaximumLookBehindPeriod;
         this.buyTriggerMinDeclineSinceMaximumPercentage = buyTriggerMinDeclineSinceMaximumPercentage;
+        this.indicatorColumnCache = indicatorColumnCache;
+        this.localMaximumDefinition = new IndicatorDefinition(IndicatorType.RollingMaximum, buyTriggerLocalMaximumLookBehindPeriod);
+        this.localMaximumColumns = new IndicatorColumn[indicatorColumnCache != null ? indicatorColumnCache.getInstrumentRegistry().size() : 0];
         this.commentsEnabled = false;
     }
 
@@ -26,13 +50,22 @@ public class LocalMaximumBuyScoringStrategy implements ScoringStrategy {
     @Override
     public Score calculateScore(HistoricalMarketData historicalMarketData, Account account, ISIN isin) {
         HistoricalStockData historicalStockData = historicalMarketData.getStockData(isin);
+        return this.calculateScore(historicalMarketData, historicalMarketData.getInstrumentRegistry().indexOf(isin), historicalStockData);
+    }
+
+    @Override
+    public Score calculateScore(HistoricalMarketData historicalMarketData, Account account, int instrumentIndex) {
+        return this.calculateScore(historicalMarketData, instrumentIndex, historicalMarketData.getStockData(instrumentIndex));
+    }
+
+    private Score calculateScore(HistoricalMarketData historicalMarketData, int instrumentIndex, HistoricalStockData historicalStockData) {
 
         if(historicalStockData.getDuration().getValue() < this.buyTriggerLocalMaximumLookBehindPeriod.getValue()) {
             return new Score(0.0, "Historical stock data history length not sufficient for scoring.");
         }
 
-        double lastClosingPrice = historicalStockData.getLastClosingMarketPrice().getValue();
-        double localMaximum = historicalStockData.getMaximumClosingMarketPrice(this.buyTriggerLocalMaximumLookBehindPeriod).getValue();
+        double lastClosingPrice = historicalStockData.lastClose();
+        double localMaximum = this.getLocalMaximum(historicalMarketData, instrumentIndex, historicalStockData);
         double maxBuyPrice = localMaximum * (1.0 - this.buyTriggerMinDeclineSinceMaximumPercentage);
         boolean buy = lastClosingPrice <= maxBuyPrice;
 
@@ -55,4 +88,60 @@ public class LocalMaximumBuyScoringStrategy implements ScoringStrategy {
 
         return new Score(score, comment);
     }
+
+    private double getLocalMaximum(HistoricalMarketData historicalMarketData, int instrumentIndex, HistoricalStockData historicalStockData) {
+        if(this.indicatorColumnCache == null || !this.indicatorColumnCache.covers(historicalMarketData)) {
+            return this.getLocalMaximumIndicator(historicalMarketData, instrumentIndex).getValue();
+        }
+
+        // The stocks are scored in parallel; concurrent lookups of a missing column store the same immutable cached column
+
+        IndicatorColumn localMaximumColumn = this.localMaximumColumns[instrumentIndex];
+
+        if(localMaximumColumn == null) {
+            ISIN isin = historicalMarketData.getInstrumentRegistry().get(instrumentIndex);
+            localMaximumColumn = this.indicatorColumnCache.getColumn(isin, this.localMaximumDefinition);
+            this.localMaximumColumns[instrumentIndex] = localMaximumColumn;
+        }
+
+        return localMaximumColumn.getValue(historicalStockData.getDuration().getValue() - 1);
+    }
+
+    /**
+     * Returns the local maximum indicator of the given stock, subscribing it at the indicator engine only on the first call
+     * for the market data, so that the engine is not locked for every score.
+     */
+    private Indicator getLocalMaximumIndicator(HistoricalMarketData historicalMarketData, int instrumentIndex) {
+        LocalMaximumIndicators localMaximumIndicators = this.localMaximumIndicators;
+
+        if(localMaximumIndicators == null || localMaximumIndicators.historicalMarketData != historicalMarketData
+                || instrumentIndex >= localMaximumIndicators.indicators.length()) {
+            localMaximumIndicators = new LocalMaximumIndicators(historicalMarketData);
+            this.localMaximumIndicators = localMaximumIndicators;
+        }
+
+        Indicator localMaximumIndicator = localMaximumIndicators.indicators.get(instrumentIndex);
+
+        if(localMaximumIndicator == null) {
+            ISIN isin = historicalMarketData.getInstrumentRegistry().get(instrumentIndex);
+            localMaximumIndicator = IndicatorEngine.of(historicalMarketData).subscribe(isin, this.localMaximumDefinition);
+            localMaximumIndicators.indicators.set(instrumentIndex, localMaximumIndicator);
+        }
+
+        return localMaximumIndicator;
+    }
+
+    /**
+     * The local maximum indicators subscribed at the indicator engine of one market data instance, by instrument index.
+     * Concurrent subscriptions of a missing indicator store the same indicator, as the engine deduplicates them.
+     */
+    private static class LocalMaximumIndicators {
+        private final HistoricalMarketData historicalMarketData;
+        private final AtomicReferenceArray<Indicator> indicators;
+
+        LocalMaximumIndicators(HistoricalMarketData historicalMarketData) {
+            this.historicalMarketData = historicalMarketData;
+            this.indicators = new AtomicReferenceArray<>(historicalMarketData.getInstrumentRegistry().size());
+        }
+    }
 }
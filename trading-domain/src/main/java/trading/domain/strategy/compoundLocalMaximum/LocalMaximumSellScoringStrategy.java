@@ -6,6 +6,7 @@ import trading.domain.ISIN;
 import trading.domain.account.Account;
 import trading.domain.account.MarketTransaction;
 import trading.domain.account.MarketTransactionType;
+import trading.domain.account.Transaction;
 import trading.domain.market.HistoricalMarketData;
 import trading.domain.market.HistoricalStockData;
 import trading.domain.strategy.compound.Score;
@@ -56,7 +57,7 @@ public class LocalMaximumSellScoringStrategy implements ScoringStrategy {
         Amount closingMarketPrice = historicalStockData.getLastClosingMarketPrice();
         MarketTransaction buyTransaction = this.getLastBuyTransaction(account, isin);
         Amount buyPrice = new Amount(buyTransaction.getTotalPrice().getValue() / buyTransaction.getQuantity().getValue());
-        DayCount daysPassedAfterBuyingDate = historicalMarketData.countDaysAfter(buyTransaction.getDate());
+        DayCount daysPassedAfterBuyingDate = this.countDaysAfter(historicalMarketData, buyTransaction);
         DayCount lookBehindPeriod = new DayCount(daysPassedAfterBuyingDate.getValue() + 1);
         Amount maximumMarketPriceSinceBuying = historicalStockData.getMaximumClosingMarketPrice(lookBehindPeriod);
 
@@ -79,6 +80,14 @@ public class LocalMaximumSellScoringStrategy implements ScoringStrategy {
         return this.trailingStopLoss(closingMarketPrice, maximumMarketPriceSinceBuying, commentBuilder);
     }
 
+    private DayCount countDaysAfter(HistoricalMarketData historicalMarketData, MarketTransaction transaction) {
+        if(transaction.getDayIndex() == Transaction.NO_DAY_INDEX) {
+            return historicalMarketData.countDaysAfter(transaction.getDate());
+        }
+
+        return historicalMarketData.countDaysAfter(transaction.getDayIndex());
+    }
+
     private MarketTransaction getLastBuyTransaction(Account account, ISIN isin) {
         MarketTransaction transaction = account.getLastMarketTransaction(isin);
 
@@ -6,9 +6,11 @@ import trading.domain.strategy.AlwaysFiresTrigger;
 import trading.domain.strategy.DelegateTrigger;
 import trading.domain.strategy.TradingStrategy;
 import trading.domain.strategy.TradingStrategyContext;
+import trading.domain.strategy.WakeCondition;
 import trading.domain.strategy.progressive.ProgressiveTradingStrategy;
 import trading.domain.strategy.progressive.ProgressiveTradingStrategyParametersBuilder;
 
+import java.io.Serializable;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -21,17 +23,19 @@ import java.util.concurrent.atomic.AtomicReference;
  * decline of the stock.
  */
 public class DynamicLocalMaximumTradingStrategy implements TradingStrategy {
+    private static final double WAKE_PRICE_MARGIN = 1e-9;
+
     private final ProgressiveTradingStrategy progressiveTradingStrategy;
 
+    private final AtomicReference<Double> buyLocalMaximum = new AtomicReference<>(0.0);
+    private final AtomicReference<Boolean> buyLocalMaximumPassed = new AtomicReference<>(false);
+    private final AtomicReference<Double> maximumSinceBuying = new AtomicReference<>(0.0);
+
     public DynamicLocalMaximumTradingStrategy(DynamicLocalMaximumTradingStrategyParameters parameters, TradingStrategyContext context) {
         ProgressiveTradingStrategyParametersBuilder parametersBuilder = new ProgressiveTradingStrategyParametersBuilder();
 
         parametersBuilder.setISIN(parameters.getIsin());
 
-        AtomicReference<Double> buyLocalMaximum = new AtomicReference<>(0.0);
-        AtomicReference<Boolean> buyLocalMaximumPassed = new AtomicReference<>(false);
-        AtomicReference<Double> maximumSinceBuying = new AtomicReference<>(0.0);
-
         parametersBuilder.setBuyTriggerFactory(isin -> {
             HistoricalStockData historicalStockData = context.getHistoricalMarketData().getStockData(isin);
 
@@ -40,7 +44,7 @@ public class DynamicLocalMaximumTradingStrategy implements TradingStrategy {
                 double minRisingDelta = lookBackMarketPrice * parameters.getRisingIndicatorMinRisingPercentage();
                 double minRisingPrice = lookBackMarketPrice + minRisingDelta;
 
-                double lastClosingMarketPrice = historicalStockData.getLastClosingMarketPrice().getValue();
+                double lastClosingMarketPrice = historicalStockData.lastClose();
 
                 DayCount buyTriggerLocalMaximumLookBehindPeriod;
                 double buyTriggerMinDistanceFromLocalMaximumPercentage;
@@ -53,7 +57,7 @@ public class DynamicLocalMaximumTradingStrategy implements TradingStrategy {
                     buyTriggerMinDistanceFromLocalMaximumPercentage = parameters.getDecliningBuyTriggerMinDistanceFromLocalMaximumPercentage();
                 }
 
-                double localMaximum = historicalStockData.getMaximumClosingMarketPrice(buyTriggerLocalMaximumLookBehindPeriod).getValue();
+                double localMaximum = historicalStockData.maximumClose(buyTriggerLocalMaximumLookBehindPeriod.getValue());
                 double minDelta = localMaximum * buyTriggerMinDistanceFromLocalMaximumPercentage;
                 double maxBuyPrice = localMaximum - minDelta;
 
@@ -66,6 +70,17 @@ public class DynamicLocalMaximumTradingStrategy implements TradingStrategy {
                 } else {
                     return false;
                 }
+            }, () -> {
+                // Independent of the rising indicator: while the closing prices stay below both local maximums,
+                // neither maximum can rise. The margin covers the rounding of the maximum buy price.
+                double risingLocalMaximum = historicalStockData.maximumClose(parameters.getRisingBuyTriggerLocalMaximumLookBehindPeriod().getValue());
+                double decliningLocalMaximum = historicalStockData.maximumClose(parameters.getDecliningBuyTriggerLocalMaximumLookBehindPeriod().getValue());
+
+                double risingMaxBuyPrice = risingLocalMaximum - risingLocalMaximum * parameters.getRisingBuyTriggerMinDistanceFromLocalMaximumPercentage();
+                double decliningMaxBuyPrice = decliningLocalMaximum - decliningLocalMaximum * parameters.getDecliningBuyTriggerMinDistanceFromLocalMaximumPercentage();
+                double maxBuyPrice = Math.max(risingMaxBuyPrice, decliningMaxBuyPrice) * (1.0 + WAKE_PRICE_MARGIN);
+
+                return WakeCondition.priceOutside(isin, maxBuyPrice, Math.min(risingLocalMaximum, decliningLocalMaximum));
             });
         });
 
@@ -73,7 +88,7 @@ public class DynamicLocalMaximumTradingStrategy implements TradingStrategy {
             HistoricalStockData historicalStockData = context.getHistoricalMarketData().getStockData(isin);
 
             return new DelegateTrigger(() -> {
-                double lastClosingPrice = historicalStockData.getLastClosingMarketPrice().getValue();
+                double lastClosingPrice = historicalStockData.lastClose();
 
                 if (!buyLocalMaximumPassed.get()) {
                     buyLocalMaximumPassed.set(lastClosingPrice >= buyLocalMaximum.get());
@@ -91,6 +106,15 @@ public class DynamicLocalMaximumTradingStrategy implements TradingStrategy {
                 double maxPriceSelling = maximumSinceBuying.get() - minDeltaFromMaximumSinceBuying;
 
                 return lastClosingPrice <= maxPriceSelling;
+            }, () -> {
+                if (!buyLocalMaximumPassed.get()) {
+                    return WakeCondition.priceAtOrAbove(isin, buyLocalMaximum.get());
+                }
+
+                double minDeltaFromMaximumSinceBuying = parameters.getSellTriggerMinDistanceFromMaximumSinceBuyingPercentage() * maximumSinceBuying.get();
+                double maxPriceSelling = maximumSinceBuying.get() - minDeltaFromMaximumSinceBuying;
+
+                return WakeCondition.priceOutside(isin, maxPriceSelling, maximumSinceBuying.get());
             });
         });
 
@@ -103,4 +127,45 @@ public class DynamicLocalMaximumTradingStrategy implements TradingStrategy {
     public void prepareOrdersForNextTradingDay() {
         this.progressiveTradingStrategy.prepareOrdersForNextTradingDay();
     }
+
+    @Override
+    public WakeCondition getWakeCondition() {
+        return this.progressiveTradingStrategy.getWakeCondition();
+    }
+
+    @Override
+    public boolean supportsCheckpoints() {
+        return true;
+    }
+
+    @Override
+    public Serializable createCheckpointState() {
+        return new CheckpointState(this);
+    }
+
+    @Override
+    public void restoreCheckpointState(Serializable state) {
+        CheckpointState checkpointState = (CheckpointState) state;
+
+        this.progressiveTradingStrategy.restoreCheckpointState(checkpointState.progressiveTradingStrategyState);
+        this.buyLocalMaximum.set(checkpointState.buyLocalMaximum);
+        this.buyLocalMaximumPassed.set(checkpointState.buyLocalMaximumPassed);
+        this.maximumSinceBuying.set(checkpointState.maximumSinceBuying);
+    }
+
+    private static class CheckpointState implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Serializable progressiveTradingStrategyState;
+        private final double buyLocalMaximum;
+        private final boolean buyLocalMaximumPassed;
+        private final double maximumSinceBuying;
+
+        CheckpointState(DynamicLocalMaximumTradingStrategy dynamicLocalMaximumTradingStrategy) {
+            this.progressiveTradingStrategyState = dynamicLocalMaximumTradingStrategy.progressiveTradingStrategy.createCheckpointState();
+            this.buyLocalMaximum = dynamicLocalMaximumTradingStrategy.buyLocalMaximum.get();
+            this.buyLocalMaximumPassed = dynamicLocalMaximumTradingStrategy.buyLocalMaximumPassed.get();
+            this.maximumSinceBuying = dynamicLocalMaximumTradingStrategy.maximumSinceBuying.get();
+        }
+    }
 }
@@ -1,14 +1,22 @@
 package trading.domain.strategy.localMaximum;
 
 import trading.domain.DayCount;
+import trading.domain.ISIN;
+import trading.domain.indicator.Indicator;
+import trading.domain.indicator.IndicatorDefinition;
+import trading.domain.indicator.IndicatorEngine;
+import trading.domain.indicator.IndicatorType;
 import trading.domain.market.HistoricalStockData;
 import trading.domain.strategy.AlwaysFiresTrigger;
 import trading.domain.strategy.DelegateTrigger;
 import trading.domain.strategy.TradingStrategy;
 import trading.domain.strategy.TradingStrategyContext;
+import trading.domain.strategy.WakeCondition;
 import trading.domain.strategy.progressive.ProgressiveTradingStrategy;
 import trading.domain.strategy.progressive.ProgressiveTradingStrategyParametersBuilder;
 
+import java.io.Serializable;
+
 /**
  * Trading strategy:
  *
@@ -19,6 +27,8 @@ import trading.domain.strategy.progressive.ProgressiveTradingStrategyParametersB
 public class LocalMaximumTradingStrategy implements TradingStrategy {
     private final ProgressiveTradingStrategy progressiveTradingStrategy;
     private final HistoricalStockData historicalStockData;
+    private final ISIN isin;
+    private final Indicator localMaximumIndicator;
 
     private final DayCount buyTriggerLocalMaximumLookBehindPeriod;
     private final double buyTriggerMinDeclineSinceMaximumPercentage;
@@ -33,13 +43,14 @@ public class LocalMaximumTradingStrategy implements TradingStrategy {
 
     public LocalMaximumTradingStrategy(LocalMaximumTradingStrategyParameters parameters, TradingStrategyContext context) {
         this.historicalStockData = context.getHistoricalMarketData().getStockData(parameters.getIsin());
+        this.isin = parameters.getIsin();
 
         ProgressiveTradingStrategyParametersBuilder parametersBuilder = new ProgressiveTradingStrategyParametersBuilder();
 
         parametersBuilder.setISIN(parameters.getIsin());
 
-        parametersBuilder.setBuyTriggerFactory(historicalMarketData -> new DelegateTrigger(() -> this.shouldBuyStocks()));
-        parametersBuilder.setSellTriggerFactory(historicalMarketData -> new DelegateTrigger(() -> this.shouldSellStocks()));
+        parametersBuilder.setBuyTriggerFactory(historicalMarketData -> new DelegateTrigger(() -> this.shouldBuyStocks(), () -> this.getBuyWakeCondition()));
+        parametersBuilder.setSellTriggerFactory(historicalMarketData -> new DelegateTrigger(() -> this.shouldSellStocks(), () -> this.getSellWakeCondition()));
         parametersBuilder.setResetTriggerFactory(historicalMarketData -> new AlwaysFiresTrigger());
 
         this.progressiveTradingStrategy = new ProgressiveTradingStrategy(parametersBuilder.build(), context);
@@ -49,12 +60,24 @@ public class LocalMaximumTradingStrategy implements TradingStrategy {
         this.activateTrailingStopLossMinRaiseSinceBuyingPercentage = parameters.getActivateTrailingStopLossMinRaiseSinceBuyingPercentage();
         this.sellTriggerTrailingStopLossMinDeclineSinceMaximumAfterBuyingPercentage = parameters.getSellTriggerTrailingStopLossMinDeclineFromMaximumAfterBuyingPercentage();
         this.sellTriggerStopLossMinimumDeclineSinceBuyingPercentage = parameters.getSellTriggerStopLossMinimumDeclineSinceBuyingPercentage();
+
+        IndicatorDefinition localMaximumDefinition = new IndicatorDefinition(IndicatorType.RollingMaximum, this.buyTriggerLocalMaximumLookBehindPeriod);
+        this.localMaximumIndicator = IndicatorEngine.of(context.getHistoricalMarketData()).subscribe(this.isin, localMaximumDefinition);
+    }
+
+    private double getLocalMaximum() {
+        if(!this.localMaximumIndicator.isReady()) {
+            // fails with the usual error message since the look-behind period exceeds the history
+            return this.historicalStockData.maximumClose(this.buyTriggerLocalMaximumLookBehindPeriod.getValue());
+        }
+
+        return this.localMaximumIndicator.getValue();
     }
 
     private boolean shouldBuyStocks() {
-        double lastClosingPrice = this.historicalStockData.getLastClosingMarketPrice().getValue();
+        double lastClosingPrice = this.historicalStockData.lastClose();
 
-        double localMaximum = this.historicalStockData.getMaximumClosingMarketPrice(this.buyTriggerLocalMaximumLookBehindPeriod).getValue();
+        double localMaximum = this.getLocalMaximum();
         double maxBuyPrice = localMaximum * (1.0 - this.buyTriggerMinDeclineSinceMaximumPercentage);
 
         if(lastClosingPrice <= maxBuyPrice) {
@@ -68,8 +91,38 @@ public class LocalMaximumTradingStrategy implements TradingStrategy {
         return false;
     }
 
+    /**
+     * While the closing prices stay below the local maximum, the local maximum cannot rise,
+     * so the buy trigger can only fire at or below the current maximum buy price.
+     */
+    private WakeCondition getBuyWakeCondition() {
+        double localMaximum = this.getLocalMaximum();
+        double maxBuyPrice = localMaximum * (1.0 - this.buyTriggerMinDeclineSinceMaximumPercentage);
+
+        return WakeCondition.priceOutside(this.isin, maxBuyPrice, localMaximum);
+    }
+
+    /**
+     * Wakes when the sell trigger would sell, raise the maximum price since buying or activate the trailing stop loss.
+     */
+    private WakeCondition getSellWakeCondition() {
+        if(this.maxPriceSinceBuying == 0.0) {
+            return null;
+        }
+
+        double stopLossMaximumPrice = this.buyPrice * (1.0 - this.sellTriggerStopLossMinimumDeclineSinceBuyingPercentage);
+
+        if(!this.sellTriggerTrailingStopLossActivated) {
+            double minimumActivationPrice = this.buyPrice * (1.0 + this.activateTrailingStopLossMinRaiseSinceBuyingPercentage);
+            return WakeCondition.priceOutside(this.isin, stopLossMaximumPrice, Math.min(this.maxPriceSinceBuying, minimumActivationPrice));
+        }
+
+        double trailingStopLossMaximumPrice = this.maxPriceSinceBuying * (1.0 - this.sellTriggerTrailingStopLossMinDeclineSinceMaximumAfterBuyingPercentage);
+        return WakeCondition.priceOutside(this.isin, Math.max(stopLossMaximumPrice, trailingStopLossMaximumPrice), this.maxPriceSinceBuying);
+    }
+
     private boolean shouldSellStocks() {
-        double lastClosingPrice = this.historicalStockData.getLastClosingMarketPrice().getValue();
+        double lastClosingPrice = this.historicalStockData.lastClose();
 
         this.updateMaxPriceSinceBuying(lastClosingPrice);
         this.updateTrailingStopLossActivation(lastClosingPrice);
@@ -110,4 +163,45 @@ public class LocalMaximumTradingStrategy implements TradingStrategy {
     public void prepareOrdersForNextTradingDay() {
         this.progressiveTradingStrategy.prepareOrdersForNextTradingDay();
     }
+
+    @Override
+    public WakeCondition getWakeCondition() {
+        return this.progressiveTradingStrategy.getWakeCondition();
+    }
+
+    @Override
+    public boolean supportsCheckpoints() {
+        return true;
+    }
+
+    @Override
+    public Serializable createCheckpointState() {
+        return new CheckpointState(this);
+    }
+
+    @Override
+    public void restoreCheckpointState(Serializable state) {
+        CheckpointState checkpointState = (CheckpointState) state;
+
+        this.progressiveTradingStrategy.restoreCheckpointState(checkpointState.progressiveTradingStrategyState);
+        this.buyPrice = checkpointState.buyPrice;
+        this.sellTriggerTrailingStopLossActivated = checkpointState.sellTriggerTrailingStopLossActivated;
+        this.maxPriceSinceBuying = checkpointState.maxPriceSinceBuying;
+    }
+
+    private static class CheckpointState implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Serializable progressiveTradingStrategyState;
+        private final double buyPrice;
+        private final boolean sellTriggerTrailingStopLossActivated;
+        private final double maxPriceSinceBuying;
+
+        CheckpointState(LocalMaximumTradingStrategy localMaximumTradingStrategy) {
+            this.progressiveTradingStrategyState = localMaximumTradingStrategy.progressiveTradingStrategy.createCheckpointState();
+            this.buyPrice = localMaximumTradingStrategy.buyPrice;
+            this.sellTriggerTrailingStopLossActivated = localMaximumTradingStrategy.sellTriggerTrailingStopLossActivated;
+            this.maxPriceSinceBuying = localMaximumTradingStrategy.maxPriceSinceBuying;
+        }
+    }
 }
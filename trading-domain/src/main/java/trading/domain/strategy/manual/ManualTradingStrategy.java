@@ -4,6 +4,9 @@ import trading.domain.broker.Broker;
 import trading.domain.broker.OrderRequest;
 import trading.domain.strategy.TradingStrategy;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -34,4 +37,24 @@ public class ManualTradingStrategy implements TradingStrategy {
             this.broker.setOrder(orderRequest);
         }
     }
+
+    @Override
+    public boolean supportsCheckpoints() {
+        return true;
+    }
+
+    /**
+     * The order requests not yet sent to the broker.
+     */
+    @Override
+    public Serializable createCheckpointState() {
+        return new ArrayList<>(this.orderRequestQueue);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreCheckpointState(Serializable state) {
+        this.orderRequestQueue.clear();
+        this.orderRequestQueue.addAll((List<OrderRequest>) state);
+    }
 }
@@ -9,6 +9,8 @@ import trading.domain.broker.OrderType;
 import trading.domain.market.HistoricalStockData;
 import trading.domain.strategy.*;
 
+import java.io.Serializable;
+
 /**
  * Progressive Trading Strategy
  *
@@ -104,6 +106,58 @@ public class ProgressiveTradingStrategy implements TradingStrategy {
         }
     }
 
+    /**
+     * Returns the wake condition of the active trigger. Triggers activated after a day passed have to be created first.
+     */
+    @Override
+    public WakeCondition getWakeCondition() {
+        if (this.activateSellTriggerAfterDayPassed || this.activateResetTriggerAfterDayPassed) {
+            return null;
+        }
+
+        if (this.inStateWaitAndReset) {
+            return this.resetTrigger.getWakeCondition();
+        }
+
+        if (this.inStateWaitAndBuyStocks) {
+            return this.buyTrigger.getWakeCondition();
+        }
+
+        return this.sellTrigger.getWakeCondition();
+    }
+
+    /**
+     * Returns the phase of the strategy. The triggers are not part of the state, as they are created anew on restoring,
+     * so only strategies with stateless triggers can be checkpointed.
+     */
+    @Override
+    public Serializable createCheckpointState() {
+        return new CheckpointState(this);
+    }
+
+    @Override
+    public void restoreCheckpointState(Serializable state) {
+        CheckpointState checkpointState = (CheckpointState) state;
+
+        this.inStateWaitAndBuyStocks = checkpointState.inStateWaitAndBuyStocks;
+        this.inStateWaitAndSellStocks = checkpointState.inStateWaitAndSellStocks;
+        this.inStateWaitAndReset = checkpointState.inStateWaitAndReset;
+        this.activateSellTriggerAfterDayPassed = checkpointState.activateSellTriggerAfterDayPassed;
+        this.activateResetTriggerAfterDayPassed = checkpointState.activateResetTriggerAfterDayPassed;
+
+        this.buyTrigger = this.inStateWaitAndBuyStocks
+                ? this.parameters.getBuyTriggerFactory().createTrigger(this.parameters.getISIN())
+                : null;
+
+        this.sellTrigger = this.inStateWaitAndSellStocks && !this.activateSellTriggerAfterDayPassed
+                ? this.parameters.getSellTriggerFactory().createTrigger(this.parameters.getISIN())
+                : null;
+
+        this.resetTrigger = this.inStateWaitAndReset && !this.activateResetTriggerAfterDayPassed
+                ? this.parameters.getResetTriggerFactory().createTrigger(this.parameters.getISIN())
+                : null;
+    }
+
     private void waitAndBuyStocks() {
         Amount availableMoney = this.context.getAccount().getAvailableMoney();
         CommissionStrategy commissionStrategy = this.context.getBroker().getCommissionStrategy();
@@ -151,4 +205,22 @@ public class ProgressiveTradingStrategy implements TradingStrategy {
             this.resetTrigger = null;
         }
     }
+
+    private static class CheckpointState implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean inStateWaitAndBuyStocks;
+        private final boolean inStateWaitAndSellStocks;
+        private final boolean inStateWaitAndReset;
+        private final boolean activateSellTriggerAfterDayPassed;
+        private final boolean activateResetTriggerAfterDayPassed;
+
+        CheckpointState(ProgressiveTradingStrategy progressiveTradingStrategy) {
+            this.inStateWaitAndBuyStocks = progressiveTradingStrategy.inStateWaitAndBuyStocks;
+            this.inStateWaitAndSellStocks = progressiveTradingStrategy.inStateWaitAndSellStocks;
+            this.inStateWaitAndReset = progressiveTradingStrategy.inStateWaitAndReset;
+            this.activateSellTriggerAfterDayPassed = progressiveTradingStrategy.activateSellTriggerAfterDayPassed;
+            this.activateResetTriggerAfterDayPassed = progressiveTradingStrategy.activateResetTriggerAfterDayPassed;
+        }
+    }
 }
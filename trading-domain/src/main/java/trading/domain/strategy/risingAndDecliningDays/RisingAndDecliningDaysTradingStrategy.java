@@ -5,9 +5,12 @@ import trading.domain.strategy.AlwaysFiresTrigger;
 import trading.domain.strategy.DelegateTrigger;
 import trading.domain.strategy.TradingStrategy;
 import trading.domain.strategy.TradingStrategyContext;
+import trading.domain.strategy.WakeCondition;
 import trading.domain.strategy.progressive.ProgressiveTradingStrategy;
 import trading.domain.strategy.progressive.ProgressiveTradingStrategyParametersBuilder;
 
+import java.io.Serializable;
+
 public class RisingAndDecliningDaysTradingStrategy implements TradingStrategy {
     private final ProgressiveTradingStrategy progressiveTradingStrategy;
 
@@ -21,12 +24,16 @@ public class RisingAndDecliningDaysTradingStrategy implements TradingStrategy {
 
         parametersBuilder.setBuyTriggerFactory(isin -> {
             HistoricalStockData historicalStockData = context.getHistoricalMarketData().getStockData(isin);
-            return new DelegateTrigger(() -> historicalStockData.getRisingDaysInSequence() >= risingDaysInSequence);
+            return new DelegateTrigger(
+                    () -> historicalStockData.getRisingDaysInSequence() >= risingDaysInSequence,
+                    () -> createSequenceWakeCondition(historicalStockData.getRisingDaysInSequence(), risingDaysInSequence));
         });
 
         parametersBuilder.setSellTriggerFactory(isin -> {
             HistoricalStockData historicalStockData = context.getHistoricalMarketData().getStockData(isin);
-            return new DelegateTrigger(() -> historicalStockData.getDecliningDaysInSequence() >= decliningDaysInSequence);
+            return new DelegateTrigger(
+                    () -> historicalStockData.getDecliningDaysInSequence() >= decliningDaysInSequence,
+                    () -> createSequenceWakeCondition(historicalStockData.getDecliningDaysInSequence(), decliningDaysInSequence));
         });
 
         parametersBuilder.setResetTriggerFactory(historicalMarketData -> new AlwaysFiresTrigger());
@@ -34,8 +41,42 @@ public class RisingAndDecliningDaysTradingStrategy implements TradingStrategy {
         this.progressiveTradingStrategy = new ProgressiveTradingStrategy(parametersBuilder.build(), context);
     }
 
+    /**
+     * A sequence grows by at most one day per day, so the required length cannot be reached earlier.
+     */
+    private static WakeCondition createSequenceWakeCondition(int daysInSequence, int requiredDaysInSequence) {
+        if(daysInSequence >= requiredDaysInSequence) {
+            return null;
+        }
+
+        return WakeCondition.daysElapsed(requiredDaysInSequence - daysInSequence);
+    }
+
     @Override
     public void prepareOrdersForNextTradingDay() {
         this.progressiveTradingStrategy.prepareOrdersForNextTradingDay();
     }
+
+    @Override
+    public WakeCondition getWakeCondition() {
+        return this.progressiveTradingStrategy.getWakeCondition();
+    }
+
+    /**
+     * The triggers only depend on the market data, so the state is the phase of the progressive trading strategy.
+     */
+    @Override
+    public boolean supportsCheckpoints() {
+        return true;
+    }
+
+    @Override
+    public Serializable createCheckpointState() {
+        return this.progressiveTradingStrategy.createCheckpointState();
+    }
+
+    @Override
+    public void restoreCheckpointState(Serializable state) {
+        this.progressiveTradingStrategy.restoreCheckpointState(state);
+    }
 }
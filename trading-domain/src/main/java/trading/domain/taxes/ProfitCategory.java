@@ -1,6 +1,10 @@
 package trading.domain.taxes;
 
-public class ProfitCategory {
+import java.io.Serializable;
+
+public class ProfitCategory implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final int id;
     private final String name;
 
@@ -16,4 +20,11 @@ public class ProfitCategory {
     public String getName() {
         return this.name;
     }
+
+    /**
+     * Keeps the profit categories unique when deserialized, as they are compared by identity.
+     */
+    private Object readResolve() {
+        return ProfitCategories.fromId(this.id);
+    }
 }
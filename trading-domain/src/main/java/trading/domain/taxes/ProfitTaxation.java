@@ -2,7 +2,7 @@ package trading.domain.taxes;
 
 import trading.domain.Amount;
 import trading.domain.DomainException;
-import trading.domain.Quantity;
+import trading.domain.Money;
 
 /**
  * Profit taxation for one profit category in one tax period.
@@ -11,9 +11,9 @@ public class ProfitTaxation {
     private final TaxCalculator taxCalculator;
     private final ProfitTaxation previousTaxPeriodProfitTaxation;
 
-    private Amount accruedProfit = Amount.Zero;
-    private Amount taxedProfit = Amount.Zero;
-    private Amount paidTaxes = Amount.Zero;
+    private Money accruedProfit = Money.Zero;
+    private Money taxedProfit = Money.Zero;
+    private Money paidTaxes = Money.Zero;
 
     public ProfitTaxation(TaxCalculator taxCalculator, ProfitTaxation previousTaxPeriodProfitTaxation) {
         this.taxCalculator = taxCalculator;
@@ -21,56 +21,70 @@ public class ProfitTaxation {
     }
 
     public Amount getUntaxedTaxableProfitConsideringLossCarryforward() {
+        return this.untaxedTaxableProfitConsideringLossCarryforward().toAmount();
+    }
+
+    private Money untaxedTaxableProfitConsideringLossCarryforward() {
         return this.accruedProfit
                 .subtract(this.taxedProfit)
-                .subtract(this.getLossCarryforward());
+                .subtract(this.lossCarryforward());
     }
 
     public Amount getLossCarryforward() {
+        return this.lossCarryforward().toAmount();
+    }
+
+    private Money lossCarryforward() {
         if(this.previousTaxPeriodProfitTaxation == null) {
-            return Amount.Zero;
+            return Money.Zero;
         }
 
-        return this.previousTaxPeriodProfitTaxation.getLossCarryforwardForNextPeriod();
+        return this.previousTaxPeriodProfitTaxation.lossCarryforwardForNextPeriod();
     }
 
     public Amount getLossCarryforwardForNextPeriod() {
-        if(this.getUntaxedTaxableProfitConsideringLossCarryforward().getValue() >= 0) {
-            return Amount.Zero;
+        return this.lossCarryforwardForNextPeriod().toAmount();
+    }
+
+    private Money lossCarryforwardForNextPeriod() {
+        Money untaxedTaxableProfit = this.untaxedTaxableProfitConsideringLossCarryforward();
+
+        if(!untaxedTaxableProfit.isNegative()) {
+            return Money.Zero;
         }
 
-        return this.getUntaxedTaxableProfitConsideringLossCarryforward().multiply(new Quantity(-1));
+        return untaxedTaxableProfit.negate();
     }
 
     public Amount getTaxedProfit() {
-        return this.taxedProfit;
+        return this.taxedProfit.toAmount();
     }
 
     public Amount getReservedTaxes() {
-        Amount taxableProfit = this.getUntaxedTaxableProfitConsideringLossCarryforward();
+        Money taxableProfit = this.untaxedTaxableProfitConsideringLossCarryforward();
 
-        if(taxableProfit.getValue() > 0) {
-            return this.taxCalculator.calculateTaxes(taxableProfit);
+        if(taxableProfit.isPositive()) {
+            return this.taxCalculator.calculateTaxes(taxableProfit.toAmount());
         }
 
         return Amount.Zero;
     }
 
     public Amount getPaidTaxes() {
-        return this.paidTaxes;
+        return this.paidTaxes.toAmount();
     }
 
     public void registerProfit(Amount profit) {
-        this.accruedProfit = this.accruedProfit.add(profit);
+        this.accruedProfit = this.accruedProfit.add(Money.of(profit));
     }
 
     public void registerTaxPayment(Amount taxedProfit, Amount paidTaxes) {
-        if(taxedProfit.getValue() > this.getUntaxedTaxableProfitConsideringLossCarryforward().getValue()) {
+        if(Money.of(taxedProfit).compareTo(this.untaxedTaxableProfitConsideringLossCarryforward()) > 0) {
             throw new DomainException("The specified taxed profit must not exceed the remaining untaxed taxable profit/ considering loss carryforward.");
         }
 
-        this.taxedProfit = this.taxedProfit.add(taxedProfit);
-        this.paidTaxes = this.paidTaxes.add(paidTaxes);
+        this.taxedProfit = this.taxedProfit.add(Money.of(taxedProfit));
+        this.paidTaxes = this.paidTaxes.add(Money.of(paidTaxes));
     }
 
     public TaxPeriodProfitCategoryReport buildTaxPeriodProfitCategoryReport(ProfitCategory profitCategory) {
@@ -78,8 +92,8 @@ public class ProfitTaxation {
 
         taxPeriodProfitCategoryReport.setProfitCategory(profitCategory);
         taxPeriodProfitCategoryReport.setLossCarryforward(this.getLossCarryforward());
-        taxPeriodProfitCategoryReport.setAccruedProfit(this.accruedProfit);
-        taxPeriodProfitCategoryReport.setClearedProfit(this.accruedProfit.subtract(this.getLossCarryforward()));
+        taxPeriodProfitCategoryReport.setAccruedProfit(this.accruedProfit.toAmount());
+        taxPeriodProfitCategoryReport.setClearedProfit(this.accruedProfit.subtract(this.lossCarryforward()).toAmount());
         taxPeriodProfitCategoryReport.setReservedTaxes(this.getReservedTaxes());
         taxPeriodProfitCategoryReport.setPaidTaxes(this.getPaidTaxes());
 
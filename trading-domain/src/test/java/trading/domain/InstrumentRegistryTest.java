@@ -0,0 +1,65 @@
+package trading.domain;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class InstrumentRegistryTest {
+    @Test
+    public void assignsDenseIndexes_inRegistrationOrder() {
+        InstrumentRegistry instrumentRegistry = new InstrumentRegistry();
+
+        Assert.assertEquals(0, instrumentRegistry.register(ISIN.MunichRe));
+        Assert.assertEquals(1, instrumentRegistry.register(ISIN.Allianz));
+        Assert.assertEquals(0, instrumentRegistry.register(new ISIN(ISIN.MunichRe.getText())));
+        Assert.assertEquals(2, instrumentRegistry.size());
+    }
+
+    @Test
+    public void assignsIndexes_inIsinTextOrder_ifCreatedForCollection() {
+        InstrumentRegistry instrumentRegistry = new InstrumentRegistry(Arrays.asList(ISIN.MunichRe, ISIN.Allianz));
+
+        Assert.assertEquals(0, instrumentRegistry.indexOf(ISIN.Allianz));
+        Assert.assertEquals(1, instrumentRegistry.indexOf(ISIN.MunichRe));
+        Assert.assertSame(ISIN.Allianz, instrumentRegistry.get(0));
+    }
+
+    @Test
+    public void internReturnsRegisteredInstance() {
+        InstrumentRegistry instrumentRegistry = new InstrumentRegistry();
+        instrumentRegistry.register(ISIN.MunichRe);
+
+        Assert.assertSame(ISIN.MunichRe, instrumentRegistry.intern(new ISIN(ISIN.MunichRe.getText())));
+    }
+
+    @Test
+    public void indexOfFails_ifIsinNotRegistered() {
+        InstrumentRegistry instrumentRegistry = new InstrumentRegistry();
+
+        try {
+            instrumentRegistry.indexOf(ISIN.MunichRe);
+        }
+        catch(DomainException e) {
+            Assert.assertEquals("The ISIN DE0008430026 is not registered.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+
+    @Test
+    public void getFails_ifIndexNotRegistered() {
+        InstrumentRegistry instrumentRegistry = new InstrumentRegistry();
+
+        try {
+            instrumentRegistry.get(0);
+        }
+        catch(DomainException e) {
+            Assert.assertEquals("The instrument index 0 is not registered.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+}
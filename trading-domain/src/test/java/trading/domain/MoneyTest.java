@@ -0,0 +1,90 @@
+package trading.domain;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MoneyTest {
+    @Test
+    public void roundsToMicroUnits() {
+        Assert.assertEquals(1234567L, Money.of(1.2345674).getMicros());
+        Assert.assertEquals(1234568L, Money.of(1.2345676).getMicros());
+        Assert.assertEquals(-1234568L, Money.of(-1.2345676).getMicros());
+        Assert.assertEquals(0.1, Money.of(0.1).getValue(), 0.0);
+    }
+
+    @Test
+    public void addsWithoutRoundingDrift() {
+        Money sum = Money.Zero;
+        double doubleSum = 0.0;
+
+        for(int index = 0; index < 100000; index++) {
+            sum = sum.add(Money.of(0.1));
+            doubleSum += 0.1;
+        }
+
+        Assert.assertEquals(Money.of(10000.0), sum);
+        Assert.assertNotEquals(10000.0, doubleSum, 0.0);
+    }
+
+    @Test
+    public void subtracts() {
+        Assert.assertEquals(Money.of(0.2), Money.of(0.3).subtract(Money.of(0.1)));
+    }
+
+    @Test
+    public void multipliesWithQuantityExactly() {
+        Assert.assertEquals(Money.of(30.3), Money.of(10.1).multiply(new Quantity(3)));
+    }
+
+    @Test
+    public void multipliesWithRate() {
+        Assert.assertEquals(Money.of(4.5), Money.of(1000.0).multiply(0.0045));
+    }
+
+    @Test
+    public void internsWholeUnits() {
+        Assert.assertSame(Money.Zero, Money.of(0.0));
+        Assert.assertSame(Money.of(10.0), Money.of(5.0).add(Money.of(5.0)));
+        Assert.assertNotSame(Money.of(10.5), Money.of(10.5));
+    }
+
+    @Test
+    public void equalValuesHaveEqualHashCodes() {
+        Assert.assertEquals(Money.of(10.5), Money.of(10.5));
+        Assert.assertEquals(Money.of(10.5).hashCode(), Money.of(10.5).hashCode());
+    }
+
+    @Test
+    public void comparesByValue() {
+        Assert.assertTrue(Money.of(1.0).compareTo(Money.of(2.0)) < 0);
+        Assert.assertEquals(Money.of(1.0), Money.of(2.0).min(Money.of(1.0)));
+        Assert.assertEquals(Money.of(2.0), Money.of(2.0).max(Money.of(1.0)));
+        Assert.assertTrue(Money.of(-1.0).isNegative());
+        Assert.assertTrue(Money.of(1.0).isPositive());
+    }
+
+    @Test
+    public void additionFails_ifRangeExceeded() {
+        try {
+            Money.ofMicros(Long.MAX_VALUE).add(Money.ofMicros(1L));
+        }
+        catch(ArithmeticException e) {
+            return;
+        }
+
+        Assert.fail("ArithmeticException expected.");
+    }
+
+    @Test
+    public void conversionFails_ifValueNotFinite() {
+        try {
+            Money.of(Double.NaN);
+        }
+        catch(DomainException e) {
+            Assert.assertEquals("The value must be a finite number.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+}
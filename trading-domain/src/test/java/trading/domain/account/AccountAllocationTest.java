@@ -0,0 +1,56 @@
+package trading.domain.account;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.ISIN;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDate;
+
+public class AccountAllocationTest extends AccountTestBase {
+    private static final int NUM_DAYS = 100000;
+
+    // Tolerates allocations of the measurement itself, but not a single allocation per day
+    private static final long MAX_ALLOCATED_BYTES = 10000;
+
+    @Test
+    public void reportMarketPricesDoesNotAllocate() throws AccountStateException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        Assume.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+
+        Assume.assumeTrue(allocationMXBean.isThreadAllocatedMemorySupported());
+        allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        this.prepareAccountWithBuyTransaction();
+
+        MarketPriceSnapshot[] marketPriceSnapshots = new MarketPriceSnapshot[] {
+                new MarketPriceSnapshotBuilder().setMarketPrice(ISIN.MunichRe, new Amount(600.0)).setDate(LocalDate.of(2000, 1, 2)).build(),
+                new MarketPriceSnapshotBuilder().setMarketPrice(ISIN.MunichRe, new Amount(400.0)).setDate(LocalDate.of(2000, 1, 3)).build()
+        };
+
+        // Warm up, so that the measured days run compiled code
+        for(int dayIndex = 0; dayIndex < NUM_DAYS; dayIndex++) {
+            this.account.reportMarketPrices(marketPriceSnapshots[dayIndex & 1]);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBytesBefore = allocationMXBean.getThreadAllocatedBytes(threadId);
+
+        for(int dayIndex = 0; dayIndex < NUM_DAYS; dayIndex++) {
+            this.account.reportMarketPrices(marketPriceSnapshots[dayIndex & 1]);
+        }
+
+        long allocatedBytes = allocationMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesBefore;
+
+        Assert.assertTrue("Allocated bytes: " + allocatedBytes, allocatedBytes < MAX_ALLOCATED_BYTES);
+        Assert.assertEquals(new Amount(4000.0), this.account.getPosition(ISIN.MunichRe).getFullMarketPrice());
+    }
+}
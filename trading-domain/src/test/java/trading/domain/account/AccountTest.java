@@ -5,6 +5,7 @@ import org.junit.Test;
 import trading.domain.Amount;
 import trading.domain.DomainException;
 import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
 import trading.domain.Quantity;
 
 import java.time.LocalDate;
@@ -24,6 +25,38 @@ public class AccountTest extends AccountTestBase {
         Assert.fail("PositionNotFoundException expected.");
     }
 
+    @Test
+    public void retrievePositionByInstrumentIndex_ifBuiltWithInstrumentRegistry() throws AccountStateException {
+        InstrumentRegistry instrumentRegistry = new InstrumentRegistry();
+        instrumentRegistry.register(ISIN.Allianz);
+        instrumentRegistry.register(ISIN.MunichRe);
+
+        this.account = new AccountBuilder()
+                .setAvailableMoney(new Amount(10000.0))
+                .setTaxStrategy(TaxStrategies.getNoTaxesStrategy())
+                .setInstrumentRegistry(instrumentRegistry)
+                .build();
+
+        this.prepareAccountWithBuyTransaction();
+
+        Assert.assertFalse(this.account.hasPosition(0));
+        Assert.assertTrue(this.account.hasPosition(1));
+        Assert.assertSame(this.account.getPosition(ISIN.MunichRe), this.account.getPosition(1));
+    }
+
+    @Test
+    public void retrievalOfPositionByInstrumentIndexFails_ifBuiltWithoutInstrumentRegistry() {
+        try {
+            account.hasPosition(0);
+        }
+        catch(DomainException ex) {
+            Assert.assertEquals("The account has not been built with an instrument registry.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+
     // Process buy transaction
 
     @Test
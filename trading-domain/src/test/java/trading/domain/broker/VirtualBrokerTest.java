@@ -116,6 +116,18 @@ public class VirtualBrokerTest {
         Assert.assertEquals(quantity, position.getQuantity());
     }
 
+    @Test
+    public void transactionIsCreatedWithDayIndexOfOpenedDay() {
+        VirtualBroker virtualBroker = this.createVirtualBroker();
+
+        OrderRequest orderRequest = new OrderRequest(OrderType.BuyMarket, ISIN.MunichRe, new Quantity(10));
+
+        virtualBroker.setOrder(orderRequest);
+        virtualBroker.notifyDayOpened(LocalDate.now());
+
+        Assert.assertEquals(this.historicalMarketData.getDayIndex() + 1, account.getProcessedTransactions().get(0).getDayIndex());
+    }
+
     @Test
     public void transactionForSellMarketOrderRequestIsCreatedAfterDayOpened() {
         VirtualBroker virtualBroker = this.createVirtualBroker();
@@ -0,0 +1,137 @@
+package trading.domain.challenges;
+
+import org.junit.Assert;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.DayCount;
+import trading.domain.ISIN;
+import trading.domain.account.TaxStrategies;
+import trading.domain.account.TaxStrategy;
+import trading.domain.broker.CommissionStrategies;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+import trading.domain.simulation.LockstepSimulationDriverParameters;
+import trading.domain.simulation.MultiStockListDataSource;
+import trading.domain.simulation.SimulationDriverParameters;
+import trading.domain.simulation.SimulationDriverParametersBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ChallengeExecutorTest {
+    @Test
+    public void lockstepFailsIfChallengeNotLockstepChallenge() {
+        Challenge challenge = new Challenge() {
+            @Override
+            public ParameterTupleSource getParametersSource() {
+                return new PreparedParameterTupleSource(new ArrayList<>());
+            }
+
+            @Override
+            public SimulationDriverParameters buildSimulationDriverParametersForRun(Object[] runParameters) {
+                return null;
+            }
+
+            @Override
+            public String[] getParameterNames() {
+                return new String[0];
+            }
+        };
+
+        ChallengeExecutor challengeExecutor = new ChallengeExecutor(challenge);
+        challengeExecutor.setLockstep(true);
+
+        this.assertExecutionFails(challengeExecutor, "Lockstep simulations require a lockstep challenge.");
+    }
+
+    @Test
+    public void lockstepFailsIfDailyReportingEnabled() {
+        ChallengeExecutor challengeExecutor = new ChallengeExecutor(this.createLockstepChallenge(TaxStrategies.getNoTaxesStrategy()));
+        challengeExecutor.setLockstep(true);
+        challengeExecutor.setDailyReporting(true);
+
+        this.assertExecutionFails(challengeExecutor, "Daily reporting is not supported by lockstep simulations.");
+    }
+
+    @Test
+    public void lockstepFailsIfDaySkippingEnabled() {
+        ChallengeExecutor challengeExecutor = new ChallengeExecutor(this.createLockstepChallenge(TaxStrategies.getNoTaxesStrategy()));
+        challengeExecutor.setLockstep(true);
+        challengeExecutor.setDaySkipping(true);
+
+        this.assertExecutionFails(challengeExecutor, "Day skipping is not supported by lockstep simulations.");
+    }
+
+    @Test
+    public void lockstepFailsIfRunsTaxed() {
+        ChallengeExecutor challengeExecutor = new ChallengeExecutor(this.createLockstepChallenge(TaxStrategies.getDefaultTaxStrategy()));
+        challengeExecutor.setLockstep(true);
+
+        this.assertExecutionFails(challengeExecutor, "Lockstep simulations ignore taxes, so the runs of the challenge must be tax-free.");
+    }
+
+    @Test
+    public void pruningFailsWithoutHistoricalMarketDataSet() {
+        ChallengeExecutor challengeExecutor = new ChallengeExecutor(this.createLockstepChallenge(TaxStrategies.getNoTaxesStrategy()));
+        challengeExecutor.setPruning(10);
+
+        this.assertExecutionFails(challengeExecutor, "Pruning requires the challenge to provide a historical market data set.");
+    }
+
+    private void assertExecutionFails(ChallengeExecutor challengeExecutor, String expectedMessage) {
+        try {
+            challengeExecutor.executeChallenge();
+        }
+        catch(RuntimeException ex) {
+            Assert.assertEquals(expectedMessage, ex.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+
+    private LockstepChallenge createLockstepChallenge(TaxStrategy taxStrategy) {
+        List<MarketPriceSnapshot> marketPriceSnapshots = new ArrayList<>();
+        DateSequenceGenerator dateSequenceGenerator = new DateSequenceGenerator(LocalDate.of(2017, 6, 1));
+
+        for(int dayIndex = 0; dayIndex < 10; dayIndex++) {
+            marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                    .setDate(dateSequenceGenerator.nextDate())
+                    .setMarketPrice(ISIN.MunichRe, new Amount(100.0 + dayIndex))
+                    .build());
+        }
+
+        return new LockstepChallenge() {
+            @Override
+            public LockstepSimulationDriverParameters buildLockstepSimulationDriverParametersForRuns(List<Object[]> runParameters) {
+                return null;
+            }
+
+            @Override
+            public ParameterTupleSource getParametersSource() {
+                return new LazyParameterTupleSource(Arrays.asList(Arrays.asList(1, 2)));
+            }
+
+            @Override
+            public SimulationDriverParameters buildSimulationDriverParametersForRun(Object[] runParameters) {
+                SimulationDriverParametersBuilder parametersBuilder = new SimulationDriverParametersBuilder();
+                parametersBuilder.setSimulationMarketDataSource(new MultiStockListDataSource(marketPriceSnapshots));
+                parametersBuilder.setHistoryDuration(new DayCount(2));
+                parametersBuilder.setSimulationDuration(new DayCount(8));
+                parametersBuilder.setSeedCapital(new Amount(10000.0));
+                parametersBuilder.setTradingStrategyFactory(context -> () -> { });
+                parametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
+                parametersBuilder.setTaxStrategy(taxStrategy);
+                return parametersBuilder.build();
+            }
+
+            @Override
+            public String[] getParameterNames() {
+                return new String[] { "value" };
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package trading.domain.challenges;
+
+import org.junit.Assert;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.ISIN;
+import trading.domain.indicator.IndicatorColumnCache;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+import trading.domain.simulation.LockstepSimulationDriver;
+import trading.domain.simulation.LockstepSimulationReport;
+import trading.domain.simulation.MultiStockMarketDataStore;
+import trading.domain.simulation.SimulationDriver;
+import trading.domain.simulation.SimulationReport;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CompoundLocalMaximumChallengeTest {
+    private static final int NUM_DAYS = 1500;
+
+    @Test
+    public void lockstepSimulationsShareIndicatorColumnCache() {
+        CompoundLocalMaximumChallenge challenge = new CompoundLocalMaximumChallenge(new HistoricalTestDataProvider(this.createMarketDataStore()));
+        List<Object[]> runParameters = this.createRunParameters();
+
+        LockstepSimulationReport firstReport = new LockstepSimulationDriver(challenge.buildLockstepSimulationDriverParametersForRuns(runParameters)).runSimulation();
+
+        IndicatorColumnCache indicatorColumnCache = challenge.getIndicatorColumnCache();
+
+        // two look behind periods for two stocks
+        Assert.assertEquals(4, indicatorColumnCache.getNumMisses());
+        Assert.assertEquals(0, indicatorColumnCache.getNumHits());
+
+        LockstepSimulationReport secondReport = new LockstepSimulationDriver(challenge.buildLockstepSimulationDriverParametersForRuns(runParameters)).runSimulation();
+
+        Assert.assertEquals(4, indicatorColumnCache.getNumMisses());
+        Assert.assertEquals(4, indicatorColumnCache.getNumHits());
+
+        for(int lane = 0; lane < runParameters.size(); lane++) {
+            Assert.assertFalse(firstReport.isFailed(lane));
+            Assert.assertEquals(
+                    firstReport.getSimulationReport(lane).getFinalAccountBalance(),
+                    secondReport.getSimulationReport(lane).getFinalAccountBalance());
+        }
+    }
+
+    @Test
+    public void singleRunsEqualLockstepSimulations() {
+        CompoundLocalMaximumChallenge challenge = new CompoundLocalMaximumChallenge(new HistoricalTestDataProvider(this.createMarketDataStore()));
+        List<Object[]> runParameters = this.createRunParameters();
+
+        LockstepSimulationReport lockstepReport = new LockstepSimulationDriver(challenge.buildLockstepSimulationDriverParametersForRuns(runParameters)).runSimulation();
+
+        for(int lane = 0; lane < runParameters.size(); lane++) {
+            SimulationReport simulationReport = new SimulationDriver(challenge.buildSimulationDriverParametersForRun(runParameters.get(lane))).runSimulation();
+
+            Assert.assertFalse(simulationReport.getTransactions().isEmpty());
+            Assert.assertEquals(
+                    lockstepReport.getSimulationReport(lane).getFinalAccountBalance().getValue(),
+                    simulationReport.getFinalAccountBalance().getValue(),
+                    0.000001);
+        }
+
+        Assert.assertTrue(challenge.getIndicatorColumnCache().getNumHits() > 0);
+    }
+
+    private List<Object[]> createRunParameters() {
+        return Arrays.asList(
+                new Object[] { 5, 0.05, 0.07, 0.03, 0.1, 0.2 },
+                new Object[] { 20, 0.1, 0.1, 0.05, 0.2, 0.5 },
+                new Object[] { 5, 0.0, 0.2, 0.1, 0.05, 0.1 }
+        );
+    }
+
+    private MultiStockMarketDataStore createMarketDataStore() {
+        List<LocalDate> dates = new DateSequenceGenerator(LocalDate.of(2010, 1, 1)).nextDates(NUM_DAYS);
+        List<MarketPriceSnapshot> closingPrices = new ArrayList<>();
+
+        for(int dayIndex = 0; dayIndex < NUM_DAYS; dayIndex++) {
+            closingPrices.add(new MarketPriceSnapshotBuilder()
+                    .setMarketPrice(ISIN.MunichRe, new Amount(100.0 + 20.0 * Math.sin(dayIndex / 10.0)))
+                    .setMarketPrice(ISIN.Allianz, new Amount(50.0 + 10.0 * Math.sin(dayIndex / 7.0 + 1.0) + dayIndex * 0.01))
+                    .setDate(dates.get(dayIndex))
+                    .build());
+        }
+
+        return new MultiStockMarketDataStore() {
+            @Override
+            public List<MarketPriceSnapshot> getAllClosingPrices() {
+                return closingPrices;
+            }
+
+            @Override
+            public MarketPriceSnapshot getLastClosingPrices() {
+                return closingPrices.get(closingPrices.size() - 1);
+            }
+        };
+    }
+}
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
 
 public class LazyParameterTupleSourceTest {
     @Test
@@ -114,6 +115,132 @@ public class LazyParameterTupleSourceTest {
         Assert.fail("RuntimeException expected.");
     }
 
+    @Test
+    public void getReturnsTuplesInIterationOrder() {
+        List<List<Object>> parameterLists = new ArrayList<>();
+        parameterLists.add(Arrays.asList(new Object[] { 1, 2, 3 }));
+        parameterLists.add(Arrays.asList(new Object[] { "a", "b" }));
+        parameterLists.add(Arrays.asList(new Object[] { 0.1, 0.2, 0.3, 0.4 }));
+
+        LazyParameterTupleSource lazyParameterTupleSource = new LazyParameterTupleSource(parameterLists);
+
+        List<Object[]> expected = iteratorToList(lazyParameterTupleSource.getIterator());
+        List<Object[]> actual = new ArrayList<>();
+
+        for(int runIndex = 0; runIndex < lazyParameterTupleSource.size(); runIndex++) {
+            actual.add(lazyParameterTupleSource.get(runIndex));
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void getFailsIfRunIndexOutsideTuples() {
+        List<List<Object>> parameterLists = new ArrayList<>();
+        parameterLists.add(Arrays.asList(new Object[] { 1, 2 }));
+
+        LazyParameterTupleSource lazyParameterTupleSource = new LazyParameterTupleSource(parameterLists);
+
+        try {
+            lazyParameterTupleSource.get(2);
+        }
+        catch(RuntimeException ex) {
+            Assert.assertEquals("The run index lies outside the parameter tuples.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+
+    @Test
+    public void sizeExceedsIntRange() {
+        List<Object> values = new ArrayList<>();
+
+        for(int value = 0; value < 1000; value++) {
+            values.add(value);
+        }
+
+        LazyParameterTupleSource lazyParameterTupleSource = new LazyParameterTupleSource(Arrays.asList(values, values, values, values));
+
+        Assert.assertEquals(1000000000000L, lazyParameterTupleSource.size());
+        Assert.assertArrayEquals(new Object[] { 999, 999, 999, 999 }, lazyParameterTupleSource.get(999999999999L));
+        Assert.assertArrayEquals(new Object[] { 1, 0, 0, 0 }, lazyParameterTupleSource.get(1000000000L));
+    }
+
+    @Test
+    public void creationFailsIfSizeExceedsLongRange() {
+        List<Object> values = new ArrayList<>();
+
+        for(int value = 0; value < 1000000; value++) {
+            values.add(value);
+        }
+
+        try {
+            new LazyParameterTupleSource(Arrays.asList(values, values, values, values));
+        }
+        catch(RuntimeException ex) {
+            Assert.assertEquals("The number of parameter tuples exceeds the range of long.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+
+    @Test
+    public void getDecodesIntoGivenTuple() {
+        List<List<Object>> parameterLists = new ArrayList<>();
+        parameterLists.add(Arrays.asList(new Object[] { 1, 2, 3 }));
+        parameterLists.add(Arrays.asList(new Object[] { "a", "b" }));
+
+        LazyParameterTupleSource lazyParameterTupleSource = new LazyParameterTupleSource(parameterLists);
+        Object[] tuple = new Object[2];
+
+        lazyParameterTupleSource.get(3, tuple);
+        Assert.assertArrayEquals(new Object[] { 2, "b" }, tuple);
+
+        lazyParameterTupleSource.get(4, tuple);
+        Assert.assertArrayEquals(new Object[] { 3, "a" }, tuple);
+    }
+
+    @Test
+    public void spliteratorSplitsByRunIndexRange() {
+        List<List<Object>> parameterLists = new ArrayList<>();
+        parameterLists.add(Arrays.asList(new Object[] { 1, 2, 3 }));
+        parameterLists.add(Arrays.asList(new Object[] { "a", "b", "c" }));
+
+        LazyParameterTupleSource lazyParameterTupleSource = new LazyParameterTupleSource(parameterLists);
+
+        Spliterator<Object[]> spliterator = lazyParameterTupleSource.spliterator();
+        Spliterator<Object[]> prefix = spliterator.trySplit();
+
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        Assert.assertEquals(4, prefix.estimateSize());
+        Assert.assertEquals(5, spliterator.estimateSize());
+
+        List<Object[]> actual = new ArrayList<>();
+        prefix.forEachRemaining(actual::add);
+        spliterator.forEachRemaining(actual::add);
+
+        assertEquals(iteratorToList(lazyParameterTupleSource.getIterator()), actual);
+    }
+
+    @Test
+    public void parallelStreamCoversAllTuples() {
+        List<Object> values = new ArrayList<>();
+
+        for(int value = 0; value < 100; value++) {
+            values.add(value);
+        }
+
+        LazyParameterTupleSource lazyParameterTupleSource = new LazyParameterTupleSource(Arrays.asList(values, values, values));
+
+        long sum = lazyParameterTupleSource.stream(true)
+                .mapToLong(tuple -> (int) tuple[0] * 10000 + (int) tuple[1] * 100 + (int) tuple[2])
+                .sum();
+
+        Assert.assertEquals(999999L * 1000000L / 2, sum);
+    }
+
     private static List<Object[]> iteratorToList(Iterator<Object[]> iterator) {
         ArrayList<Object[]> result = new ArrayList<>();
 
@@ -0,0 +1,234 @@
+package trading.domain.challenges;
+
+import org.junit.Assert;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.DayCount;
+import trading.domain.ISIN;
+import trading.domain.account.TaxStrategies;
+import trading.domain.broker.CommissionStrategies;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+import trading.domain.simulation.MultiStockListDataSource;
+import trading.domain.simulation.SimulationDriverParameters;
+import trading.domain.simulation.SimulationDriverParametersBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OptimizingChallengeExecutorTest {
+    private static final int NUM_VALUES = 100;
+
+    @Test
+    public void geneticSearchFindsOptimumOfFineGrid() {
+        this.assertFindsOptimum(new GeneticSearchStrategy(11));
+    }
+
+    @Test
+    public void treeParzenSearchFindsOptimumOfFineGrid() {
+        this.assertFindsOptimum(new TreeParzenSearchStrategy(11));
+    }
+
+    @Test
+    public void adaptiveSearchBeatsRandomSearch() {
+        Assert.assertTrue(this.search(new GeneticSearchStrategy(5), 300) > this.search(new RandomSearchStrategy(5), 300));
+        Assert.assertTrue(this.search(new TreeParzenSearchStrategy(5), 300) > this.search(new RandomSearchStrategy(5), 300));
+    }
+
+    @Test
+    public void eachCandidateIsSimulatedOnce() {
+        Set<String> simulatedParameters = new HashSet<>();
+        Challenge challenge = this.createChallenge(Arrays.asList(0, 1, 2, 3, 4), Arrays.asList("a", "b", "c", "d"), simulatedParameters);
+
+        OptimizingChallengeExecutor optimizingChallengeExecutor = new OptimizingChallengeExecutor(challenge, new RandomSearchStrategy(3));
+        optimizingChallengeExecutor.setNumEvaluations(100);
+        optimizingChallengeExecutor.setBatchSize(4);
+        optimizingChallengeExecutor.setNumThreads(2);
+
+        OptimizationResult optimizationResult = optimizingChallengeExecutor.optimize(null);
+
+        Assert.assertEquals(20, optimizationResult.getNumEvaluations());
+        Assert.assertEquals(20, simulatedParameters.size());
+        Assert.assertNotNull(optimizationResult.getBestParameters());
+    }
+
+    @Test
+    public void eachCandidateIsRegisteredOnceAtSearchStrategy() {
+        Set<String> simulatedParameters = new HashSet<>();
+        Challenge challenge = this.createChallenge(Arrays.asList(0, 1, 2, 3, 4), Arrays.asList("a", "b", "c", "d"), simulatedParameters);
+
+        GeneticSearchStrategy geneticSearchStrategy = new GeneticSearchStrategy(3, 4);
+        List<String> registeredCandidates = new ArrayList<>();
+
+        SearchStrategy recordingSearchStrategy = new SearchStrategy() {
+            @Override
+            public void initialize(int[] numValues) {
+                geneticSearchStrategy.initialize(numValues);
+            }
+
+            @Override
+            public List<int[]> proposeCandidates(int numCandidates) {
+                return geneticSearchStrategy.proposeCandidates(numCandidates);
+            }
+
+            @Override
+            public void registerResult(int[] candidate, double score) {
+                registeredCandidates.add(Arrays.toString(candidate));
+                geneticSearchStrategy.registerResult(candidate, score);
+            }
+        };
+
+        OptimizingChallengeExecutor optimizingChallengeExecutor = new OptimizingChallengeExecutor(challenge, recordingSearchStrategy);
+        optimizingChallengeExecutor.setNumEvaluations(100);
+        optimizingChallengeExecutor.setBatchSize(4);
+        optimizingChallengeExecutor.setNumThreads(2);
+
+        OptimizationResult optimizationResult = optimizingChallengeExecutor.optimize(null);
+
+        Assert.assertEquals(optimizationResult.getNumEvaluations(), registeredCandidates.size());
+        Assert.assertEquals(registeredCandidates.size(), new HashSet<>(registeredCandidates).size());
+        Assert.assertEquals(simulatedParameters.size(), registeredCandidates.size());
+    }
+
+    @Test
+    public void optimizationFailsAfterFirstBatch_ifAllSimulationsFail() {
+        AtomicInteger numSimulations = new AtomicInteger();
+
+        Challenge challenge = new Challenge() {
+            @Override
+            public ParameterTupleSource getParametersSource() {
+                return new LazyParameterTupleSource(Arrays.asList(Arrays.asList(0, 1, 2, 3, 4), Arrays.asList("a", "b", "c", "d")));
+            }
+
+            @Override
+            public SimulationDriverParameters buildSimulationDriverParametersForRun(Object[] runParameters) {
+                numSimulations.incrementAndGet();
+                throw new RuntimeException("The simulation failed.");
+            }
+
+            @Override
+            public String[] getParameterNames() {
+                return new String[] { "first", "second" };
+            }
+        };
+
+        OptimizingChallengeExecutor optimizingChallengeExecutor = new OptimizingChallengeExecutor(challenge, new RandomSearchStrategy(3));
+        optimizingChallengeExecutor.setNumEvaluations(100);
+        optimizingChallengeExecutor.setBatchSize(1);
+        optimizingChallengeExecutor.setNumThreads(1);
+
+        try {
+            optimizingChallengeExecutor.optimize(null);
+        }
+        catch(RuntimeException ex) {
+            Assert.assertEquals("All simulations of the optimization failed.", ex.getMessage());
+            Assert.assertEquals("The simulation failed.", ex.getCause().getMessage());
+            Assert.assertEquals(1, numSimulations.get());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+
+    @Test
+    public void optimizationFailsIfParametersSourceNotLazy() {
+        Challenge challenge = new Challenge() {
+            @Override
+            public ParameterTupleSource getParametersSource() {
+                return new PreparedParameterTupleSource(new ArrayList<>());
+            }
+
+            @Override
+            public SimulationDriverParameters buildSimulationDriverParametersForRun(Object[] runParameters) {
+                return null;
+            }
+
+            @Override
+            public String[] getParameterNames() {
+                return new String[0];
+            }
+        };
+
+        try {
+            new OptimizingChallengeExecutor(challenge, new RandomSearchStrategy(1)).optimize(null);
+        }
+        catch(RuntimeException ex) {
+            Assert.assertEquals("The optimization requires a lazy parameter tuple source.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+
+    private void assertFindsOptimum(SearchStrategy searchStrategy) {
+        Assert.assertTrue(this.search(searchStrategy, 400) > -10.0);
+    }
+
+    /**
+     * Searches the maximum of a smooth function over a 100 x 100 x 100 grid and returns the best score found.
+     */
+    private double search(SearchStrategy searchStrategy, int numEvaluations) {
+        searchStrategy.initialize(new int[] { NUM_VALUES, NUM_VALUES, NUM_VALUES });
+
+        double bestScore = Double.NEGATIVE_INFINITY;
+        int evaluationIndex = 0;
+
+        while(evaluationIndex < numEvaluations) {
+            for(int[] candidate: searchStrategy.proposeCandidates(8)) {
+                double score = -Math.pow(candidate[0] - 70, 2) - Math.pow(candidate[1] - 25, 2) - Math.pow(candidate[2] - 90, 2);
+                searchStrategy.registerResult(candidate, score);
+                bestScore = Math.max(bestScore, score);
+                evaluationIndex++;
+            }
+        }
+
+        return bestScore;
+    }
+
+    private Challenge createChallenge(List<Object> firstValues, List<Object> secondValues, Set<String> simulatedParameters) {
+        List<MarketPriceSnapshot> marketPriceSnapshots = new ArrayList<>();
+        DateSequenceGenerator dateSequenceGenerator = new DateSequenceGenerator(LocalDate.of(2017, 6, 1));
+
+        for(int dayIndex = 0; dayIndex < 10; dayIndex++) {
+            marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                    .setDate(dateSequenceGenerator.nextDate())
+                    .setMarketPrice(ISIN.MunichRe, new Amount(100.0 + dayIndex))
+                    .build());
+        }
+
+        return new Challenge() {
+            @Override
+            public ParameterTupleSource getParametersSource() {
+                return new LazyParameterTupleSource(Arrays.asList(firstValues, secondValues));
+            }
+
+            @Override
+            public SimulationDriverParameters buildSimulationDriverParametersForRun(Object[] runParameters) {
+                synchronized(simulatedParameters) {
+                    Assert.assertTrue(simulatedParameters.add(Arrays.toString(runParameters)));
+                }
+
+                SimulationDriverParametersBuilder parametersBuilder = new SimulationDriverParametersBuilder();
+                parametersBuilder.setSimulationMarketDataSource(new MultiStockListDataSource(marketPriceSnapshots));
+                parametersBuilder.setHistoryDuration(new DayCount(2));
+                parametersBuilder.setSimulationDuration(new DayCount(8));
+                parametersBuilder.setSeedCapital(new Amount(10000.0));
+                parametersBuilder.setTradingStrategyFactory(context -> () -> { });
+                parametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
+                parametersBuilder.setTaxStrategy(TaxStrategies.getDefaultTaxStrategy());
+                return parametersBuilder.build();
+            }
+
+            @Override
+            public String[] getParameterNames() {
+                return new String[] { "first", "second" };
+            }
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package trading.domain.indicator;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.DayCount;
+import trading.domain.ISIN;
+import trading.domain.market.HistoricalMarketData;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class IndicatorColumnCacheTest {
+    private static final IndicatorDefinition MAXIMUM_2 = new IndicatorDefinition(IndicatorType.RollingMaximum, new DayCount(2));
+    private static final IndicatorDefinition MINIMUM_2 = new IndicatorDefinition(IndicatorType.RollingMinimum, new DayCount(2));
+
+    private HistoricalMarketDataSet historicalMarketDataSet;
+
+    @Before
+    public void before() {
+        List<LocalDate> dates = new DateSequenceGenerator(LocalDate.of(2018, 1, 1)).nextDates(4);
+        double[] munichReCloses = new double[] { 1000.0, 1200.0, 1100.0, 1000.0 };
+
+        List<MarketPriceSnapshot> marketPriceSnapshots = new ArrayList<>();
+
+        for(int dayIndex = 0; dayIndex < dates.size(); dayIndex++) {
+            MarketPriceSnapshotBuilder marketPriceSnapshotBuilder = new MarketPriceSnapshotBuilder()
+                    .setMarketPrice(ISIN.MunichRe, new Amount(munichReCloses[dayIndex]))
+                    .setDate(dates.get(dayIndex));
+
+            if(dayIndex >= 2) {
+                marketPriceSnapshotBuilder.setMarketPrice(ISIN.Allianz, new Amount(500.0 + dayIndex));
+            }
+
+            marketPriceSnapshots.add(marketPriceSnapshotBuilder.build());
+        }
+
+        this.historicalMarketDataSet = HistoricalMarketDataSet.of(marketPriceSnapshots);
+    }
+
+    @Test
+    public void calculatesColumnForCompleteStockHistory() {
+        IndicatorColumnCache indicatorColumnCache = new IndicatorColumnCache(this.historicalMarketDataSet, 100);
+        IndicatorColumn column = indicatorColumnCache.getColumn(ISIN.MunichRe, MAXIMUM_2);
+
+        Assert.assertEquals(4, column.size());
+        Assert.assertFalse(column.isReady(0));
+        Assert.assertEquals(1200.0, column.getValue(1), 0.0);
+        Assert.assertEquals(1200.0, column.getValue(2), 0.0);
+        Assert.assertEquals(1100.0, column.getValue(3), 0.0);
+    }
+
+    @Test
+    public void columnIsIndexedByStockHistory_ifStockListedLater() {
+        IndicatorColumnCache indicatorColumnCache = new IndicatorColumnCache(this.historicalMarketDataSet, 100);
+        IndicatorColumn column = indicatorColumnCache.getColumn(ISIN.Allianz, MAXIMUM_2);
+
+        Assert.assertEquals(2, column.size());
+        Assert.assertEquals(503.0, column.getValue(1), 0.0);
+    }
+
+    @Test
+    public void returnsSameColumn_forSameKey() {
+        IndicatorColumnCache indicatorColumnCache = new IndicatorColumnCache(this.historicalMarketDataSet, 100);
+
+        IndicatorColumn first = indicatorColumnCache.getColumn(ISIN.MunichRe, MAXIMUM_2);
+        IndicatorColumn second = indicatorColumnCache.getColumn(ISIN.MunichRe, new IndicatorDefinition(IndicatorType.RollingMaximum, new DayCount(2)));
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, indicatorColumnCache.getNumMisses());
+        Assert.assertEquals(1, indicatorColumnCache.getNumHits());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedColumn_ifMaxNumValuesExceeded() {
+        IndicatorColumnCache indicatorColumnCache = new IndicatorColumnCache(this.historicalMarketDataSet, 8);
+
+        IndicatorColumn maximumColumn = indicatorColumnCache.getColumn(ISIN.MunichRe, MAXIMUM_2);
+        indicatorColumnCache.getColumn(ISIN.MunichRe, MINIMUM_2);
+        indicatorColumnCache.getColumn(ISIN.MunichRe, MAXIMUM_2);
+        indicatorColumnCache.getColumn(ISIN.Allianz, MAXIMUM_2);
+
+        Assert.assertEquals(2, indicatorColumnCache.getNumColumns());
+        Assert.assertEquals(6, indicatorColumnCache.getNumValues());
+        Assert.assertSame(maximumColumn, indicatorColumnCache.getColumn(ISIN.MunichRe, MAXIMUM_2));
+    }
+
+    @Test
+    public void coversViewsOnCachedMarketDataSetOnly() {
+        IndicatorColumnCache indicatorColumnCache = new IndicatorColumnCache(this.historicalMarketDataSet, 100);
+
+        Assert.assertTrue(indicatorColumnCache.covers(this.historicalMarketDataSet.createView(1)));
+        Assert.assertFalse(indicatorColumnCache.covers(new HistoricalMarketData(ISIN.MunichRe, new Amount(1000.0), LocalDate.of(2018, 1, 1))));
+    }
+}
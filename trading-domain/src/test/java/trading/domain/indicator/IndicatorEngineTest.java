@@ -0,0 +1,119 @@
+package trading.domain.indicator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.DayCount;
+import trading.domain.ISIN;
+import trading.domain.market.HistoricalMarketData;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class IndicatorEngineTest {
+    private static final IndicatorDefinition MAXIMUM_3 = new IndicatorDefinition(IndicatorType.RollingMaximum, new DayCount(3));
+
+    @Test
+    public void returnsSameEngine_forSameMarketData() {
+        HistoricalMarketData historicalMarketData = new HistoricalMarketData(ISIN.MunichRe, new Amount(100.0), LocalDate.of(2018, 5, 4));
+
+        Assert.assertSame(IndicatorEngine.of(historicalMarketData), IndicatorEngine.of(historicalMarketData));
+        Assert.assertEquals(1, historicalMarketData.getClosedDayListeners().size());
+    }
+
+    @Test
+    public void deduplicatesEqualDefinitions() {
+        HistoricalMarketData historicalMarketData = new HistoricalMarketData(ISIN.MunichRe, new Amount(100.0), LocalDate.of(2018, 5, 4));
+        IndicatorEngine indicatorEngine = IndicatorEngine.of(historicalMarketData);
+
+        Indicator first = indicatorEngine.subscribe(ISIN.MunichRe, MAXIMUM_3);
+        Indicator second = indicatorEngine.subscribe(ISIN.MunichRe, new IndicatorDefinition(IndicatorType.RollingMaximum, new DayCount(3)));
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, indicatorEngine.getNumIndicators());
+    }
+
+    /**
+     * Views of one market data set lie at different days, so each view has its own engine with indicators
+     * of its own day; sharing across views is done by the indicator column cache.
+     */
+    @Test
+    public void viewsOfSameMarketDataSetHaveOwnEngines() {
+        List<LocalDate> dates = new DateSequenceGenerator(LocalDate.of(2018, 5, 4)).nextDates(5);
+        double[] closes = new double[] { 100.0, 120.0, 110.0, 90.0, 80.0 };
+        List<MarketPriceSnapshot> marketPriceSnapshots = new ArrayList<>();
+
+        for(int dayIndex = 0; dayIndex < closes.length; dayIndex++) {
+            marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                    .setMarketPrice(ISIN.MunichRe, new Amount(closes[dayIndex]))
+                    .setDate(dates.get(dayIndex))
+                    .build());
+        }
+
+        HistoricalMarketDataSet historicalMarketDataSet = HistoricalMarketDataSet.of(marketPriceSnapshots);
+        HistoricalMarketData firstView = historicalMarketDataSet.createView(2);
+        HistoricalMarketData secondView = historicalMarketDataSet.createView(4);
+
+        Indicator firstIndicator = IndicatorEngine.of(firstView).subscribe(ISIN.MunichRe, MAXIMUM_3);
+        Indicator secondIndicator = IndicatorEngine.of(secondView).subscribe(ISIN.MunichRe, MAXIMUM_3);
+
+        Assert.assertNotSame(IndicatorEngine.of(firstView), IndicatorEngine.of(secondView));
+        Assert.assertEquals(120.0, firstIndicator.getValue(), 0.0);
+        Assert.assertEquals(110.0, secondIndicator.getValue(), 0.0);
+
+        firstView.registerClosedDay(marketPriceSnapshots.get(3));
+
+        Assert.assertEquals(120.0, firstIndicator.getValue(), 0.0);
+        Assert.assertEquals(110.0, secondIndicator.getValue(), 0.0);
+        Assert.assertSame(firstIndicator, IndicatorEngine.of(firstView).subscribe(ISIN.MunichRe, MAXIMUM_3));
+    }
+
+    @Test
+    public void updatesIndicators_ifDayClosed() {
+        HistoricalMarketData historicalMarketData = new HistoricalMarketData(ISIN.MunichRe, new Amount(100.0), LocalDate.of(2018, 5, 4));
+        Indicator indicator = IndicatorEngine.of(historicalMarketData).subscribe(ISIN.MunichRe, MAXIMUM_3);
+
+        historicalMarketData.registerClosedDay(new Amount(120.0), LocalDate.of(2018, 5, 7));
+        Assert.assertFalse(indicator.isReady());
+
+        historicalMarketData.registerClosedDay(new Amount(110.0), LocalDate.of(2018, 5, 8));
+        Assert.assertEquals(120.0, indicator.getValue(), 0.0);
+
+        historicalMarketData.registerClosedDay(new Amount(90.0), LocalDate.of(2018, 5, 9));
+        historicalMarketData.registerClosedDay(new Amount(80.0), LocalDate.of(2018, 5, 10));
+        Assert.assertEquals(110.0, indicator.getValue(), 0.0);
+    }
+
+    @Test
+    public void catchesUpWithHistory_ifSubscribedLater() {
+        HistoricalMarketData historicalMarketData = new HistoricalMarketData(ISIN.MunichRe, new Amount(100.0), LocalDate.of(2018, 5, 4));
+        historicalMarketData.registerClosedDay(new Amount(120.0), LocalDate.of(2018, 5, 7));
+        historicalMarketData.registerClosedDay(new Amount(110.0), LocalDate.of(2018, 5, 8));
+        historicalMarketData.registerClosedDay(new Amount(90.0), LocalDate.of(2018, 5, 9));
+
+        Indicator indicator = IndicatorEngine.of(historicalMarketData).subscribe(ISIN.MunichRe, MAXIMUM_3);
+
+        Assert.assertEquals(120.0, indicator.getValue(), 0.0);
+    }
+
+    @Test
+    public void startsUpdating_ifStockListedLater() {
+        HistoricalMarketData historicalMarketData = new HistoricalMarketData(ISIN.MunichRe, new Amount(100.0), LocalDate.of(2018, 5, 4));
+        Indicator indicator = IndicatorEngine.of(historicalMarketData).subscribe(ISIN.Allianz, MAXIMUM_3);
+
+        for(int day = 7; day <= 9; day++) {
+            historicalMarketData.registerClosedDay(new MarketPriceSnapshotBuilder()
+                    .setMarketPrice(ISIN.MunichRe, new Amount(100.0))
+                    .setMarketPrice(ISIN.Allianz, new Amount(50.0 + day))
+                    .setDate(LocalDate.of(2018, 5, day))
+                    .build());
+        }
+
+        Assert.assertEquals(59.0, indicator.getValue(), 0.0);
+    }
+}
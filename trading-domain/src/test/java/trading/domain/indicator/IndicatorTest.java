@@ -0,0 +1,176 @@
+package trading.domain.indicator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import trading.domain.DayCount;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class IndicatorTest {
+    private static double[] createCloses() {
+        Random random = new Random(42);
+        double[] closes = new double[200];
+        double close = 100.0;
+
+        for(int dayIndex = 0; dayIndex < closes.length; dayIndex++) {
+            close = close * (1.0 + (random.nextDouble() - 0.5) * 0.1);
+            closes[dayIndex] = close;
+        }
+
+        return closes;
+    }
+
+    private static Indicator createIndicator(IndicatorType indicatorType, int period) {
+        return new IndicatorDefinition(indicatorType, new DayCount(period)).createIndicator();
+    }
+
+    @Test
+    public void simpleMovingAverage_equalsWindowAverage() {
+        double[] closes = createCloses();
+        Indicator indicator = createIndicator(IndicatorType.SimpleMovingAverage, 10);
+
+        for(int dayIndex = 0; dayIndex < closes.length; dayIndex++) {
+            indicator.update(closes[dayIndex]);
+
+            if(dayIndex < 9) {
+                Assert.assertFalse(indicator.isReady());
+                continue;
+            }
+
+            double expectedAverage = Arrays.stream(closes, dayIndex - 9, dayIndex + 1).average().getAsDouble();
+            Assert.assertEquals(expectedAverage, indicator.getValue(), 0.000001);
+        }
+    }
+
+    @Test
+    public void exponentialMovingAverage_isSeededWithSimpleAverage() {
+        Indicator indicator = createIndicator(IndicatorType.ExponentialMovingAverage, 3);
+
+        indicator.update(1.0);
+        indicator.update(2.0);
+        Assert.assertFalse(indicator.isReady());
+
+        indicator.update(3.0);
+        Assert.assertEquals(2.0, indicator.getValue(), 0.000001);
+
+        indicator.update(6.0);
+        Assert.assertEquals(4.0, indicator.getValue(), 0.000001);
+    }
+
+    @Test
+    public void rollingMaximum_equalsWindowMaximum() {
+        double[] closes = createCloses();
+        Indicator indicator = createIndicator(IndicatorType.RollingMaximum, 7);
+
+        for(int dayIndex = 0; dayIndex < closes.length; dayIndex++) {
+            indicator.update(closes[dayIndex]);
+
+            if(dayIndex >= 6) {
+                double expectedMaximum = Arrays.stream(closes, dayIndex - 6, dayIndex + 1).max().getAsDouble();
+                Assert.assertEquals(expectedMaximum, indicator.getValue(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void rollingMinimum_equalsWindowMinimum() {
+        double[] closes = createCloses();
+        Indicator indicator = createIndicator(IndicatorType.RollingMinimum, 7);
+
+        for(int dayIndex = 0; dayIndex < closes.length; dayIndex++) {
+            indicator.update(closes[dayIndex]);
+
+            if(dayIndex >= 6) {
+                double expectedMinimum = Arrays.stream(closes, dayIndex - 6, dayIndex + 1).min().getAsDouble();
+                Assert.assertEquals(expectedMinimum, indicator.getValue(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void rollingMaximum_forDecliningPrices() {
+        Indicator indicator = createIndicator(IndicatorType.RollingMaximum, 3);
+
+        indicator.update(5.0);
+        indicator.update(4.0);
+        indicator.update(3.0);
+        Assert.assertEquals(5.0, indicator.getValue(), 0.0);
+
+        indicator.update(2.0);
+        Assert.assertEquals(4.0, indicator.getValue(), 0.0);
+
+        indicator.update(1.0);
+        Assert.assertEquals(3.0, indicator.getValue(), 0.0);
+    }
+
+    @Test
+    public void rateOfChange_comparesWithClosePeriodDaysBefore() {
+        Indicator indicator = createIndicator(IndicatorType.RateOfChange, 2);
+
+        indicator.update(100.0);
+        indicator.update(120.0);
+        Assert.assertFalse(indicator.isReady());
+
+        indicator.update(110.0);
+        Assert.assertEquals(0.1, indicator.getValue(), 0.000001);
+
+        indicator.update(90.0);
+        Assert.assertEquals(-0.25, indicator.getValue(), 0.000001);
+    }
+
+    @Test
+    public void relativeStrengthIndex_usesWildersSmoothing() {
+        Indicator indicator = createIndicator(IndicatorType.RelativeStrengthIndex, 2);
+
+        indicator.update(10.0);
+        indicator.update(12.0);
+        Assert.assertFalse(indicator.isReady());
+
+        indicator.update(11.0);
+        Assert.assertEquals(100.0 - 100.0 / (1.0 + 2.0), indicator.getValue(), 0.000001);
+
+        indicator.update(14.0);
+        Assert.assertEquals(100.0 - 100.0 / (1.0 + 2.0 / 0.25), indicator.getValue(), 0.000001);
+    }
+
+    @Test
+    public void relativeStrengthIndex_is100_ifPricesOnlyRise() {
+        Indicator indicator = createIndicator(IndicatorType.RelativeStrengthIndex, 2);
+
+        indicator.update(10.0);
+        indicator.update(11.0);
+        indicator.update(12.0);
+
+        Assert.assertEquals(100.0, indicator.getValue(), 0.0);
+    }
+
+    @Test
+    public void getValueFails_ifNotReady() {
+        Indicator indicator = createIndicator(IndicatorType.SimpleMovingAverage, 2);
+        indicator.update(10.0);
+
+        try {
+            indicator.getValue();
+        }
+        catch(RuntimeException e) {
+            Assert.assertEquals("The indicator SimpleMovingAverage(2) is not ready yet.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+
+    @Test
+    public void definitionFails_ifPeriodNotPositive() {
+        try {
+            new IndicatorDefinition(IndicatorType.SimpleMovingAverage, new DayCount(0));
+        }
+        catch(RuntimeException e) {
+            Assert.assertEquals("The period must be positive.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+}
@@ -0,0 +1,174 @@
+package trading.domain.market;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import trading.domain.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class HistoricalMarketDataSetTest {
+    private List<LocalDate> dates;
+    private List<MarketPriceSnapshot> marketPriceSnapshots;
+    private HistoricalMarketDataSet historicalMarketDataSet;
+
+    @Before
+    public void before() {
+        this.dates = new DateSequenceGenerator(LocalDate.of(2018, 1, 1)).nextDates(4);
+
+        this.marketPriceSnapshots = new ArrayList<>();
+
+        this.marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(1000.0))
+                .setDate(this.dates.get(0))
+                .build());
+
+        this.marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(1200.0))
+                .setDate(this.dates.get(1))
+                .build());
+
+        this.marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(1100.0))
+                .setMarketPrice(ISIN.Allianz, new Amount(500.0))
+                .setDate(this.dates.get(2))
+                .build());
+
+        this.marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(1300.0))
+                .setMarketPrice(ISIN.Allianz, new Amount(550.0))
+                .setDate(this.dates.get(3))
+                .build());
+
+        this.historicalMarketDataSet = HistoricalMarketDataSet.of(this.marketPriceSnapshots);
+    }
+
+    private MarketPriceSnapshot snapshot(int dayIndex) {
+        return this.marketPriceSnapshots.get(dayIndex);
+    }
+
+    @Test
+    public void viewExposesDaysUpToGivenDate() {
+        HistoricalMarketData historicalMarketData = this.historicalMarketDataSet.createView(this.dates.get(1));
+
+        Assert.assertEquals(new DayCount(2), historicalMarketData.getDuration());
+        Assert.assertEquals(this.dates.get(1), historicalMarketData.getDate());
+        Assert.assertEquals(new Amount(1200.0), historicalMarketData.getStockData(ISIN.MunichRe).getLastClosingMarketPrice());
+        Assert.assertEquals(1200.0, historicalMarketData.getStockData(ISIN.MunichRe).maximumClose(2), 0.0);
+        Assert.assertEquals(1, historicalMarketData.getStockData(ISIN.MunichRe).getRisingDaysInSequence());
+        Assert.assertEquals(new DayCount(1), historicalMarketData.countDaysAfter(this.dates.get(0)));
+    }
+
+    @Test
+    public void viewDoesNotExposeStocksListedLater() {
+        HistoricalMarketData historicalMarketData = this.historicalMarketDataSet.createView(this.dates.get(1));
+
+        Assert.assertFalse(historicalMarketData.getAvailableStocks().contains(ISIN.Allianz));
+    }
+
+    @Test
+    public void viewDoesNotExposeFollowingDays() {
+        HistoricalMarketData historicalMarketData = this.historicalMarketDataSet.createView(this.dates.get(1));
+
+        try {
+            historicalMarketData.countDaysAfter(this.dates.get(2));
+        }
+        catch(RuntimeException e) {
+            Assert.assertEquals("The given date lies after the market data history time line.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+
+    @Test
+    public void viewAdvances_ifNextDayRegistered() {
+        HistoricalMarketData historicalMarketData = this.historicalMarketDataSet.createView(this.dates.get(1));
+
+        historicalMarketData.registerClosedDay(this.snapshot(2));
+        historicalMarketData.registerClosedDay(this.snapshot(3));
+
+        HistoricalStockData munichReStockData = historicalMarketData.getStockData(ISIN.MunichRe);
+        HistoricalStockData allianzStockData = historicalMarketData.getStockData(ISIN.Allianz);
+
+        Assert.assertEquals(new DayCount(4), historicalMarketData.getDuration());
+        Assert.assertEquals(new Amount(1300.0), munichReStockData.getLastClosingMarketPrice());
+        Assert.assertEquals(new Amount(1200.0), munichReStockData.getClosingMarketPrice(new DayCount(3)));
+        Assert.assertEquals(new DayCount(2), allianzStockData.getDuration());
+        Assert.assertEquals(new Amount(550.0), historicalMarketData.getLastClosingMarketPrices().getMarketPrice(ISIN.Allianz));
+    }
+
+    @Test
+    public void viewsAdvanceIndependently() {
+        HistoricalMarketData firstHistoricalMarketData = this.historicalMarketDataSet.createView(this.dates.get(0));
+        HistoricalMarketData secondHistoricalMarketData = this.historicalMarketDataSet.createView(this.dates.get(0));
+
+        firstHistoricalMarketData.registerClosedDay(this.snapshot(1));
+
+        Assert.assertEquals(new Amount(1200.0), firstHistoricalMarketData.getStockData(ISIN.MunichRe).getLastClosingMarketPrice());
+        Assert.assertEquals(new Amount(1000.0), secondHistoricalMarketData.getStockData(ISIN.MunichRe).getLastClosingMarketPrice());
+    }
+
+    @Test
+    public void viewAdvanceFails_ifDayOfDataSetSkipped() {
+        HistoricalMarketData historicalMarketData = this.historicalMarketDataSet.createView(this.dates.get(0));
+
+        try {
+            historicalMarketData.registerClosedDay(this.snapshot(2));
+        }
+        catch(DomainException e) {
+            Assert.assertEquals("The specified date must equal the date of the next day of the market data set.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+
+    @Test
+    public void viewAdvanceFails_ifMarketPricesDiffer() {
+        HistoricalMarketData historicalMarketData = this.historicalMarketDataSet.createView(this.dates.get(0));
+
+        try {
+            historicalMarketData.registerClosedDay(new MarketPriceSnapshotBuilder()
+                    .setMarketPrice(ISIN.MunichRe, new Amount(1250.0))
+                    .setDate(this.dates.get(1))
+                    .build());
+        }
+        catch(DomainException e) {
+            Assert.assertEquals("The specified market prices must equal the market prices of the next day of the market data set.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+
+    @Test
+    public void viewAdvanceFails_ifDataSetExhausted() {
+        HistoricalMarketData historicalMarketData = this.historicalMarketDataSet.createView(this.dates.get(3));
+
+        try {
+            historicalMarketData.registerClosedDay(new MarketPriceSnapshotBuilder().setDate(this.dates.get(3).plusDays(1)).build());
+        }
+        catch(DomainException e) {
+            Assert.assertEquals("The market data set does not contain any further days.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+
+    @Test
+    public void viewCreationFails_ifDateUnknown() {
+        try {
+            this.historicalMarketDataSet.createView(this.dates.get(3).plusDays(1));
+        }
+        catch(RuntimeException e) {
+            Assert.assertEquals("The given date is not contained in the market data set.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+}
@@ -129,6 +129,43 @@ public class HistoricalMarketDataTest {
         Assert.assertTrue(availableStocks.contains(ISIN.Allianz));
     }
 
+    @Test
+    public void retrieveStockDataByInstrumentIndex() {
+        MarketPriceSnapshot firstMarketPriceSnapshot = new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(1000.0))
+                .setDate(this.dateSequenceGenerator.nextDate())
+                .build();
+
+        MarketPriceSnapshot secondMarketPriceSnapshot = new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(1100.0))
+                .setMarketPrice(ISIN.Allianz, new Amount(500.0))
+                .setDate(this.dateSequenceGenerator.nextDate())
+                .build();
+
+        HistoricalMarketData historicalMarketData = new HistoricalMarketData(firstMarketPriceSnapshot);
+        historicalMarketData.registerClosedDay(secondMarketPriceSnapshot);
+
+        InstrumentRegistry instrumentRegistry = historicalMarketData.getInstrumentRegistry();
+
+        Assert.assertEquals(2, instrumentRegistry.size());
+        Assert.assertSame(historicalMarketData.getStockData(ISIN.MunichRe), historicalMarketData.getStockData(instrumentRegistry.indexOf(ISIN.MunichRe)));
+        Assert.assertSame(historicalMarketData.getStockData(ISIN.Allianz), historicalMarketData.getStockData(instrumentRegistry.indexOf(ISIN.Allianz)));
+    }
+
+    @Test
+    public void retrievalOfStockDataByInstrumentIndexFailsForUnknownIndex() {
+        HistoricalMarketData historicalMarketData = new HistoricalMarketData(ISIN.MunichRe, new Amount(1000.0), LocalDate.now());
+
+        try {
+            historicalMarketData.getStockData(1);
+        }
+        catch(UnknownStockException ex) {
+            return;
+        }
+
+        Assert.fail("UnknownStockException expected.");
+    }
+
     @Test
     public void marketPriceUpdateFailsIfAvailableStockMissing() {
         MarketPriceSnapshot firstMarketPriceSnapshot = new MarketPriceSnapshotBuilder()
@@ -518,6 +555,33 @@ public class HistoricalMarketDataTest {
         Assert.fail("RuntimeException expected.");
     }
 
+    @Test
+    public void countDaysAfter_returnsDifference_ifCalledForDayIndex() {
+        HistoricalMarketData historicalMarketData = new HistoricalMarketData(ISIN.MunichRe, new Amount(100.0), LocalDate.of(2018, 5, 4));
+        historicalMarketData.registerClosedDay(new Amount(110.0), LocalDate.of(2018, 5, 7));
+        historicalMarketData.registerClosedDay(new Amount(110.0), LocalDate.of(2018, 5, 8));
+
+        Assert.assertEquals(2, historicalMarketData.getDayIndex());
+        Assert.assertEquals(new DayCount(2), historicalMarketData.countDaysAfter(0));
+        Assert.assertEquals(new DayCount(0), historicalMarketData.countDaysAfter(2));
+        Assert.assertEquals(1, historicalMarketData.getTradingCalendar().getDayIndex(LocalDate.of(2018, 5, 7)));
+    }
+
+    @Test
+    public void countDaysAfter_fails_ifCalledForDayIndexAfterHistory() {
+        HistoricalMarketData historicalMarketData = new HistoricalMarketData(ISIN.MunichRe, new Amount(100.0), LocalDate.of(2018, 5, 4));
+
+        try {
+            historicalMarketData.countDaysAfter(1);
+        }
+        catch(RuntimeException e) {
+            Assert.assertEquals("The given day index (1) lies outside the market data history time line.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+
     // Multi initialization
 
     @Test
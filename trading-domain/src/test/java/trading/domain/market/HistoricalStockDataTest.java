@@ -109,6 +109,54 @@ public class HistoricalStockDataTest {
         Assert.assertEquals(new Amount(1000.0), closingMarketPrice);
     }
 
+    // closeAt / lastClose
+
+    @Test
+    public void lastClose_returnsInitialClosingMarketPrice() {
+        Assert.assertEquals(1000.0, historicalStockData.lastClose(), 0.0);
+    }
+
+    @Test
+    public void lastClose_returnsPushedClosingMarketPrice() {
+        historicalStockData.registerClosedDay(new Amount(1100.0));
+        Assert.assertEquals(1100.0, historicalStockData.lastClose(), 0.0);
+    }
+
+    @Test
+    public void closeAt_returnsClosingMarketPriceOfGivenDay() {
+        historicalStockData.registerClosedDay(new Amount(1100.0));
+        historicalStockData.registerClosedDay(new Amount(1200.0));
+
+        Assert.assertEquals(1000.0, historicalStockData.closeAt(0), 0.0);
+        Assert.assertEquals(1100.0, historicalStockData.closeAt(1), 0.0);
+        Assert.assertEquals(1200.0, historicalStockData.closeAt(2), 0.0);
+    }
+
+    @Test
+    public void closeAt_returnsClosingMarketPrices_afterStorageGrown() {
+        for(int dayIndex = 1; dayIndex < 1000; dayIndex++) {
+            historicalStockData.registerClosedDay(new Amount(1000.0 + dayIndex));
+        }
+
+        Assert.assertEquals(1000.0, historicalStockData.closeAt(0), 0.0);
+        Assert.assertEquals(1500.0, historicalStockData.closeAt(500), 0.0);
+        Assert.assertEquals(1999.0, historicalStockData.lastClose(), 0.0);
+        Assert.assertEquals(new Amount(1999.0), historicalStockData.getMaximumClosingMarketPrice(new DayCount(1000)));
+    }
+
+    @Test
+    public void closeAt_fails_ifDayIndexExceedsHistory() {
+        try {
+            historicalStockData.closeAt(1);
+        }
+        catch(RuntimeException e) {
+            Assert.assertEquals("The given day index (1) lies outside the history (1 days).", e.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+
     // numRisingDaysInSequence
 
     @Test
@@ -267,6 +315,31 @@ public class HistoricalStockDataTest {
         Assert.assertEquals(new Amount(900.0), maximumClosingPrice);
     }
 
+    @Test
+    public void maximumClose_returnsMaximumOfLookBehindPeriod() {
+        historicalStockData.registerClosedDay(new Amount(1200.0));
+        historicalStockData.registerClosedDay(new Amount(900.0));
+        historicalStockData.registerClosedDay(new Amount(1100.0));
+
+        Assert.assertEquals(1100.0, historicalStockData.maximumClose(1), 0.0);
+        Assert.assertEquals(1100.0, historicalStockData.maximumClose(2), 0.0);
+        Assert.assertEquals(1200.0, historicalStockData.maximumClose(3), 0.0);
+        Assert.assertEquals(1200.0, historicalStockData.maximumClose(4), 0.0);
+    }
+
+    @Test
+    public void maximumClose_fails_ifLookBehindExceedsHistory() {
+        try {
+            historicalStockData.maximumClose(2);
+        }
+        catch(RuntimeException e) {
+            Assert.assertEquals("The given look behind (2) lies outside the history (1 days).", e.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+
     // duration
 
     @Test
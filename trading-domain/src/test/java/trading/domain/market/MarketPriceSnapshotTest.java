@@ -4,8 +4,10 @@ import org.junit.Assert;
 import org.junit.Test;
 import trading.domain.Amount;
 import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
 
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -54,6 +56,37 @@ public class MarketPriceSnapshotTest {
         Assert.assertEquals(2, isins.size());
     }
 
+    @Test
+    public void returnedISINsAreKept() {
+        MarketPriceSnapshot snapshot = new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(1000.0))
+                .setDate(LocalDate.now())
+                .build();
+
+        Assert.assertSame(snapshot.getISINs(), snapshot.getISINs());
+    }
+
+    @Test
+    public void pricesCanBeIteratedByInstrumentIndex() {
+        InstrumentRegistry universe = new InstrumentRegistry();
+        universe.register(ISIN.Allianz);
+
+        MarketPriceSnapshot snapshot = new MarketPriceSnapshotBuilder(universe)
+                .setMarketPrice(ISIN.MunichRe, new Amount(1000.0))
+                .setMarketPrice(ISIN.DeutscheBank, new Amount(12.0))
+                .setDate(LocalDate.now())
+                .build();
+
+        MarketPriceSnapshot projection = snapshot.project(ISIN.DeutscheBank);
+
+        Assert.assertFalse(snapshot.hasPrice(universe.indexOf(ISIN.Allianz)));
+        Assert.assertTrue(snapshot.hasPrice(universe.indexOf(ISIN.MunichRe)));
+        Assert.assertTrue(snapshot.hasPrice(universe.indexOf(ISIN.DeutscheBank)));
+        Assert.assertFalse(snapshot.hasPrice(universe.size()));
+        Assert.assertFalse(projection.hasPrice(universe.indexOf(ISIN.MunichRe)));
+        Assert.assertTrue(projection.hasPrice(universe.indexOf(ISIN.DeutscheBank)));
+    }
+
     @Test
     public void initializationFails_ifDateNotSpecified() {
         LocalDate date = null;
@@ -100,4 +133,92 @@ public class MarketPriceSnapshotTest {
 
         Assert.assertEquals(2, marketPriceSnapshot.size());
     }
+
+    @Test
+    public void snapshotsBuiltForSharedUniverse_shareInstrumentIndexes() {
+        InstrumentRegistry universe = new InstrumentRegistry();
+
+        MarketPriceSnapshot firstSnapshot = new MarketPriceSnapshotBuilder(universe)
+                .setMarketPrice(ISIN.MunichRe, new Amount(1000.0))
+                .setDate(LocalDate.of(2018, 4, 3))
+                .build();
+
+        MarketPriceSnapshot secondSnapshot = new MarketPriceSnapshotBuilder(universe)
+                .setMarketPrice(ISIN.MunichRe, new Amount(1100.0))
+                .setMarketPrice(ISIN.Allianz, new Amount(500.0))
+                .setDate(LocalDate.of(2018, 4, 4))
+                .build();
+
+        int munichReIndex = universe.indexOf(ISIN.MunichRe);
+        int allianzIndex = universe.indexOf(ISIN.Allianz);
+
+        Assert.assertSame(universe, secondSnapshot.getUniverse());
+        Assert.assertEquals(1000.0, firstSnapshot.getPrice(munichReIndex), 0.0);
+        Assert.assertEquals(1100.0, secondSnapshot.getPrice(munichReIndex), 0.0);
+        Assert.assertEquals(500.0, secondSnapshot.getPrice(allianzIndex), 0.0);
+        Assert.assertEquals(1, firstSnapshot.size());
+        Assert.assertFalse(firstSnapshot.getISINs().contains(ISIN.Allianz));
+    }
+
+    @Test
+    public void retrievalOfMarketPriceByInstrumentIndexFails_ifStockHasNoPrice() {
+        InstrumentRegistry universe = new InstrumentRegistry();
+        universe.register(ISIN.Allianz);
+
+        MarketPriceSnapshot snapshot = new MarketPriceSnapshotBuilder(universe)
+                .setMarketPrice(ISIN.MunichRe, new Amount(1000.0))
+                .setDate(LocalDate.now())
+                .build();
+
+        try {
+            snapshot.getPrice(universe.indexOf(ISIN.Allianz));
+        }
+        catch(UnknownStockException ex) {
+            return;
+        }
+
+        Assert.fail("UnknownStockException expected.");
+    }
+
+    @Test
+    public void projectionOnlyContainsGivenStock() {
+        MarketPriceSnapshot snapshot = new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(1000.0))
+                .setMarketPrice(ISIN.Allianz, new Amount(500.0))
+                .setDate(LocalDate.of(2018, 4, 3))
+                .build();
+
+        MarketPriceSnapshot projection = snapshot.project(ISIN.Allianz);
+
+        Assert.assertEquals(1, projection.size());
+        Assert.assertEquals(Collections.singleton(ISIN.Allianz), projection.getISINs());
+        Assert.assertEquals(new Amount(500.0), projection.getMarketPrice(ISIN.Allianz));
+        Assert.assertSame(snapshot.getDate(), projection.getDate());
+
+        try {
+            projection.getMarketPrice(ISIN.MunichRe);
+        }
+        catch(UnknownStockException ex) {
+            return;
+        }
+
+        Assert.fail("UnknownStockException expected.");
+    }
+
+    @Test
+    public void projectionFails_forUnknownStock() {
+        MarketPriceSnapshot snapshot = new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(1000.0))
+                .setDate(LocalDate.now())
+                .build();
+
+        try {
+            snapshot.project(ISIN.Allianz);
+        }
+        catch(UnknownStockException ex) {
+            return;
+        }
+
+        Assert.fail("UnknownStockException expected.");
+    }
 }
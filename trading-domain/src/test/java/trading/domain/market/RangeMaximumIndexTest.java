@@ -0,0 +1,79 @@
+package trading.domain.market;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class RangeMaximumIndexTest {
+    @Test
+    public void returnsSingleValue_forOneValueRange() {
+        double[] values = new double[] { 3.0, 1.0, 2.0 };
+
+        RangeMaximumIndex rangeMaximumIndex = new RangeMaximumIndex();
+        rangeMaximumIndex.update(values, values.length);
+
+        Assert.assertEquals(3.0, rangeMaximumIndex.getMaximum(values, 0, 0), 0.0);
+        Assert.assertEquals(1.0, rangeMaximumIndex.getMaximum(values, 1, 1), 0.0);
+        Assert.assertEquals(2.0, rangeMaximumIndex.getMaximum(values, 2, 2), 0.0);
+    }
+
+    @Test
+    public void returnsMaximum_forAllRanges() {
+        Random random = new Random(42);
+        double[] values = new double[100];
+
+        for(int index = 0; index < values.length; index++) {
+            values[index] = random.nextDouble() * 1000.0;
+        }
+
+        RangeMaximumIndex rangeMaximumIndex = new RangeMaximumIndex();
+        rangeMaximumIndex.update(values, values.length);
+
+        for(int fromIndex = 0; fromIndex < values.length; fromIndex++) {
+            for(int toIndex = fromIndex; toIndex < values.length; toIndex++) {
+                double expectedMaximum = Arrays.stream(values, fromIndex, toIndex + 1).max().getAsDouble();
+                Assert.assertEquals(expectedMaximum, rangeMaximumIndex.getMaximum(values, fromIndex, toIndex), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void returnsMaximum_ifUpdatedIncrementally_andColumnGrown() {
+        double[] values = new double[2];
+        RangeMaximumIndex rangeMaximumIndex = new RangeMaximumIndex();
+
+        for(int numValues = 1; numValues <= 70; numValues++) {
+            if(numValues > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+
+            values[numValues - 1] = (numValues * 37) % 23;
+            rangeMaximumIndex.update(values, numValues);
+
+            for(int fromIndex = 0; fromIndex < numValues; fromIndex++) {
+                double expectedMaximum = Arrays.stream(values, fromIndex, numValues).max().getAsDouble();
+                Assert.assertEquals(expectedMaximum, rangeMaximumIndex.getMaximum(values, fromIndex, numValues - 1), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void getMaximum_fails_ifRangeNotCovered() {
+        double[] values = new double[] { 1.0, 2.0 };
+
+        RangeMaximumIndex rangeMaximumIndex = new RangeMaximumIndex();
+        rangeMaximumIndex.update(values, 1);
+
+        try {
+            rangeMaximumIndex.getMaximum(values, 0, 1);
+        }
+        catch(RuntimeException e) {
+            Assert.assertEquals("The range [0, 1] is not covered by the index.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+}
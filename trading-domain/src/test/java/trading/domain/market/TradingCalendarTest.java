@@ -0,0 +1,63 @@
+package trading.domain.market;
+
+import org.junit.Assert;
+import org.junit.Test;
+import trading.domain.DomainException;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+public class TradingCalendarTest {
+    @Test
+    public void mapsDatesToDenseDayIndexes() {
+        TradingCalendar tradingCalendar = new TradingCalendar(Arrays.asList(
+                LocalDate.of(2018, 5, 4),
+                LocalDate.of(2018, 5, 7),
+                LocalDate.of(2018, 5, 8)));
+
+        Assert.assertEquals(3, tradingCalendar.size());
+        Assert.assertEquals(0, tradingCalendar.getDayIndex(LocalDate.of(2018, 5, 4)));
+        Assert.assertEquals(1, tradingCalendar.getDayIndex(LocalDate.of(2018, 5, 7)));
+        Assert.assertEquals(2, tradingCalendar.getDayIndex(LocalDate.of(2018, 5, 8)));
+        Assert.assertEquals(LocalDate.of(2018, 5, 7), tradingCalendar.getDate(1));
+    }
+
+    @Test
+    public void findDayIndexReturnsMinusOne_ifDateIsNoTradingDay() {
+        TradingCalendar tradingCalendar = new TradingCalendar(Arrays.asList(
+                LocalDate.of(2018, 5, 4),
+                LocalDate.of(2018, 5, 7)));
+
+        Assert.assertEquals(-1, tradingCalendar.findDayIndex(LocalDate.of(2018, 5, 5)));
+        Assert.assertEquals(-1, tradingCalendar.findDayIndex(LocalDate.of(2018, 5, 3)));
+        Assert.assertEquals(-1, tradingCalendar.findDayIndex(LocalDate.of(2018, 5, 8)));
+    }
+
+    @Test
+    public void initializationFails_ifDatesNotAscending() {
+        try {
+            new TradingCalendar(Arrays.asList(LocalDate.of(2018, 5, 7), LocalDate.of(2018, 5, 4)));
+        }
+        catch(DomainException e) {
+            Assert.assertEquals("The trading days must be given in ascending order.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+
+    @Test
+    public void getDateFails_ifDayIndexOutsideCalendar() {
+        TradingCalendar tradingCalendar = new TradingCalendar(Arrays.asList(LocalDate.of(2018, 5, 4)));
+
+        try {
+            tradingCalendar.getDate(1);
+        }
+        catch(DomainException e) {
+            Assert.assertEquals("The day index 1 lies outside the trading calendar.", e.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+}
@@ -0,0 +1,236 @@
+package trading.domain.simulation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.DayCount;
+import trading.domain.DomainException;
+import trading.domain.ISIN;
+import trading.domain.account.MarketTransaction;
+import trading.domain.account.TaxStrategies;
+import trading.domain.broker.CommissionStrategies;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumTradingStrategy;
+import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumTradingStrategyParameters;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class BlockBootstrapMarketModelTest {
+    private static final ISIN[] ISINS = new ISIN[] { ISIN.MunichRe, ISIN.Allianz, ISIN.DeutscheBank };
+    private static final int NUM_DAYS = 200;
+    private static final int NUM_HISTORICAL_DAYS = 50;
+
+    private List<MarketPriceSnapshot> marketPriceSnapshots;
+    private BlockBootstrapMarketModel model;
+
+    @Before
+    public void before() {
+        this.marketPriceSnapshots = this.createMarketPriceSnapshots(0);
+        this.model = new BlockBootstrapMarketModel(SharedMarketPriceSnapshots.of(this.marketPriceSnapshots), 10);
+    }
+
+    /**
+     * Creates random prices for all stocks; the last stock is listed on the given day.
+     */
+    private List<MarketPriceSnapshot> createMarketPriceSnapshots(int lastStockListingDayIndex) {
+        double[] prices = new double[] { 180.0, 150.0, 12.0 };
+        Random random = new Random(5);
+        DateSequenceGenerator dateSequenceGenerator = new DateSequenceGenerator(LocalDate.of(2017, 6, 1));
+
+        List<MarketPriceSnapshot> marketPriceSnapshots = new ArrayList<>();
+
+        for(int dayIndex = 0; dayIndex < NUM_DAYS; dayIndex++) {
+            MarketPriceSnapshotBuilder marketPriceSnapshotBuilder = new MarketPriceSnapshotBuilder().setDate(dateSequenceGenerator.nextDate());
+
+            for(int stockIndex = 0; stockIndex < ISINS.length; stockIndex++) {
+                prices[stockIndex] = Math.round(prices[stockIndex] * (1.0 + random.nextGaussian() * 0.03) * 100.0) / 100.0;
+
+                if(stockIndex < ISINS.length - 1 || dayIndex >= lastStockListingDayIndex) {
+                    marketPriceSnapshotBuilder.setMarketPrice(ISINS[stockIndex], new Amount(prices[stockIndex]));
+                }
+            }
+
+            marketPriceSnapshots.add(marketPriceSnapshotBuilder.build());
+        }
+
+        return marketPriceSnapshots;
+    }
+
+    @Test
+    public void pathStartsWithHistoricalDaysAndKeepsCalendar() {
+        List<MarketPriceSnapshot> path = this.readPath(this.model.createDataSource(1L, 0L, NUM_HISTORICAL_DAYS));
+
+        Assert.assertEquals(NUM_DAYS, path.size());
+
+        for(int dayIndex = 0; dayIndex < NUM_DAYS; dayIndex++) {
+            Assert.assertEquals(this.marketPriceSnapshots.get(dayIndex).getDate(), path.get(dayIndex).getDate());
+
+            if(dayIndex < NUM_HISTORICAL_DAYS) {
+                Assert.assertSame(this.marketPriceSnapshots.get(dayIndex), path.get(dayIndex));
+            }
+        }
+    }
+
+    @Test
+    public void syntheticDaysApplyReturnsOfOneHistoricalDayToAllStocks() {
+        List<MarketPriceSnapshot> path = this.readPath(this.model.createDataSource(1L, 0L, NUM_HISTORICAL_DAYS));
+
+        for(int dayIndex = NUM_HISTORICAL_DAYS; dayIndex < NUM_DAYS; dayIndex++) {
+            boolean foundHistoricalDay = false;
+
+            for(int historicalDayIndex = 1; historicalDayIndex < NUM_DAYS && !foundHistoricalDay; historicalDayIndex++) {
+                foundHistoricalDay = true;
+
+                for(ISIN isin: ISINS) {
+                    double syntheticReturn = path.get(dayIndex).getPrice(isin) / path.get(dayIndex - 1).getPrice(isin);
+                    double historicalReturn = this.marketPriceSnapshots.get(historicalDayIndex).getPrice(isin) / this.marketPriceSnapshots.get(historicalDayIndex - 1).getPrice(isin);
+
+                    if(Math.abs(syntheticReturn - historicalReturn) > 0.0000001) {
+                        foundHistoricalDay = false;
+                    }
+                }
+            }
+
+            Assert.assertTrue(foundHistoricalDay);
+        }
+    }
+
+    @Test
+    public void pathsAreReproducibleAndIndependentOfThreads() {
+        List<List<String>> expectedPaths = new ArrayList<>();
+
+        for(int pathIndex = 0; pathIndex < 20; pathIndex++) {
+            expectedPaths.add(this.formatPath(this.model.createDataSource(42L, pathIndex, NUM_HISTORICAL_DAYS)));
+        }
+
+        List<List<String>> actualPaths = IntStream.range(0, 20).parallel()
+                .mapToObj(pathIndex -> this.formatPath(this.model.createDataSource(42L, pathIndex, NUM_HISTORICAL_DAYS)))
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(expectedPaths, actualPaths);
+        Assert.assertNotEquals(expectedPaths.get(0), expectedPaths.get(1));
+        Assert.assertNotEquals(expectedPaths.get(0), this.formatPath(this.model.createDataSource(43L, 0L, NUM_HISTORICAL_DAYS)));
+    }
+
+    @Test
+    public void stockListedAfterHistoricalDaysEntersPathOnListingDay() {
+        int listingDayIndex = 120;
+        List<MarketPriceSnapshot> marketPriceSnapshots = this.createMarketPriceSnapshots(listingDayIndex);
+        BlockBootstrapMarketModel model = new BlockBootstrapMarketModel(SharedMarketPriceSnapshots.of(marketPriceSnapshots), 10);
+
+        List<MarketPriceSnapshot> path = this.readPath(model.createDataSource(1L, 0L, NUM_HISTORICAL_DAYS));
+
+        for(int dayIndex = NUM_HISTORICAL_DAYS; dayIndex < NUM_DAYS; dayIndex++) {
+            Assert.assertEquals(dayIndex >= listingDayIndex, path.get(dayIndex).getISINs().contains(ISIN.DeutscheBank));
+        }
+
+        Assert.assertEquals(marketPriceSnapshots.get(listingDayIndex).getPrice(ISIN.DeutscheBank), path.get(listingDayIndex).getPrice(ISIN.DeutscheBank), 0.0);
+        Assert.assertNotEquals(marketPriceSnapshots.get(NUM_DAYS - 1).getPrice(ISIN.DeutscheBank), path.get(NUM_DAYS - 1).getPrice(ISIN.DeutscheBank), 0.0);
+    }
+
+    @Test
+    public void pathCanBeSimulated() {
+        List<MarketPriceSnapshot> marketPriceSnapshots = this.createMarketPriceSnapshots(120);
+        BlockBootstrapMarketModel model = new BlockBootstrapMarketModel(SharedMarketPriceSnapshots.of(marketPriceSnapshots), 10);
+
+        SimulationReport simulationReport = this.createSimulationDriver(model.createDataSource(3L, 0L, NUM_HISTORICAL_DAYS), null).runSimulation();
+        SimulationReport repeatedSimulationReport = this.createSimulationDriver(model.createDataSource(3L, 0L, NUM_HISTORICAL_DAYS), null).runSimulation();
+
+        LocalDate lastHistoricalDate = marketPriceSnapshots.get(NUM_HISTORICAL_DAYS - 1).getDate();
+        LocalDate listingDate = marketPriceSnapshots.get(120).getDate();
+
+        // the strategy trades on synthetic days, including the stock listed on a synthetic day
+
+        Assert.assertTrue(simulationReport.getTransactions().stream().anyMatch(transaction -> transaction.getDate().isAfter(lastHistoricalDate)));
+        Assert.assertTrue(simulationReport.getTransactions().stream().anyMatch(transaction ->
+                transaction instanceof MarketTransaction && ((MarketTransaction) transaction).getIsin().equals(ISIN.DeutscheBank)));
+        Assert.assertTrue(simulationReport.getTransactions().stream()
+                .filter(transaction -> transaction instanceof MarketTransaction && ((MarketTransaction) transaction).getIsin().equals(ISIN.DeutscheBank))
+                .noneMatch(transaction -> transaction.getDate().isBefore(listingDate)));
+        Assert.assertFalse(Double.isNaN(simulationReport.getFinalAccountBalance().getValue()));
+        Assert.assertEquals(simulationReport.getFinalAccountBalance(), repeatedSimulationReport.getFinalAccountBalance());
+    }
+
+    @Test
+    public void pathCannotBeSimulatedOnHistoricalMarketDataSet() {
+        HistoricalMarketDataSet historicalMarketDataSet = HistoricalMarketDataSet.of(this.marketPriceSnapshots);
+        SimulationDriver simulationDriver = this.createSimulationDriver(this.model.createDataSource(3L, 0L, NUM_HISTORICAL_DAYS), historicalMarketDataSet);
+
+        try {
+            simulationDriver.runSimulation();
+        }
+        catch(DomainException ex) {
+            Assert.assertEquals("The specified market prices must equal the market prices of the next day of the market data set.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+
+    @Test
+    public void modelCreationFails_ifBlockLengthIsNotPositive() {
+        try {
+            new BlockBootstrapMarketModel(SharedMarketPriceSnapshots.of(this.marketPriceSnapshots), 0);
+        }
+        catch(RuntimeException ex) {
+            Assert.assertEquals("The block length must be positive.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+
+    private SimulationDriver createSimulationDriver(SimulationMarketDataSource dataSource, HistoricalMarketDataSet historicalMarketDataSet) {
+        CompoundLocalMaximumTradingStrategyParameters tradingStrategyParameters =
+                new CompoundLocalMaximumTradingStrategyParameters(new DayCount(5), 0.02, 0.03, 0.02, 0.05, 0.3);
+
+        SimulationDriverParametersBuilder parametersBuilder = new SimulationDriverParametersBuilder();
+        parametersBuilder.setSimulationMarketDataSource(dataSource);
+        parametersBuilder.setHistoricalMarketDataSet(historicalMarketDataSet);
+        parametersBuilder.setHistoryDuration(new DayCount(NUM_HISTORICAL_DAYS));
+        parametersBuilder.setSimulationDuration(new DayCount(NUM_DAYS - NUM_HISTORICAL_DAYS));
+        parametersBuilder.setSeedCapital(new Amount(10000.0));
+        parametersBuilder.setTradingStrategyFactory(context -> new CompoundLocalMaximumTradingStrategy(tradingStrategyParameters, context));
+        parametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
+        parametersBuilder.setTaxStrategy(TaxStrategies.getDefaultTaxStrategy());
+        return new SimulationDriver(parametersBuilder.build());
+    }
+
+    private List<MarketPriceSnapshot> readPath(SimulationMarketDataSource dataSource) {
+        List<MarketPriceSnapshot> path = new ArrayList<>();
+
+        try {
+            while(true) {
+                path.add(dataSource.getNextClosingMarketPrices());
+            }
+        }
+        catch(SimulationMarketDataSourceExhaustedException ex) {
+            return path;
+        }
+    }
+
+    private List<String> formatPath(SimulationMarketDataSource dataSource) {
+        List<String> formattedPath = new ArrayList<>();
+
+        for(MarketPriceSnapshot marketPriceSnapshot: this.readPath(dataSource)) {
+            StringBuilder formattedSnapshot = new StringBuilder(marketPriceSnapshot.getDate().toString());
+
+            for(ISIN isin: ISINS) {
+                formattedSnapshot.append(' ').append(marketPriceSnapshot.getPrice(isin));
+            }
+
+            formattedPath.add(formattedSnapshot.toString());
+        }
+
+        return formattedPath;
+    }
+}
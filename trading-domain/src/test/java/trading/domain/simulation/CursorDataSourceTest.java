@@ -0,0 +1,110 @@
+package trading.domain.simulation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.ISIN;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CursorDataSourceTest {
+    private List<MarketPriceSnapshot> marketPriceSnapshots;
+    private SharedMarketPriceSnapshots sharedMarketPriceSnapshots;
+
+    @Before
+    public void before() {
+        DateSequenceGenerator dateSequenceGenerator = new DateSequenceGenerator(LocalDate.of(2017, 6, 1));
+        this.marketPriceSnapshots = new ArrayList<>();
+
+        for(int dayIndex = 0; dayIndex < 5; dayIndex++) {
+            this.marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                    .setDate(dateSequenceGenerator.nextDate())
+                    .setMarketPrice(ISIN.MunichRe, new Amount(100.0 + dayIndex))
+                    .build());
+        }
+
+        this.sharedMarketPriceSnapshots = SharedMarketPriceSnapshots.of(this.marketPriceSnapshots);
+    }
+
+    @Test
+    public void returnsSnapshotsOfGivenRange() {
+        CursorDataSource cursorDataSource = this.sharedMarketPriceSnapshots.createDataSource(1, 3);
+
+        Assert.assertEquals(3, cursorDataSource.getNumRemainingDays());
+        Assert.assertSame(this.marketPriceSnapshots.get(1), cursorDataSource.getNextClosingMarketPrices());
+        Assert.assertSame(this.marketPriceSnapshots.get(2), cursorDataSource.getNextClosingMarketPrices());
+        Assert.assertSame(this.marketPriceSnapshots.get(3), cursorDataSource.getNextClosingMarketPrices());
+
+        try {
+            cursorDataSource.getNextClosingMarketPrices();
+        }
+        catch(SimulationMarketDataSourceExhaustedException ex) {
+            return;
+        }
+
+        Assert.fail("SimulationMarketDataSourceExhaustedException expected.");
+    }
+
+    @Test
+    public void sharedSnapshotsAreNotAffectedByLaterListChanges() {
+        MarketPriceSnapshot firstMarketPriceSnapshot = this.marketPriceSnapshots.get(0);
+        this.marketPriceSnapshots.clear();
+
+        Assert.assertEquals(5, this.sharedMarketPriceSnapshots.size());
+        Assert.assertSame(firstMarketPriceSnapshot, this.sharedMarketPriceSnapshots.createDataSource().getNextClosingMarketPrices());
+    }
+
+    @Test
+    public void dataSourcesHaveIndependentCursors() {
+        CursorDataSource firstDataSource = this.sharedMarketPriceSnapshots.createDataSource();
+        CursorDataSource secondDataSource = this.sharedMarketPriceSnapshots.createDataSource();
+
+        firstDataSource.getNextClosingMarketPrices();
+        firstDataSource.getNextClosingMarketPrices();
+
+        Assert.assertSame(this.marketPriceSnapshots.get(0), secondDataSource.getNextClosingMarketPrices());
+        Assert.assertSame(this.marketPriceSnapshots.get(2), firstDataSource.getNextClosingMarketPrices());
+    }
+
+    @Test
+    public void skipClosingMarketPrices_returnsLastSkippedSnapshot() {
+        CursorDataSource cursorDataSource = this.sharedMarketPriceSnapshots.createDataSource();
+
+        Assert.assertSame(this.marketPriceSnapshots.get(2), cursorDataSource.skipClosingMarketPrices(3));
+        Assert.assertSame(this.marketPriceSnapshots.get(3), cursorDataSource.getNextClosingMarketPrices());
+    }
+
+    @Test
+    public void skipClosingMarketPrices_fails_ifNotEnoughSnapshotsRemain() {
+        CursorDataSource cursorDataSource = this.sharedMarketPriceSnapshots.createDataSource();
+
+        try {
+            cursorDataSource.skipClosingMarketPrices(6);
+        }
+        catch(SimulationMarketDataSourceExhaustedException ex) {
+            Assert.assertEquals(5, cursorDataSource.getNumRemainingDays());
+            return;
+        }
+
+        Assert.fail("SimulationMarketDataSourceExhaustedException expected.");
+    }
+
+    @Test
+    public void createDataSourceFails_ifRangeExceedsSnapshots() {
+        try {
+            this.sharedMarketPriceSnapshots.createDataSource(2, 4);
+        }
+        catch(RuntimeException ex) {
+            Assert.assertEquals("The length exceeds the market price snapshots.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+}
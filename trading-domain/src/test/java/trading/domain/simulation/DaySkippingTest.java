@@ -0,0 +1,222 @@
+package trading.domain.simulation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.DayCount;
+import trading.domain.DomainException;
+import trading.domain.ISIN;
+import trading.domain.account.TaxStrategies;
+import trading.domain.account.Transaction;
+import trading.domain.broker.CommissionStrategies;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+import trading.domain.strategy.TradingStrategy;
+import trading.domain.strategy.TradingStrategyFactory;
+import trading.domain.strategy.WakeCondition;
+import trading.domain.strategy.localMaximum.DynamicLocalMaximumTradingStrategy;
+import trading.domain.strategy.localMaximum.DynamicLocalMaximumTradingStrategyParameters;
+import trading.domain.strategy.localMaximum.LocalMaximumTradingStrategy;
+import trading.domain.strategy.localMaximum.LocalMaximumTradingStrategyParameters;
+import trading.domain.strategy.risingAndDecliningDays.RisingAndDecliningDaysTradingStrategy;
+import trading.domain.strategy.risingAndDecliningDays.RisingAndDecliningDaysTradingStrategyParameters;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class DaySkippingTest {
+    private static final int HISTORY_DURATION = 60;
+    private static final int SIMULATION_DURATION = 500;
+
+    private List<MarketPriceSnapshot> marketPriceSnapshots;
+    private HistoricalMarketDataSet historicalMarketDataSet;
+
+    @Before
+    public void before() {
+        Random random = new Random(11);
+        DateSequenceGenerator dateSequenceGenerator = new DateSequenceGenerator(LocalDate.of(2017, 6, 1));
+        double price = 100.0;
+
+        this.marketPriceSnapshots = new ArrayList<>();
+
+        for(int dayIndex = 0; dayIndex < HISTORY_DURATION + SIMULATION_DURATION; dayIndex++) {
+            price = Math.round(price * (1.0 + random.nextGaussian() * 0.02) * 100.0) / 100.0;
+
+            this.marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                    .setDate(dateSequenceGenerator.nextDate())
+                    .setMarketPrice(ISIN.MunichRe, new Amount(price))
+                    .build());
+        }
+
+        this.historicalMarketDataSet = HistoricalMarketDataSet.of(this.marketPriceSnapshots);
+    }
+
+    @Test
+    public void localMaximumTradingStrategy_skipsDaysWithoutChangingResults() {
+        double[] declines = new double[] { 0.02, 0.05, 0.1 };
+
+        for(double decline: declines) {
+            LocalMaximumTradingStrategyParameters parameters = new LocalMaximumTradingStrategyParameters(
+                    ISIN.MunichRe, new DayCount(20), decline, 0.03, 0.05, 0.07);
+
+            this.assertDaySkippingKeepsResults(context -> new LocalMaximumTradingStrategy(parameters, context));
+        }
+    }
+
+    @Test
+    public void dynamicLocalMaximumTradingStrategy_skipsDaysWithoutChangingResults() {
+        double[] distances = new double[] { 0.01, 0.04, 0.08 };
+
+        for(double distance: distances) {
+            DynamicLocalMaximumTradingStrategyParameters parameters = new DynamicLocalMaximumTradingStrategyParameters(
+                    ISIN.MunichRe, new DayCount(10), 0.02, new DayCount(5), distance, new DayCount(30), distance * 2.0, 0.03);
+
+            this.assertDaySkippingKeepsResults(context -> new DynamicLocalMaximumTradingStrategy(parameters, context));
+        }
+    }
+
+    @Test
+    public void risingAndDecliningDaysTradingStrategy_skipsDaysWithoutChangingResults() {
+        for(int numDays = 1; numDays <= 4; numDays++) {
+            RisingAndDecliningDaysTradingStrategyParameters parameters = new RisingAndDecliningDaysTradingStrategyParameters(
+                    ISIN.MunichRe, new DayCount(numDays), new DayCount(numDays + 1));
+
+            this.assertDaySkippingKeepsResults(context -> new RisingAndDecliningDaysTradingStrategy(parameters, context));
+        }
+    }
+
+    @Test
+    public void daysAreNotSkipped_byDefault() {
+        List<Integer> numCalls = new ArrayList<>();
+        SimulationDriverParametersBuilder parametersBuilder = this.createParametersBuilder(
+                this.countingCalls(this.createLocalMaximumTradingStrategyFactory(), numCalls), this.historicalMarketDataSet);
+
+        new SimulationDriver(parametersBuilder.build()).runSimulation();
+
+        Assert.assertEquals(SIMULATION_DURATION + 1, numCalls.size());
+    }
+
+    @Test
+    public void daysAreNotSkipped_withoutHistoricalMarketDataSet() {
+        List<Integer> numCalls = new ArrayList<>();
+        SimulationDriverParametersBuilder parametersBuilder = this.createParametersBuilder(
+                this.countingCalls(this.createLocalMaximumTradingStrategyFactory(), numCalls), null);
+
+        SimulationDriver simulationDriver = new SimulationDriver(parametersBuilder.build());
+        simulationDriver.setDaySkipping(true);
+        simulationDriver.runSimulation();
+
+        Assert.assertEquals(SIMULATION_DURATION + 1, numCalls.size());
+    }
+
+    @Test
+    public void daySkippingFails_ifDataSourceDiffersFromHistoricalMarketDataSet() {
+        List<MarketPriceSnapshot> differingMarketPriceSnapshots = new ArrayList<>();
+
+        for(MarketPriceSnapshot marketPriceSnapshot: this.marketPriceSnapshots) {
+            differingMarketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                    .setDate(marketPriceSnapshot.getDate())
+                    .setMarketPrice(ISIN.MunichRe, new Amount(marketPriceSnapshot.getMarketPrice(ISIN.MunichRe).getValue() * 1.01))
+                    .build());
+        }
+
+        SimulationDriverParametersBuilder parametersBuilder = this.createParametersBuilder(this.createLocalMaximumTradingStrategyFactory(), this.historicalMarketDataSet);
+        parametersBuilder.setSimulationMarketDataSource(new MultiStockListDataSource(differingMarketPriceSnapshots));
+
+        SimulationDriver simulationDriver = new SimulationDriver(parametersBuilder.build());
+        simulationDriver.setDaySkipping(true);
+
+        try {
+            simulationDriver.runSimulation();
+        }
+        catch(DomainException ex) {
+            Assert.assertEquals("The specified market prices must equal the market prices of the next day of the market data set.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+
+    private TradingStrategyFactory createLocalMaximumTradingStrategyFactory() {
+        LocalMaximumTradingStrategyParameters parameters = new LocalMaximumTradingStrategyParameters(
+                ISIN.MunichRe, new DayCount(20), 0.05, 0.03, 0.05, 0.07);
+
+        return context -> new LocalMaximumTradingStrategy(parameters, context);
+    }
+
+    private void assertDaySkippingKeepsResults(TradingStrategyFactory tradingStrategyFactory) {
+        List<Integer> numSkippingCalls = new ArrayList<>();
+        SimulationDriver skippingSimulationDriver = new SimulationDriver(this.createParametersBuilder(
+                this.countingCalls(tradingStrategyFactory, numSkippingCalls), this.historicalMarketDataSet).build());
+        skippingSimulationDriver.setDaySkipping(true);
+
+        SimulationDriver simulationDriver = new SimulationDriver(this.createParametersBuilder(tradingStrategyFactory, this.historicalMarketDataSet).build());
+
+        SimulationReport expectedReport = simulationDriver.runSimulation();
+        SimulationReport actualReport = skippingSimulationDriver.runSimulation();
+
+        Assert.assertFalse(expectedReport.getTransactions().isEmpty());
+        Assert.assertEquals(this.formatTransactions(expectedReport.getTransactions()), this.formatTransactions(actualReport.getTransactions()));
+        Assert.assertEquals(expectedReport.getFinalAccountBalance(), actualReport.getFinalAccountBalance());
+        Assert.assertEquals(expectedReport.getAverageMarketRateOfReturn(), actualReport.getAverageMarketRateOfReturn(), 0.0);
+        this.assertRiskMetricsEqual(expectedReport.getRiskMetrics(), actualReport.getRiskMetrics());
+        Assert.assertTrue(numSkippingCalls.size() < SIMULATION_DURATION + 1);
+    }
+
+    private void assertRiskMetricsEqual(RiskMetrics expected, RiskMetrics actual) {
+        Assert.assertEquals(expected.getMaxDrawdown(), actual.getMaxDrawdown(), 0.0);
+        Assert.assertEquals(expected.getVolatility(), actual.getVolatility(), 0.0);
+        Assert.assertEquals(expected.getSharpeRatio(), actual.getSharpeRatio(), 0.0);
+        Assert.assertEquals(expected.getSortinoRatio(), actual.getSortinoRatio(), 0.0);
+        Assert.assertEquals(expected.getTimeInMarket(), actual.getTimeInMarket(), 0.0);
+        Assert.assertEquals(expected.getTurnover(), actual.getTurnover(), 0.0);
+        Assert.assertEquals(expected.getExposure(), actual.getExposure(), 0.0);
+    }
+
+    private TradingStrategyFactory countingCalls(TradingStrategyFactory tradingStrategyFactory, List<Integer> numCalls) {
+        return context -> {
+            TradingStrategy tradingStrategy = tradingStrategyFactory.createTradingStrategy(context);
+
+            return new TradingStrategy() {
+                @Override
+                public void prepareOrdersForNextTradingDay() {
+                    numCalls.add(context.getHistoricalMarketData().getDayIndex());
+                    tradingStrategy.prepareOrdersForNextTradingDay();
+                }
+
+                @Override
+                public WakeCondition getWakeCondition() {
+                    return tradingStrategy.getWakeCondition();
+                }
+            };
+        };
+    }
+
+    private List<String> formatTransactions(List<Transaction> transactions) {
+        List<String> formattedTransactions = new ArrayList<>();
+
+        for(Transaction transaction: transactions) {
+            formattedTransactions.add(transaction.getDate() + ": " + transaction);
+        }
+
+        return formattedTransactions;
+    }
+
+    private SimulationDriverParametersBuilder createParametersBuilder(TradingStrategyFactory tradingStrategyFactory, HistoricalMarketDataSet historicalMarketDataSet) {
+        SimulationDriverParametersBuilder parametersBuilder = new SimulationDriverParametersBuilder();
+        parametersBuilder.setSimulationMarketDataSource(new MultiStockListDataSource(this.marketPriceSnapshots));
+        parametersBuilder.setHistoricalMarketDataSet(historicalMarketDataSet);
+        parametersBuilder.setHistoryDuration(new DayCount(HISTORY_DURATION));
+        parametersBuilder.setSimulationDuration(new DayCount(SIMULATION_DURATION));
+        parametersBuilder.setSeedCapital(new Amount(10000.0));
+        parametersBuilder.setTradingStrategyFactory(tradingStrategyFactory);
+        parametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
+        parametersBuilder.setTaxStrategy(TaxStrategies.getDefaultTaxStrategy());
+        return parametersBuilder;
+    }
+}
@@ -0,0 +1,64 @@
+package trading.domain.simulation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EquityCurveRecorderTest {
+    @Test
+    public void equityCurveStaysValid_ifRecorderIsReused() {
+        EquityCurveRecorder equityCurveRecorder = new EquityCurveRecorder();
+
+        equityCurveRecorder.reset(2);
+        equityCurveRecorder.record(0, 100.0, 50.0, 0.01, 0.0);
+        equityCurveRecorder.record(1, 110.0, 50.0, 0.02, 0.1);
+        EquityCurve firstEquityCurve = equityCurveRecorder.toEquityCurve();
+
+        equityCurveRecorder.reset(2);
+        equityCurveRecorder.record(0, 90.0, 40.0, 0.01, -0.1);
+        EquityCurve secondEquityCurve = equityCurveRecorder.toEquityCurve();
+
+        Assert.assertEquals(2, firstEquityCurve.size());
+        Assert.assertEquals(100.0, firstEquityCurve.getAccountBalance(0), 0.0);
+        Assert.assertEquals(0.1, firstEquityCurve.getRealizedRateOfReturn(1), 0.0);
+
+        Assert.assertEquals(1, secondEquityCurve.size());
+        Assert.assertEquals(90.0, secondEquityCurve.getAccountBalance(0), 0.0);
+        Assert.assertEquals(40.0, secondEquityCurve.getAvailableMoney(0), 0.0);
+    }
+
+    @Test
+    public void recordsFirstDayEveryNthDayAndLastDay() {
+        EquityCurveRecorder equityCurveRecorder = new EquityCurveRecorder(5);
+
+        Assert.assertTrue(equityCurveRecorder.isRecorded(0, false));
+        Assert.assertFalse(equityCurveRecorder.isRecorded(4, false));
+        Assert.assertTrue(equityCurveRecorder.isRecorded(5, false));
+        Assert.assertTrue(equityCurveRecorder.isRecorded(7, true));
+    }
+
+    @Test
+    public void recorderGrows_ifMoreDaysRecordedThanReset() {
+        EquityCurveRecorder equityCurveRecorder = new EquityCurveRecorder();
+        equityCurveRecorder.reset(1);
+
+        for(int dayIndex = 0; dayIndex < 100; dayIndex++) {
+            equityCurveRecorder.record(dayIndex, dayIndex, 0.0, 0.0, 0.0);
+        }
+
+        Assert.assertEquals(100, equityCurveRecorder.toEquityCurve().size());
+        Assert.assertEquals(99.0, equityCurveRecorder.toEquityCurve().getAccountBalance(99), 0.0);
+    }
+
+    @Test
+    public void creationFails_ifSamplingIntervalIsNotPositive() {
+        try {
+            new EquityCurveRecorder(0);
+        }
+        catch(RuntimeException ex) {
+            Assert.assertEquals("The sampling interval must be positive.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+}
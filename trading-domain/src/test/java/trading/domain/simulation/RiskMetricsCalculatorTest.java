@@ -0,0 +1,99 @@
+package trading.domain.simulation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RiskMetricsCalculatorTest {
+    @Test
+    public void metricsAreZero_ifNoDaysRecorded() {
+        RiskMetrics riskMetrics = new RiskMetricsCalculator(1000.0).toRiskMetrics();
+
+        Assert.assertEquals(0.0, riskMetrics.getMaxDrawdown(), 0.0);
+        Assert.assertEquals(0.0, riskMetrics.getVolatility(), 0.0);
+        Assert.assertEquals(0.0, riskMetrics.getSharpeRatio(), 0.0);
+        Assert.assertEquals(0.0, riskMetrics.getSortinoRatio(), 0.0);
+        Assert.assertEquals(0.0, riskMetrics.getTimeInMarket(), 0.0);
+        Assert.assertEquals(0.0, riskMetrics.getTurnover(), 0.0);
+        Assert.assertEquals(0.0, riskMetrics.getExposure(), 0.0);
+    }
+
+    @Test
+    public void maxDrawdownIsMeasuredFromRunningPeak() {
+        RiskMetricsCalculator riskMetricsCalculator = new RiskMetricsCalculator(1000.0);
+
+        riskMetricsCalculator.recordDay(900.0, 0.0);
+        riskMetricsCalculator.recordDay(1200.0, 0.0);
+        riskMetricsCalculator.recordDay(900.0, 0.0);
+        riskMetricsCalculator.recordDay(1300.0, 0.0);
+
+        Assert.assertEquals(0.25, riskMetricsCalculator.toRiskMetrics().getMaxDrawdown(), 1e-12);
+    }
+
+    @Test
+    public void volatilityAndRatiosEqualTwoPassCalculation() {
+        double[] balances = new double[] { 1010.0, 1000.0, 1030.0, 1020.5, 1050.0, 1040.0 };
+        RiskMetricsCalculator riskMetricsCalculator = new RiskMetricsCalculator(1000.0);
+
+        double[] dailyReturns = new double[balances.length];
+        double previousBalance = 1000.0;
+        double sumReturns = 0.0;
+
+        for(int dayIndex = 0; dayIndex < balances.length; dayIndex++) {
+            riskMetricsCalculator.recordDay(balances[dayIndex], 0.0);
+            dailyReturns[dayIndex] = balances[dayIndex] / previousBalance - 1.0;
+            sumReturns += dailyReturns[dayIndex];
+            previousBalance = balances[dayIndex];
+        }
+
+        double meanReturn = sumReturns / dailyReturns.length;
+        double sumSquaredDeviations = 0.0;
+        double sumSquaredDownsideReturns = 0.0;
+
+        for(double dailyReturn: dailyReturns) {
+            sumSquaredDeviations += (dailyReturn - meanReturn) * (dailyReturn - meanReturn);
+            sumSquaredDownsideReturns += Math.min(dailyReturn, 0.0) * Math.min(dailyReturn, 0.0);
+        }
+
+        double standardDeviation = Math.sqrt(sumSquaredDeviations / (dailyReturns.length - 1));
+        double downsideDeviation = Math.sqrt(sumSquaredDownsideReturns / dailyReturns.length);
+        double annualizationFactor = Math.sqrt(RiskMetricsCalculator.TRADING_DAYS_PER_YEAR);
+
+        RiskMetrics riskMetrics = riskMetricsCalculator.toRiskMetrics();
+
+        Assert.assertEquals(standardDeviation * annualizationFactor, riskMetrics.getVolatility(), 1e-12);
+        Assert.assertEquals(meanReturn / standardDeviation * annualizationFactor, riskMetrics.getSharpeRatio(), 1e-9);
+        Assert.assertEquals(meanReturn / downsideDeviation * annualizationFactor, riskMetrics.getSortinoRatio(), 1e-9);
+    }
+
+    @Test
+    public void exposureTimeInMarketAndTurnover() {
+        RiskMetricsCalculator riskMetricsCalculator = new RiskMetricsCalculator(1000.0);
+
+        riskMetricsCalculator.recordTransaction(500.0);
+        riskMetricsCalculator.recordDay(1000.0, 500.0);
+        riskMetricsCalculator.recordDay(1000.0, 500.0);
+        riskMetricsCalculator.recordTransaction(500.0);
+        riskMetricsCalculator.recordDay(1000.0, 0.0);
+        riskMetricsCalculator.recordDay(1000.0, 0.0);
+
+        RiskMetrics riskMetrics = riskMetricsCalculator.toRiskMetrics();
+
+        Assert.assertEquals(0.5, riskMetrics.getTimeInMarket(), 0.0);
+        Assert.assertEquals(0.25, riskMetrics.getExposure(), 0.0);
+        Assert.assertEquals(1.0, riskMetrics.getTurnover(), 0.0);
+    }
+
+    @Test
+    public void resetStartsNewSimulation() {
+        RiskMetricsCalculator riskMetricsCalculator = new RiskMetricsCalculator(1000.0);
+        riskMetricsCalculator.recordDay(500.0, 500.0);
+
+        riskMetricsCalculator.reset(1000.0);
+        riskMetricsCalculator.recordDay(1100.0, 0.0);
+
+        RiskMetrics riskMetrics = riskMetricsCalculator.toRiskMetrics();
+
+        Assert.assertEquals(0.0, riskMetrics.getMaxDrawdown(), 0.0);
+        Assert.assertEquals(0.0, riskMetrics.getTimeInMarket(), 0.0);
+    }
+}
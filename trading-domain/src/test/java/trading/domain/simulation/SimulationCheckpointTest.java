@@ -0,0 +1,262 @@
+package trading.domain.simulation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.DayCount;
+import trading.domain.ISIN;
+import trading.domain.account.TaxStrategies;
+import trading.domain.account.Transaction;
+import trading.domain.broker.CommissionStrategies;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+import trading.domain.strategy.TradingStrategyFactory;
+import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumTradingStrategy;
+import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumTradingStrategyParameters;
+import trading.domain.strategy.localMaximum.DynamicLocalMaximumTradingStrategy;
+import trading.domain.strategy.localMaximum.DynamicLocalMaximumTradingStrategyParameters;
+import trading.domain.strategy.localMaximum.LocalMaximumTradingStrategy;
+import trading.domain.strategy.localMaximum.LocalMaximumTradingStrategyParameters;
+import trading.domain.strategy.risingAndDecliningDays.RisingAndDecliningDaysTradingStrategy;
+import trading.domain.strategy.risingAndDecliningDays.RisingAndDecliningDaysTradingStrategyParameters;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SimulationCheckpointTest {
+    private static final int HISTORY_DURATION = 20;
+    private static final int SIMULATION_DURATION = 400;
+
+    private List<MarketPriceSnapshot> marketPriceSnapshots;
+    private HistoricalMarketDataSet historicalMarketDataSet;
+
+    @Before
+    public void before() {
+        ISIN[] isins = new ISIN[] { ISIN.MunichRe, ISIN.Allianz, ISIN.DeutscheBank };
+        double[] prices = new double[] { 180.0, 150.0, 12.0 };
+        Random random = new Random(7);
+        DateSequenceGenerator dateSequenceGenerator = new DateSequenceGenerator(LocalDate.of(2017, 6, 1));
+
+        this.marketPriceSnapshots = new ArrayList<>();
+
+        for(int dayIndex = 0; dayIndex < HISTORY_DURATION + SIMULATION_DURATION; dayIndex++) {
+            MarketPriceSnapshotBuilder marketPriceSnapshotBuilder = new MarketPriceSnapshotBuilder().setDate(dateSequenceGenerator.nextDate());
+
+            for(int stockIndex = 0; stockIndex < isins.length; stockIndex++) {
+                prices[stockIndex] = Math.round(prices[stockIndex] * (1.0 + random.nextGaussian() * 0.03) * 100.0) / 100.0;
+                marketPriceSnapshotBuilder.setMarketPrice(isins[stockIndex], new Amount(prices[stockIndex]));
+            }
+
+            this.marketPriceSnapshots.add(marketPriceSnapshotBuilder.build());
+        }
+
+        this.historicalMarketDataSet = HistoricalMarketDataSet.of(this.marketPriceSnapshots);
+    }
+
+    @Test
+    public void resumedSimulationEqualsFullSimulation() throws IOException {
+        this.assertResumedSimulationEqualsFullSimulation(null);
+    }
+
+    @Test
+    public void resumedSimulationEqualsFullSimulation_withHistoricalMarketDataSet() throws IOException {
+        this.assertResumedSimulationEqualsFullSimulation(this.historicalMarketDataSet);
+    }
+
+    @Test
+    public void resumedSimulationCanBeCheckpointedAgain() throws IOException {
+        SimulationReport expectedReport = this.createSimulationDriver(SIMULATION_DURATION, null).runSimulation();
+
+        SimulationDriver checkpointingSimulationDriver = this.createSimulationDriver(100, null);
+        checkpointingSimulationDriver.setCheckpointing(true);
+        SimulationCheckpoint checkpoint = checkpointingSimulationDriver.runSimulation().getCheckpoint();
+
+        for(int simulationDuration = 101; simulationDuration <= SIMULATION_DURATION; simulationDuration++) {
+            SimulationDriver resumingSimulationDriver = this.createSimulationDriver(simulationDuration, this.historicalMarketDataSet);
+            resumingSimulationDriver.setCheckpointing(true);
+            checkpoint = resumingSimulationDriver.resumeSimulation(checkpoint).getCheckpoint();
+
+            Assert.assertEquals(simulationDuration, checkpoint.getNumSimulatedDays());
+            Assert.assertEquals(HISTORY_DURATION + simulationDuration, checkpoint.getNumClosedDays());
+        }
+
+        Assert.assertEquals(this.formatTransactions(expectedReport.getTransactions()), this.formatTransactions(checkpoint.getTransactions()));
+    }
+
+    @Test
+    public void resumeFails_ifSeedCapitalDiffers() {
+        SimulationDriver checkpointingSimulationDriver = this.createSimulationDriver(100, null);
+        checkpointingSimulationDriver.setCheckpointing(true);
+        SimulationCheckpoint checkpoint = checkpointingSimulationDriver.runSimulation().getCheckpoint();
+
+        SimulationDriverParametersBuilder parametersBuilder = this.createParametersBuilder(SIMULATION_DURATION, null);
+        parametersBuilder.setSeedCapital(new Amount(20000.0));
+
+        try {
+            new SimulationDriver(parametersBuilder.build()).resumeSimulation(checkpoint);
+        }
+        catch(SimulationDriverInitializationException ex) {
+            Assert.assertEquals("The seed capital must equal the seed capital of the checkpoint.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("SimulationDriverInitializationException expected.");
+    }
+
+    @Test
+    public void resumeFails_ifDataSourceDoesNotMatchCheckpoint() {
+        SimulationDriver checkpointingSimulationDriver = this.createSimulationDriver(100, null);
+        checkpointingSimulationDriver.setCheckpointing(true);
+        SimulationCheckpoint checkpoint = checkpointingSimulationDriver.runSimulation().getCheckpoint();
+
+        SimulationDriverParametersBuilder parametersBuilder = this.createParametersBuilder(SIMULATION_DURATION, null);
+        parametersBuilder.setSimulationMarketDataSource(new MultiStockListDataSource(this.marketPriceSnapshots.subList(1, this.marketPriceSnapshots.size())));
+
+        try {
+            new SimulationDriver(parametersBuilder.build()).resumeSimulation(checkpoint);
+        }
+        catch(SimulationDriverInitializationException ex) {
+            Assert.assertEquals("The simulation market data source does not match the checkpoint.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("SimulationDriverInitializationException expected.");
+    }
+
+    @Test
+    public void resumedSimulationEqualsFullSimulation_forLocalMaximumTradingStrategy() throws IOException {
+        LocalMaximumTradingStrategyParameters tradingStrategyParameters =
+                new LocalMaximumTradingStrategyParameters(ISIN.MunichRe, new DayCount(10), 0.05, 0.07, 0.03, 0.1);
+
+        this.assertResumedSimulationsEqualFullSimulation(context -> new LocalMaximumTradingStrategy(tradingStrategyParameters, context));
+    }
+
+    @Test
+    public void resumedSimulationEqualsFullSimulation_forDynamicLocalMaximumTradingStrategy() throws IOException {
+        DynamicLocalMaximumTradingStrategyParameters tradingStrategyParameters = new DynamicLocalMaximumTradingStrategyParameters(
+                ISIN.Allianz, new DayCount(5), 0.02, new DayCount(10), 0.03, new DayCount(15), 0.08, 0.05);
+
+        this.assertResumedSimulationsEqualFullSimulation(context -> new DynamicLocalMaximumTradingStrategy(tradingStrategyParameters, context));
+    }
+
+    @Test
+    public void resumedSimulationEqualsFullSimulation_forRisingAndDecliningDaysTradingStrategy() throws IOException {
+        RisingAndDecliningDaysTradingStrategyParameters tradingStrategyParameters =
+                new RisingAndDecliningDaysTradingStrategyParameters(ISIN.DeutscheBank, new DayCount(2), new DayCount(2));
+
+        this.assertResumedSimulationsEqualFullSimulation(context -> new RisingAndDecliningDaysTradingStrategy(tradingStrategyParameters, context));
+    }
+
+    @Test
+    public void checkpointingFailsBeforeFirstDay_ifTradingStrategyDoesNotSupportCheckpoints() {
+        AtomicInteger numPreparedDays = new AtomicInteger();
+
+        SimulationDriverParametersBuilder parametersBuilder = this.createParametersBuilder(100, null);
+        parametersBuilder.setTradingStrategyFactory(context -> () -> numPreparedDays.incrementAndGet());
+
+        SimulationDriver simulationDriver = new SimulationDriver(parametersBuilder.build());
+        simulationDriver.setCheckpointing(true);
+
+        try {
+            simulationDriver.runSimulation();
+        }
+        catch(SimulationDriverInitializationException ex) {
+            Assert.assertEquals("The trading strategy does not support checkpoints.", ex.getMessage());
+            Assert.assertEquals(0, numPreparedDays.get());
+            return;
+        }
+
+        Assert.fail("SimulationDriverInitializationException expected.");
+    }
+
+    private void assertResumedSimulationEqualsFullSimulation(HistoricalMarketDataSet historicalMarketDataSet) throws IOException {
+        SimulationReport expectedReport = this.createSimulationDriver(SIMULATION_DURATION, historicalMarketDataSet).runSimulation();
+
+        SimulationDriver checkpointingSimulationDriver = this.createSimulationDriver(150, historicalMarketDataSet);
+        checkpointingSimulationDriver.setCheckpointing(true);
+        SimulationCheckpoint checkpoint = this.copy(checkpointingSimulationDriver.runSimulation().getCheckpoint());
+
+        Assert.assertEquals(150, checkpoint.getNumSimulatedDays());
+        Assert.assertEquals(this.marketPriceSnapshots.get(HISTORY_DURATION + 149).getDate(), checkpoint.getLastClosedDayDate());
+
+        SimulationReport actualReport = this.createSimulationDriver(SIMULATION_DURATION, historicalMarketDataSet).resumeSimulation(checkpoint);
+
+        Assert.assertFalse(expectedReport.getTransactions().isEmpty());
+        Assert.assertEquals(this.formatTransactions(expectedReport.getTransactions()), this.formatTransactions(actualReport.getTransactions()));
+        Assert.assertEquals(expectedReport.getFinalAccountBalance(), actualReport.getFinalAccountBalance());
+        Assert.assertEquals(expectedReport.getRealizedRateOfReturn(), actualReport.getRealizedRateOfReturn(), 0.0);
+        Assert.assertEquals(expectedReport.getAverageMarketRateOfReturn(), actualReport.getAverageMarketRateOfReturn(), 0.0);
+    }
+
+    /**
+     * Checkpoints the simulation after every 20th day, so that the strategy is checkpointed in all of its phases.
+     */
+    private void assertResumedSimulationsEqualFullSimulation(TradingStrategyFactory tradingStrategyFactory) throws IOException {
+        SimulationReport expectedReport = this.createSimulationDriver(SIMULATION_DURATION, null, tradingStrategyFactory).runSimulation();
+
+        Assert.assertFalse(expectedReport.getTransactions().isEmpty());
+
+        for(int checkpointDuration = 20; checkpointDuration < SIMULATION_DURATION; checkpointDuration += 20) {
+            SimulationDriver checkpointingSimulationDriver = this.createSimulationDriver(checkpointDuration, null, tradingStrategyFactory);
+            checkpointingSimulationDriver.setCheckpointing(true);
+            SimulationCheckpoint checkpoint = this.copy(checkpointingSimulationDriver.runSimulation().getCheckpoint());
+
+            SimulationReport actualReport = this.createSimulationDriver(SIMULATION_DURATION, null, tradingStrategyFactory).resumeSimulation(checkpoint);
+
+            Assert.assertEquals(this.formatTransactions(expectedReport.getTransactions()), this.formatTransactions(actualReport.getTransactions()));
+            Assert.assertEquals(expectedReport.getFinalAccountBalance(), actualReport.getFinalAccountBalance());
+        }
+    }
+
+    private SimulationCheckpoint copy(SimulationCheckpoint checkpoint) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        checkpoint.writeTo(outputStream);
+
+        return SimulationCheckpoint.readFrom(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+
+    private List<String> formatTransactions(List<Transaction> transactions) {
+        List<String> formattedTransactions = new ArrayList<>();
+
+        for(Transaction transaction: transactions) {
+            formattedTransactions.add(transaction.getDate() + ": " + transaction);
+        }
+
+        return formattedTransactions;
+    }
+
+    private SimulationDriver createSimulationDriver(int simulationDuration, HistoricalMarketDataSet historicalMarketDataSet) {
+        return new SimulationDriver(this.createParametersBuilder(simulationDuration, historicalMarketDataSet).build());
+    }
+
+    private SimulationDriver createSimulationDriver(int simulationDuration, HistoricalMarketDataSet historicalMarketDataSet, TradingStrategyFactory tradingStrategyFactory) {
+        SimulationDriverParametersBuilder parametersBuilder = this.createParametersBuilder(simulationDuration, historicalMarketDataSet);
+        parametersBuilder.setTradingStrategyFactory(tradingStrategyFactory);
+        return new SimulationDriver(parametersBuilder.build());
+    }
+
+    private SimulationDriverParametersBuilder createParametersBuilder(int simulationDuration, HistoricalMarketDataSet historicalMarketDataSet) {
+        CompoundLocalMaximumTradingStrategyParameters tradingStrategyParameters =
+                new CompoundLocalMaximumTradingStrategyParameters(new DayCount(10), 0.05, 0.07, 0.03, 0.1, 0.3);
+
+        SimulationDriverParametersBuilder parametersBuilder = new SimulationDriverParametersBuilder();
+        parametersBuilder.setSimulationMarketDataSource(new MultiStockListDataSource(this.marketPriceSnapshots));
+        parametersBuilder.setHistoricalMarketDataSet(historicalMarketDataSet);
+        parametersBuilder.setHistoryDuration(new DayCount(HISTORY_DURATION));
+        parametersBuilder.setSimulationDuration(new DayCount(simulationDuration));
+        parametersBuilder.setSeedCapital(new Amount(10000.0));
+        parametersBuilder.setTradingStrategyFactory(context -> new CompoundLocalMaximumTradingStrategy(tradingStrategyParameters, context));
+        parametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
+        parametersBuilder.setTaxStrategy(TaxStrategies.getDefaultTaxStrategy());
+        return parametersBuilder;
+    }
+}
@@ -9,6 +9,7 @@ import trading.domain.account.MarketTransactionType;
 import trading.domain.account.TaxStrategies;
 import trading.domain.broker.*;
 import trading.domain.market.HistoricalMarketData;
+import trading.domain.market.HistoricalMarketDataSet;
 import trading.domain.market.HistoricalStockData;
 import trading.domain.market.MarketPriceSnapshot;
 import trading.domain.market.MarketPriceSnapshotBuilder;
@@ -269,6 +270,43 @@ public class SimulationDriverTest {
         Assert.assertTrue("The trading strategy factory has not been called.", assertDone.get());
     }
 
+    @Test
+    public void buildHistoricalMarketData_fromHistoricalMarketDataSet() {
+        List<MarketPriceSnapshot> marketPriceSnapshots = new ArrayList<>();
+        LocalDate date = LocalDate.of(2018, 1, 1);
+
+        for(int dayIndex = 0; dayIndex < 4; dayIndex++) {
+            marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                    .setMarketPrice(ISIN.MunichRe, new Amount(1000.0 + 100.0 * dayIndex))
+                    .setDate(date.plusDays(dayIndex))
+                    .build());
+        }
+
+        this.parametersBuilder.setSimulationMarketDataSource(new MultiStockListDataSource(marketPriceSnapshots));
+        this.parametersBuilder.setHistoricalMarketDataSet(HistoricalMarketDataSet.of(marketPriceSnapshots));
+        this.parametersBuilder.setHistoryDuration(new DayCount(2));
+        this.parametersBuilder.setSimulationDuration(new DayCount(2));
+
+        List<HistoricalMarketData> historicalMarketDataList = new ArrayList<>();
+
+        TradingStrategyFactory tradingStrategyFactory = context -> {
+            Assert.assertEquals(new DayCount(2), context.getHistoricalMarketData().getDuration());
+            Assert.assertEquals(new Amount(1100.0), context.getHistoricalMarketData().getStockData(ISIN.MunichRe).getLastClosingMarketPrice());
+            historicalMarketDataList.add(context.getHistoricalMarketData());
+            return new ManualTradingStrategy(context.getBroker());
+        };
+
+        this.parametersBuilder.setTradingStrategyFactory(tradingStrategyFactory);
+
+        SimulationDriver simulationDriver = new SimulationDriver(this.parametersBuilder.build());
+        SimulationReport simulationReport = simulationDriver.runSimulation();
+
+        Assert.assertEquals(1, historicalMarketDataList.size());
+        Assert.assertEquals(new DayCount(4), historicalMarketDataList.get(0).getDuration());
+        Assert.assertEquals(new Amount(1300.0), historicalMarketDataList.get(0).getStockData(ISIN.MunichRe).getLastClosingMarketPrice());
+        Assert.assertEquals(0.2 / 1.1, simulationReport.getAverageMarketRateOfReturn(), 0.0000001);
+    }
+
     // Account seed capital
 
     @Test
@@ -599,4 +637,112 @@ public class SimulationDriverTest {
 
         Assert.assertEquals(0.05, simulationReport.getRealizedRateOfReturn(), 0.000000001);
     }
+
+    // Daily reporting
+
+    @Test
+    public void equityCurveContainsEverySimulatedDay_ifDailyReportingEnabled() {
+        this.parametersBuilder.setSimulationDuration(new DayCount(3));
+        this.parametersBuilder.setTradingStrategyFactory(context -> () -> { });
+
+        SimulationDriver simulationDriver = new SimulationDriver(this.parametersBuilder.build());
+        simulationDriver.setDailyReporting(true);
+
+        EquityCurve equityCurve = simulationDriver.runSimulation().getEquityCurve();
+
+        Assert.assertEquals(3, equityCurve.size());
+
+        for(int index = 0; index < 3; index++) {
+            Assert.assertEquals(index, equityCurve.getSimulatedDayIndex(index));
+            Assert.assertEquals(50000.0, equityCurve.getAccountBalance(index), 0.0);
+            Assert.assertEquals(50000.0, equityCurve.getAvailableMoney(index), 0.0);
+            Assert.assertEquals(0.0, equityCurve.getRealizedRateOfReturn(index), 0.0);
+        }
+
+        Assert.assertEquals(0.1, equityCurve.getAverageMarketRateOfReturn(0), 0.000001);
+        Assert.assertEquals(0.3, equityCurve.getAverageMarketRateOfReturn(2), 0.000001);
+    }
+
+    @Test
+    public void equityCurveContainsSampledDaysAndLastDay_ifSamplingIntervalSet() {
+        this.parametersBuilder.setSimulationDuration(new DayCount(3));
+        this.parametersBuilder.setTradingStrategyFactory(context -> () -> { });
+
+        SimulationDriver simulationDriver = new SimulationDriver(this.parametersBuilder.build());
+        simulationDriver.setEquityCurveRecorder(new EquityCurveRecorder(2));
+
+        SimulationReport simulationReport = simulationDriver.runSimulation();
+        EquityCurve equityCurve = simulationReport.getEquityCurve();
+
+        Assert.assertEquals(2, equityCurve.size());
+        Assert.assertEquals(0, equityCurve.getSimulatedDayIndex(0));
+        Assert.assertEquals(2, equityCurve.getSimulatedDayIndex(1));
+        Assert.assertEquals(2, simulationReport.getDayReports().size());
+    }
+
+    // Termination conditions
+
+    @Test
+    public void simulationIsTerminatedEarly_ifTerminationConditionApplies() {
+        this.parametersBuilder.setSimulationDuration(new DayCount(3));
+        this.parametersBuilder.setTradingStrategyFactory(context -> () -> { });
+
+        SimulationDriver simulationDriver = new SimulationDriver(this.parametersBuilder.build());
+        simulationDriver.setDailyReporting(true);
+        simulationDriver.addTerminationCondition(new InactivityTerminationCondition(new DayCount(1)));
+
+        SimulationReport simulationReport = simulationDriver.runSimulation();
+
+        Assert.assertTrue(simulationReport.isTerminated());
+        Assert.assertEquals(TerminationReason.Inactivity, simulationReport.getTerminationReason());
+        Assert.assertEquals(2, simulationReport.getDayReports().size());
+
+        // Market price rises from 1,000 to 1,200 until termination
+
+        Assert.assertEquals(0.2, simulationReport.getAverageMarketRateOfReturn(), 0.000001);
+    }
+
+    @Test
+    public void simulationIsNotTerminated_ifNoTerminationConditionApplies() {
+        this.parametersBuilder.setSimulationDuration(new DayCount(3));
+        this.parametersBuilder.setTradingStrategyFactory(context -> () -> { });
+
+        SimulationDriver simulationDriver = new SimulationDriver(this.parametersBuilder.build());
+        simulationDriver.addTerminationCondition(new InactivityTerminationCondition(new DayCount(3)));
+        simulationDriver.addTerminationCondition(new DrawdownFloorTerminationCondition(0.5));
+
+        SimulationReport simulationReport = simulationDriver.runSimulation();
+
+        Assert.assertFalse(simulationReport.isTerminated());
+        Assert.assertNull(simulationReport.getTerminationReason());
+    }
+
+    @Test
+    public void simulationIsTerminated_ifBalanceFallsBelowDrawdownFloor() {
+        List<Amount> closingMarketPrices = Arrays.asList(
+                new Amount(1000.0),
+                new Amount(1000.0),
+                new Amount(400.0),
+                new Amount(300.0));
+
+        List<LocalDate> dates = new DateSequenceGenerator(LocalDate.of(2018, 1, 1)).nextDates(4);
+
+        this.parametersBuilder.setSimulationMarketDataSource(new SingleStockListDataSource(ISIN.MunichRe, closingMarketPrices, dates));
+        this.parametersBuilder.setSimulationDuration(new DayCount(3));
+        this.parametersBuilder.setTradingStrategyFactory(context -> {
+            ManualTradingStrategy manualTradingStrategy = new ManualTradingStrategy(context.getBroker());
+            manualTradingStrategy.registerOrderRequest(new OrderRequest(OrderType.BuyMarket, ISIN.MunichRe, new Quantity(50)));
+            return manualTradingStrategy;
+        });
+
+        SimulationDriver simulationDriver = new SimulationDriver(this.parametersBuilder.build());
+        simulationDriver.addTerminationCondition(new DrawdownFloorTerminationCondition(0.5));
+
+        SimulationReport simulationReport = simulationDriver.runSimulation();
+
+        // 50 stocks bought for 1,000, market price declines to 400: balance = 50,000 - 50 * 600 = 20,000
+
+        Assert.assertEquals(TerminationReason.DrawdownFloor, simulationReport.getTerminationReason());
+        Assert.assertEquals(new Amount(20000.0), simulationReport.getFinalAccountBalance());
+    }
 }
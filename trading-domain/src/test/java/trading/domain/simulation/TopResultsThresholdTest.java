@@ -0,0 +1,43 @@
+package trading.domain.simulation;
+
+import org.junit.Assert;
+import org.junit.Test;
+import trading.domain.DomainException;
+
+public class TopResultsThresholdTest {
+    @Test
+    public void thresholdIsNegativeInfinity_untilEnoughResultsRegistered() {
+        TopResultsThreshold topResultsThreshold = new TopResultsThreshold(2);
+        topResultsThreshold.registerResult(0.1);
+
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, topResultsThreshold.getThreshold(), 0.0);
+    }
+
+    @Test
+    public void thresholdIsLowestOfTopResults() {
+        TopResultsThreshold topResultsThreshold = new TopResultsThreshold(2);
+        topResultsThreshold.registerResult(0.1);
+        topResultsThreshold.registerResult(0.3);
+
+        Assert.assertEquals(0.1, topResultsThreshold.getThreshold(), 0.0);
+
+        topResultsThreshold.registerResult(0.2);
+        Assert.assertEquals(0.2, topResultsThreshold.getThreshold(), 0.0);
+
+        topResultsThreshold.registerResult(-0.5);
+        Assert.assertEquals(0.2, topResultsThreshold.getThreshold(), 0.0);
+    }
+
+    @Test
+    public void creationFails_ifNumberOfTopResultsIsNotPositive() {
+        try {
+            new TopResultsThreshold(0);
+        }
+        catch(DomainException ex) {
+            Assert.assertEquals("The number of top results must be positive.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("DomainException expected.");
+    }
+}
@@ -0,0 +1,124 @@
+package trading.domain.simulation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.DayCount;
+import trading.domain.ISIN;
+import trading.domain.account.TaxStrategies;
+import trading.domain.broker.CommissionStrategies;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumTradingStrategy;
+import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumTradingStrategyParameters;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class UpperBoundTerminationConditionTest {
+    private static final int HISTORY_DURATION = 20;
+    private static final int SIMULATION_DURATION = 250;
+    private static final int NUM_TOP_RESULTS = 3;
+
+    private List<MarketPriceSnapshot> marketPriceSnapshots;
+    private HistoricalMarketDataSet historicalMarketDataSet;
+    private List<CompoundLocalMaximumTradingStrategyParameters> runParameters;
+
+    @Before
+    public void before() {
+        ISIN[] isins = new ISIN[] { ISIN.MunichRe, ISIN.Allianz, ISIN.DeutscheBank };
+        double[] prices = new double[] { 180.0, 150.0, 12.0 };
+        Random random = new Random(11);
+        DateSequenceGenerator dateSequenceGenerator = new DateSequenceGenerator(LocalDate.of(2018, 1, 1));
+
+        this.marketPriceSnapshots = new ArrayList<>();
+
+        for(int dayIndex = 0; dayIndex < HISTORY_DURATION + SIMULATION_DURATION; dayIndex++) {
+            MarketPriceSnapshotBuilder marketPriceSnapshotBuilder = new MarketPriceSnapshotBuilder().setDate(dateSequenceGenerator.nextDate());
+
+            for(int stockIndex = 0; stockIndex < isins.length; stockIndex++) {
+                prices[stockIndex] = Math.round(prices[stockIndex] * (1.0 + random.nextGaussian() * 0.01) * 100.0) / 100.0;
+                marketPriceSnapshotBuilder.setMarketPrice(isins[stockIndex], new Amount(prices[stockIndex]));
+            }
+
+            this.marketPriceSnapshots.add(marketPriceSnapshotBuilder.build());
+        }
+
+        this.historicalMarketDataSet = HistoricalMarketDataSet.of(this.marketPriceSnapshots);
+
+        this.runParameters = new ArrayList<>();
+
+        for(int lookBehindPeriod: new int[] { 1, 5, 10, 20 }) {
+            for(double minDecline: new double[] { 0.0, 0.02, 0.05 }) {
+                this.runParameters.add(new CompoundLocalMaximumTradingStrategyParameters(new DayCount(lookBehindPeriod), minDecline, 0.05, 0.02, 0.05, 0.3));
+            }
+        }
+    }
+
+    @Test
+    public void pruningKeepsTopResults() {
+        List<Double> expectedRatesOfReturn = new ArrayList<>();
+
+        for(CompoundLocalMaximumTradingStrategyParameters parameters: this.runParameters) {
+            expectedRatesOfReturn.add(this.createSimulationDriver(parameters).runSimulation().getRealizedRateOfReturn());
+        }
+
+        TopResultsThreshold topResultsThreshold = new TopResultsThreshold(NUM_TOP_RESULTS);
+        UpperBoundTerminationCondition upperBoundTerminationCondition = new UpperBoundTerminationCondition(this.historicalMarketDataSet, topResultsThreshold);
+
+        List<Double> actualRatesOfReturn = new ArrayList<>();
+        int numTerminatedSimulations = 0;
+
+        for(CompoundLocalMaximumTradingStrategyParameters parameters: this.runParameters) {
+            SimulationDriver simulationDriver = this.createSimulationDriver(parameters);
+            simulationDriver.addTerminationCondition(upperBoundTerminationCondition);
+            SimulationReport simulationReport = simulationDriver.runSimulation();
+
+            if(simulationReport.isTerminated()) {
+                Assert.assertEquals(TerminationReason.UpperBound, simulationReport.getTerminationReason());
+                numTerminatedSimulations++;
+                continue;
+            }
+
+            topResultsThreshold.registerResult(simulationReport.getRealizedRateOfReturn());
+            actualRatesOfReturn.add(simulationReport.getRealizedRateOfReturn());
+        }
+
+        Assert.assertTrue(numTerminatedSimulations > 0);
+
+        Collections.sort(expectedRatesOfReturn, Collections.reverseOrder());
+        Collections.sort(actualRatesOfReturn, Collections.reverseOrder());
+
+        Assert.assertEquals(expectedRatesOfReturn.subList(0, NUM_TOP_RESULTS), actualRatesOfReturn.subList(0, NUM_TOP_RESULTS));
+    }
+
+    @Test
+    public void simulationIsNotTerminated_withoutTopResults() {
+        UpperBoundTerminationCondition upperBoundTerminationCondition = new UpperBoundTerminationCondition(this.historicalMarketDataSet, new TopResultsThreshold(NUM_TOP_RESULTS));
+
+        SimulationDriver simulationDriver = this.createSimulationDriver(this.runParameters.get(0));
+        simulationDriver.addTerminationCondition(upperBoundTerminationCondition);
+
+        Assert.assertFalse(simulationDriver.runSimulation().isTerminated());
+    }
+
+    private SimulationDriver createSimulationDriver(CompoundLocalMaximumTradingStrategyParameters parameters) {
+        SimulationDriverParametersBuilder parametersBuilder = new SimulationDriverParametersBuilder();
+        parametersBuilder.setSimulationMarketDataSource(new MultiStockListDataSource(this.marketPriceSnapshots));
+        parametersBuilder.setHistoricalMarketDataSet(this.historicalMarketDataSet);
+        parametersBuilder.setHistoryDuration(new DayCount(HISTORY_DURATION));
+        parametersBuilder.setSimulationDuration(new DayCount(SIMULATION_DURATION));
+        parametersBuilder.setSeedCapital(new Amount(10000.0));
+        parametersBuilder.setTradingStrategyFactory(context -> new CompoundLocalMaximumTradingStrategy(parameters, context));
+        parametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
+        parametersBuilder.setTaxStrategy(TaxStrategies.getDefaultTaxStrategy());
+
+        return new SimulationDriver(parametersBuilder.build());
+    }
+}
@@ -0,0 +1,138 @@
+package trading.domain.simulation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.DayCount;
+import trading.domain.ISIN;
+import trading.domain.account.TaxStrategies;
+import trading.domain.broker.CommissionStrategies;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+import trading.domain.strategy.TradingStrategyFactory;
+import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumTradingStrategy;
+import trading.domain.strategy.compoundLocalMaximum.CompoundLocalMaximumTradingStrategyParameters;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class WalkForwardDriverTest {
+    private List<MarketPriceSnapshot> marketPriceSnapshots;
+    private HistoricalMarketDataSet historicalMarketDataSet;
+    private TradingStrategyFactory tradingStrategyFactory;
+
+    @Before
+    public void before() {
+        ISIN[] isins = new ISIN[] { ISIN.MunichRe, ISIN.Allianz, ISIN.DeutscheBank };
+        double[] prices = new double[] { 180.0, 150.0, 12.0 };
+        Random random = new Random(3);
+        DateSequenceGenerator dateSequenceGenerator = new DateSequenceGenerator(LocalDate.of(2017, 6, 1));
+
+        this.marketPriceSnapshots = new ArrayList<>();
+
+        for(int dayIndex = 0; dayIndex < 300; dayIndex++) {
+            MarketPriceSnapshotBuilder marketPriceSnapshotBuilder = new MarketPriceSnapshotBuilder().setDate(dateSequenceGenerator.nextDate());
+
+            for(int stockIndex = 0; stockIndex < isins.length; stockIndex++) {
+                prices[stockIndex] = Math.round(prices[stockIndex] * (1.0 + random.nextGaussian() * 0.03) * 100.0) / 100.0;
+                marketPriceSnapshotBuilder.setMarketPrice(isins[stockIndex], new Amount(prices[stockIndex]));
+            }
+
+            this.marketPriceSnapshots.add(marketPriceSnapshotBuilder.build());
+        }
+
+        this.historicalMarketDataSet = HistoricalMarketDataSet.of(this.marketPriceSnapshots);
+
+        CompoundLocalMaximumTradingStrategyParameters tradingStrategyParameters =
+                new CompoundLocalMaximumTradingStrategyParameters(new DayCount(10), 0.05, 0.07, 0.03, 0.1, 0.3);
+
+        this.tradingStrategyFactory = context -> new CompoundLocalMaximumTradingStrategy(tradingStrategyParameters, context);
+    }
+
+    @Test
+    public void windowsEqualSeparateSimulations() {
+        WalkForwardDriver walkForwardDriver = new WalkForwardDriver(this.createParametersBuilder(5).build());
+        walkForwardDriver.setNumThreads(3);
+
+        WalkForwardReport walkForwardReport = walkForwardDriver.runWalkForward();
+
+        Assert.assertEquals(5, walkForwardReport.getWindowReports().size());
+
+        for(int windowIndex = 0; windowIndex < 5; windowIndex++) {
+            WalkForwardWindowReport windowReport = walkForwardReport.getWindowReports().get(windowIndex);
+            SimulationReport expectedReport = this.runSeparateSimulation(20 + windowIndex * 40, 100);
+
+            Assert.assertEquals(windowIndex, windowReport.getWindowIndex());
+            Assert.assertEquals(this.marketPriceSnapshots.get(20 + windowIndex * 40).getDate(), windowReport.getStartDate());
+            Assert.assertEquals(this.marketPriceSnapshots.get(20 + windowIndex * 40 + 99).getDate(), windowReport.getEndDate());
+            Assert.assertEquals(expectedReport.getFinalAccountBalance(), windowReport.getSimulationReport().getFinalAccountBalance());
+            Assert.assertEquals(expectedReport.getTransactions().size(), windowReport.getSimulationReport().getTransactions().size());
+        }
+    }
+
+    @Test
+    public void aggregatesMetricsOverWindows() {
+        WalkForwardReport walkForwardReport = new WalkForwardDriver(this.createParametersBuilder(5).build()).runWalkForward();
+
+        double sum = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        for(WalkForwardWindowReport windowReport: walkForwardReport.getWindowReports()) {
+            sum += windowReport.getRealizedRateOfReturn();
+            min = Math.min(min, windowReport.getRealizedRateOfReturn());
+            max = Math.max(max, windowReport.getRealizedRateOfReturn());
+        }
+
+        Assert.assertEquals(sum / 5, walkForwardReport.getMeanRealizedRateOfReturn(), 0.000001);
+        Assert.assertEquals(min, walkForwardReport.getMinRealizedRateOfReturn(), 0.0);
+        Assert.assertEquals(max, walkForwardReport.getMaxRealizedRateOfReturn(), 0.0);
+        Assert.assertTrue(walkForwardReport.getStandardDeviationOfRealizedRateOfReturn() >= 0.0);
+        Assert.assertTrue(walkForwardReport.getStandardDeviationOfRealizedRateOfReturn() <= max - min);
+    }
+
+    @Test
+    public void parametersFail_ifWindowsExceedMarketDataSet() {
+        try {
+            this.createParametersBuilder(6).build();
+        }
+        catch(SimulationDriverInitializationException ex) {
+            Assert.assertEquals("The windows exceed the historical market data set.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("SimulationDriverInitializationException expected.");
+    }
+
+    private SimulationReport runSeparateSimulation(int historyDuration, int simulationDuration) {
+        SimulationDriverParametersBuilder parametersBuilder = new SimulationDriverParametersBuilder();
+        parametersBuilder.setSimulationMarketDataSource(new MultiStockListDataSource(this.marketPriceSnapshots));
+        parametersBuilder.setHistoryDuration(new DayCount(historyDuration));
+        parametersBuilder.setSimulationDuration(new DayCount(simulationDuration));
+        parametersBuilder.setSeedCapital(new Amount(10000.0));
+        parametersBuilder.setTradingStrategyFactory(this.tradingStrategyFactory);
+        parametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
+        parametersBuilder.setTaxStrategy(TaxStrategies.getDefaultTaxStrategy());
+        return new SimulationDriver(parametersBuilder.build()).runSimulation();
+    }
+
+    private WalkForwardDriverParametersBuilder createParametersBuilder(int numWindows) {
+        WalkForwardDriverParametersBuilder parametersBuilder = new WalkForwardDriverParametersBuilder();
+        parametersBuilder.setSharedMarketPriceSnapshots(SharedMarketPriceSnapshots.of(this.marketPriceSnapshots));
+        parametersBuilder.setHistoricalMarketDataSet(this.historicalMarketDataSet);
+        parametersBuilder.setFirstHistoryDuration(new DayCount(20));
+        parametersBuilder.setWindowDuration(new DayCount(100));
+        parametersBuilder.setWindowStep(new DayCount(40));
+        parametersBuilder.setNumWindows(numWindows);
+        parametersBuilder.setSeedCapital(new Amount(10000.0));
+        parametersBuilder.setTradingStrategyFactory(this.tradingStrategyFactory);
+        parametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
+        parametersBuilder.setTaxStrategy(TaxStrategies.getDefaultTaxStrategy());
+        return parametersBuilder;
+    }
+}
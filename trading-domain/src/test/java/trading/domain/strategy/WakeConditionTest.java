@@ -0,0 +1,80 @@
+package trading.domain.strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.ISIN;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class WakeConditionTest {
+    private HistoricalMarketDataSet historicalMarketDataSet;
+
+    @Before
+    public void before() {
+        double[] prices = new double[] { 10.0, 11.0, 12.0, 11.5, 9.0, 13.0 };
+        DateSequenceGenerator dateSequenceGenerator = new DateSequenceGenerator(LocalDate.of(2017, 6, 1));
+        List<MarketPriceSnapshot> marketPriceSnapshots = new ArrayList<>();
+
+        for(double price: prices) {
+            marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                    .setDate(dateSequenceGenerator.nextDate())
+                    .setMarketPrice(ISIN.MunichRe, new Amount(price))
+                    .build());
+        }
+
+        this.historicalMarketDataSet = HistoricalMarketDataSet.of(marketPriceSnapshots);
+    }
+
+    @Test
+    public void priceAtOrBelow_wakesOnFirstDayAtOrBelowPrice() {
+        WakeCondition wakeCondition = WakeCondition.priceAtOrBelow(ISIN.MunichRe, 9.0);
+        Assert.assertEquals(3, wakeCondition.countDaysBeforeWake(this.historicalMarketDataSet, 0, 10));
+    }
+
+    @Test
+    public void priceAtOrAbove_wakesOnFirstDayAtOrAbovePrice() {
+        WakeCondition wakeCondition = WakeCondition.priceAtOrAbove(ISIN.MunichRe, 12.0);
+        Assert.assertEquals(1, wakeCondition.countDaysBeforeWake(this.historicalMarketDataSet, 0, 10));
+    }
+
+    @Test
+    public void priceOutside_wakesOnFirstDayOutsideRange() {
+        WakeCondition wakeCondition = WakeCondition.priceOutside(ISIN.MunichRe, 9.0, 12.5);
+        Assert.assertEquals(2, wakeCondition.countDaysBeforeWake(this.historicalMarketDataSet, 1, 10));
+    }
+
+    @Test
+    public void countIsLimitedByMaximumAndAvailableDays() {
+        WakeCondition wakeCondition = WakeCondition.priceAtOrAbove(ISIN.MunichRe, 100.0);
+        Assert.assertEquals(2, wakeCondition.countDaysBeforeWake(this.historicalMarketDataSet, 0, 2));
+        Assert.assertEquals(5, wakeCondition.countDaysBeforeWake(this.historicalMarketDataSet, 0, 10));
+    }
+
+    @Test
+    public void daysElapsed_wakesOnGivenDayAfterLastClosedDay() {
+        WakeCondition wakeCondition = WakeCondition.daysElapsed(3);
+        Assert.assertEquals(2, wakeCondition.countDaysBeforeWake(this.historicalMarketDataSet, 0, 10));
+        Assert.assertEquals(1, wakeCondition.countDaysBeforeWake(this.historicalMarketDataSet, 4, 10));
+    }
+
+    @Test
+    public void daysElapsed_fails_ifNumberOfDaysIsNotPositive() {
+        try {
+            WakeCondition.daysElapsed(0);
+        }
+        catch(RuntimeException ex) {
+            Assert.assertEquals("The number of days must be positive.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
+}
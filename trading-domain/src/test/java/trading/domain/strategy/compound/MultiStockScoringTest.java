@@ -15,6 +15,7 @@ import trading.domain.market.MarketPriceSnapshotBuilder;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 public class MultiStockScoringTest {
     private HistoricalMarketData historicalMarketData;
@@ -104,4 +105,50 @@ public class MultiStockScoringTest {
         Assert.assertEquals(1.0, munichReScore.getValue(), 0.0);
         Assert.assertEquals(0.1, allianzScore.getValue(), 0.0);
     }
+
+    @Test
+    public void parallelScoringEqualsSerialScoring() {
+        MarketPriceSnapshotBuilder marketPriceSnapshotBuilder = new MarketPriceSnapshotBuilder().setDate(LocalDate.now());
+
+        for(int stockIndex = 0; stockIndex < 1000; stockIndex++) {
+            marketPriceSnapshotBuilder.setMarketPrice(new ISIN("ISIN" + stockIndex), new Amount(10.0 + stockIndex));
+        }
+
+        HistoricalMarketData historicalMarketData = new HistoricalMarketData(marketPriceSnapshotBuilder.build());
+        Set<ISIN> isins = historicalMarketData.getAvailableStocks();
+
+        ScoringStrategy scoringStrategy = new ScoringStrategy() {
+            @Override
+            public Score calculateScore(HistoricalMarketData historicalMarketData, Account account, ISIN isin) {
+                return new Score(historicalMarketData.getStockData(isin).lastClose() / 1000.0);
+            }
+        };
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+        try {
+            Scores expectedScores = new MultiStockScoring().calculateScores(historicalMarketData, this.account, scoringStrategy, isins);
+            Scores actualScores = new MultiStockScoring(forkJoinPool, 16).calculateScores(historicalMarketData, this.account, scoringStrategy, isins);
+
+            for(ISIN isin: isins) {
+                Assert.assertEquals(expectedScores.get(isin).getValue(), actualScores.get(isin).getValue(), 0.0);
+            }
+        }
+        finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void parallelScoringFailsIfThresholdNotPositive() {
+        try {
+            new MultiStockScoring(ForkJoinPool.commonPool(), 0);
+        }
+        catch(RuntimeException ex) {
+            Assert.assertEquals("The parallelism threshold must be positive.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("RuntimeException expected.");
+    }
 }
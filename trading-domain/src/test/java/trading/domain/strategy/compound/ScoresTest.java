@@ -3,6 +3,7 @@ package trading.domain.strategy.compound;
 import org.junit.Assert;
 import org.junit.Test;
 import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -36,6 +37,23 @@ public class ScoresTest {
         Assert.assertArrayEquals(expectedScores, sortedScores);
     }
 
+    @Test
+    public void returnsInstrumentsSortedByScore_andSkipsInstrumentsWithoutScore() {
+        InstrumentRegistry instrumentRegistry = new InstrumentRegistry();
+        instrumentRegistry.register(new ISIN("A"));
+        instrumentRegistry.register(new ISIN("B"));
+        instrumentRegistry.register(new ISIN("C"));
+
+        Score[] values = new Score[] { new Score(0.2), null, new Score(0.5) };
+
+        Scores scores = new Scores(instrumentRegistry, values, LocalDate.now());
+
+        Assert.assertArrayEquals(new int[] { 2, 0 }, scores.getInstrumentsOrderByScoreDescending());
+        Assert.assertSame(values[2], scores.get(new ISIN("C")));
+        Assert.assertNull(scores.get(new ISIN("B")));
+        Assert.assertNull(scores.get(new ISIN("D")));
+    }
+
     @Test
     public void returnsDate() {
         Map<ISIN, Score> values = new HashMap<>();
@@ -0,0 +1,165 @@
+package trading.domain.strategy.compoundLocalMaximum;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.DayCount;
+import trading.domain.ISIN;
+import trading.domain.account.TaxStrategies;
+import trading.domain.account.Transaction;
+import trading.domain.broker.CommissionStrategies;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+import trading.domain.simulation.DrawdownFloorTerminationCondition;
+import trading.domain.simulation.InactivityTerminationCondition;
+import trading.domain.simulation.LockstepSimulationDriver;
+import trading.domain.simulation.LockstepSimulationDriverParametersBuilder;
+import trading.domain.simulation.LockstepSimulationReport;
+import trading.domain.simulation.MultiStockListDataSource;
+import trading.domain.simulation.SimulationDriver;
+import trading.domain.simulation.SimulationDriverParametersBuilder;
+import trading.domain.simulation.SimulationReport;
+import trading.domain.simulation.TerminationCondition;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class CompoundLocalMaximumLaneStrategyTest {
+    private static final int HISTORY_DURATION = 20;
+    private static final int SIMULATION_DURATION = 280;
+
+    private List<MarketPriceSnapshot> marketPriceSnapshots;
+    private HistoricalMarketDataSet historicalMarketDataSet;
+    private List<CompoundLocalMaximumTradingStrategyParameters> laneParameters;
+
+    @Before
+    public void before() {
+        ISIN[] isins = new ISIN[] { ISIN.MunichRe, ISIN.Allianz, ISIN.DeutscheBank, ISIN.Infineon };
+        double[] prices = new double[] { 180.0, 150.0, 12.0, 25.0 };
+        Random random = new Random(42);
+        DateSequenceGenerator dateSequenceGenerator = new DateSequenceGenerator(LocalDate.of(2018, 1, 1));
+
+        this.marketPriceSnapshots = new ArrayList<>();
+
+        for(int dayIndex = 0; dayIndex < HISTORY_DURATION + SIMULATION_DURATION; dayIndex++) {
+            MarketPriceSnapshotBuilder marketPriceSnapshotBuilder = new MarketPriceSnapshotBuilder().setDate(dateSequenceGenerator.nextDate());
+
+            for(int stockIndex = 0; stockIndex < isins.length; stockIndex++) {
+                prices[stockIndex] = Math.round(prices[stockIndex] * (1.0 + random.nextGaussian() * 0.03) * 100.0) / 100.0;
+
+                // Infineon is listed during the simulation
+
+                if(stockIndex != 3 || dayIndex >= 100) {
+                    marketPriceSnapshotBuilder.setMarketPrice(isins[stockIndex], new Amount(prices[stockIndex]));
+                }
+            }
+
+            this.marketPriceSnapshots.add(marketPriceSnapshotBuilder.build());
+        }
+
+        this.historicalMarketDataSet = HistoricalMarketDataSet.of(this.marketPriceSnapshots);
+
+        this.laneParameters = Arrays.asList(
+                new CompoundLocalMaximumTradingStrategyParameters(new DayCount(10), 0.1, 0.07, 0.03, 0.1, 0.2),
+                new CompoundLocalMaximumTradingStrategyParameters(new DayCount(10), 0.05, 0.07, 0.03, 0.1, 0.2),
+                new CompoundLocalMaximumTradingStrategyParameters(new DayCount(1), 0.0, 0.0, 0.008, 0.0, 0.05),
+                new CompoundLocalMaximumTradingStrategyParameters(new DayCount(5), 0.02, 0.1, 0.05, 0.2, 0.5),
+                new CompoundLocalMaximumTradingStrategyParameters(new DayCount(20), 0.01, 0.3, 1.0, 0.4, 1.0)
+        );
+    }
+
+    @Test
+    public void lanesEqualSeparateSimulations() {
+        this.assertLanesEqualSeparateSimulations(Collections.emptyList());
+    }
+
+    @Test
+    public void terminatedLanesEqualSeparateSimulations() {
+        List<TerminationCondition> terminationConditions = Arrays.asList(
+                new InactivityTerminationCondition(new DayCount(20)),
+                new DrawdownFloorTerminationCondition(0.97));
+
+        this.assertLanesEqualSeparateSimulations(terminationConditions);
+    }
+
+    private void assertLanesEqualSeparateSimulations(List<TerminationCondition> terminationConditions) {
+        LockstepSimulationDriverParametersBuilder lockstepParametersBuilder = new LockstepSimulationDriverParametersBuilder();
+        lockstepParametersBuilder.setSimulationMarketDataSource(new MultiStockListDataSource(this.marketPriceSnapshots));
+        lockstepParametersBuilder.setHistoricalMarketDataSet(this.historicalMarketDataSet);
+        lockstepParametersBuilder.setHistoryDuration(new DayCount(HISTORY_DURATION));
+        lockstepParametersBuilder.setSimulationDuration(new DayCount(SIMULATION_DURATION));
+        lockstepParametersBuilder.setSeedCapital(new Amount(10000.0));
+        lockstepParametersBuilder.setLaneStrategy(new CompoundLocalMaximumLaneStrategy(this.laneParameters));
+        lockstepParametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
+
+        LockstepSimulationDriver lockstepSimulationDriver = new LockstepSimulationDriver(lockstepParametersBuilder.build());
+
+        for(TerminationCondition terminationCondition: terminationConditions) {
+            lockstepSimulationDriver.addTerminationCondition(terminationCondition);
+        }
+
+        LockstepSimulationReport lockstepSimulationReport = lockstepSimulationDriver.runSimulation();
+
+        Assert.assertEquals(this.laneParameters.size(), lockstepSimulationReport.getNumLanes());
+
+        int numTerminatedLanes = 0;
+
+        for(int lane = 0; lane < this.laneParameters.size(); lane++) {
+            SimulationReport expectedReport = this.runSeparateSimulation(this.laneParameters.get(lane), terminationConditions);
+            SimulationReport actualReport = lockstepSimulationReport.getSimulationReport(lane);
+
+            if(actualReport.isTerminated()) {
+                numTerminatedLanes++;
+            }
+
+            Assert.assertFalse(expectedReport.getTransactions().isEmpty());
+            Assert.assertEquals(expectedReport.getTerminationReason(), actualReport.getTerminationReason());
+            Assert.assertEquals(this.sortTransactions(expectedReport.getTransactions()), this.sortTransactions(actualReport.getTransactions()));
+            Assert.assertEquals(expectedReport.getFinalAccountBalance(), actualReport.getFinalAccountBalance());
+            Assert.assertEquals(expectedReport.getRealizedRateOfReturn(), actualReport.getRealizedRateOfReturn(), 0.0);
+            Assert.assertEquals(expectedReport.getAverageMarketRateOfReturn(), actualReport.getAverageMarketRateOfReturn(), 0.0);
+        }
+
+        Assert.assertEquals(terminationConditions.isEmpty(), numTerminatedLanes == 0);
+    }
+
+    private List<String> sortTransactions(List<Transaction> transactions) {
+        // The orders of one day are executed in an unspecified order by separate simulations
+
+        List<String> sortedTransactions = new ArrayList<>();
+
+        for(Transaction transaction: transactions) {
+            sortedTransactions.add(transaction.getDate() + ": " + transaction);
+        }
+
+        Collections.sort(sortedTransactions);
+        return sortedTransactions;
+    }
+
+    private SimulationReport runSeparateSimulation(CompoundLocalMaximumTradingStrategyParameters parameters, List<TerminationCondition> terminationConditions) {
+        SimulationDriverParametersBuilder simulationDriverParametersBuilder = new SimulationDriverParametersBuilder();
+        simulationDriverParametersBuilder.setSimulationMarketDataSource(new MultiStockListDataSource(this.marketPriceSnapshots));
+        simulationDriverParametersBuilder.setHistoricalMarketDataSet(this.historicalMarketDataSet);
+        simulationDriverParametersBuilder.setHistoryDuration(new DayCount(HISTORY_DURATION));
+        simulationDriverParametersBuilder.setSimulationDuration(new DayCount(SIMULATION_DURATION));
+        simulationDriverParametersBuilder.setSeedCapital(new Amount(10000.0));
+        simulationDriverParametersBuilder.setTradingStrategyFactory(context -> new CompoundLocalMaximumTradingStrategy(parameters, context));
+        simulationDriverParametersBuilder.setCommissionStrategy(CommissionStrategies.getDegiroXetraCommissionStrategy());
+        simulationDriverParametersBuilder.setTaxStrategy(TaxStrategies.getNoTaxesStrategy());
+
+        SimulationDriver simulationDriver = new SimulationDriver(simulationDriverParametersBuilder.build());
+
+        for(TerminationCondition terminationCondition: terminationConditions) {
+            simulationDriver.addTerminationCondition(terminationCondition);
+        }
+
+        return simulationDriver.runSimulation();
+    }
+}
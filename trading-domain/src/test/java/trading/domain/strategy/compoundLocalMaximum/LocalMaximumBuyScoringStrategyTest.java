@@ -0,0 +1,104 @@
+package trading.domain.strategy.compoundLocalMaximum;
+
+import org.junit.Assert;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.DateSequenceGenerator;
+import trading.domain.DayCount;
+import trading.domain.ISIN;
+import trading.domain.indicator.IndicatorColumnCache;
+import trading.domain.indicator.IndicatorEngine;
+import trading.domain.market.HistoricalMarketData;
+import trading.domain.market.HistoricalMarketDataSet;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LocalMaximumBuyScoringStrategyTest {
+    @Test
+    public void scoresEqual_withAndWithoutIndicatorColumnCache() {
+        List<LocalDate> dates = new DateSequenceGenerator(LocalDate.of(2018, 1, 1)).nextDates(6);
+        double[] closes = new double[] { 100.0, 120.0, 110.0, 90.0, 95.0, 130.0 };
+        List<MarketPriceSnapshot> marketPriceSnapshots = new ArrayList<>();
+
+        for(int dayIndex = 0; dayIndex < dates.size(); dayIndex++) {
+            marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                    .setMarketPrice(ISIN.MunichRe, new Amount(closes[dayIndex]))
+                    .setDate(dates.get(dayIndex))
+                    .build());
+        }
+
+        HistoricalMarketDataSet historicalMarketDataSet = HistoricalMarketDataSet.of(marketPriceSnapshots);
+        IndicatorColumnCache indicatorColumnCache = new IndicatorColumnCache(historicalMarketDataSet, 100);
+
+        LocalMaximumBuyScoringStrategy uncachedScoringStrategy = new LocalMaximumBuyScoringStrategy(new DayCount(3), 0.1);
+        LocalMaximumBuyScoringStrategy cachedScoringStrategy = new LocalMaximumBuyScoringStrategy(new DayCount(3), 0.1, indicatorColumnCache);
+
+        HistoricalMarketData historicalMarketData = historicalMarketDataSet.createView(0);
+
+        for(int dayIndex = 0; dayIndex < dates.size(); dayIndex++) {
+            if(dayIndex > 0) {
+                historicalMarketData.registerClosedDay(marketPriceSnapshots.get(dayIndex));
+            }
+
+            Assert.assertEquals(
+                    uncachedScoringStrategy.calculateScore(historicalMarketData, null, ISIN.MunichRe).getValue(),
+                    cachedScoringStrategy.calculateScore(historicalMarketData, null, ISIN.MunichRe).getValue(),
+                    0.0);
+        }
+
+        Assert.assertEquals(1, indicatorColumnCache.getNumColumns());
+    }
+
+    @Test
+    public void localMaximumIsSubscribedAtIndicatorEngine_withoutIndicatorColumnCache() {
+        List<LocalDate> dates = new DateSequenceGenerator(LocalDate.of(2018, 1, 1)).nextDates(4);
+        double[] closes = new double[] { 100.0, 120.0, 110.0, 90.0 };
+
+        HistoricalMarketData historicalMarketData = new HistoricalMarketData(ISIN.MunichRe, new Amount(closes[0]), dates.get(0));
+
+        for(int dayIndex = 1; dayIndex < dates.size(); dayIndex++) {
+            historicalMarketData.registerClosedDay(new MarketPriceSnapshotBuilder()
+                    .setMarketPrice(ISIN.MunichRe, new Amount(closes[dayIndex]))
+                    .setDate(dates.get(dayIndex))
+                    .build());
+        }
+
+        LocalMaximumBuyScoringStrategy scoringStrategy = new LocalMaximumBuyScoringStrategy(new DayCount(3), 0.2);
+
+        Assert.assertEquals(1.0, scoringStrategy.calculateScore(historicalMarketData, null, ISIN.MunichRe).getValue(), 0.0);
+        Assert.assertEquals(1, IndicatorEngine.of(historicalMarketData).getNumIndicators());
+
+        historicalMarketData.registerClosedDay(new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(100.0))
+                .setDate(LocalDate.of(2018, 1, 5))
+                .build());
+
+        Assert.assertEquals(88.0 / 100.0, scoringStrategy.calculateScore(historicalMarketData, null, ISIN.MunichRe).getValue(), 0.0000001);
+        Assert.assertEquals(1, IndicatorEngine.of(historicalMarketData).getNumIndicators());
+    }
+
+    @Test
+    public void localMaximumIsSubscribedForEachMarketData_withoutIndicatorColumnCache() {
+        List<LocalDate> dates = new DateSequenceGenerator(LocalDate.of(2018, 1, 1)).nextDates(3);
+
+        HistoricalMarketData firstHistoricalMarketData = new HistoricalMarketData(ISIN.MunichRe, new Amount(100.0), dates.get(0));
+        firstHistoricalMarketData.registerClosedDay(new Amount(120.0), dates.get(1));
+        firstHistoricalMarketData.registerClosedDay(new Amount(90.0), dates.get(2));
+
+        HistoricalMarketData secondHistoricalMarketData = new HistoricalMarketData(ISIN.MunichRe, new Amount(100.0), dates.get(0));
+        secondHistoricalMarketData.registerClosedDay(new Amount(110.0), dates.get(1));
+        secondHistoricalMarketData.registerClosedDay(new Amount(110.0), dates.get(2));
+
+        LocalMaximumBuyScoringStrategy scoringStrategy = new LocalMaximumBuyScoringStrategy(new DayCount(3), 0.2);
+
+        Assert.assertEquals(1.0, scoringStrategy.calculateScore(firstHistoricalMarketData, null, ISIN.MunichRe).getValue(), 0.0);
+        Assert.assertEquals(88.0 / 110.0, scoringStrategy.calculateScore(secondHistoricalMarketData, null, ISIN.MunichRe).getValue(), 0.0000001);
+        Assert.assertEquals(1.0, scoringStrategy.calculateScore(firstHistoricalMarketData, null, ISIN.MunichRe).getValue(), 0.0);
+        Assert.assertEquals(1, IndicatorEngine.of(firstHistoricalMarketData).getNumIndicators());
+        Assert.assertEquals(1, IndicatorEngine.of(secondHistoricalMarketData).getNumIndicators());
+    }
+}
@@ -0,0 +1,140 @@
+package trading.persistence.market;
+
+import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.simulation.MultiStockMarketDataStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the closing prices from a binary market data file (see {@link MarketDataFileExporter}) via a read-only memory mapping.
+ * Nothing is decoded on startup; the operating system pages the file in on access and shares the pages between processes.
+ */
+public class MappedFileMultiStockMarketDataStore implements MultiStockMarketDataStore {
+    private final InstrumentRegistry universe;
+    private final LongBuffer dateColumn;
+    private final DoubleBuffer[] priceColumns;
+    private final int numDays;
+
+    public MappedFileMultiStockMarketDataStore(Path file) {
+        if(file == null) {
+            throw new RuntimeException("The file must be specified.");
+        }
+
+        MappedByteBuffer mappedBuffer;
+
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ByteBuffer buffer = mappedBuffer.order(MarketDataFileFormat.BYTE_ORDER);
+
+        if(buffer.remaining() < MarketDataFileFormat.HEADER_SIZE || buffer.getInt() != MarketDataFileFormat.MAGIC) {
+            throw new RuntimeException("The file is no market data file.");
+        }
+
+        if(buffer.getInt() != MarketDataFileFormat.VERSION) {
+            throw new RuntimeException("The version of the market data file is not supported.");
+        }
+
+        int numInstruments = buffer.getInt();
+        this.numDays = buffer.getInt();
+
+        this.universe = new InstrumentRegistry();
+
+        for(int instrumentIndex = 0; instrumentIndex < numInstruments; instrumentIndex++) {
+            byte[] isinBytes = new byte[buffer.getShort()];
+            buffer.get(isinBytes);
+            this.universe.register(new ISIN(new String(isinBytes, StandardCharsets.US_ASCII)));
+        }
+
+        int position = MarketDataFileFormat.align(buffer.position());
+        int dateColumnSize = 8 * this.numDays;
+        int priceColumnSize = 8 * this.numDays;
+
+        if(buffer.limit() != position + dateColumnSize + (long) numInstruments * priceColumnSize) {
+            throw new RuntimeException("The market data file is incomplete.");
+        }
+
+        this.dateColumn = this.slice(buffer, position, dateColumnSize).asLongBuffer();
+        position += dateColumnSize;
+
+        this.priceColumns = new DoubleBuffer[numInstruments];
+
+        for(int instrumentIndex = 0; instrumentIndex < numInstruments; instrumentIndex++) {
+            this.priceColumns[instrumentIndex] = this.slice(buffer, position, priceColumnSize).asDoubleBuffer();
+            position += priceColumnSize;
+        }
+    }
+
+    private ByteBuffer slice(ByteBuffer buffer, int position, int size) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(position);
+        duplicate.limit(position + size);
+        return duplicate.slice().order(MarketDataFileFormat.BYTE_ORDER);
+    }
+
+    public InstrumentRegistry getUniverse() {
+        return this.universe;
+    }
+
+    public int getNumDays() {
+        return this.numDays;
+    }
+
+    /**
+     * Returns a read-only view on the mapped closing prices of the given stock for all days of the file, without copying.
+     * Days without price are NaN.
+     */
+    public DoubleBuffer getClosingPriceColumn(ISIN isin) {
+        return this.priceColumns[this.universe.indexOf(isin)].asReadOnlyBuffer();
+    }
+
+    @Override
+    public List<MarketPriceSnapshot> getAllClosingPrices() {
+        List<MarketPriceSnapshot> marketPriceSnapshots = new ArrayList<>(this.numDays);
+
+        for(int dayIndex = 0; dayIndex < this.numDays; dayIndex++) {
+            marketPriceSnapshots.add(this.createMarketPriceSnapshot(dayIndex));
+        }
+
+        return marketPriceSnapshots;
+    }
+
+    @Override
+    public MarketPriceSnapshot getLastClosingPrices() {
+        if(this.numDays == 0) {
+            throw new RuntimeException("The market data file does not contain any days.");
+        }
+
+        return this.createMarketPriceSnapshot(this.numDays - 1);
+    }
+
+    private MarketPriceSnapshot createMarketPriceSnapshot(int dayIndex) {
+        // Market price snapshots are backed by one price array per day, so the day is gathered from the columns.
+        double[] prices = new double[this.priceColumns.length];
+
+        for(int instrumentIndex = 0; instrumentIndex < prices.length; instrumentIndex++) {
+            prices[instrumentIndex] = this.priceColumns[instrumentIndex].get(dayIndex);
+        }
+
+        LocalDate date = LocalDate.ofEpochDay(this.dateColumn.get(dayIndex));
+        return new MarketPriceSnapshot(this.universe, prices, date);
+    }
+}
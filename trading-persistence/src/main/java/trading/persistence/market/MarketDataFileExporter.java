@@ -0,0 +1,163 @@
+package trading.persistence.market;
+
+import trading.domain.ISIN;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.simulation.MultiStockMarketDataStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes all closing prices of a market data store (usually the MongoDB store) into a binary market data file,
+ * which can be read by {@link MappedFileMultiStockMarketDataStore}.
+ * The file is written next to the target and moved into place afterwards, so that readers never see a partial file.
+ */
+public class MarketDataFileExporter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final MultiStockMarketDataStore multiStockMarketDataStore;
+
+    public MarketDataFileExporter(MultiStockMarketDataStore multiStockMarketDataStore) {
+        if(multiStockMarketDataStore == null) {
+            throw new RuntimeException("The market data store must be specified.");
+        }
+
+        this.multiStockMarketDataStore = multiStockMarketDataStore;
+    }
+
+    public void export(Path file) {
+        if(file == null) {
+            throw new RuntimeException("The file must be specified.");
+        }
+
+        List<MarketPriceSnapshot> marketPriceSnapshots = this.multiStockMarketDataStore.getAllClosingPrices();
+        ISIN[] isins = this.collectISINs(marketPriceSnapshots);
+
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try {
+            try(FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(MarketDataFileFormat.BYTE_ORDER);
+
+                this.writeHeaderAndInstrumentTable(channel, buffer, isins, marketPriceSnapshots.size());
+                this.writeDateColumn(channel, buffer, marketPriceSnapshots);
+                this.writePriceColumns(channel, buffer, isins, marketPriceSnapshots);
+
+                this.flush(channel, buffer);
+                channel.force(true);
+            }
+
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ISIN[] collectISINs(List<MarketPriceSnapshot> marketPriceSnapshots) {
+        Set<ISIN> isins = new HashSet<>();
+
+        for(MarketPriceSnapshot marketPriceSnapshot: marketPriceSnapshots) {
+            isins.addAll(marketPriceSnapshot.getISINs());
+        }
+
+        ISIN[] sortedIsins = isins.toArray(new ISIN[0]);
+        Arrays.sort(sortedIsins, (isin1, isin2) -> isin1.getText().compareTo(isin2.getText()));
+        return sortedIsins;
+    }
+
+    private void writeHeaderAndInstrumentTable(FileChannel channel, ByteBuffer buffer, ISIN[] isins, int numDays) throws IOException {
+        buffer.putInt(MarketDataFileFormat.MAGIC);
+        buffer.putInt(MarketDataFileFormat.VERSION);
+        buffer.putInt(isins.length);
+        buffer.putInt(numDays);
+
+        int position = MarketDataFileFormat.HEADER_SIZE;
+
+        for(ISIN isin: isins) {
+            byte[] isinBytes = isin.getText().getBytes(StandardCharsets.US_ASCII);
+
+            if(isinBytes.length > Short.MAX_VALUE) {
+                throw new RuntimeException("The ISIN text is too long.");
+            }
+
+            this.ensureRemaining(channel, buffer, 2 + isinBytes.length);
+            buffer.putShort((short) isinBytes.length);
+            buffer.put(isinBytes);
+
+            position += 2 + isinBytes.length;
+        }
+
+        int paddingSize = MarketDataFileFormat.align(position) - position;
+        this.ensureRemaining(channel, buffer, paddingSize);
+
+        for(int paddingIndex = 0; paddingIndex < paddingSize; paddingIndex++) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private void writeDateColumn(FileChannel channel, ByteBuffer buffer, List<MarketPriceSnapshot> marketPriceSnapshots) throws IOException {
+        for(MarketPriceSnapshot marketPriceSnapshot: marketPriceSnapshots) {
+            this.ensureRemaining(channel, buffer, 8);
+            buffer.putLong(marketPriceSnapshot.getDate().toEpochDay());
+        }
+    }
+
+    private void writePriceColumns(FileChannel channel, ByteBuffer buffer, ISIN[] isins, List<MarketPriceSnapshot> marketPriceSnapshots) throws IOException {
+        Map<ISIN, Integer> instrumentIndexes = new HashMap<>();
+
+        for(int instrumentIndex = 0; instrumentIndex < isins.length; instrumentIndex++) {
+            instrumentIndexes.put(isins[instrumentIndex], instrumentIndex);
+        }
+
+        double[][] pricesByDay = new double[marketPriceSnapshots.size()][];
+
+        for(int dayIndex = 0; dayIndex < pricesByDay.length; dayIndex++) {
+            MarketPriceSnapshot marketPriceSnapshot = marketPriceSnapshots.get(dayIndex);
+            double[] prices = new double[isins.length];
+            Arrays.fill(prices, Double.NaN);
+
+            for(ISIN isin: marketPriceSnapshot.getISINs()) {
+                prices[instrumentIndexes.get(isin)] = marketPriceSnapshot.getPrice(isin);
+            }
+
+            pricesByDay[dayIndex] = prices;
+        }
+
+        for(int instrumentIndex = 0; instrumentIndex < isins.length; instrumentIndex++) {
+            for(double[] prices: pricesByDay) {
+                this.ensureRemaining(channel, buffer, 8);
+                buffer.putDouble(prices[instrumentIndex]);
+            }
+        }
+    }
+
+    private void ensureRemaining(FileChannel channel, ByteBuffer buffer, int numBytes) throws IOException {
+        if(buffer.remaining() < numBytes) {
+            this.flush(channel, buffer);
+        }
+    }
+
+    private void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+}
@@ -0,0 +1,31 @@
+package trading.persistence.market;
+
+import java.nio.ByteOrder;
+
+/**
+ * Binary market data file layout, all values in little endian byte order:
+ *
+ * <pre>
+ * header            magic (int), version (int), number of instruments (int), number of days (int)
+ * instrument table  per instrument: ISIN length (short), ISIN text (US-ASCII bytes)
+ * padding           up to the next multiple of 8 bytes
+ * date column       per day: epoch day (long)
+ * price columns     per instrument: closing price per day (double), NaN if the instrument has no price on that day
+ * </pre>
+ *
+ * The instruments are ordered by ISIN text and the days are ordered ascending.
+ * As the columns are 8-byte aligned, they can be read directly from a memory-mapped file.
+ */
+final class MarketDataFileFormat {
+    static final int MAGIC = 0x544D4B44;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private MarketDataFileFormat() {
+    }
+
+    static int align(int position) {
+        return (position + 7) & ~7;
+    }
+}
@@ -9,6 +9,7 @@ import org.bson.Document;
 import org.bson.conversions.Bson;
 import trading.domain.Amount;
 import trading.domain.ISIN;
+import trading.domain.InstrumentRegistry;
 import trading.domain.market.MarketPriceSnapshot;
 import trading.domain.market.MarketPriceSnapshotBuilder;
 import trading.domain.simulation.MultiStockMarketDataStore;
@@ -18,9 +19,13 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MongoMultiStockMarketDataStore implements MultiStockMarketDataStore {
     private final MongoMultiStockMarketDataStoreParameters parameters;
+    private final Map<String, ISIN> isinsByText = new ConcurrentHashMap<>();
+    private final InstrumentRegistry universe = new InstrumentRegistry();
 
     public MongoMultiStockMarketDataStore(MongoMultiStockMarketDataStoreParameters parameters) {
         if(parameters == null) {
@@ -77,7 +82,7 @@ public class MongoMultiStockMarketDataStore implements MultiStockMarketDataStore
     }
 
     private MarketPriceSnapshot readMarketPriceSnapshotFromDocument(Document document) {
-        MarketPriceSnapshotBuilder marketPriceSnapshotBuilder = new MarketPriceSnapshotBuilder();
+        MarketPriceSnapshotBuilder marketPriceSnapshotBuilder = new MarketPriceSnapshotBuilder(this.universe);
 
         Date date = document.getDate("_id");
         LocalDate localDate = date.toInstant().atZone(ZoneOffset.systemDefault()).toLocalDate();
@@ -98,9 +103,13 @@ public class MongoMultiStockMarketDataStore implements MultiStockMarketDataStore
                 closingPrice = (double) value;
             }
 
-            marketPriceSnapshotBuilder.setMarketPrice(new ISIN(isinText), new Amount(closingPrice));
+            marketPriceSnapshotBuilder.setMarketPrice(this.getISIN(isinText), new Amount(closingPrice));
         }
 
         return marketPriceSnapshotBuilder.build();
     }
+
+    private ISIN getISIN(String isinText) {
+        return this.isinsByText.computeIfAbsent(isinText, ISIN::new);
+    }
 }
@@ -0,0 +1,122 @@
+package trading.persistence.market;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import trading.domain.Amount;
+import trading.domain.ISIN;
+import trading.domain.market.MarketPriceSnapshot;
+import trading.domain.market.MarketPriceSnapshotBuilder;
+import trading.domain.simulation.MultiStockMarketDataStore;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MappedFileMultiStockMarketDataStoreTest {
+    private Path file;
+
+    @Before
+    public void before() throws IOException {
+        this.file = Files.createTempFile("market-data", ".bin");
+
+        List<MarketPriceSnapshot> marketPriceSnapshots = new ArrayList<>();
+
+        marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(100.0))
+                .setDate(LocalDate.of(2000, 1, 1))
+                .build());
+
+        marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(101.5))
+                .setMarketPrice(ISIN.Allianz, new Amount(49.0))
+                .setDate(LocalDate.of(2000, 1, 2))
+                .build());
+
+        marketPriceSnapshots.add(new MarketPriceSnapshotBuilder()
+                .setMarketPrice(ISIN.MunichRe, new Amount(102.5))
+                .setMarketPrice(ISIN.Allianz, new Amount(49.5))
+                .setDate(LocalDate.of(2000, 1, 3))
+                .build());
+
+        MultiStockMarketDataStore sourceStore = new MultiStockMarketDataStore() {
+            @Override
+            public List<MarketPriceSnapshot> getAllClosingPrices() {
+                return marketPriceSnapshots;
+            }
+
+            @Override
+            public MarketPriceSnapshot getLastClosingPrices() {
+                return marketPriceSnapshots.get(marketPriceSnapshots.size() - 1);
+            }
+        };
+
+        new MarketDataFileExporter(sourceStore).export(this.file);
+    }
+
+    @After
+    public void after() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Test
+    public void returnsAllQuotesInCorrectOrder() {
+        MappedFileMultiStockMarketDataStore store = new MappedFileMultiStockMarketDataStore(this.file);
+
+        List<MarketPriceSnapshot> marketPriceSnapshots = store.getAllClosingPrices();
+
+        Assert.assertEquals(3, marketPriceSnapshots.size());
+
+        MarketPriceSnapshot firstDayMarketPriceSnapshot = marketPriceSnapshots.get(0);
+        Assert.assertEquals(1, firstDayMarketPriceSnapshot.size());
+        Assert.assertEquals(new Amount(100.0), firstDayMarketPriceSnapshot.getMarketPrice(ISIN.MunichRe));
+        Assert.assertEquals(LocalDate.of(2000, 1, 1), firstDayMarketPriceSnapshot.getDate());
+
+        MarketPriceSnapshot thirdDayMarketPriceSnapshot = marketPriceSnapshots.get(2);
+        Assert.assertEquals(new Amount(102.5), thirdDayMarketPriceSnapshot.getMarketPrice(ISIN.MunichRe));
+        Assert.assertEquals(new Amount(49.5), thirdDayMarketPriceSnapshot.getMarketPrice(ISIN.Allianz));
+        Assert.assertEquals(LocalDate.of(2000, 1, 3), thirdDayMarketPriceSnapshot.getDate());
+    }
+
+    @Test
+    public void returnsLastClosingPrices() {
+        MappedFileMultiStockMarketDataStore store = new MappedFileMultiStockMarketDataStore(this.file);
+
+        MarketPriceSnapshot lastClosingPrices = store.getLastClosingPrices();
+
+        Assert.assertEquals(new Amount(102.5), lastClosingPrices.getMarketPrice(ISIN.MunichRe));
+        Assert.assertEquals(new Amount(49.5), lastClosingPrices.getMarketPrice(ISIN.Allianz));
+    }
+
+    @Test
+    public void exposesPriceColumnsWithoutCopying() {
+        MappedFileMultiStockMarketDataStore store = new MappedFileMultiStockMarketDataStore(this.file);
+
+        DoubleBuffer allianzPrices = store.getClosingPriceColumn(ISIN.Allianz);
+
+        Assert.assertEquals(3, allianzPrices.remaining());
+        Assert.assertTrue(Double.isNaN(allianzPrices.get(0)));
+        Assert.assertEquals(49.0, allianzPrices.get(1), 0.0);
+        Assert.assertTrue(allianzPrices.isReadOnly());
+    }
+
+    @Test
+    public void constructionFails_ifFileIsNoMarketDataFile() throws IOException {
+        Files.write(this.file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 });
+
+        try {
+            new MappedFileMultiStockMarketDataStore(this.file);
+        }
+        catch(RuntimeException ex) {
+            Assert.assertEquals("The file is no market data file.", ex.getMessage());
+            return;
+        }
+
+        Assert.fail("Exception expected.");
+    }
+}